@@ -0,0 +1,106 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import com.darg.NLPOperations.pos.model.TaggedWord;
+import com.darg.NLPOperations.sentimentalAnalysis.DeviationSentimentAnalyzer;
+import com.darg.NLPOperations.sentimentalAnalysis.model.SentimentScore;
+import com.darg.NLPOperations.utils.ArticleScorer;
+import com.darg.NLPOperations.utils.TaggedArticle;
+import com.darg.fileOperations.utils.FileUtils;
+
+
+
+/**scores the tagged articles with document based deviation sentimental analysis, it is run by the ScoreStage of the pipeline 
+ * on the articles tagged in memory or read back from the _POS files by the ReadStage.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class DeviationArticleScorer implements ArticleScorer
+{
+	private DeviationSentimentAnalyzer analyzer;
+	private String outputFolder;
+	private String articleOutputFolder; //null if the annotated articles are not written
+	
+	
+	
+	//------------------------------------------------------------------------------------------------------------------------------
+	//			constructors 
+	//------------------------------------------------------------------------------------------------------------------------------
+	@SuppressWarnings("unused")
+	private DeviationArticleScorer()
+	{
+		
+	}
+	public DeviationArticleScorer(final DeviationSentimentAnalyzer analyzer, final String outputFolder, final String articleOutputFolder) 
+	{
+		this.analyzer = analyzer;
+		this.outputFolder = outputFolder;
+		this.articleOutputFolder = articleOutputFolder;
+	}
+	
+	
+	
+	
+	
+	/**computes the document based score of the article and writes it to the output folders
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param article - tagged article
+	 * 
+	 * @return boolean - true if the score is written, false if the article is empty or cannot be scored
+	 */
+	@Override
+	public boolean scoreArticle(final TaggedArticle article)
+	{
+		boolean retVal = false;
+		int subFolder = 0;
+		File tempFile;
+		
+		ArrayList<TaggedWord> wordList = article.getTaggedWords();
+		
+		if(wordList != null && !wordList.isEmpty())
+		{
+			SentimentScore score = analyzer.documentBasedAnalysis(wordList);
+			if(score != null)
+			{
+				subFolder = article.getDocID()/1000;
+				tempFile = new File(outputFolder + File.separator + subFolder, article.getName() + "_SCORE");
+				retVal = FileUtils.writeFile(tempFile, score.toString());
+				
+				//annotated articles are optional
+				if(articleOutputFolder != null)
+				{
+					tempFile = new File(articleOutputFolder + File.separator + subFolder, article.getName() + "_SCORE");
+					retVal = FileUtils.writeFile(tempFile, score.getArticle()) && retVal;
+				}
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+}
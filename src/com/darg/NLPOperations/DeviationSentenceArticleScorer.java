@@ -0,0 +1,213 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import com.darg.utils.Statistics;
+
+import com.darg.NLPOperations.pos.model.TaggedSentence;
+import com.darg.NLPOperations.sentimentalAnalysis.DeviationSentimentAnalyzer;
+import com.darg.NLPOperations.sentimentalAnalysis.model.SentimentScore;
+import com.darg.NLPOperations.utils.ArticleScorer;
+import com.darg.NLPOperations.utils.TaggedArticle;
+import com.darg.fileOperations.utils.TextFileWriter;
+import com.darg.utils.TempStorage;
+
+
+
+/**scores the sentences of the tagged articles with deviation sentimental analysis. 
+ * Writes the probabilities of each sentence, and keeps the means and the sentence counts of each article in the storage.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class DeviationSentenceArticleScorer implements ArticleScorer
+{
+	private DeviationSentimentAnalyzer analyzer;
+	private String outputFolder;
+	private String articleOutputFolder; //null if the annotated articles are not written
+	private TempStorage storage;
+	
+	
+	
+	//------------------------------------------------------------------------------------------------------------------------------
+	//			constructors 
+	//------------------------------------------------------------------------------------------------------------------------------
+	@SuppressWarnings("unused")
+	private DeviationSentenceArticleScorer()
+	{
+		
+	}
+	public DeviationSentenceArticleScorer(final DeviationSentimentAnalyzer analyzer, final String outputFolder, 
+										  final String articleOutputFolder, final TempStorage storage) 
+	{
+		this.analyzer = analyzer;
+		this.outputFolder = outputFolder;
+		this.articleOutputFolder = articleOutputFolder;
+		this.storage = storage;
+	}
+	
+	
+	
+	
+	
+	/**computes the sentence based scores of the article, writes them to the output folders and updates the storage
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param article - tagged article
+	 * 
+	 * @return boolean - true if the scores are written, false if the article is empty or cannot be scored
+	 */
+	@Override
+	public boolean scoreArticle(final TaggedArticle article)
+	{
+		boolean retVal = false;
+		int subFolder = 0;
+		File tempFile;
+		ArrayList<Double> probObj = new ArrayList<Double>();
+		ArrayList<Double> probNeg = new ArrayList<Double>();
+		ArrayList<Double> probPos = new ArrayList<Double>();
+		int nopos = 0;
+		int noobj = 0;
+		int noneg = 0;
+		SentimentScore score;
+		
+		ArrayList<TaggedSentence> wordList = article.getTaggedSentences();
+		
+		if(wordList != null && !wordList.isEmpty())//if the article is not empty and there is no error parsing it
+		{
+			ArrayList<SentimentScore> scores = analyzer.sentenceBasedAnalysis(wordList);
+			
+			if(scores != null)//if we were able to get the score without errors
+			{
+				subFolder = article.getDocID()/1000;
+				tempFile = new File(outputFolder + File.separator + subFolder, article.getName() + "_SCORE");
+				
+				for (int i=0; i<scores.size(); i++)
+				{
+					score = scores.get(i);
+					probNeg.add(score.getNegativeProb());
+					probPos.add(score.getPositiveProb());
+					probObj.add(score.getObjectiveProb());
+					
+					if(score.getNegativeProb() >= 0.34)
+					{
+						noneg++;
+					}
+					if(score.getPositiveProb() >= 0.34)
+					{
+						nopos++;
+					}
+					if(score.getObjectiveProb() >= 0.34)
+					{
+						noobj++;
+					}
+				}
+				
+				//the table is written straight to the file
+				try(TextFileWriter writer = new TextFileWriter(tempFile))
+				{
+					writer.append("sentence#\tPROBobj\tPROBpos\tneg\n\n");
+					for (int i=0; i<scores.size(); i++)
+					{
+						score = scores.get(i);
+						writer.append(i).append('\t').append(score.getObjectiveProb()).append('\t').append(score.getPositiveProb())
+							  .append('\t').append(score.getNegativeProb()).append('\n');
+					}
+					
+					//medians sort the lists, so the order of the calls is kept as it is
+					writer.append("\n\n\nmean obj: ").append(Statistics.getMean(probObj)).append("\nmedian obj: ").append(Statistics.getMedian(probObj));
+					writer.append("\nmean neg: ").append(Statistics.getMean(probNeg)).append("\nmedian neg: ").append(Statistics.getMedian(probNeg));
+					writer.append("\nmean pos: ").append(Statistics.getMean(probPos)).append("\nmedian pos: ").append(Statistics.getMedian(probPos));
+					writer.append("\nno_of_sentences: ").append(scores.size()).append("\nno_of_pos_sent: ").append(nopos)
+						  .append("\nno_of_neg_sent: ").append(noneg).append("\nno_of_obj_sent: ").append(noobj);
+					
+					retVal = true;
+				}
+				catch(IOException e)
+				{
+					e.printStackTrace();
+					retVal = false;
+				}
+				
+				//the storage is shared by the scoring threads, add the row of the article at once
+				synchronized(storage)
+				{
+					storage.updateDataNeg(Statistics.getMean(probNeg));
+					storage.updateDataObj(Statistics.getMean(probObj));
+					storage.updateDataPos(Statistics.getMean(probPos));
+					storage.updateNoNeg(noneg);
+					storage.updateNoPos(nopos);
+					storage.updateNoObj(noobj);
+					storage.updateNoSent(scores.size());
+					storage.updateName(article.getName());
+				}
+				
+				//annotated articles are optional
+				if(articleOutputFolder != null)
+				{
+					tempFile = new File(articleOutputFolder + File.separator + subFolder, article.getName() + "_SCORE");
+					retVal = writeArticles(tempFile, scores) && retVal;
+				}
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**writes the annotated sentences of an article, one sentence in each line
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param file - file to write
+	 * @param scores - scores of the sentences
+	 * 
+	 * @return boolean - true if the file is written
+	 */
+	private static boolean writeArticles(final File file, final ArrayList<SentimentScore> scores)
+	{
+		boolean retVal = true;
+		
+		try(TextFileWriter writer = new TextFileWriter(file))
+		{
+			for(int i=0; i<scores.size(); i++)
+			{
+				writer.append(scores.get(i).getArticle()).append('\n');
+			}
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			retVal = false;
+		}
+		
+		return retVal;
+	}
+	
+	
+}
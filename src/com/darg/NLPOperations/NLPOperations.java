@@ -20,43 +20,73 @@
 package com.darg.NLPOperations;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-
-import com.darg.utils.Statistics;
+import java.util.HashMap;
 
+import com.darg.NLPOperations.dictionary.DictionaryRegistry;
 import com.darg.NLPOperations.dictionary.SentiWordNetDictionary;
 import com.darg.NLPOperations.dictionary.WordNetDictionary;
+import com.darg.NLPOperations.dictionary.model.FrozenSentiWordNet;
+import com.darg.NLPOperations.dictionary.model.FrozenWordNet;
 import com.darg.NLPOperations.dictionary.model.SentiWordNet;
+import com.darg.NLPOperations.dictionary.model.WarmupProfile;
 import com.darg.NLPOperations.dictionary.model.WordNet;
-import com.darg.NLPOperations.pos.POSTagger;
-import com.darg.NLPOperations.pos.model.TaggedSentence;
-import com.darg.NLPOperations.pos.util.POSTagTokenizer;
+import com.darg.NLPOperations.pipeline.CheckpointManifest;
+import com.darg.NLPOperations.pipeline.CheckpointStage;
+import com.darg.NLPOperations.pipeline.ParseStage;
+import com.darg.NLPOperations.pipeline.ReadStage;
+import com.darg.NLPOperations.pipeline.ScoreStage;
+import com.darg.NLPOperations.pipeline.StagedExecutor;
+import com.darg.NLPOperations.pipeline.TagStage;
+import com.darg.NLPOperations.pos.POSTaggerPool;
+import com.darg.NLPOperations.pos.ParallelDocumentTagger;
+import com.darg.NLPOperations.pos.TaggedTextCache;
+import com.darg.NLPOperations.pos.corpus.TaggedCorpusReader;
+import com.darg.NLPOperations.pos.corpus.TaggedCorpusWriter;
 import com.darg.NLPOperations.sentimentalAnalysis.AverageScoreSentimentAnalyzer;
 import com.darg.NLPOperations.sentimentalAnalysis.DeviationSentimentAnalyzer;
 import com.darg.NLPOperations.sentimentalAnalysis.NaiveBayesSentimentAnalyzer;
-import com.darg.NLPOperations.sentimentalAnalysis.model.SentimentScore;
-import com.darg.NLPOperations.utils.DeviationSentalParam;
-import com.darg.NLPOperations.utils.SentiAnalysisParam;
-import com.darg.NLPOperations.utils.PosParam;
-import com.darg.RConnector.REngineConnector;
-import com.darg.documentParser.NYTCorpusDocumentParser;
-import com.darg.documentParser.ReutersCorpusDocumentParser;
-import com.darg.documentParser.model.ArticleAbstract;
+import com.darg.NLPOperations.sentimentalAnalysis.SentimentLexicon;
+import com.darg.NLPOperations.sentimentalAnalysis.model.ScoreDistribution;
+import com.darg.NLPOperations.utils.ArticleScorer;
+import com.darg.NLPOperations.utils.TaggedArticle;
 import com.darg.fileOperations.FileRetriever;
 import com.darg.fileOperations.utils.FileSystemUtils;
-import com.darg.fileOperations.utils.FileUtils;
+import com.darg.fileOperations.utils.TextFileWriter;
 import com.darg.utils.TempStorage;
 
 
 
 public class NLPOperations 
 {
-	private ExecutorService executor;
+	private static final String WORDNET_SNAPSHOT = "wordnet.snapshot";
+	private static final String SENTIWORDNET_SNAPSHOT = "sentiwordnet.snapshot";
+	private static final int DEFAULT_QUEUE_CAPACITY = 256;
+	private static final int DEFAULT_CHUNK_THRESHOLD = 16384;
+	private static final int CORPUS_TABLE_ROWS = 50000;
+	private static final int ARTICLE_COUNT = 0; //positions of the counts returned by processArticles()
+	private static final int POS_COUNT = 1;
+	private static final int SENTAL_COUNT = 2;
+	
 	private boolean debug;
 	private int threadCount;
+	private int parseThreadCount; //threads of each stage, see processArticles()
+	private int tagThreadCount;
+	private int scoreThreadCount;
+	private String snapshotPath; //directory of the dictionary snapshots, null if they are not used
+	private WarmupProfile warmupProfile; //parts of the dictionaries loaded up front, null if they are loaded eagerly
+	private DictionaryRegistry registry = DictionaryRegistry.getShared(); //dictionaries are loaded once for each path and shared by the operations
+	private String checkpointPath; //directory of the checkpoint manifest, null if the finished articles are not recorded
+	private String taggedCachePath; //directory of the tagged text cache, null if the texts are always tagged
+	private boolean streaming = false; //tag and score in a single pass without reading the _POS files back
+	private boolean writePosFiles = true; //only used in streaming mode, the two pass mode always writes them
+	private boolean binaryPosFiles = false; //the tagged articles are written to a binary corpus instead of _POS files
+	private boolean writeScoredArticles = true; //the articles annotated with the scores of the words are written
+	private boolean shareTaggerModel = true; //the taggers in the pool use the same model instead of loading one each
+	private boolean streamParsing = true; //NYT articles are parsed with a StAX reader instead of DOM trees
+	private int queueCapacity = DEFAULT_QUEUE_CAPACITY; //maximum number of articles waiting in front of each stage
+	private int chunkThreshold = DEFAULT_CHUNK_THRESHOLD; //articles longer than this many characters are tagged in parallel chunks
 	
 	
 	
@@ -65,17 +95,18 @@ public class NLPOperations
 	//------------------------------------------------------------------------------------------------------------------------------
 	public NLPOperations()
 	{
-		this.threadCount = 8;//default thread count is 8
-		setDebug(false);
+		this(8);//default thread count is 8
 	}
 	public NLPOperations(final int threadCount)
 	{
-		this.threadCount = threadCount;
-		setDebug(false);
+		this(threadCount, false);
 	}
 	public NLPOperations(final int threadCount, final boolean debug)
 	{
 		this.threadCount = threadCount;
+		this.parseThreadCount = threadCount;
+		this.tagThreadCount = threadCount;
+		this.scoreThreadCount = threadCount;
 		this.setDebug(debug);
 	}
 	
@@ -116,16 +147,9 @@ public class NLPOperations
 														  final boolean debug)
 	{
 		int articleCount = 0;
-		int posCount = 0;
 		boolean retVal = true;
-		FileRetriever fileRetriever;
-		AveScoreSentalPerformer sentalThread;
-		POSPerformer posThread;
 		
-		PosParam posParameters;
-		SentiAnalysisParam sentalParameters;
 		
-		ArticleAbstract article;
 		
 		
 		
@@ -137,134 +161,49 @@ public class NLPOperations
 			{
 				System.err.println("LOADING THE DICTIONARIES...\n");
 			}
-			POSTagger tagger = new POSTagger(posModelPath);
-			WordNetDictionary wordNet = WordNetDictionary.getInstance(wordNetDictinaryPath, WordNet.VERSION_30);
-			SentiWordNetDictionary sentiWordNet = SentiWordNetDictionary.getInstance(sentiWordNetDictionaryPath, SentiWordNet.VERSION_30, true);
+			POSTaggerPool tagger = new POSTaggerPool(posModelPath, tagThreadCount, shareTaggerModel);
+			FrozenSentiWordNet sentiWordNet = loadSentiWordNet(sentiWordNetDictionaryPath);
+			FrozenWordNet wordNet = (sentiWordNet == null) ? null : loadWordNet(wordNetDictinaryPath);
 	
-			if(sentiWordNet.loadDictionary() == false || wordNet.loadDictionary() == false)
+			if(wordNet == null || sentiWordNet == null)
 			{
 				throw new Exception("cannot load libraries");
 			}
 			
-			
-			
-			AverageScoreSentimentAnalyzer analyzer = new AverageScoreSentimentAnalyzer(wordNet, sentiWordNet);
-			
-			
-			
-			
-			
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//POS TAGGING
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//retrieve the files
-			fileRetriever = new FileRetriever();
-			if(!fileRetriever.retrieveFiles(pathToFiles, null, true, true))
+			//scores of every word are calculated once and shared by the analyzers
+			SentimentLexicon lexicon = SentimentLexicon.build(wordNet, sentiWordNet, threadCount);
+			if(lexicon == null)
 			{
-				throw new Exception("Error: cannot fetch files!");
+				throw new Exception("cannot build the sentiment lexicon");
 			}
 			
 			
-
-			
-			//go through all the files and tag them
-			if(debug)
-			{
-				System.err.println("STARTING POS TAGGING OPERATION...\n");
-				executor = Executors.newFixedThreadPool(threadCount);
-			}
-			while(fileRetriever.hasNext())
-			{
-				File file = fileRetriever.next();
-				articleCount++;
-				
-				//parse the file
-				if(file != null)
-				{
-					if(fromReuters)
-					{
-						ReutersCorpusDocumentParser parser = new ReutersCorpusDocumentParser();
-						article = parser.parseArticleDocument(file, false);
-					}
-					else
-					{
-						NYTCorpusDocumentParser parser = new NYTCorpusDocumentParser();
-						article = parser.parseArticleDocument(file, false);
-					}
-					
-					
-					//create the parameters and start the thread
-					posParameters = new PosParam(articleCount, article.getHeadline() + "\n" + article.getBody(), file.getName(), posDestinationPath, tagger);
-					posThread = new POSPerformer(posParameters);
-					executor.execute(posThread);
-					
-				}
-				
-			}
-			
 			
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//wait for all the threads
-			executor.shutdown();
-			executor.awaitTermination(1, TimeUnit.HOURS);
+			AverageScoreSentimentAnalyzer analyzer = new AverageScoreSentimentAnalyzer(lexicon, sentiWordNet);
+			analyzer.setAnnotate(writeScoredArticles);
+			AveScoreArticleScorer scorer = new AveScoreArticleScorer(analyzer, sentalDestinationPath, 
+																	 writeScoredArticles ? sentalArticleDestinationPath : null);
 			
 			
 			
 			
 			
 			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//SENTIMENTAL ANALYSIS
+			//POS TAGGING AND SENTIMENTAL ANALYSIS
 			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//retrieve the files
-			fileRetriever = new FileRetriever();
-			if(!fileRetriever.retrieveFiles(posDestinationPath, null, true, true))
-			{
-				throw new Exception("Error: cannot fetch files!");
-			}
-
-			
-			
-
-			//go through all the files and compute their sentimental score
-			if(debug)
-			{
-				System.err.println("STARTING SENTIMENTAL ANALYSIS OPERATION...");
-				executor = Executors.newFixedThreadPool(threadCount);
-			}
-			while(fileRetriever.hasNext())
-			{
-				File file = fileRetriever.next();
-				posCount++;
-				
-				if(file != null)
-				{
-					sentalParameters = new SentiAnalysisParam(analyzer, file, false, sentalDestinationPath, sentalArticleDestinationPath, posCount);
-					sentalThread = new AveScoreSentalPerformer(sentalParameters);
-					executor.execute(sentalThread);
-				}
-				
-				
-			}
+			int[] counts = processArticles(pathToFiles, null, posDestinationPath, sentalDestinationPath, tagger, scorer, false, fromReuters, debug);
+			articleCount = counts[ARTICLE_COUNT];
 			
 			
 			
 			
 			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//CHECK FOR ERRORS
+			//RESULTS
 			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			executor.shutdown();
-			executor.awaitTermination(5, TimeUnit.MINUTES);
-			
+			checkCounts(counts);
 			
-			int sentalCount = FileSystemUtils.getFileCount(sentalDestinationPath, true);
 			
-			if(posCount != articleCount || sentalCount != articleCount)
-			{
-				throw new Exception("MISTAKE IN OPERATION.. PLEASE CHECK:\narticleCount= " 
-						+articleCount+ "\nposCount: " + posCount + "\nsentalCount: " + sentalCount);
-			}
-			else if(debug)
+			if(debug)
 			{
 				System.err.println("\n------------------------------------\n"
 						+ "article count: " + articleCount
@@ -322,19 +261,11 @@ public class NLPOperations
 			  final boolean debug)
 	{
 		int articleCount = 0;
-		int posCount = 0;
 		boolean retVal = true;
-		FileRetriever fileRetriever;
-		int subFolder = 0;
-		File tempFile;
 		TempStorage storage = new TempStorage();
-		ArrayList<Double> probsposneg = new ArrayList<Double>();
-		ArrayList<Double> probsobjpos = new ArrayList<Double>();
-		ArrayList<Double> probsobjneg = new ArrayList<Double>();
 		
 
 
-		ArticleAbstract article;
 
 
 
@@ -346,224 +277,59 @@ public class NLPOperations
 			{
 				System.err.println("LOADING THE DICTIONARIES...\n");
 			}
-			POSTagger tagger = new POSTagger(posModelPath);
-			WordNetDictionary wordNet = WordNetDictionary.getInstance(wordNetDictinaryPath, WordNet.VERSION_30);
-			SentiWordNetDictionary sentiWordNet = SentiWordNetDictionary.getInstance(sentiWordNetDictionaryPath, SentiWordNet.VERSION_30, true);
+			POSTaggerPool tagger = new POSTaggerPool(posModelPath, tagThreadCount, shareTaggerModel);
+			FrozenSentiWordNet sentiWordNet = loadSentiWordNet(sentiWordNetDictionaryPath);
+			FrozenWordNet wordNet = (sentiWordNet == null) ? null : loadWordNet(wordNetDictinaryPath);
 
-			if(sentiWordNet.loadDictionary() == false || wordNet.loadDictionary() == false)
+			if(wordNet == null || sentiWordNet == null)
 			{
 				throw new Exception("cannot load libraries");
 			}
-
-
-
-			NaiveBayesSentimentAnalyzer analyzer = new NaiveBayesSentimentAnalyzer(wordNet, sentiWordNet);
-
-
-
-
-
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//POS TAGGING
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//retrieve the files
-			fileRetriever = new FileRetriever();
-			ArrayList<String> extensions = new ArrayList<String>();
-			extensions.add("xml");
-			subFolder = 0;
 			
-			if(!fileRetriever.retrieveFiles(pathToFiles, extensions, true, true))
-			{
-				throw new Exception("Error: cannot fetch files!");
-			}
-
-
-
-
-			//go through all the files and tag them
-			if(debug)
+			//scores of every word are calculated once and shared by the analyzers
+			SentimentLexicon lexicon = SentimentLexicon.build(wordNet, sentiWordNet, threadCount);
+			if(lexicon == null)
 			{
-				System.err.println("STARTING POS TAGGING OPERATION...\n");
+				throw new Exception("cannot build the sentiment lexicon");
 			}
-			while(fileRetriever.hasNext())
-			{
-				File file = fileRetriever.next();
-				articleCount++;
-
-				//parse the file
-				if(file != null)
-				{
-					if(fromReuters)
-					{
-						ReutersCorpusDocumentParser parser = new ReutersCorpusDocumentParser();
-						article = parser.parseArticleDocument(file, false);
-					}
-					else
-					{
-						NYTCorpusDocumentParser parser = new NYTCorpusDocumentParser();
-						article = parser.parseArticleDocument(file, false);
-					}
-
-
-					
-						
-					//tag the string
-					String taggedString = tagger.tagString(article.getHeadline() + "\n" + article.getBody());
-						
-						
-					//check the results for error
-					if(taggedString == null || taggedString.isEmpty())
-					{
-						throw new Exception("Cannot tag the text! -> " + file.getName());
-					}
-
-						
-					//save the tagged string to a file in the output folder 
-					subFolder = articleCount/1000;
-					file = new File(posDestinationPath + File.separator + subFolder, file.getName() + "_POS");
-					FileUtils.writeFile(file, taggedString);
-					
-					
-					if(articleCount%100 == 0)
-					{
-						System.out.println("Processing file " + articleCount + "...");
-					}
 
-				}
-				
-				
 
-			}
 
+			NaiveBayesSentimentAnalyzer analyzer = new NaiveBayesSentimentAnalyzer(lexicon, sentiWordNet);
+			analyzer.setAnnotate(writeScoredArticles);
+			NaiveBayesArticleScorer scorer = new NaiveBayesArticleScorer(analyzer, sentalDestinationPath, 
+																		 writeScoredArticles ? sentalArticleDestinationPath : null, storage);
 
 
 
 
 
+			ArrayList<String> extensions = new ArrayList<String>();
+			extensions.add("xml");
+			
 			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//SENTIMENTAL ANALYSIS
+			//POS TAGGING AND SENTIMENTAL ANALYSIS
 			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			subFolder = 0;
-			//retrieve the files
-			fileRetriever = new FileRetriever();
-			if(!fileRetriever.retrieveFiles(posDestinationPath, null, true, true))
-			{
-				throw new Exception("Error: cannot fetch files!");
-			}
-
-
-
-
-			//go through all the files and compute their sentimental score
-			if(debug)
-			{
-				System.err.println("STARTING SENTIMENTAL ANALYSIS OPERATION...");
-			}
-			while(fileRetriever.hasNext())
-			{
-				File file = fileRetriever.next();
-				posCount++;
-
-				if(file != null)
-				{
-					ArrayList<TaggedSentence> wordList = POSTagTokenizer.tokenizeTaggedTextIntoSentences(file.getCanonicalPath(), "_");
-					
-					if(wordList != null && !wordList.isEmpty())
-					{
-						ArrayList<SentimentScore> scores = analyzer.sentenceBasedAnalysis(wordList);
-						
-						if(scores != null)
-						{
-							//prepare the output folders
-							subFolder = posCount/1000;
-							tempFile = new File(sentalDestinationPath + File.separator + subFolder, file.getName().replaceAll("_POS", "_SCORE"));
-							
-							
-							
-							
-							//construct the output strings
-							String tempString = "";
-							String tempArticle = "";
-							tempString = tempString.concat("sentence#\tobj\tpos\tneg\tratio(pos/neg)\tratio(obj/pos)\tratio(obj/neg)\n");
-							for (int i=0; i<scores.size(); i++)
-							{
-								tempString = tempString.concat(i + "\t" + scores.get(i).getObjectiveProb() + "\t" + scores.get(i).getPositiveProb() + "\t" + scores.get(i).getNegativeProb());
-								tempString = tempString.concat("\t" + scores.get(i).getPositiveProb()/scores.get(i).getNegativeProb() + "\t" + scores.get(i).getObjectiveProb()/scores.get(i).getPositiveProb() + "\t" + scores.get(i).getObjectiveProb()/scores.get(i).getNegativeProb() + "\n");
-								tempArticle = tempArticle.concat(scores.get(i).getArticle() + "\n");
-								probsposneg.add(scores.get(i).getPositiveProb()/scores.get(i).getNegativeProb());
-								probsobjpos.add(scores.get(i).getObjectiveProb()/scores.get(i).getPositiveProb());
-								probsobjneg.add(scores.get(i).getObjectiveProb()/scores.get(i).getNegativeProb());
-							
-							}
-							
-							
-							tempString = tempString.concat("\n\n\nmean(pos/neg): " + Statistics.getMean(probsposneg) + "\nmedian(pos/neg): " + Statistics.getMedian(probsposneg));
-							tempString = tempString.concat("\n\n\nmean(obj/pos): " + Statistics.getMean(probsobjpos) + "\nmedian(obj/pos): " + Statistics.getMedian(probsobjpos));
-							tempString = tempString.concat("\n\n\nmean(obj/neg): " + Statistics.getMean(probsobjneg) + "\nmedian(obj/neg): " + Statistics.getMedian(probsobjneg));
-							
-							storage.updateDataPos(Statistics.getMean(probsposneg));
-							storage.updateDataObj(Statistics.getMean(probsobjpos));
-							storage.updateDataNeg(Statistics.getMean(probsobjneg));
-							storage.updateName(file.getName().replaceAll("_POS", ""));
-							
-							probsposneg.clear();
-							probsobjneg.clear();
-							probsobjpos.clear();
-							
-							
-							
-							
-							FileUtils.writeFile(tempFile, tempString);
-							tempFile = new File(sentalArticleDestinationPath + File.separator + subFolder, file.getName().replaceAll("_POS", "_SCORE"));
-							FileUtils.writeFile(tempFile, tempArticle);
-							
-							
-							
-							if(posCount%100 == 0)
-							{
-								System.out.println("Processing file " + posCount + "...");
-							}
-						}
-					}
-				}
-
-				
-			}
-
-
-
-
+			int[] counts = processArticles(pathToFiles, extensions, posDestinationPath, sentalDestinationPath, tagger, scorer, true, fromReuters, debug);
+			articleCount = counts[ARTICLE_COUNT];
+			
+			
+			
+			
 			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//CHECK FOR ERRORS
+			//RESULTS
 			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 
-			int sentalCount = FileSystemUtils.getFileCount(sentalDestinationPath, true);
-			String temp = "#\tpos/neg\tobj/pos\tobj/neg\tarticlename\n\n";
-			int fileCount = 1;
-			
-			for (int i=0; i<storage.getDataneg().size(); i++)
-			{
-				temp = temp.concat(i + "\t" + storage.getDatapos().get(i) + "\t" + storage.getDataobj().get(i) + "\t" + storage.getDataneg().get(i) + "\t" + storage.getArticleName().get(i) + "\n");
-				if((i+1)%50000 == 0)
-				{
-					FileUtils.writeFile(new File("/home/erhan/Desktop/TEST-FINAL/corpusdata"+ fileCount +".txt"), temp);
-					temp = "#\tpos/neg\tobj/pos\tobj/neg\tarticlename\n\n";
-					fileCount++;
-				}
-			
-			}
-			FileUtils.writeFile(new File("/home/erhan/Desktop/TEST-FINAL/corpusdata"+ fileCount +".txt"), temp);
+			writeCorpusTables("/home/erhan/Desktop/TEST-FINAL/corpusdata", "#\tpos/neg\tobj/pos\tobj/neg\tarticlename\n\n", 
+							  "#\tpos/neg\tobj/pos\tobj/neg\tarticlename\n\n", true, 
+							  storage.getDatapos(), storage.getDataobj(), storage.getDataneg(), storage.getArticleName());
+			checkCounts(counts);
 
 
 			
 			
-			if(posCount != articleCount || sentalCount != articleCount)
-			{
-				throw new Exception("MISTAKE IN OPERATION.. PLEASE CHECK:\narticleCount= " 
-						+articleCount+ "\nposCount: " + posCount + "\nsentalCount: " + sentalCount);
-			}
-			else if(debug)
+			if(debug)
 			{
 				System.err.println("\n------------------------------------\n"
 						+ "article count: " + articleCount
@@ -605,6 +371,7 @@ public class NLPOperations
 	 * @param posModelPath
 	 * @param wordNetDictinaryPath
 	 * @param sentiWordNetDictionaryPath
+	 * @param distribution - cdf graphs of the scores, see ScoreDistribution.load()
 	 * @param fromReuters
 	 * @param debug
 	 * @return
@@ -616,24 +383,17 @@ public class NLPOperations
 			  final String posModelPath,
 			  final String wordNetDictinaryPath,
 			  final String sentiWordNetDictionaryPath,
-			  final REngineConnector rEngine,
+			  final ScoreDistribution distribution,
 			  final boolean fromReuters,
 			  final boolean debug)
 	{
 		
 		int articleCount = 0;
-		int posCount = 0;
 		boolean retVal = true;
-		FileRetriever fileRetriever;
-		DeviationSentalPerformer sentalThread;
-		POSPerformer posThread;
 
 		TempStorage storage = new TempStorage();
 
-		PosParam posParameters;
-		DeviationSentalParam sentalParameters;
 
-		ArticleAbstract article;
 
 
 
@@ -645,158 +405,56 @@ public class NLPOperations
 			{
 				System.err.println("LOADING THE DICTIONARIES...\n");
 			}
-			POSTagger tagger = new POSTagger(posModelPath);
-			WordNetDictionary wordNet = WordNetDictionary.getInstance(wordNetDictinaryPath, WordNet.VERSION_30);
-			SentiWordNetDictionary sentiWordNet = SentiWordNetDictionary.getInstance(sentiWordNetDictionaryPath, SentiWordNet.VERSION_30, true);
+			POSTaggerPool tagger = new POSTaggerPool(posModelPath, tagThreadCount, shareTaggerModel);
+			FrozenSentiWordNet sentiWordNet = loadSentiWordNet(sentiWordNetDictionaryPath);
+			FrozenWordNet wordNet = (sentiWordNet == null) ? null : loadWordNet(wordNetDictinaryPath);
 
-			if(sentiWordNet.loadDictionary() == false || wordNet.loadDictionary() == false)
+			if(wordNet == null || sentiWordNet == null)
 			{
 				throw new Exception("cannot load libraries");
 			}
-
-
-
-			DeviationSentimentAnalyzer analyzer = new DeviationSentimentAnalyzer(wordNet, sentiWordNet, rEngine);
-
-
-
-
-
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//POS TAGGING
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//retrieve the files
-			fileRetriever = new FileRetriever();
-			if(!fileRetriever.retrieveFiles(pathToFiles, null, true, true))
-			{
-				throw new Exception("Error: cannot fetch files!");
-			}
-
-
-
-
-			//go through all the files and tag them
-			if(debug)
+			
+			//scores of every word are calculated once and shared by the analyzers
+			SentimentLexicon lexicon = SentimentLexicon.build(wordNet, sentiWordNet, threadCount);
+			if(lexicon == null)
 			{
-				System.err.println("STARTING POS TAGGING OPERATION...\n");
-				executor = Executors.newFixedThreadPool(threadCount);
+				throw new Exception("cannot build the sentiment lexicon");
 			}
-			while(fileRetriever.hasNext())
-			{
-				File file = fileRetriever.next();
-				articleCount++;
-
-				//parse the file
-				if(file != null)
-				{
-					if(fromReuters)
-					{
-						ReutersCorpusDocumentParser parser = new ReutersCorpusDocumentParser();
-						article = parser.parseArticleDocument(file, false);
-					}
-					else
-					{
-						NYTCorpusDocumentParser parser = new NYTCorpusDocumentParser();
-						article = parser.parseArticleDocument(file, false);
-					}
-
-
-					//create the parameters and start the thread
-					posParameters = new PosParam(articleCount, article.getHeadline() + "\n" + article.getBody(), file.getName(), posDestinationPath, tagger);
-					posThread = new POSPerformer(posParameters);
-					executor.execute(posThread);
 
-				}
-
-			}
 
 
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//wait for all the threads
-			executor.shutdown();
-			executor.awaitTermination(1, TimeUnit.HOURS);
+			DeviationSentimentAnalyzer analyzer = new DeviationSentimentAnalyzer(lexicon, distribution);
+			analyzer.setAnnotate(writeScoredArticles);
+			DeviationArticleScorer scorer = new DeviationArticleScorer(analyzer, sentalDestinationPath, 
+																	   writeScoredArticles ? sentalArticleDestinationPath : null);
 
 
 
 
 
 			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//SENTIMENTAL ANALYSIS
+			//POS TAGGING AND SENTIMENTAL ANALYSIS
 			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//retrieve the files
-			fileRetriever = new FileRetriever();
-			if(!fileRetriever.retrieveFiles(posDestinationPath, null, true, true))
-			{
-				throw new Exception("Error: cannot fetch files!");
-			}
-
-
-
-
-			//go through all the files and compute their sentimental score
-			if(debug)
-			{
-				System.err.println("STARTING SENTIMENTAL ANALYSIS OPERATION...");
-				executor = Executors.newFixedThreadPool(threadCount);
-			}
-			while(fileRetriever.hasNext())
-			{
-				File file = fileRetriever.next();
-				posCount++;
-
-				if(file != null)
-				{
-					sentalParameters = new DeviationSentalParam(posCount, analyzer, file, sentalDestinationPath, sentalArticleDestinationPath, storage);
-					sentalThread = new DeviationSentalPerformer(sentalParameters);
-					executor.execute(sentalThread);
-				}
-
-				if(debug)
-				{
-					if(posCount%10000 == 0)
-					{
-						System.out.println("Processing file " + posCount + "...");
-					}
-				}
-			}
-
-
-
-
+			int[] counts = processArticles(pathToFiles, null, posDestinationPath, sentalDestinationPath, tagger, scorer, false, fromReuters, debug);
+			articleCount = counts[ARTICLE_COUNT];
+			
+			
+			
+			
 			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//CHECK FOR ERRORS
+			//RESULTS
 			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			executor.shutdown();
-			executor.awaitTermination(1, TimeUnit.HOURS);
 
 
-			int sentalCount = FileSystemUtils.getFileCount(sentalDestinationPath, true);
-			int fileCount = 1;
-			
-			String temp = "#\tobjprob\tposprob\tnegprob\n\n";
-			for (int i=0; i<storage.getDataneg().size(); i++)
-			{
-				temp = temp.concat(i + "\t" + storage.getDataobj().get(i) + "\t" + storage.getDatapos().get(i) + "\t" + storage.getDataneg().get(i) + "\t" + storage.getArticleName().get(i) + "\n");
-				if((i+1)%50000 == 0)
-				{
-					FileUtils.writeFile(new File("/home/erhan/Desktop/TEST-FINAL/corpusdata"+ fileCount +".txt"), temp);
-					temp = "#\tobjprob\tposprob\tnegprob\n\n";
-					fileCount++;
-				}
-			
-			}
-			FileUtils.writeFile(new File("/home/erhan/Desktop/TEST-FINAL/corpusdata"+ fileCount +".txt"), temp);
+			writeCorpusTables("/home/erhan/Desktop/TEST-FINAL/corpusdata", "#\tobjprob\tposprob\tnegprob\n\n", 
+							  "#\tobjprob\tposprob\tnegprob\n\n", true, 
+							  storage.getDataobj(), storage.getDatapos(), storage.getDataneg(), storage.getArticleName());
+			checkCounts(counts);
 			
 			
 			
 			
-			if(posCount != articleCount || sentalCount != articleCount)
-			{
-				throw new Exception("MISTAKE IN OPERATION.. PLEASE CHECK:\narticleCount= " 
-						+articleCount+ "\nposCount: " + posCount + "\nsentalCount: " + sentalCount);
-			}
-			else if(debug)
+			if(debug)
 			{
 				System.err.println("\n------------------------------------\n"
 						+ "article count: " + articleCount
@@ -836,19 +494,16 @@ public class NLPOperations
 			  final String posModelPath,
 			  final String wordNetDictinaryPath,
 			  final String sentiWordNetDictionaryPath,
-			  final REngineConnector rEngine,
+			  final ScoreDistribution distribution,
 			  final boolean fromReuters,
 			  final boolean debug)
 	{
 		
 		int articleCount = 0;
-		int posCount = 0;
 		boolean retVal = true;
-		FileRetriever fileRetriever;
 		TempStorage storage = new TempStorage();
 
 
-		ArticleAbstract article;
 
 
 
@@ -860,281 +515,823 @@ public class NLPOperations
 			{
 				System.err.println("LOADING THE DICTIONARIES...\n");
 			}
-			POSTagger tagger = new POSTagger(posModelPath);
-			WordNetDictionary wordNet = WordNetDictionary.getInstance(wordNetDictinaryPath, WordNet.VERSION_30);
-			SentiWordNetDictionary sentiWordNet = SentiWordNetDictionary.getInstance(sentiWordNetDictionaryPath, SentiWordNet.VERSION_30, true);
+			POSTaggerPool tagger = new POSTaggerPool(posModelPath, tagThreadCount, shareTaggerModel);
+			FrozenSentiWordNet sentiWordNet = loadSentiWordNet(sentiWordNetDictionaryPath);
+			FrozenWordNet wordNet = (sentiWordNet == null) ? null : loadWordNet(wordNetDictinaryPath);
 
-			if(sentiWordNet.loadDictionary() == false || wordNet.loadDictionary() == false)
+			if(wordNet == null || sentiWordNet == null)
 			{
 				throw new Exception("cannot load libraries");
 			}
+			
+			//scores of every word are calculated once and shared by the analyzers
+			SentimentLexicon lexicon = SentimentLexicon.build(wordNet, sentiWordNet, threadCount);
+			if(lexicon == null)
+			{
+				throw new Exception("cannot build the sentiment lexicon");
+			}
 
 
 
-			DeviationSentimentAnalyzer analyzer = new DeviationSentimentAnalyzer(wordNet, sentiWordNet, rEngine);
+			DeviationSentimentAnalyzer analyzer = new DeviationSentimentAnalyzer(lexicon, distribution);
+			analyzer.setAnnotate(writeScoredArticles);
+			DeviationSentenceArticleScorer scorer = new DeviationSentenceArticleScorer(analyzer, sentalDestinationPath, 
+																					   writeScoredArticles ? sentalArticleDestinationPath : null, storage);
 
 
 
 
 
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//POS TAGGING
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//retrieve the files
-			fileRetriever = new FileRetriever();
 			ArrayList<String> extensions = new ArrayList<String>();
 			extensions.add("xml");
-			int subFolder = 0;
 			
-			if(!fileRetriever.retrieveFiles(pathToFiles, extensions, true, true))
-			{
-				throw new Exception("Error: cannot fetch files!");
-			}
+			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
+			//POS TAGGING AND SENTIMENTAL ANALYSIS
+			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
+			int[] counts = processArticles(pathToFiles, extensions, posDestinationPath, sentalDestinationPath, tagger, scorer, true, fromReuters, debug);
+			articleCount = counts[ARTICLE_COUNT];
+			
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
+			//RESULTS
+			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
+			
+			
+			writeCorpusTables("/home/erhan/Desktop/TEST-FINAL/corpusdata", "#\tobjprob\tposprob\tnegprob\tarticle\n\n", 
+							  "#\tobjprob\tposprob\tnegprob\n\n", true, 
+							  storage.getDataobj(), storage.getDatapos(), storage.getDataneg(), storage.getArticleName());
+			writeCorpusTables("/home/erhan/Desktop/TEST-FINAL/corpusdatanos", "#sentences\t#objective\t#positive\t#negative\tarticle\n\n", 
+							  "#sentences\t#objective\t#positive\t#negative\n\n", false, 
+							  storage.getNosent(), storage.getNoobj(), storage.getNopos(), storage.getNoneg(), storage.getArticleName());
+			checkCounts(counts);
 
+			
+			
+			if(debug)
+			{
+				System.err.println("\n------------------------------------\n"
+						+ "article count: " + articleCount
+						+ "\npos results: " + posDestinationPath
+						+ "\nsental results: " + sentalDestinationPath
+						+ "\nsental articles" + sentalArticleDestinationPath);
+			}
 
 
 
-			//go through all the files and tag them
-			if(debug)
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+			retVal = false;
+		}
+
+		return retVal;
+	}
+
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	//------------------------------------------------------------------------------------------------------------------------------
+	//			other functions
+	//------------------------------------------------------------------------------------------------------------------------------
+	/**parses, tags and scores the articles with a StagedExecutor and counts the tagged and scored articles, see checkCounts().
+	 * In streaming mode it is done in a single pass (parse -> tag -> score), and the tagged articles are written to 
+	 * the pos destination only if writePosFiles is set. Otherwise the articles are tagged and written first
+	 * (parse -> tag), then the _POS files are read back and scored (read -> score). If binaryPosFiles is set, 
+	 * a binary corpus is written instead of the _POS files, and it is read back by this thread (score).
+	 * 
+	 * If the checkpoint path is set, the articles that complete tagging and scoring are recorded in a CheckpointManifest
+	 * with the hashes of their files. The articles scored in an earlier run are skipped, and the articles tagged in an earlier run
+	 * are scored from their _POS files without being parsed and tagged again. Articles whose files have changed are processed again.
+	 * If the tagged cache path is set, the texts that are tagged before (in any article of any run) are taken from a TaggedTextCache.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param pathToFiles - path to the articles
+	 * @param extensions - extensions of the article files, null for all files
+	 * @param posDestinationPath - path to write the _POS files
+	 * @param sentalDestinationPath - path that the scorer writes the results, used to count them
+	 * @param tagger - pool of the pos taggers
+	 * @param scorer - scorer of the tagged articles
+	 * @param rescore - true if the scorer keeps the results of the run in memory, then the articles scored in an earlier run
+	 * 					are scored again from their _POS files instead of being skipped
+	 * @param fromReuters - true if reuters corpus is used false if NYT is used
+	 * @param debug - prints the operations if true
+	 * 
+	 * @return int[] - number of articles, tagged articles and results, at ARTICLE_COUNT, POS_COUNT and SENTAL_COUNT
+	 * 
+	 * @throws Exception - if the files cannot be fetched
+	 */
+	private int[] processArticles(final String pathToFiles, 
+								final ArrayList<String> extensions, 
+								final String posDestinationPath,
+								final String sentalDestinationPath,
+								final POSTaggerPool tagger,
+								final ArticleScorer scorer,
+								final boolean rescore,
+								final boolean fromReuters,
+								final boolean debug) throws Exception
+	{
+		int articleCount = 0;
+		int posCount = 0;
+		int sentalCount = 0;
+		int skippedCount = 0;
+		StagedExecutor<TaggedArticle> stages = new StagedExecutor<TaggedArticle>(queueCapacity);
+		ParallelDocumentTagger documentTagger = new ParallelDocumentTagger(tagger, chunkThreshold);
+		TaggedCorpusWriter corpus = null;
+		CheckpointManifest manifest = null;
+		String posFolder = null; //folder of the _POS files that can be reused, null if they are not written
+		
+		if(binaryPosFiles && (writePosFiles || !streaming))
+		{
+			corpus = new TaggedCorpusWriter(posDestinationPath);
+		}
+		if(corpus == null && (writePosFiles || !streaming))
+		{
+			posFolder = posDestinationPath;
+		}
+		if(checkpointPath != null)
+		{
+			manifest = new CheckpointManifest(checkpointPath);
+		}
+		if(taggedCachePath != null)
+		{
+			documentTagger.setCache(new TaggedTextCache(taggedCachePath, tagger.getModelPath()));
+		}
+		
+		
+		try
+		{
+			if(streaming)
 			{
-				System.err.println("STARTING POS TAGGING OPERATION...\n");
+				if(debug)
+				{
+					System.err.println("STARTING STREAMING POS TAGGING AND SENTIMENTAL ANALYSIS OPERATION...\n");
+				}
+				stages.addStage(new ParseStage(fromReuters, streamParsing), parseThreadCount);
+				if(corpus != null)
+				{
+					stages.addStage(new TagStage(documentTagger, corpus), tagThreadCount);
+				}
+				else
+				{
+					stages.addStage(new TagStage(documentTagger, posFolder), tagThreadCount);
+				}
+				if(manifest != null && posFolder != null)
+				{
+					stages.addStage(new CheckpointStage(manifest, CheckpointManifest.Stage.TAGGED), 1);
+				}
+				stages.addStage(new ScoreStage(scorer), scoreThreadCount);
+				if(manifest != null)
+				{
+					stages.addStage(new CheckpointStage(manifest, CheckpointManifest.Stage.SCORED), 1);
+				}
+				
+				articleCount = runStages(stages, pathToFiles, extensions, manifest, posFolder, rescore, null);
+				skippedCount = articleCount - stages.getSubmittedCount();
+				posCount = stages.getProcessedCount(1) + skippedCount;
 			}
+			else
+			{
+				if(debug)
+				{
+					System.err.println("STARTING POS TAGGING OPERATION...\n");
+				}
+				stages.addStage(new ParseStage(fromReuters, streamParsing), parseThreadCount);
+				if(corpus != null)
+				{
+					stages.addStage(new TagStage(documentTagger, corpus), tagThreadCount);
+				}
+				else
+				{
+					stages.addStage(new TagStage(documentTagger, posDestinationPath), tagThreadCount);
+				}
+				if(manifest != null && posFolder != null)
+				{
+					stages.addStage(new CheckpointStage(manifest, CheckpointManifest.Stage.TAGGED), 1);
+				}
+				
+				//with a manifest, the articles to score are kept instead of reading every _POS file in the destination
+				ArrayList<TaggedArticle> pending = (manifest != null) ? new ArrayList<TaggedArticle>() : null;
+				articleCount = runStages(stages, pathToFiles, extensions, manifest, posFolder, rescore, pending);
+				if(pending != null)
+				{
+					skippedCount = articleCount - pending.size();
+				}
+				
+				
+				if(debug)
+				{
+					System.err.println("STARTING SENTIMENTAL ANALYSIS OPERATION...");
+				}
+				stages = new StagedExecutor<TaggedArticle>(queueCapacity);
+				
+				if(corpus != null)
+				{
+					//the corpus is read sequentially, so it is decoded by this thread instead of a read stage
+					corpus.close();
+					stages.addStage(new ScoreStage(scorer), scoreThreadCount);
+					if(manifest != null)
+					{
+						stages.addStage(new CheckpointStage(manifest, CheckpointManifest.Stage.SCORED), 1);
+					}
+					
+					posCount = runCorpus(stages, posDestinationPath, pending) + skippedCount;
+				}
+				else if(pending != null)
+				{
+					stages.addStage(new ReadStage(), parseThreadCount);
+					stages.addStage(new ScoreStage(scorer), scoreThreadCount);
+					stages.addStage(new CheckpointStage(manifest, CheckpointManifest.Stage.SCORED), 1);
+					
+					runArticles(stages, pending);
+					posCount = stages.getProcessedCount(0) + skippedCount;
+				}
+				else
+				{
+					stages.addStage(new ReadStage(), parseThreadCount);
+					stages.addStage(new ScoreStage(scorer), scoreThreadCount);
+					
+					posCount = runStages(stages, posDestinationPath, null);
+				}
+			}
+		}
+		finally
+		{
+			documentTagger.shutdown();
+			
+			if(corpus != null)
+			{
+				corpus.close();
+			}
+			if(manifest != null)
+			{
+				manifest.close();
+			}
+		}
+		
+		
+		if(debug)
+		{
+			System.err.println("\ntagger pool: " + tagger.getSize() + " taggers, " + tagger.getCheckoutCount() + " checkouts, " 
+					+ tagger.getWaitTime() + " ms total wait, " + tagger.getMaxWaitTime() + " ms max wait");
+			System.err.println("split articles: " + documentTagger.getSplitCount() + ", " + documentTagger.getChunkCount() + " chunks\n");
+			
+			if(manifest != null)
+			{
+				System.err.println("checkpoint: " + skippedCount + " articles scored in an earlier run, " 
+						+ manifest.getRecordCount() + " records, " + manifest.getArticleCount() + " articles in " + manifest.getPath() + "\n");
+			}
+		}
+		
+		
+		//the hits are reported in every run, they show whether the cache directory is worth keeping
+		if(documentTagger.getCache() != null)
+		{
+			TaggedTextCache cache = documentTagger.getCache();
+			System.err.println("tagged text cache: " + cache.getMemoryHits() + " memory hits, " + cache.getDiskHits() + " disk hits, " 
+					+ cache.getMisses() + " misses\n");
+		}
+		
+		
+		sentalCount = FileSystemUtils.getFileCount(sentalDestinationPath, true);
+		
+		return new int[]{articleCount, posCount, sentalCount};
+	}
+	
+	
+	
+	
+	
+	/**checks whether all of the articles are tagged and scored. It is called after the results are written, 
+	 * so that the results of the run are kept to check what is missing.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param counts - counts returned by processArticles()
+	 * 
+	 * @throws Exception - if any of the articles is missing in the results
+	 */
+	private static void checkCounts(final int[] counts) throws Exception
+	{
+		int articleCount = counts[ARTICLE_COUNT];
+		int posCount = counts[POS_COUNT];
+		int sentalCount = counts[SENTAL_COUNT];
+		
+		if(posCount != articleCount || sentalCount != articleCount)
+		{
+			throw new Exception("MISTAKE IN OPERATION.. PLEASE CHECK:\narticleCount= " 
+					+articleCount+ "\nposCount: " + posCount + "\nsentalCount: " + sentalCount);
+		}
+	}
+	
+	
+	
+	
+	
+	/**submits the files in the given path to the stages and waits for all of them to be processed
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param stages - stages to run, they are started here
+	 * @param path - path to the files
+	 * @param extensions - extensions of the files, null for all files
+	 * 
+	 * @return int - number of the files submitted
+	 * 
+	 * @throws Exception - if the files cannot be fetched or a stage ends with an error
+	 */
+	private int runStages(final StagedExecutor<TaggedArticle> stages, final String path, final ArrayList<String> extensions) throws Exception
+	{
+		return runStages(stages, path, extensions, null, null, false, null);
+	}
+	
+	
+	
+	
+	
+	/**submits the files in the given path to the stages and waits for all of them to be processed. If a checkpoint manifest
+	 * is given, the articles scored in an earlier run are not submitted and the ones tagged in an earlier run get their _POS files
+	 * (see checkpointArticle()). If a pending list is given, the tagged articles are not submitted but added to the list to be scored, 
+	 * and a copy of each submitted article is added for the same reason.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param stages - stages to run, they are started here
+	 * @param path - path to the files
+	 * @param extensions - extensions of the files, null for all files
+	 * @param manifest - manifest of the finished articles, null to submit all the files
+	 * @param posFolder - folder of the _POS files of the earlier runs, null if they cannot be reused
+	 * @param rescore - true to submit the articles scored in an earlier run as well
+	 * @param pending - list to add the articles to score later, null if they are scored by the stages
+	 * 
+	 * @return int - number of the files, including the ones that are not submitted
+	 * 
+	 * @throws Exception - if the files cannot be fetched or a stage ends with an error
+	 */
+	private int runStages(final StagedExecutor<TaggedArticle> stages, 
+						  final String path, 
+						  final ArrayList<String> extensions,
+						  final CheckpointManifest manifest,
+						  final String posFolder,
+						  final boolean rescore,
+						  final ArrayList<TaggedArticle> pending) throws Exception
+	{
+		int count = 0;
+		TaggedArticle article;
+		FileRetriever fileRetriever = new FileRetriever();
+		
+		if(!fileRetriever.retrieveFiles(path, extensions, true, true))
+		{
+			throw new Exception("Error: cannot fetch files!");
+		}
+		
+		
+		try
+		{
+			stages.start();
+			
 			while(fileRetriever.hasNext())
 			{
 				File file = fileRetriever.next();
-				articleCount++;
-
-				//parse the file
+				
 				if(file != null)
 				{
-					if(fromReuters)
-					{
-						ReutersCorpusDocumentParser parser = new ReutersCorpusDocumentParser();
-						article = parser.parseArticleDocument(file, false);
-					}
-					else
-					{
-						NYTCorpusDocumentParser parser = new NYTCorpusDocumentParser();
-						article = parser.parseArticleDocument(file, false);
-					}
-
-
+					count++;
+					article = (manifest != null) ? checkpointArticle(manifest, file, posFolder, rescore) : new TaggedArticle(count, file);
+					
+					if(article == null)
+					{
+						//scored in an earlier run
+					}
+					else if(pending != null && article.getTaggedFile() != null)
+					{
+						pending.add(article);
+					}
+					else
+					{
+						//blocks while the first stage is full
+						stages.submit(article);
+						
+						if(pending != null)
+						{
+							TaggedArticle copy = new TaggedArticle(article.getDocID(), file);
+							copy.setContentHash(article.getContentHash());
+							if(posFolder != null)
+							{
+								copy.setTaggedFile(TagStage.getPosFile(posFolder, copy.getDocID(), copy.getName()));
+							}
+							pending.add(copy);
+						}
+					}
+					
+					if(count%100 == 0)
+					{
+						System.out.println("Processing file " + count + "...");
+					}
+				}
+			}
+			
+			stages.finish();
+		}
+		finally
+		{
+			//stops the threads if anything goes wrong, does not affect the finished stages
+			stages.close();
+		}
+		
+		return count;
+	}
+	
+	
+	
+	
+	
+	/**submits the articles of a binary corpus to the stages and waits for all of them to be processed
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param stages - stages to run, they are started here
+	 * @param path - directory of the corpus
+	 * @param pending - articles submitted to the tag stage with their content hashes, null if the articles are not checkpointed
+	 * 
+	 * @return int - number of the articles submitted
+	 * 
+	 * @throws Exception - if the corpus cannot be read or a stage ends with an error
+	 */
+	private int runCorpus(final StagedExecutor<TaggedArticle> stages, final String path, final ArrayList<TaggedArticle> pending) throws Exception
+	{
+		int count = 0;
+		TaggedCorpusReader reader = new TaggedCorpusReader(path);
+		HashMap<Integer, TaggedArticle> articles = new HashMap<Integer, TaggedArticle>();
+		
+		if(pending != null)
+		{
+			for(TaggedArticle article : pending)
+			{
+				articles.put(article.getDocID(), article);
+			}
+		}
+		
+		
+		try
+		{
+			stages.start();
+			
+			while(reader.next())
+			{
+				TaggedArticle article = articles.remove(reader.getDocID());
+				if(article == null)
+				{
+					article = new TaggedArticle(reader.getDocID(), reader.getName(), null);
+				}
+				article.setTaggedSentences(reader.getSentences());
+				count++;
+				
+				//blocks while the first stage is full
+				stages.submit(article);
+				
+				if(count%100 == 0)
+				{
+					System.out.println("Scoring article " + count + "...");
+				}
+			}
+			
+			stages.finish();
+		}
+		finally
+		{
+			//stops the threads if anything goes wrong, does not affect the finished stages
+			stages.close();
+		}
+		
+		return count;
+	}
+	
+	
+	
+	
+	
+	/**submits the given articles to the stages and waits for all of them to be processed
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param stages - stages to run, they are started here
+	 * @param articles - articles to submit
+	 * 
+	 * @return int - number of the articles submitted
+	 * 
+	 * @throws Exception - if a stage ends with an error
+	 */
+	private int runArticles(final StagedExecutor<TaggedArticle> stages, final ArrayList<TaggedArticle> articles) throws Exception
+	{
+		int count = 0;
+		
+		try
+		{
+			stages.start();
+			
+			for(TaggedArticle article : articles)
+			{
+				count++;
+				
+				//blocks while the first stage is full
+				stages.submit(article);
+				
+				if(count%100 == 0)
+				{
+					System.out.println("Scoring article " + count + "...");
+				}
+			}
+			
+			stages.finish();
+		}
+		finally
+		{
+			//stops the threads if anything goes wrong, does not affect the finished stages
+			stages.close();
+		}
+		
+		return count;
+	}
+	
+	
+	
+	
+	
+	/**creates the article of a file with the records of the checkpoint manifest. The article keeps the docID it is recorded with, 
+	 * and gets its _POS file if it is tagged in an earlier run and the file still exists.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param manifest - manifest of the finished articles
+	 * @param file - file of the article
+	 * @param posFolder - folder of the _POS files, null if they cannot be reused
+	 * @param rescore - true to return the article even if it is scored in an earlier run
+	 * 
+	 * @return TaggedArticle - article to process, null if it is scored in an earlier run
+	 * 
+	 * @throws IOException - if the file cannot be read
+	 */
+	private TaggedArticle checkpointArticle(final CheckpointManifest manifest, final File file, final String posFolder, final boolean rescore) throws IOException
+	{
+		String key = file.getAbsolutePath();
+		String hash = CheckpointManifest.hashFile(file);
+		CheckpointManifest.Stage stage = manifest.getStage(key, hash);
+		TaggedArticle retVal = new TaggedArticle(manifest.getDocID(key), file);
+		
+		retVal.setContentHash(hash);
+		
+		if(stage == CheckpointManifest.Stage.SCORED && !rescore)
+		{
+			retVal = null;
+		}
+		else if(stage != null && posFolder != null)
+		{
+			File posFile = TagStage.getPosFile(posFolder, retVal.getDocID(), retVal.getName());
+			
+			if(posFile.exists())
+			{
+				retVal.setTaggedFile(posFile);
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**returns the wordnet dictionary of the path from the registry, it is loaded and registered if it is not registered yet. 
+	 * If the snapshot path is set, it is loaded from the snapshot in that directory. A snapshot that does not exist yet 
+	 * is created after loading the dictionary files, so it is compiled only once. Otherwise, if a warm-up profile is set, 
+	 * the dictionary is loaded lazily and only the files in the profile are loaded. Dictionaries are frozen when 
+	 * they are registered, and only their read only views are shared, see DictionaryRegistry.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path to the WordNet/dict directory
+	 * 
+	 * @return FrozenWordNet - view of the registered dictionary, null if it cannot be loaded
+	 */
+	private FrozenWordNet loadWordNet(final String path)
+	{
+		FrozenWordNet retVal = registry.getWordNet(path, WordNet.VERSION_30);
+		
+		if(retVal == null)
+		{
+			WordNetDictionary wordNet = WordNetDictionary.newInstance(path, WordNet.VERSION_30);
+			boolean loaded = true;
+			
+			if(snapshotPath == null && warmupProfile != null)
+			{
+				wordNet.setLazyLoading(true);
+				loaded = wordNet.loadDictionary() && wordNet.warmUp(warmupProfile);
+			}
+			else if(snapshotPath == null)
+			{
+				loaded = wordNet.loadDictionary();
+			}
+			else
+			{
+				File wordNetSnapshot = new File(snapshotPath, WORDNET_SNAPSHOT);
+				
+				if(!wordNetSnapshot.isFile() || !wordNet.loadSnapshot(wordNetSnapshot.getAbsolutePath()))
+				{
+					loaded = wordNet.loadDictionary();
 					
-					//tag the string
-					String taggedString = tagger.tagString(article.getHeadline() + "\n" + article.getBody());
-						
-						
-					//check the results for error
-					if(taggedString == null || taggedString.isEmpty())
+					if(loaded && !wordNet.saveSnapshot(wordNetSnapshot.getAbsolutePath()))
 					{
-						throw new Exception("Cannot tag the text! -> " + file.getName());
+						System.err.println("cannot save the snapshot: " + wordNetSnapshot.getAbsolutePath());
 					}
-
-						
-					//save the tagged string to a file in the output folder 
-					subFolder = articleCount/1000;
-					file = new File(posDestinationPath + File.separator + subFolder, file.getName() + "_POS");
-					FileUtils.writeFile(file, taggedString);
+				}
+			}
+			
+			//registered dictionaries are shared by every operation, so the registry makes them read only.
+			//if another operation registers the same dictionary meanwhile, the one registered first is used
+			try
+			{
+				retVal = loaded ? registry.registerWordNet(wordNet) : null;
+			}
+			catch(IllegalArgumentException e)
+			{
+				e.printStackTrace();
+				retVal = null;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**returns the sentiwordnet dictionary of the path from the registry, it is loaded and registered if it is not registered yet. 
+	 * It is loaded in the same way as the wordnet dictionary, see loadWordNet().
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path to the sentiWordNet dictionary file
+	 * 
+	 * @return FrozenSentiWordNet - view of the registered dictionary, null if it cannot be loaded
+	 */
+	private FrozenSentiWordNet loadSentiWordNet(final String path)
+	{
+		FrozenSentiWordNet retVal = registry.getSentiWordNet(path, SentiWordNet.VERSION_30, true);
+		
+		if(retVal == null)
+		{
+			SentiWordNetDictionary sentiWordNet = SentiWordNetDictionary.newInstance(path, SentiWordNet.VERSION_30, true);
+			boolean loaded = true;
+			
+			if(snapshotPath == null && warmupProfile != null)
+			{
+				sentiWordNet.setLazyLoading(true);
+				loaded = sentiWordNet.loadDictionary() && sentiWordNet.warmUp(warmupProfile);
+			}
+			else if(snapshotPath == null)
+			{
+				loaded = sentiWordNet.loadDictionary();
+			}
+			else
+			{
+				File sentiWordNetSnapshot = new File(snapshotPath, SENTIWORDNET_SNAPSHOT);
+				
+				if(!sentiWordNetSnapshot.isFile() || !sentiWordNet.loadSnapshot(sentiWordNetSnapshot.getAbsolutePath()))
+				{
+					loaded = sentiWordNet.loadDictionary();
 					
-					if(articleCount%100 == 0)
+					if(loaded && !sentiWordNet.saveSnapshot(sentiWordNetSnapshot.getAbsolutePath()))
 					{
-						System.out.println("Processing file " + articleCount + "...");
+						System.err.println("cannot save the snapshot: " + sentiWordNetSnapshot.getAbsolutePath());
 					}
-
 				}
-
 			}
-
-
-
-
-
-
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//SENTIMENTAL ANALYSIS
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			subFolder = 0;
-			//retrieve the files
-			fileRetriever = new FileRetriever();
-			if(!fileRetriever.retrieveFiles(posDestinationPath, null, true, true))
+			
+			//registered dictionaries are shared by every operation, so the registry makes them read only.
+			//if another operation registers the same dictionary meanwhile, the one registered first is used
+			try
 			{
-				throw new Exception("Error: cannot fetch files!");
+				retVal = loaded ? registry.registerSentiWordNet(sentiWordNet) : null;
 			}
-
-
-
-
-			//go through all the files and compute their sentimental score
-			if(debug)
+			catch(IllegalArgumentException e)
 			{
-				System.err.println("STARTING SENTIMENTAL ANALYSIS OPERATION...");
+				e.printStackTrace();
+				retVal = null;
 			}
-			while(fileRetriever.hasNext())
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**writes the columns of the storage into tables of CORPUS_TABLE_ROWS rows each, named as prefix + number of the table + ".txt".
+	 * The values of a row are separated with tabs, and written straight to the file without building the table as a string.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param prefix - path of the tables without the number of the table
+	 * @param header - header of the first table
+	 * @param nextHeader - header of the other tables
+	 * @param numbered - true to start every row with the number of the row
+	 * @param columns - columns of the rows, all of the same size
+	 * 
+	 * @return boolean - true if all the tables are written
+	 */
+	private static boolean writeCorpusTables(final String prefix, final String header, final String nextHeader, 
+											 final boolean numbered, final ArrayList<?>... columns)
+	{
+		boolean retVal = true;
+		TextFileWriter writer = null;
+		int fileCount = 1;
+		int size = columns[0].size();
+		Object value;
+		
+		try
+		{
+			writer = new TextFileWriter(new File(prefix + fileCount + ".txt"));
+			writer.append(header);
+			
+			for(int i=0; i<size; i++)
 			{
-				File file = fileRetriever.next();
-				posCount++;
-
-				if(file != null)
+				if(numbered)
 				{
-					File tempFile;
-					ArrayList<Double> probObj = new ArrayList<Double>();
-					ArrayList<Double> probNeg = new ArrayList<Double>();
-					ArrayList<Double> probPos = new ArrayList<Double>();
-					int nopos = 0;
-					int noobj = 0;
-					int noneg = 0;
-					
+					writer.append(i).append('\t');
+				}
+				
+				for(int c=0; c<columns.length; c++)
+				{
+					value = columns[c].get(i);
 					
-					try
+					if(value instanceof Double)
 					{
-						if(posCount%100 == 0)
-						{
-							System.out.println("processing file " + posCount);
-						}
-						
-						
-						ArrayList<TaggedSentence> wordList = POSTagTokenizer.tokenizeTaggedTextIntoSentences(file.getCanonicalPath(), "_");
-						
-						if(wordList != null && !wordList.isEmpty())//if the article is not empty and there is no error parsing it
-						{
-							ArrayList<SentimentScore> scores = analyzer.sentenceBasedAnalysis(wordList);
-							
-							if(scores != null)//if we were able to get the score without errors
-							{
-								subFolder = posCount/1000;
-								tempFile = new File(sentalDestinationPath + File.separator + subFolder, file.getName().replaceAll("_POS", "_SCORE"));
-								
-								//construct the output strings
-								String tempString = "";
-								String tempArticle = "";
-								tempString = tempString.concat("sentence#\tPROBobj\tPROBpos\tneg\n\n");
-								for (int i=0; i<scores.size(); i++)
-								{
-									tempString = tempString.concat(i + "\t" + scores.get(i).getObjectiveProb() + "\t" + scores.get(i).getPositiveProb() + "\t" + scores.get(i).getNegativeProb() + "\n");
-									tempArticle = tempArticle.concat(scores.get(i).getArticle() + "\n");
-									
-									probNeg.add(scores.get(i).getNegativeProb());
-									probPos.add(scores.get(i).getPositiveProb());
-									probObj.add(scores.get(i).getObjectiveProb());
-									
-									if(scores.get(i).getNegativeProb() >= 0.34)
-									{
-										noneg++;
-									}
-									if(scores.get(i).getPositiveProb() >= 0.34)
-									{
-										nopos++;
-									}
-									if(scores.get(i).getObjectiveProb() >= 0.34)
-									{
-										noobj++;
-									}
-								}
-								
-								tempString = tempString.concat("\n\n\nmean obj: " + Statistics.getMean(probObj) + "\nmedian obj: " + Statistics.getMedian(probObj));
-								tempString = tempString.concat("\nmean neg: " + Statistics.getMean(probNeg) + "\nmedian neg: " + Statistics.getMedian(probNeg));
-								tempString = tempString.concat("\nmean pos: " + Statistics.getMean(probPos) + "\nmedian pos: " + Statistics.getMedian(probPos));
-								tempString = tempString.concat("\nno_of_sentences: " + (scores.size()) + "\nno_of_pos_sent: " +nopos+ "\nno_of_neg_sent: " +noneg+ "\nno_of_obj_sent: " +noobj);
-								
-								
-								storage.updateDataNeg(Statistics.getMean(probNeg));
-								storage.updateDataObj(Statistics.getMean(probObj));
-								storage.updateDataPos(Statistics.getMean(probPos));
-								storage.updateNoNeg(noneg);
-								storage.updateNoPos(nopos);
-								storage.updateNoObj(noobj);
-								storage.updateNoSent(scores.size());
-								storage.updateName(file.getName().replaceAll("_POS", ""));
-								
-								FileUtils.writeFile(tempFile, tempString);
-								tempFile = new File(sentalArticleDestinationPath + File.separator + subFolder, file.getName().replaceAll("_POS", "_SCORE"));
-								FileUtils.writeFile(tempFile, tempArticle);
-								
-								
-							}
-						}
-						
-						
+						writer.append(((Double) value).doubleValue());
 					}
-					catch(Exception e)
+					else if(value instanceof Integer)
 					{
-						e.printStackTrace();
+						writer.append(((Integer) value).intValue());
 					}
+					else
+					{
+						writer.append(String.valueOf(value));
+					}
+					
+					writer.append(c == columns.length-1 ? '\n' : '\t');
 				}
-			}
-
-
-
-
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			//CHECK FOR ERRORS
-			///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-			
-			
-			int sentalCount = FileSystemUtils.getFileCount(sentalDestinationPath, true);
-			int fileCount = 1;
-			
-			String temp = "#\tobjprob\tposprob\tnegprob\tarticle\n\n";
-			String temp2 = "#sentences\t#objective\t#positive\t#negative\tarticle\n\n";
-			for (int i=0; i<storage.getDataneg().size(); i++)
-			{
-				temp = temp.concat(i + "\t" + storage.getDataobj().get(i) + "\t" + storage.getDatapos().get(i) + "\t" + storage.getDataneg().get(i) + "\t" + storage.getArticleName().get(i) + "\n");
-				temp2 = temp2.concat( storage.getNosent().get(i)+ "\t" + storage.getNoobj().get(i) + "\t" + storage.getNopos().get(i) + "\t" +storage.getNoneg().get(i) + "\t" + storage.getArticleName().get(i) + "\n");
-				if((i+1)%50000 == 0)
+				
+				if((i+1)%CORPUS_TABLE_ROWS == 0)
 				{
-					FileUtils.writeFile(new File("/home/erhan/Desktop/TEST-FINAL/corpusdata"+ fileCount +".txt"), temp);
-					temp = "#\tobjprob\tposprob\tnegprob\n\n";
-					FileUtils.writeFile(new File("/home/erhan/Desktop/TEST-FINAL/corpusdatanos"+ fileCount +".txt"), temp2);
-					temp2 = "#sentences\t#objective\t#positive\t#negative\n\n";
+					writer.close();
 					fileCount++;
+					writer = new TextFileWriter(new File(prefix + fileCount + ".txt"));
+					writer.append(nextHeader);
 				}
-			
-			}
-			FileUtils.writeFile(new File("/home/erhan/Desktop/TEST-FINAL/corpusdata"+ fileCount +".txt"), temp);
-			FileUtils.writeFile(new File("/home/erhan/Desktop/TEST-FINAL/corpusdatanos"+ fileCount +".txt"), temp2);
-
-			
-			
-			if(posCount != articleCount || sentalCount != articleCount)
-			{
-				throw new Exception("MISTAKE IN OPERATION.. PLEASE CHECK:\narticleCount= " 
-						+articleCount+ "\nposCount: " + posCount + "\nsentalCount: " + sentalCount);
-			}
-			else if(debug)
-			{
-				System.err.println("\n------------------------------------\n"
-						+ "article count: " + articleCount
-						+ "\npos results: " + posDestinationPath
-						+ "\nsental results: " + sentalDestinationPath
-						+ "\nsental articles" + sentalArticleDestinationPath);
 			}
-
-
-
 		}
-		catch(Exception e)
+		catch(IOException e)
 		{
 			e.printStackTrace();
 			retVal = false;
 		}
-
+		finally
+		{
+			if(writer != null)
+			{
+				try
+				{
+					writer.close();
+				}
+				catch(IOException e)
+				{
+					e.printStackTrace();
+					retVal = false;
+				}
+			}
+		}
+		
+		
 		return retVal;
 	}
-
-	
-	
-	
 	
 	
 	
 	
 	
-	
-	
-	
-	//------------------------------------------------------------------------------------------------------------------------------
-	//			other functions
-	//------------------------------------------------------------------------------------------------------------------------------
 	public boolean isDebug() 
 	{
 		return debug;
@@ -1143,5 +1340,216 @@ public class NLPOperations
 	{
 		this.debug = debug;
 	}
+	public String getSnapshotPath() 
+	{
+		return snapshotPath;
+	}
+	/**sets the directory to keep the binary snapshots of the dictionaries, see loadWordNet()
+	 * 
+	 * @param snapshotPath - an existing directory, or null to always load the dictionary files
+	 */
+	public void setSnapshotPath(final String snapshotPath) 
+	{
+		this.snapshotPath = snapshotPath;
+	}
+	public WarmupProfile getWarmupProfile() 
+	{
+		return warmupProfile;
+	}
+	/**sets the parts of the dictionaries that are loaded up front, the others are loaded when they are first used. 
+	 * WarmupProfile.forSentimentLexicon() has the parts used by the analyzers. Not used with the snapshots, see loadWordNet()
+	 * 
+	 * @param warmupProfile - a profile, or null to load the dictionaries completely
+	 */
+	public void setWarmupProfile(final WarmupProfile warmupProfile) 
+	{
+		this.warmupProfile = warmupProfile;
+	}
+	public DictionaryRegistry getRegistry() 
+	{
+		return registry;
+	}
+	/**sets the registry of the dictionaries. The dictionaries that are already registered are used as they are, 
+	 * the snapshot path and the warm-up profile only apply to the ones that are loaded by these operations.
+	 * 
+	 * @param registry - registry to look the dictionaries up, DictionaryRegistry.getShared() by default
+	 */
+	public void setRegistry(final DictionaryRegistry registry) 
+	{
+		if(registry == null)
+		{
+			throw new IllegalArgumentException("registry cannot be null");
+		}
+		this.registry = registry;
+	}
+	public String getCheckpointPath() 
+	{
+		return checkpointPath;
+	}
+	/**sets the directory to keep the checkpoint manifest of the operations, see processArticles(). A run that is stopped
+	 * or repeated over a growing archive only processes the articles that are new, changed or not finished yet.
+	 * 
+	 * @param checkpointPath - a directory, or null to process all the articles
+	 */
+	public void setCheckpointPath(final String checkpointPath) 
+	{
+		this.checkpointPath = checkpointPath;
+	}
+	public String getTaggedCachePath() 
+	{
+		return taggedCachePath;
+	}
+	/**sets the directory of the cache of the tagged texts, see TaggedTextCache. The articles with a text that is tagged 
+	 * before are not tagged again. The directory is never cleaned up by the cache, it grows with every new text.
+	 * 
+	 * @param taggedCachePath - a directory, or null to tag all the texts
+	 */
+	public void setTaggedCachePath(final String taggedCachePath) 
+	{
+		this.taggedCachePath = taggedCachePath;
+	}
+	public boolean isStreaming() 
+	{
+		return streaming;
+	}
+	/**sets whether the articles are tagged and scored in a single pass, see processArticles()
+	 * 
+	 * @param streaming - true to pass the tagged articles to the analyzers in memory, false to write and read back the _POS files
+	 */
+	public void setStreaming(final boolean streaming) 
+	{
+		this.streaming = streaming;
+	}
+	public boolean isWritePosFiles() 
+	{
+		return writePosFiles;
+	}
+	/**sets whether the _POS files are written in streaming mode. If they are not, the analyzers get the
+	 * sentences from the tagger directly, which are split by the tagger instead of the end of sentence tags. 
+	 * 
+	 * @param writePosFiles - false to skip the _POS files
+	 */
+	public void setWritePosFiles(final boolean writePosFiles) 
+	{
+		this.writePosFiles = writePosFiles;
+	}
+	public boolean isBinaryPosFiles() 
+	{
+		return binaryPosFiles;
+	}
+	/**sets whether the tagged articles are written to a binary corpus in the pos destination (see TaggedCorpusWriter)
+	 * instead of a _POS file for each article. The sentences are taken from the tagger as in setWritePosFiles(false).
+	 * 
+	 * @param binaryPosFiles - true to write a binary corpus
+	 */
+	public void setBinaryPosFiles(final boolean binaryPosFiles) 
+	{
+		this.binaryPosFiles = binaryPosFiles;
+	}
+	public boolean isWriteScoredArticles() 
+	{
+		return writeScoredArticles;
+	}
+	/**sets whether the articles annotated with the scores of every word are written to the sental article destination.
+	 * Annotating takes most of the memory of the analyzers for long articles, so turn it off if they are not needed.
+	 * 
+	 * @param writeScoredArticles - false to skip the annotated articles
+	 */
+	public void setWriteScoredArticles(final boolean writeScoredArticles) 
+	{
+		this.writeScoredArticles = writeScoredArticles;
+	}
+	public boolean isShareTaggerModel() 
+	{
+		return shareTaggerModel;
+	}
+	/**sets whether the taggers of the pool share one model, see POSTaggerPool
+	 * 
+	 * @param shareTaggerModel - false to load a model for each tagging thread
+	 */
+	public void setShareTaggerModel(final boolean shareTaggerModel) 
+	{
+		this.shareTaggerModel = shareTaggerModel;
+	}
+	public boolean isStreamParsing() 
+	{
+		return streamParsing;
+	}
+	/**sets whether the NYT articles are parsed with NYTCorpusStreamParser, see ParseStage
+	 * 
+	 * @param streamParsing - false to parse them with NYTCorpusDocumentParser
+	 */
+	public void setStreamParsing(final boolean streamParsing) 
+	{
+		this.streamParsing = streamParsing;
+	}
+	public int getQueueCapacity() 
+	{
+		return queueCapacity;
+	}
+	public void setQueueCapacity(final int queueCapacity) 
+	{
+		if(queueCapacity < 1)
+		{
+			throw new IllegalArgumentException("queue capacity must be positive");
+		}
+		this.queueCapacity = queueCapacity;
+	}
+	public int getChunkThreshold() 
+	{
+		return chunkThreshold;
+	}
+	/**sets the length of the articles that are split into chunks and tagged in parallel, see ParallelDocumentTagger
+	 * 
+	 * @param chunkThreshold - number of characters, 0 to tag every article as a whole
+	 */
+	public void setChunkThreshold(final int chunkThreshold) 
+	{
+		if(chunkThreshold < 0)
+		{
+			throw new IllegalArgumentException("chunk threshold cannot be negative");
+		}
+		this.chunkThreshold = chunkThreshold;
+	}
+	public int getParseThreadCount() 
+	{
+		return parseThreadCount;
+	}
+	/**sets the number of threads that parse the articles, also used for reading the _POS files back
+	 * 
+	 * @param parseThreadCount - a positive number
+	 */
+	public void setParseThreadCount(final int parseThreadCount) 
+	{
+		if(parseThreadCount < 1)
+		{
+			throw new IllegalArgumentException("thread count must be positive");
+		}
+		this.parseThreadCount = parseThreadCount;
+	}
+	public int getTagThreadCount() 
+	{
+		return tagThreadCount;
+	}
+	public void setTagThreadCount(final int tagThreadCount) 
+	{
+		if(tagThreadCount < 1)
+		{
+			throw new IllegalArgumentException("thread count must be positive");
+		}
+		this.tagThreadCount = tagThreadCount;
+	}
+	public int getScoreThreadCount() 
+	{
+		return scoreThreadCount;
+	}
+	public void setScoreThreadCount(final int scoreThreadCount) 
+	{
+		if(scoreThreadCount < 1)
+		{
+			throw new IllegalArgumentException("thread count must be positive");
+		}
+		this.scoreThreadCount = scoreThreadCount;
+	}
 
 }
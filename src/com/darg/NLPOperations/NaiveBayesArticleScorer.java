@@ -0,0 +1,195 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import com.darg.utils.Statistics;
+
+import com.darg.NLPOperations.pos.model.TaggedSentence;
+import com.darg.NLPOperations.sentimentalAnalysis.NaiveBayesSentimentAnalyzer;
+import com.darg.NLPOperations.sentimentalAnalysis.model.SentimentScore;
+import com.darg.NLPOperations.utils.ArticleScorer;
+import com.darg.NLPOperations.utils.TaggedArticle;
+import com.darg.fileOperations.utils.TextFileWriter;
+import com.darg.utils.TempStorage;
+
+
+
+/**scores the sentences of the tagged articles with naive bayes sentimental analysis. 
+ * Writes the scores and the ratios of the probabilities of each sentence, and keeps the mean ratios of each article in the storage.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class NaiveBayesArticleScorer implements ArticleScorer
+{
+	private NaiveBayesSentimentAnalyzer analyzer;
+	private String outputFolder;
+	private String articleOutputFolder; //null if the annotated articles are not written
+	private TempStorage storage;
+	
+	
+	
+	//------------------------------------------------------------------------------------------------------------------------------
+	//			constructors 
+	//------------------------------------------------------------------------------------------------------------------------------
+	@SuppressWarnings("unused")
+	private NaiveBayesArticleScorer()
+	{
+		
+	}
+	public NaiveBayesArticleScorer(final NaiveBayesSentimentAnalyzer analyzer, final String outputFolder, 
+								   final String articleOutputFolder, final TempStorage storage) 
+	{
+		this.analyzer = analyzer;
+		this.outputFolder = outputFolder;
+		this.articleOutputFolder = articleOutputFolder;
+		this.storage = storage;
+	}
+	
+	
+	
+	
+	
+	/**computes the sentence based scores of the article, writes them to the output folders and updates the storage
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param article - tagged article
+	 * 
+	 * @return boolean - true if the scores are written, false if the article is empty or cannot be scored
+	 */
+	@Override
+	public boolean scoreArticle(final TaggedArticle article)
+	{
+		boolean retVal = false;
+		int subFolder = 0;
+		File tempFile;
+		ArrayList<Double> probsposneg = new ArrayList<Double>();
+		ArrayList<Double> probsobjpos = new ArrayList<Double>();
+		ArrayList<Double> probsobjneg = new ArrayList<Double>();
+		SentimentScore score;
+		
+		ArrayList<TaggedSentence> wordList = article.getTaggedSentences();
+		
+		if(wordList != null && !wordList.isEmpty())
+		{
+			ArrayList<SentimentScore> scores = analyzer.sentenceBasedAnalysis(wordList);
+			
+			if(scores != null)
+			{
+				//prepare the output folders
+				subFolder = article.getDocID()/1000;
+				tempFile = new File(outputFolder + File.separator + subFolder, article.getName() + "_SCORE");
+				
+				for (int i=0; i<scores.size(); i++)
+				{
+					score = scores.get(i);
+					probsposneg.add(score.getPositiveProb()/score.getNegativeProb());
+					probsobjpos.add(score.getObjectiveProb()/score.getPositiveProb());
+					probsobjneg.add(score.getObjectiveProb()/score.getNegativeProb());
+				}
+				
+				
+				//the table is written straight to the file
+				try(TextFileWriter writer = new TextFileWriter(tempFile))
+				{
+					writer.append("sentence#\tobj\tpos\tneg\tratio(pos/neg)\tratio(obj/pos)\tratio(obj/neg)\n");
+					for (int i=0; i<scores.size(); i++)
+					{
+						score = scores.get(i);
+						writer.append(i).append('\t').append(score.getObjectiveProb()).append('\t').append(score.getPositiveProb())
+							  .append('\t').append(score.getNegativeProb());
+						writer.append('\t').append(probsposneg.get(i)).append('\t').append(probsobjpos.get(i))
+							  .append('\t').append(probsobjneg.get(i)).append('\n');
+					}
+					
+					//medians sort the lists, so the order of the calls is kept as it is
+					writer.append("\n\n\nmean(pos/neg): ").append(Statistics.getMean(probsposneg)).append("\nmedian(pos/neg): ").append(Statistics.getMedian(probsposneg));
+					writer.append("\n\n\nmean(obj/pos): ").append(Statistics.getMean(probsobjpos)).append("\nmedian(obj/pos): ").append(Statistics.getMedian(probsobjpos));
+					writer.append("\n\n\nmean(obj/neg): ").append(Statistics.getMean(probsobjneg)).append("\nmedian(obj/neg): ").append(Statistics.getMedian(probsobjneg));
+					
+					retVal = true;
+				}
+				catch(IOException e)
+				{
+					e.printStackTrace();
+					retVal = false;
+				}
+				
+				//articles can be scored by more than one thread, keep the rows of the storage together
+				synchronized(storage)
+				{
+					storage.updateDataPos(Statistics.getMean(probsposneg));
+					storage.updateDataObj(Statistics.getMean(probsobjpos));
+					storage.updateDataNeg(Statistics.getMean(probsobjneg));
+					storage.updateName(article.getName());
+				}
+				
+				//annotated articles are optional
+				if(articleOutputFolder != null)
+				{
+					tempFile = new File(articleOutputFolder + File.separator + subFolder, article.getName() + "_SCORE");
+					retVal = writeArticles(tempFile, scores) && retVal;
+				}
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**writes the annotated sentences of an article, one sentence in each line
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param file - file to write
+	 * @param scores - scores of the sentences
+	 * 
+	 * @return boolean - true if the file is written
+	 */
+	private static boolean writeArticles(final File file, final ArrayList<SentimentScore> scores)
+	{
+		boolean retVal = true;
+		
+		try(TextFileWriter writer = new TextFileWriter(file))
+		{
+			for(int i=0; i<scores.size(); i++)
+			{
+				writer.append(scores.get(i).getArticle()).append('\n');
+			}
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			retVal = false;
+		}
+		
+		return retVal;
+	}
+	
+	
+}
@@ -0,0 +1,330 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.dictionary;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.darg.NLPOperations.dictionary.model.FrozenSentiWordNet;
+import com.darg.NLPOperations.dictionary.model.FrozenWordNet;
+import com.darg.NLPOperations.dictionary.model.SentiWordNet;
+import com.darg.NLPOperations.dictionary.model.WordNet;
+
+
+
+
+/**keeps the loaded dictionaries of a program keyed by their path and version, so that they are loaded once 
+ * and shared by every user instead of being limited to a single instance by getInstance(). 
+ * Dictionaries of different versions or files can be registered at the same time, e.g. for comparing two lexicons.
+ * 
+ * Dictionaries are frozen when they are registered, and only their read only views (see WordNetDictionary.freeze() and 
+ * SentiWordNetDictionary.freeze()) are kept and returned, so the shared dictionaries cannot be modified, closed or 
+ * moved to another path by their users. They should be loaded before they are registered.
+ * 
+ * A registered dictionary can be replaced with a newly loaded one at any time. Users that already hold the old 
+ * view (or a lexicon built from it) keep using it until they are done, only the later lookups get the new one.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class DictionaryRegistry 
+{
+	private static final DictionaryRegistry sharedRegistry = new DictionaryRegistry();
+	
+	private ConcurrentHashMap<String, FrozenWordNet> wordNets;
+	private ConcurrentHashMap<String, FrozenSentiWordNet> sentiWordNets;
+	
+	
+	
+	
+	//constructors
+	public DictionaryRegistry() 
+	{
+		wordNets = new ConcurrentHashMap<String, FrozenWordNet>();
+		sentiWordNets = new ConcurrentHashMap<String, FrozenSentiWordNet>();
+	}
+	
+	
+	
+	
+	/**returns the registry that is shared by the whole program
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return DictionaryRegistry - shared registry
+	 */
+	public static DictionaryRegistry getShared()
+	{
+		return sharedRegistry;
+	}
+	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*---------------------------------------------------------------------------------------*/
+	/**returns the view of the wordnet dictionary registered for the given path and version
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path to the WordNet/dict directory
+	 * @param version - version of the dictionary
+	 * 
+	 * @return FrozenWordNet - view of the registered dictionary, null if there is none
+	 */
+	public FrozenWordNet getWordNet(final String path, final WordNet version)
+	{
+		return wordNets.get(createKey(path, version.name(), true));
+	}
+	
+	
+	
+	
+	
+	/**freezes the wordnet dictionary and registers its view for its path and version, unless another one is registered for them before.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param dictionary - a loaded dictionary
+	 * 
+	 * @return FrozenWordNet - the view that is registered, either the view of the given dictionary or the one registered before
+	 * @throws IllegalArgumentException - if the dictionary is not loaded
+	 */
+	public FrozenWordNet registerWordNet(final WordNetDictionary dictionary)
+	{
+		FrozenWordNet frozen = freeze(dictionary);
+		FrozenWordNet retVal = wordNets.putIfAbsent(createKey(dictionary), frozen);
+		
+		return (retVal == null) ? frozen : retVal;
+	}
+	
+	
+	
+	
+	
+	/**freezes the wordnet dictionary and registers its view for its path and version, in place of the one registered before. 
+	 * The users holding the old view are not affected.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param dictionary - a loaded dictionary
+	 * 
+	 * @return FrozenWordNet - the view registered before, null if there is none
+	 * @throws IllegalArgumentException - if the dictionary is not loaded
+	 */
+	public FrozenWordNet replaceWordNet(final WordNetDictionary dictionary)
+	{
+		FrozenWordNet frozen = freeze(dictionary);
+		
+		return wordNets.put(createKey(dictionary), frozen);
+	}
+	
+	
+	
+	
+	
+	/**removes the view of the wordnet dictionary of the given path and version from the registry
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path to the WordNet/dict directory
+	 * @param version - version of the dictionary
+	 * 
+	 * @return FrozenWordNet - the removed view, null if there is none
+	 */
+	public FrozenWordNet removeWordNet(final String path, final WordNet version)
+	{
+		return wordNets.remove(createKey(path, version.name(), true));
+	}
+	
+	
+	
+	
+	
+	/**returns the view of the sentiwordnet dictionary registered for the given path, version and indexing
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path to the sentiWordNet dictionary file
+	 * @param version - version of the dictionary
+	 * @param allowIndexing - whether the words of the dictionary are indexed, see SentiWordNetDictionary.getInstance()
+	 * 
+	 * @return FrozenSentiWordNet - view of the registered dictionary, null if there is none
+	 */
+	public FrozenSentiWordNet getSentiWordNet(final String path, final SentiWordNet version, final boolean allowIndexing)
+	{
+		return sentiWordNets.get(createKey(path, version.name(), allowIndexing));
+	}
+	
+	
+	
+	
+	
+	/**freezes the sentiwordnet dictionary and registers its view for its path, version and indexing, unless another one 
+	 * is registered for them before.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param dictionary - a loaded dictionary
+	 * 
+	 * @return FrozenSentiWordNet - the view that is registered, either the view of the given dictionary or the one registered before
+	 * @throws IllegalArgumentException - if the dictionary is not loaded
+	 */
+	public FrozenSentiWordNet registerSentiWordNet(final SentiWordNetDictionary dictionary)
+	{
+		FrozenSentiWordNet frozen = freeze(dictionary);
+		FrozenSentiWordNet retVal = sentiWordNets.putIfAbsent(createKey(dictionary), frozen);
+		
+		return (retVal == null) ? frozen : retVal;
+	}
+	
+	
+	
+	
+	
+	/**freezes the sentiwordnet dictionary and registers its view for its path, version and indexing, in place of the one 
+	 * registered before. The users holding the old view are not affected.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param dictionary - a loaded dictionary
+	 * 
+	 * @return FrozenSentiWordNet - the view registered before, null if there is none
+	 * @throws IllegalArgumentException - if the dictionary is not loaded
+	 */
+	public FrozenSentiWordNet replaceSentiWordNet(final SentiWordNetDictionary dictionary)
+	{
+		FrozenSentiWordNet frozen = freeze(dictionary);
+		
+		return sentiWordNets.put(createKey(dictionary), frozen);
+	}
+	
+	
+	
+	
+	
+	/**removes the view of the sentiwordnet dictionary of the given path, version and indexing from the registry
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path to the sentiWordNet dictionary file
+	 * @param version - version of the dictionary
+	 * @param allowIndexing - whether the words of the dictionary are indexed
+	 * 
+	 * @return FrozenSentiWordNet - the removed view, null if there is none
+	 */
+	public FrozenSentiWordNet removeSentiWordNet(final String path, final SentiWordNet version, final boolean allowIndexing)
+	{
+		return sentiWordNets.remove(createKey(path, version.name(), allowIndexing));
+	}
+	
+	
+	
+	
+	
+	/**freezes the dictionary to be registered
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param dictionary - a loaded dictionary
+	 * 
+	 * @return FrozenWordNet - view of the dictionary
+	 * @throws IllegalArgumentException - if the dictionary is not loaded
+	 */
+	private static FrozenWordNet freeze(final WordNetDictionary dictionary)
+	{
+		FrozenWordNet retVal = dictionary.freeze();
+		
+		if(retVal == null)
+		{
+			throw new IllegalArgumentException("dictionary is not loaded");
+		}
+		
+		return retVal;
+	}
+	
+	private static FrozenSentiWordNet freeze(final SentiWordNetDictionary dictionary)
+	{
+		FrozenSentiWordNet retVal = dictionary.freeze();
+		
+		if(retVal == null)
+		{
+			throw new IllegalArgumentException("dictionary is not loaded");
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**creates the key of a dictionary. The path is made absolute and normalized so that the same file gives the same key.
+	 * The key of a registered dictionary cannot change, since the path of a frozen dictionary cannot be changed.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path of the dictionary
+	 * @param version - name of the version of the dictionary
+	 * @param allowIndexing - whether the words are indexed, always true for wordnet
+	 * 
+	 * @return String - key of the dictionary
+	 */
+	private static String createKey(final String path, final String version, final boolean allowIndexing)
+	{
+		if(path == null)
+		{
+			throw new IllegalArgumentException("path of the dictionary cannot be null");
+		}
+		
+		return new File(path).getAbsoluteFile().toPath().normalize() + "|" + version + "|" + allowIndexing;
+	}
+	
+	private static String createKey(final WordNetDictionary dictionary)
+	{
+		return createKey(dictionary.getDictionaryPath(), dictionary.getVersion().name(), true);
+	}
+	
+	private static String createKey(final SentiWordNetDictionary dictionary)
+	{
+		return createKey(dictionary.getDictionaryPath(), dictionary.getVersion().name(), dictionary.isAllowIndexing());
+	}
+	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	public int getWordNetCount() 
+	{
+		return wordNets.size();
+	}
+	
+	public int getSentiWordNetCount() 
+	{
+		return sentiWordNets.size();
+	}
+	
+	
+}
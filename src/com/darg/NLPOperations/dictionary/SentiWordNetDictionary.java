@@ -19,11 +19,21 @@
 */
 package com.darg.NLPOperations.dictionary;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import com.darg.NLPOperations.dictionary.model.FrozenSentiWordNet;
+import com.darg.NLPOperations.dictionary.model.SentiScoreTable;
 import com.darg.NLPOperations.dictionary.model.SentiWordNet;
+import com.darg.NLPOperations.dictionary.model.SentiWordNetColumns;
+import com.darg.NLPOperations.dictionary.model.SentiWordNetSnapshot;
 import com.darg.NLPOperations.dictionary.model.SentiWordNetWord;
 import com.darg.NLPOperations.dictionary.model.SynsetTerm;
+import com.darg.NLPOperations.dictionary.model.WarmupProfile;
 import com.darg.NLPOperations.pos.util.POSTagWordNet;
 import com.darg.fileOperations.utils.FileUtils;
 
@@ -39,8 +49,10 @@ public class SentiWordNetDictionary
 	private static boolean singletonUsed = false;
 
 	private SentiWordNetParser parser;
+	private SentiWordNet version;
 	private String dictionaryPath;
 	private boolean allowIndexing;
+	private boolean singleton; //created with getInstance(), closing it allows getInstance() to be called again
 	
 	private ArrayList<SentiWordNetWord> words;
 	private int wordCount;
@@ -53,6 +65,16 @@ public class SentiWordNetDictionary
 	private ArrayList<SentiWordNetWord> nouns;
 	private int nounCount;
 	
+	//scores of each pos as primitive arrays, indexed by the value of the pos. Replaced as a whole when a table is built lazily
+	private volatile SentiScoreTable[] scoreTables;
+	//average (positive, negative, objective) scores of each pos, and of all the words at the end
+	private double[] averageScores;
+	private transient volatile SentiWordNetSnapshot snapshot; //set when loaded from a snapshot until the lists are created
+	private transient volatile SentiWordNetColumns columns; //set when loaded from the text file until the lists are created
+	private int threadCount;
+	private volatile boolean lazyLoading; //score tables are built when they are first used, see warmUp()
+	private transient volatile FrozenSentiWordNet frozen; //set by freeze(), the dictionary cannot be loaded again or closed after it
+	
 
 	ArrayList<Double> dataPos;
 	ArrayList<Double> dataNeg;
@@ -64,11 +86,13 @@ public class SentiWordNetDictionary
 	
 	
 	//constructors
-	private SentiWordNetDictionary(final String dictionaryPath, final SentiWordNet version, final boolean allowIndexing) 
+	private SentiWordNetDictionary(final String dictionaryPath, final SentiWordNet version, final boolean allowIndexing, final boolean singleton) 
 	{
 		parser = new SentiWordNetParser(version);
+		this.version = version;
 		this.dictionaryPath = dictionaryPath;
 		this.allowIndexing = allowIndexing;
+		this.singleton = singleton;
 		
 		
 		words = new ArrayList<SentiWordNetWord>();
@@ -81,6 +105,13 @@ public class SentiWordNetDictionary
 		adverbCount = 0;
 		nouns = new ArrayList<SentiWordNetWord>();
 		nounCount = 0;
+		scoreTables = new SentiScoreTable[4];
+		averageScores = new double[SentiWordNetSnapshot.AVERAGE_COUNT];
+		Arrays.fill(averageScores, Double.NaN);
+		snapshot = null;
+		columns = null;
+		threadCount = Runtime.getRuntime().availableProcessors();
+		lazyLoading = false;
 		
 		
 		//holds the scores of every word. USed to build average scores.
@@ -116,7 +147,7 @@ public class SentiWordNetDictionary
 		else
 		{
 			singletonUsed = true;
-			retVal = new SentiWordNetDictionary(dictionaryPath, version, allowIndexing);
+			retVal = new SentiWordNetDictionary(dictionaryPath, version, allowIndexing, true);
 		}
 			
 		
@@ -126,6 +157,25 @@ public class SentiWordNetDictionary
 	
 	
 	
+	/**returns a new SentiWordNetDictionary that does not count as the singleton, initialized with the given path and version.
+	 * Several dictionaries can be used at the same time this way, see DictionaryRegistry to share them.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param dictionaryPath - path to the sentiWordNet dictionary file.
+	 * @param version - version of sentiWordNet to be used.
+	 * @param allowIndexing - allows the words to be indexed into different types(verb, adverb, et.) which enables binary search. 
+	 * 
+	 * @return SentiWordNetDictionary  - a new dictionary that is not loaded yet
+	 */
+	public static SentiWordNetDictionary newInstance(final String dictionaryPath, final SentiWordNet version, final boolean allowIndexing)
+	{
+		return new SentiWordNetDictionary(dictionaryPath, version, allowIndexing, false);
+	}
+	
+	
+	
+	
 	
 	
 	
@@ -136,6 +186,10 @@ public class SentiWordNetDictionary
 	///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 	///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 	/**loads the sentiwordnet dictionary to the program.
+	 * Builds the primitive score tables of each pos, which are used by scoreOf(), as well.
+	 * The file is mapped into the memory and parsed in parallel into primitive columns, the lists of words 
+	 * (with their synset terms and glossaries) are created only when a function that needs them is called.
+	 * If lazy loading is set, the score table of each pos is built when it is first used as well.
 	 * 
 	 * @author erhan sezerer
 	 *
@@ -144,66 +198,61 @@ public class SentiWordNetDictionary
 	public synchronized boolean loadDictionary()
 	{
 		boolean retVal = false;
-		String text = null;
+		ByteBuffer buffer = null;
+		SentiWordNetColumns parsed = null;
+		SentiScoreTable[] tables = new SentiScoreTable[4];
 		
 		
 		
 		try
 		{
-			text = FileUtils.readFile(dictionaryPath);
+			if(frozen != null)
+			{
+				throw new IllegalArgumentException("dictionary is frozen");
+			}
+			
+			snapshot = null;
+			columns = null;
+			buffer = FileUtils.mapFile(dictionaryPath);
 			
 			
-			//parameter check
-			if(text != null && !text.isEmpty())
+			//parameter check, the file is decoded with the default charset as in FileUtils.readFile()
+			if(buffer != null && buffer.hasRemaining())
 			{
-				words = parser.parseSentiWordNet(text);
+				parsed = parser.parseSentiWordNetColumns(buffer, Charset.defaultCharset(), threadCount);
 				
 				//if parse correctly
-				if(words != null)
+				if(parsed != null)
 				{
 					retVal = true;
-					wordCount = words.size();
-			
-				
-					//if set start indexing for faster search
-					if(allowIndexing)
+					words = new ArrayList<SentiWordNetWord>();
+					adjectives = new ArrayList<SentiWordNetWord>();
+					adverbs = new ArrayList<SentiWordNetWord>();
+					verbs = new ArrayList<SentiWordNetWord>();
+					nouns = new ArrayList<SentiWordNetWord>();
+					dataPos = new ArrayList<Double>();
+					dataNeg = new ArrayList<Double>();
+					dataObj = new ArrayList<Double>();
+					wordCount = parsed.size();
+					
+					//the primitive score tables are what the analyzers use, they are built up front unless lazy loading is set
+					for(POSTagWordNet pos : POSTagWordNet.values())
 					{
-						SentiWordNetWord word;
-						
-						//for each word, place them where they belong
-						for (int i=0; i<wordCount; i++)
+						if(pos != POSTagWordNet.OTHER && !lazyLoading)
 						{
-							word = words.get(i);
-							
-							switch(word.getPos())
-							{
-								case ADJECTIVE: adjectives.add(word);
-												adjectiveCount++;
-												break;
-												
-								case NOUN: nouns.add(word);
-										   nounCount++;
-										   break;
-										   
-								case VERB: verbs.add(word);
-										   verbCount++;
-										   break;
-										   
-								case ADVERB: adverbs.add(word);
-											 adverbCount++;
-											 break;
-											 
-								default: throw new IllegalArgumentException("Unknown type encountered at indexing\n");
-		
-							}
-							
-							
-							dataPos.add((double) word.getPositiveScore());
-							dataNeg.add((double) word.getNegativeScore());
-							dataObj.add((double) word.getObjectivityScore());
-							
-						}//for each word
-					}//if indexed
+							tables[pos.value] = SentiScoreTable.build(parsed, pos);
+						}
+					}
+					scoreTables = tables;
+					
+					//same as the counts after indexing the words
+					adjectiveCount = allowIndexing ? countWords(parsed, POSTagWordNet.ADJECTIVE) : 0;
+					adverbCount = allowIndexing ? countWords(parsed, POSTagWordNet.ADVERB) : 0;
+					verbCount = allowIndexing ? countWords(parsed, POSTagWordNet.VERB) : 0;
+					nounCount = allowIndexing ? countWords(parsed, POSTagWordNet.NOUN) : 0;
+					
+					averageScores = calculateAverageScores(parsed);
+					columns = parsed;
 				}//if not null
 			}
 		
@@ -232,6 +281,330 @@ public class SentiWordNetDictionary
 	
 	
 	
+	/**loads the whole dictionary from a snapshot saved with saveSnapshot(). It is much faster than parsing the 
+	 * text file since the file is mapped into the memory and only the arrays are copied out of it.
+	 * Score tables and average scores are ready to use after loading, the lists of words are created 
+	 * only when a function that needs them is called.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path to the snapshot file
+	 * 
+	 * @return boolean - true if it successfully loads the snapshot
+	 */
+	public synchronized boolean loadSnapshot(final String path)
+	{
+		boolean retVal = false;
+		SentiWordNetSnapshot loaded = (frozen == null) ? SentiWordNetSnapshot.load(path) : null;
+		
+		if(loaded != null)
+		{
+			words = new ArrayList<SentiWordNetWord>();
+			adjectives = new ArrayList<SentiWordNetWord>();
+			adverbs = new ArrayList<SentiWordNetWord>();
+			verbs = new ArrayList<SentiWordNetWord>();
+			nouns = new ArrayList<SentiWordNetWord>();
+			dataPos = new ArrayList<Double>();
+			dataNeg = new ArrayList<Double>();
+			dataObj = new ArrayList<Double>();
+			
+			scoreTables = loaded.getScoreTables();
+			averageScores = loaded.getAverageScores();
+			wordCount = loaded.getWordCount();
+			
+			//same as the counts after indexing the words
+			adjectiveCount = allowIndexing ? scoreTables[POSTagWordNet.ADJECTIVE.value].size() : 0;
+			adverbCount = allowIndexing ? scoreTables[POSTagWordNet.ADVERB.value].size() : 0;
+			verbCount = allowIndexing ? scoreTables[POSTagWordNet.VERB.value].size() : 0;
+			nounCount = allowIndexing ? scoreTables[POSTagWordNet.NOUN.value].size() : 0;
+			
+			snapshot = loaded;
+			retVal = true;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**saves the loaded dictionary as a binary snapshot, which can be loaded with loadSnapshot().
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path of the snapshot file
+	 * 
+	 * @return boolean - true if the snapshot is saved successfully
+	 */
+	public synchronized boolean saveSnapshot(final String path)
+	{
+		boolean retVal = false;
+		
+		try
+		{
+			//the words of the text file are needed to build the snapshot
+			if(columns != null)
+			{
+				ensureLists();
+			}
+			
+			if(snapshot != null)
+			{
+				retVal = snapshot.save(path);
+			}
+			else if(words == null || words.isEmpty() || scoreTables[0] == null)
+			{
+				throw new IllegalArgumentException("dictionary is not loaded");
+			}
+			else
+			{
+				retVal = SentiWordNetSnapshot.build(words, scoreTables, averageScores).save(path);
+			}
+		}
+		catch(IllegalArgumentException e)
+		{
+			e.printStackTrace();
+			retVal = false;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**builds the score tables, and creates the words with their synset terms and glossaries, of the given profile 
+	 * if they are not ready yet. Used with lazy loading to prepare the parts that are known to be used before they are needed.
+	 * The dictionary must be loaded before calling this function.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param profile - score tables and glossaries to prepare
+	 * 
+	 * @return boolean - true if every part of the profile is ready
+	 */
+	public boolean warmUp(final WarmupProfile profile)
+	{
+		boolean retVal = true;
+		
+		for(POSTagWordNet pos : profile.getScoreTables())
+		{
+			retVal = (getScoreTable(pos) != null) && retVal;
+		}
+		
+		if(profile.hasGlossaries())
+		{
+			ensureLists();
+			retVal = (words != null && !words.isEmpty()) && retVal;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**makes the loaded dictionary read only, and returns an immutable view of its score tables which can be shared by 
+	 * any number of threads without a lock. The score tables that are not built yet are built first if lazy loading is set.
+	 * After it is frozen, the dictionary cannot be loaded again (the load functions return false), it cannot be closed 
+	 * or moved to another path, and its lists are returned as unmodifiable lists. The search functions keep working as before.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return FrozenSentiWordNet - view of the dictionary, the same one on every call. null if the dictionary is not loaded
+	 */
+	public synchronized FrozenSentiWordNet freeze()
+	{
+		FrozenSentiWordNet retVal = frozen;
+		
+		try
+		{
+			if(retVal == null)
+			{
+				if(averageScores == null)
+				{
+					throw new IllegalArgumentException("dictionary is not loaded");
+				}
+				
+				retVal = new FrozenSentiWordNet(getScoreTables(), averageScores, wordCount);
+				frozen = retVal;
+			}
+		}
+		catch(IllegalArgumentException e)
+		{
+			e.printStackTrace();
+			retVal = null;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**counts the synsets of the given pos in the columns
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param parsed - every synset of the dictionary
+	 * @param pos - pos to count
+	 * 
+	 * @return int - number of synsets of the pos, same as the size of its score table
+	 */
+	private static int countWords(final SentiWordNetColumns parsed, final POSTagWordNet pos)
+	{
+		int retVal = 0;
+		
+		for(int i=0; i<parsed.size(); i++)
+		{
+			if(parsed.getPos(i) == pos)
+			{
+				retVal++;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**builds the score table of the given pos from the columns if it is not built yet. 
+	 * The tables are replaced as a whole so that the threads reading them without a lock see a complete table.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param pos - one of noun, verb, adjective or adverb
+	 * 
+	 * @return SentiScoreTable - scores of the pos, null if the dictionary is not loaded
+	 */
+	private synchronized SentiScoreTable buildScoreTable(final POSTagWordNet pos)
+	{
+		SentiScoreTable[] tables = scoreTables;
+		SentiScoreTable retVal = tables[pos.value];
+		SentiWordNetColumns parsed = columns;
+		
+		if(retVal == null && parsed != null)
+		{
+			retVal = SentiScoreTable.build(parsed, pos);
+			tables = Arrays.copyOf(tables, tables.length);
+			tables[pos.value] = retVal;
+			scoreTables = tables;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**places the loaded words into the lists of their pos, if indexing is allowed
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @throws IllegalArgumentException - if a word has an unknown pos
+	 */
+	private void indexWords()
+	{
+		if(allowIndexing)
+		{
+			SentiWordNetWord word;
+			
+			//for each word, place them where they belong
+			for (int i=0; i<wordCount; i++)
+			{
+				word = words.get(i);
+				
+				switch(word.getPos())
+				{
+					case ADJECTIVE: adjectives.add(word);
+									adjectiveCount++;
+									break;
+									
+					case NOUN: nouns.add(word);
+							   nounCount++;
+							   break;
+							   
+					case VERB: verbs.add(word);
+							   verbCount++;
+							   break;
+							   
+					case ADVERB: adverbs.add(word);
+								 adverbCount++;
+								 break;
+								 
+					default: throw new IllegalArgumentException("Unknown type encountered at indexing\n");
+		
+				}
+				
+				
+				dataPos.add((double) word.getPositiveScore());
+				dataNeg.add((double) word.getNegativeScore());
+				dataObj.add((double) word.getObjectivityScore());
+				
+			}//for each word
+		}
+	}
+	
+	
+	
+	
+	
+	/**creates the lists of words from the snapshot or the parsed columns, if they are not created yet. 
+	 * Must be called before the lists are read.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	private void ensureLists()
+	{
+		if(snapshot != null || columns != null)
+		{
+			synchronized(this)
+			{
+				SentiWordNetSnapshot loaded = snapshot;
+				SentiWordNetColumns parsed = columns;
+				
+				if(loaded != null || parsed != null)
+				{
+					//the columns are dropped below, so the score tables that are not used yet are built now
+					if(parsed != null)
+					{
+						getScoreTables();
+					}
+					
+					words = (loaded != null) ? loaded.createWords() : parsed.createWords();
+					adjectiveCount = 0;
+					adverbCount = 0;
+					verbCount = 0;
+					nounCount = 0;
+					indexWords();
+					
+					//the lists are complete, the snapshot and the columns are not needed anymore
+					snapshot = null;
+					columns = null;
+				}
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	
+	
+	
+	
 	///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 	//				SEARCH FUNCTIONS
 	///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -303,6 +676,46 @@ public class SentiWordNetDictionary
 	
 	
 	
+	/**finds the scores of the synset whose id and pos are given, without going through the SentiWordNetWord objects.
+	 * Uses the perfect hash of the ids so the search takes constant time, and it does not create anything. 
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param id - id of the synset we are searching for.
+	 * @param pos - pos of the synset
+	 * @param scores - an array of at least 3 items, filled with positive, negative and objectivity scores (in that order)
+	 * 
+	 * @return boolean - true if the synset is found, false otherwise.
+	 */
+	public boolean scoreOf(final int id, final POSTagWordNet pos, final float[] scores)
+	{
+		boolean retVal = false;
+		SentiScoreTable table = getScoreTable(pos);
+		int index;
+		
+		if(table != null)
+		{
+			index = table.indexOf(id);
+			
+			if(index != -1)
+			{
+				scores[0] = table.getPositiveScore(index);
+				scores[1] = table.getNegativeScore(index);
+				scores[2] = table.getObjectiveScore(index);
+				retVal = true;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	
+	
+	
 	/**finds and returns the synset of the word whose id is given as a parameter. 
 	 * if the word is not found returns null.
 	 * 
@@ -397,6 +810,8 @@ public class SentiWordNetDictionary
 		SentiWordNetWord tempWord;
 		SentiWordNetWord retVal = null;
 		
+		ensureLists();
+		
 		for (int i=0; i<wordCount; i++)
 		{
 			tempWord = words.get(i);
@@ -433,6 +848,8 @@ public class SentiWordNetDictionary
 		int right = 0;
 		int current = 0;
 		
+		ensureLists();
+		
 		SentiWordNetWord tempWord;
 		SentiWordNetWord retVal = null;
 		boolean found = false;
@@ -575,6 +992,8 @@ public class SentiWordNetDictionary
 		int right = 0;
 		int current = 0;
 		
+		ensureLists();
+		
 		SentiWordNetWord tempWord;
 		SentiWordNetWord retVal = null;
 		ArrayList<SentiWordNetWord> tempList = null;
@@ -647,44 +1066,7 @@ public class SentiWordNetDictionary
 	 */
 	public double findAveragePositiveScore(final POSTagWordNet tag)
 	{
-		double average = 0;
-		ArrayList<SentiWordNetWord> tempList = null;
-		boolean flag = true;
-		int size = 0;
-		
-		
-		switch(tag)
-		{
-			case ADJECTIVE: tempList = adjectives;
-							break;
-							
-			case ADVERB: tempList = adverbs;
-						 break;
-						 
-			case NOUN: tempList = nouns;
-					   break;
-					   
-			case VERB: tempList = verbs;
-					   break;
-					   
-			case OTHER: tempList = words;
-						break;
-					   
-			default: flag = false; //do not search there is a mistake
-					 break;//return null
-		}
-		
-		size = tempList.size();
-		
-		
-		for(int i=0; i<size && flag; i++)
-		{
-			average += tempList.get(i).getPositiveScore();
-		}
-		
-		average /= size;
-		
-		return average;
+		return averageScores[averageIndex(tag)];
 	}
 	
 	/**calculates and returns the average negative score of all words whose type is equal to the tag.
@@ -698,44 +1080,7 @@ public class SentiWordNetDictionary
 	 * */
 	public double findAverageNegativeScore(final POSTagWordNet tag)
 	{
-		double average = 0;
-		ArrayList<SentiWordNetWord> tempList = null;
-		boolean flag = true;
-		int size = 0;
-		
-		
-		switch(tag)
-		{
-			case ADJECTIVE: tempList = adjectives;
-							break;
-							
-			case ADVERB: tempList = adverbs;
-						 break;
-						 
-			case NOUN: tempList = nouns;
-					   break;
-					   
-			case VERB: tempList = verbs;
-					   break;
-					   
-			case OTHER: tempList = words;
-						break;
-					   
-			default: flag = false; //do not search there is a mistake
-					 break;//return null
-		}
-		
-		size = tempList.size();
-		
-		
-		for(int i=0; i<size && flag; i++)
-		{
-			average += tempList.get(i).getNegativeScore();
-		}
-		
-		average /= size;
-		
-		return average;	
+		return averageScores[averageIndex(tag) + 1];
 	}
 
 	
@@ -751,62 +1096,166 @@ public class SentiWordNetDictionary
 	 */
 	public double findAverageObjectiveScore(final POSTagWordNet tag)
 	{
-		double average = 0;
-		ArrayList<SentiWordNetWord> tempList = null;
-		boolean flag = true;
-		int size = 0;
-		
+		return averageScores[averageIndex(tag) + 2];
+	}
+
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	//				OTHER FUNCTIONS
+	///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/**counts the words with positivity score lower or greater than the limit, using the score tables.
+	 * Gives the same result as getWordsWithPositiveScore(limit, lower).size() without creating any list.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param limit - a threshold for finding positivity score
+	 * @param lower - if true counts the smaller numbers than limit,
+	 * 				  else counts the greater ones
+	 * 
+	 * @return int - number of words conforming the conditions.
+	 */
+	public int countWordsWithPositiveScore(final double limit, final boolean lower)
+	{
+		int retVal = 0;
 		
-		switch(tag)
+		for(SentiScoreTable table : getScoreTables())
 		{
-			case ADJECTIVE: tempList = adjectives;
-							break;
-							
-			case ADVERB: tempList = adverbs;
-						 break;
-						 
-			case NOUN: tempList = nouns;
-					   break;
-					   
-			case VERB: tempList = verbs;
-					   break;
-					   
-			case OTHER: tempList = words;
-						break;
-					   
-			default: flag = false; //do not search there is a mistake
-					 break;//return null
+			retVal += table.countPositiveScores(limit, lower);
 		}
 		
-		size = tempList.size();
-		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**counts the words with negativity score lower or greater than the limit, using the score tables.
+	 * Gives the same result as getWordsWithNegativeScore(limit, lower).size() without creating any list.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param limit - a threshold for finding negativity score
+	 * @param lower - if true counts the smaller numbers than limit,
+	 * 				  else counts the greater ones
+	 * 
+	 * @return int - number of words conforming the conditions.
+	 */
+	public int countWordsWithNegativeScore(final double limit, final boolean lower)
+	{
+		int retVal = 0;
 		
-		for(int i=0; i<size && flag; i++)
+		for(SentiScoreTable table : getScoreTables())
 		{
-			average += tempList.get(i).getObjectivityScore();
+			retVal += table.countNegativeScores(limit, lower);
 		}
 		
-		average /= size;
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**counts the words with objectivity score lower or greater than the limit, using the score tables.
+	 * Gives the same result as getObjectiveWords(limit, lower).size() without creating any list.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param limit - a threshold for finding objectivity score
+	 * @param lower - if true counts the smaller numbers than limit,
+	 * 				  else counts the greater ones
+	 * 
+	 * @return int - number of words conforming the conditions.
+	 */
+	public int countObjectiveWords(final double limit, final boolean lower)
+	{
+		int retVal = 0;
 		
-		return average;	
+		for(SentiScoreTable table : getScoreTables())
+		{
+			retVal += table.countObjectiveScores(limit, lower);
+		}
+		
+		return retVal;
 	}
-
 	
 	
 	
 	
 	
+	/**calculates the average scores of the words of each pos, and of all the words.
+	 * Averages of the pos are calculated as over the indexed lists, so they are not a number if indexing is not allowed.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param parsed - every synset of the dictionary in the order of the file
+	 * 
+	 * @return double[] - average (positive, negative, objective) scores of adjectives, adverbs, verbs, nouns and all words
+	 */
+	private double[] calculateAverageScores(final SentiWordNetColumns parsed)
+	{
+		double[] retVal = new double[SentiWordNetSnapshot.AVERAGE_COUNT];
+		int size, index;
+		
+		for(POSTagWordNet tag : POSTagWordNet.values())
+		{
+			size = 0;
+			index = averageIndex(tag);
+			
+			//words are summed in the order of the lists, so the averages do not change
+			for(int i=0; i<parsed.size(); i++)
+			{
+				if(tag == POSTagWordNet.OTHER || (allowIndexing && parsed.getPos(i) == tag))
+				{
+					retVal[index] += parsed.getPositiveScore(i);
+					retVal[index+1] += parsed.getNegativeScore(i);
+					retVal[index+2] += parsed.getObjectivityScore(i);
+					size++;
+				}
+			}
+			
+			retVal[index] /= size;
+			retVal[index+1] /= size;
+			retVal[index+2] /= size;
+		}
+		
+		return retVal;
+	}
 	
 	
 	
 	
 	
+	/**returns the position of the averages of the tag in the averageScores array
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param tag - pos of the averages, POSTagWordNet.OTHER for all the words
+	 * 
+	 * @return int - position of the average positive score, negative and objective scores follow it
+	 */
+	private static int averageIndex(final POSTagWordNet tag)
+	{
+		return ((tag == POSTagWordNet.OTHER) ? 4 : tag.value) * 3;
+	}
+	
+	
+	
 	
 	
-	///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
-	//				OTHER FUNCTIONS
-	///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
-	///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 	/**if the lower is set true, finds the words whose POS tag is given, with positivity score lower than limit. 
 	 * if it is false, finds the words whose POS tag is given, with positivity score greater than the limit.
 	 * 
@@ -826,6 +1275,8 @@ public class SentiWordNetDictionary
 		
 		try
 		{
+			ensureLists();
+			
 			switch(tag)
 			{
 				case ADJECTIVE: tempList = adjectives;
@@ -941,6 +1392,8 @@ public class SentiWordNetDictionary
 		
 		try
 		{
+			ensureLists();
+			
 			switch(tag)
 			{
 				case ADJECTIVE: tempList = adjectives;
@@ -1098,6 +1551,8 @@ public class SentiWordNetDictionary
 		
 		try
 		{
+			ensureLists();
+			
 			switch(tag)
 			{
 				case ADJECTIVE: tempList = adjectives;
@@ -1170,6 +1625,8 @@ public class SentiWordNetDictionary
 		
 		try
 		{
+			ensureLists();
+			
 			switch(tag)
 			{
 				case ADJECTIVE: tempList = adjectives;
@@ -1242,6 +1699,8 @@ public class SentiWordNetDictionary
 			
 		try
 		{
+			ensureLists();
+			
 			switch(tag)
 			{
 				case ADJECTIVE: tempList = adjectives;
@@ -1299,9 +1758,18 @@ public class SentiWordNetDictionary
 	 * 
 	 * @author erhan sezerer
 	 *
+	 * @throws IllegalArgumentException - if the dictionary is frozen, its view may still be in use
 	 */
-	public void closeDictionary()
+	public synchronized void closeDictionary()
 	{
+		if(frozen != null)
+		{
+			throw new IllegalArgumentException("dictionary is frozen");
+		}
+		
+		snapshot = null;
+		columns = null;
+		
 		if(allowIndexing)
 		{
 			nouns.clear();
@@ -1316,7 +1784,12 @@ public class SentiWordNetDictionary
 		
 		words.clear();
 		words = null;
-		singletonUsed = false;
+		scoreTables = new SentiScoreTable[4];
+		
+		if(singleton)
+		{
+			singletonUsed = false;
+		}
 	}
 	
 	
@@ -1327,6 +1800,27 @@ public class SentiWordNetDictionary
 
 
 	
+	/**returns the list as it is, or as an unmodifiable list if the dictionary is frozen
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param list - a list of the dictionary
+	 * 
+	 * @return List<T> - the list or its unmodifiable view, null if the list is null
+	 */
+	private <T> List<T> readOnly(final ArrayList<T> list)
+	{
+		return (frozen == null || list == null) ? list : Collections.unmodifiableList(list);
+	}
+	
+	
+	
+	
+	
+	
+	
+	
+	
 	/*---------------------------------------------------------------------------------------------------------
 	 * 		setters getters
 	 *-------------------------------------------------------------------------------------------------------*/
@@ -1335,14 +1829,38 @@ public class SentiWordNetDictionary
 		return dictionaryPath;
 	}
 
-	public void setDictionaryPath(String dictionaryPath) 
+	/**sets the path of the dictionary file, which cannot be changed after the dictionary is frozen
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param dictionaryPath - path to the sentiWordNet dictionary file
+	 * 
+	 * @throws IllegalArgumentException - if the dictionary is frozen
+	 */
+	public synchronized void setDictionaryPath(final String dictionaryPath) 
 	{
+		if(frozen != null)
+		{
+			throw new IllegalArgumentException("dictionary is frozen");
+		}
+		
 		this.dictionaryPath = dictionaryPath;
 	}
 
-	public ArrayList<SentiWordNetWord> getWords() 
+	public SentiWordNet getVersion() 
+	{
+		return version;
+	}
+
+	public boolean isAllowIndexing() 
+	{
+		return allowIndexing;
+	}
+
+	public List<SentiWordNetWord> getWords() 
 	{
-		return words;
+		ensureLists();
+		return readOnly(words);
 	}
 
 	public int getWordCount() 
@@ -1350,9 +1868,10 @@ public class SentiWordNetDictionary
 		return wordCount;
 	}
 
-	public ArrayList<SentiWordNetWord> getAdjectives() 
+	public List<SentiWordNetWord> getAdjectives() 
 	{
-		return adjectives;
+		ensureLists();
+		return readOnly(adjectives);
 	}
 
 	public int getAdjectiveCount() 
@@ -1360,9 +1879,10 @@ public class SentiWordNetDictionary
 		return adjectiveCount;
 	}
 
-	public ArrayList<SentiWordNetWord> getAdverbs() 
+	public List<SentiWordNetWord> getAdverbs() 
 	{
-		return adverbs;
+		ensureLists();
+		return readOnly(adverbs);
 	}
 
 	public int getAdverbCount() 
@@ -1370,9 +1890,10 @@ public class SentiWordNetDictionary
 		return adverbCount;
 	}
 
-	public ArrayList<SentiWordNetWord> getVerbs() 
+	public List<SentiWordNetWord> getVerbs() 
 	{
-		return verbs;
+		ensureLists();
+		return readOnly(verbs);
 	}
 
 	public int getVerbCount() 
@@ -1380,9 +1901,10 @@ public class SentiWordNetDictionary
 		return verbCount;
 	}
 
-	public ArrayList<SentiWordNetWord> getNouns() 
+	public List<SentiWordNetWord> getNouns() 
 	{
-		return nouns;
+		ensureLists();
+		return readOnly(nouns);
 	}
 
 	public int getNounCount() 
@@ -1390,19 +1912,102 @@ public class SentiWordNetDictionary
 		return nounCount;
 	}
 
-	public ArrayList<Double> getDataPos() 
+	/**returns the primitive score table of the given pos
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param pos - one of noun, verb, adjective or adverb
+	 * 
+	 * @return SentiScoreTable - scores of the pos, null if the pos is not valid or the dictionary is not loaded
+	 */
+	public SentiScoreTable getScoreTable(final POSTagWordNet pos)
+	{
+		SentiScoreTable retVal = null;
+		
+		if(pos != null && pos != POSTagWordNet.OTHER)
+		{
+			retVal = scoreTables[pos.value];
+			
+			//built when it is first used if lazy loading is set
+			if(retVal == null && columns != null)
+			{
+				retVal = buildScoreTable(pos);
+			}
+		}
+		
+		return retVal;
+	}
+	
+	/**returns the primitive score tables of every pos, building the ones that are not built yet
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return SentiScoreTable[] - score tables indexed by the value of the pos
+	 */
+	private SentiScoreTable[] getScoreTables()
+	{
+		for(POSTagWordNet pos : POSTagWordNet.values())
+		{
+			getScoreTable(pos);
+		}
+		
+		return scoreTables;
+	}
+
+	public List<Double> getDataPos() 
 	{
-		return dataPos;
+		ensureLists();
+		return readOnly(dataPos);
 	}
 
-	public ArrayList<Double> getDataNeg() 
+	public List<Double> getDataNeg() 
 	{
-		return dataNeg;
+		ensureLists();
+		return readOnly(dataNeg);
 	}
 
-	public ArrayList<Double> getDataObj() 
+	public List<Double> getDataObj() 
+	{
+		ensureLists();
+		return readOnly(dataObj);
+	}
+
+	public synchronized boolean isFrozen() 
+	{
+		return frozen != null;
+	}
+
+	public int getThreadCount() 
+	{
+		return threadCount;
+	}
+
+	/**sets the number of threads used for parsing the file in loadDictionary()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param threadCount - number of threads, at least 1
+	 */
+	public void setThreadCount(final int threadCount) 
+	{
+		this.threadCount = Math.max(1, threadCount);
+	}
+
+	public boolean isLazyLoading() 
+	{
+		return lazyLoading;
+	}
+
+	/**sets whether the score tables are built when they are first used instead of building all of them 
+	 * in loadDictionary(), see warmUp() to build the ones that are known to be used beforehand
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param lazyLoading - true to build each score table when it is first used
+	 */
+	public void setLazyLoading(final boolean lazyLoading) 
 	{
-		return dataObj;
+		this.lazyLoading = lazyLoading;
 	}
 
 	
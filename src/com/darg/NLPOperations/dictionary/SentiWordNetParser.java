@@ -19,9 +19,17 @@
 */
 package com.darg.NLPOperations.dictionary;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.darg.NLPOperations.dictionary.model.SentiWordNet;
+import com.darg.NLPOperations.dictionary.model.SentiWordNetColumns;
 import com.darg.NLPOperations.dictionary.model.SentiWordNetWord;
 import com.darg.NLPOperations.dictionary.model.SynsetTerm;
 import com.darg.NLPOperations.pos.util.POSTagWordNet;
@@ -36,6 +44,11 @@ import com.darg.NLPOperations.pos.util.POSTagWordNet;
  */
 public class SentiWordNetParser 
 {
+	private static final int BYTES_PER_TASK = 1 << 20;
+	//scores with at most this many digits are exact floats, so they can be parsed without Float.parseFloat()
+	private static final long MAX_EXACT_MANTISSA = 1 << 24;
+	private static final float[] POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+	
 	public SentiWordNet version;
 	
 	
@@ -199,9 +212,541 @@ public class SentiWordNetParser
 		return wordList;
 	}
 	
+	
+	
+	
+	
+	/**parses the sentiwordnet file into primitive columns. The file is split into parts on line boundaries 
+	 * which are parsed in parallel. Only the pos, id and scores are parsed, the synset terms and the glossaries 
+	 * are validated but they are decoded only when a word is created from the columns.
+	 * uses the version attribute to decide which kind of parsing operations to use
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param buffer - raw content of a sentiwordnet file, e.g. mapped with FileUtils.mapFile()
+	 * @param charset - charset of the file
+	 * @param threadCount - number of threads to use
+	 * 
+	 * @return SentiWordNetColumns - every synset in the file, in the same order as parseSentiWordNet().
+	 * 								 if the buffer is empty or null or if there is an error returns null.
+	 */
+	public SentiWordNetColumns parseSentiWordNetColumns(final ByteBuffer buffer, final Charset charset, final int threadCount)
+	{
+		SentiWordNetColumns columns = null;
+		
+		switch(version)
+		{
+			case VERSION_30: columns = parseSentiWordNet30Columns(buffer, charset, threadCount);
+							 break;
+							 
+			default: columns = null;
+		}
+		
+		return columns;
+	}
+	
+	
+	
+	
+	/**parses the sentiwordnet file into primitive columns in parallel. For version 3.0
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param buffer - raw content of a sentiwordnet file
+	 * @param charset - charset of the file
+	 * @param threadCount - number of threads to use
+	 * 
+	 * @return SentiWordNetColumns - every synset in the file. if the buffer is empty or null or if there is an error returns null.
+	 */
+	private SentiWordNetColumns parseSentiWordNet30Columns(final ByteBuffer buffer, final Charset charset, final int threadCount)
+	{
+		SentiWordNetColumns columns = null;
+		ExecutorService executor = null;
+		
+		try
+		{
+			//check parameters for error
+			if(buffer != null && buffer.hasRemaining())
+			{
+				ArrayList<Integer> starts = new ArrayList<Integer>();
+				ArrayList<Callable<SentiWordNetColumns>> tasks = new ArrayList<Callable<SentiWordNetColumns>>();
+				List<Future<SentiWordNetColumns>> results;
+				ArrayList<SentiWordNetColumns> parts = new ArrayList<SentiWordNetColumns>();
+				int position = buffer.position();
+				int firstEmptyLine = Integer.MAX_VALUE;
+				int lastLine = -1;
+				
+				//every part starts at the beginning of a line
+				while(position < buffer.limit())
+				{
+					starts.add(position);
+					position = nextLine(buffer, Math.min(buffer.limit(), position + BYTES_PER_TASK));
+				}
+				starts.add(buffer.limit());
+				
+				//first empty line and the last non empty line of each part
+				final int[] lines = new int[starts.size() * 2];
+				
+				for(int i=0; i<starts.size()-1; i++)
+				{
+					final int part = i;
+					final int first = starts.get(i);
+					final int last = starts.get(i+1);
+					
+					tasks.add(new Callable<SentiWordNetColumns>()
+					{
+						@Override
+						public SentiWordNetColumns call() throws Exception
+						{
+							return parseLines(buffer, charset, first, last, lines, part);
+						}
+					});
+				}
+				
+				//waits for every part even if one fails, so none of them reads the buffer after returning
+				executor = Executors.newFixedThreadPool(Math.max(1, threadCount));
+				results = executor.invokeAll(tasks);
+				
+				for(int i=0; i<results.size(); i++)
+				{
+					parts.add(results.get(i).get());
+					firstEmptyLine = Math.min(firstEmptyLine, lines[i*2]);
+					lastLine = Math.max(lastLine, lines[i*2+1]);
+				}
+				
+				
+				//control the text, empty lines are only allowed at the end of the file
+				if(lastLine < 0)
+				{
+					throw new IllegalArgumentException("Error: Either the file is either empty or there is no entry\n");
+				}
+				else if(firstEmptyLine < lastLine)
+				{
+					throw new IllegalArgumentException("Illegal argument(s) at(either too few or too much): ");
+				}
+				
+				columns = SentiWordNetColumns.merge(parts);
+			}
+		}
+		catch(IllegalArgumentException ie)
+		{
+			ie.printStackTrace();
+			columns = null;
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+			columns = null;
+		}
+		finally
+		{
+			if(executor != null)
+			{
+				executor.shutdown();
+			}
+		}
+		
+		
+		
+		return columns;
+	}
+	
+	
+	
+	
+	/**parses the lines between first and last, the same way as parseSentiWordNet30(). Lines end with 
+	 * \\n, \\r or \\r\\n as in BufferedReader.readLine(). The part is copied out of the buffer, 
+	 * since reading a byte array is much faster than reading the buffer byte by byte.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param buffer - raw content of the file
+	 * @param charset - charset of the file
+	 * @param first - start of the first line
+	 * @param last - end of the part (exclusive)
+	 * @param lines - start of the first empty line and the last non empty line of the part are written to lines[part*2] and lines[part*2+1]
+	 * @param part - index of the part
+	 * 
+	 * @return SentiWordNetColumns - synsets of the part
+	 * 
+	 * @throws IllegalArgumentException - if a line is not valid
+	 */
+	private static SentiWordNetColumns parseLines(final ByteBuffer buffer, final Charset charset, final int first, final int last,
+												  final int[] lines, final int part)
+	{
+		SentiWordNetColumns columns = new SentiWordNetColumns(buffer, charset, (last - first) / 64);
+		ByteBuffer source = buffer.duplicate();
+		byte[] bytes = new byte[last - first];
+		int[] fields = new int[7];
+		int lineStart = 0;
+		int lineEnd, start, end;
+		
+		source.position(first);
+		source.get(bytes);
+		lines[part*2] = Integer.MAX_VALUE;
+		lines[part*2+1] = -1;
+		
+		while(lineStart < bytes.length)
+		{
+			lineEnd = lineStart;
+			while(lineEnd < bytes.length && bytes[lineEnd] != '\n' && bytes[lineEnd] != '\r')
+			{
+				lineEnd++;
+			}
+			
+			if(lineEnd == lineStart)
+			{
+				lines[part*2] = Math.min(lines[part*2], first + lineStart);
+			}
+			else
+			{
+				lines[part*2+1] = first + lineStart;
+				start = trimStart(bytes, lineStart, lineEnd);
+				end = trimEnd(bytes, start, lineEnd);
+				
+				if(start == end || bytes[start] != '#')//if it is not a comment line
+				{
+					parseLine(bytes, charset, start, end, fields, first, columns);
+				}
+			}
+			
+			lineStart = lineEnd + 1;
+			if(lineEnd + 1 < bytes.length && bytes[lineEnd] == '\r' && bytes[lineEnd + 1] == '\n')
+			{
+				lineStart++;
+			}
+		}
+		
+		return columns;
+	}
+	
+	
+	
+	
+	/**parses a single trimmed line of the file and adds it to the columns
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param bytes - a part of the file
+	 * @param charset - charset of the file
+	 * @param first - start of the line
+	 * @param last - end of the line (exclusive)
+	 * @param fields - an array of 7 items to hold the starts of the columns
+	 * @param offset - position of the part in the file
+	 * @param columns - columns to add the synset to
+	 * 
+	 * @throws IllegalArgumentException - if the line is not valid
+	 */
+	private static void parseLine(final byte[] bytes, final Charset charset, final int first, final int last, 
+								  final int[] fields, final int offset, final SentiWordNetColumns columns)
+	{
+		int count = 1;
+		int start, end;
+		char tag;
+		POSTagWordNet pos;
+		int id;
+		float positiveScore, negativeScore;
+		
+		//get the columns from line
+		fields[0] = first;
+		for(int i=first; i<last && count <= 6; i++)
+		{
+			if(bytes[i] == '\t')
+			{
+				if(count < 6)
+				{
+					fields[count] = i+1;
+				}
+				count++;
+			}
+		}
+		
+		//validate the columns
+		if(count != 6)
+		{
+			throw new IllegalArgumentException("Illegal argument(s) at(either too few or too much): " + new String(bytes, first, last-first, charset));
+		}
+		fields[6] = last+1;
+		
+		
+		//find the pos tag
+		start = trimStart(bytes, fields[0], fields[1]-1);
+		end = trimEnd(bytes, start, fields[1]-1);
+		
+		if(start == end)
+		{
+			throw new IllegalArgumentException("Illegal pos tag at: " + new String(bytes, first, last-first, charset));
+		}
+		tag = (bytes[start] >= 0) ? (char) bytes[start] : new String(bytes, start, end-start, charset).charAt(0);
+		pos = POSTagWordNet.getPosType(tag);
+		
+		if(pos == POSTagWordNet.OTHER)
+		{
+			throw new IllegalArgumentException("Illegal pos tag at: " + new String(bytes, first, last-first, charset));
+		}
+		
+		//parse the id and the scores
+		start = trimStart(bytes, fields[1], fields[2]-1);
+		id = parseInt(bytes, charset, start, trimEnd(bytes, start, fields[2]-1));
+		start = trimStart(bytes, fields[2], fields[3]-1);
+		positiveScore = parseFloat(bytes, charset, start, trimEnd(bytes, start, fields[3]-1));
+		start = trimStart(bytes, fields[3], fields[4]-1);
+		negativeScore = parseFloat(bytes, charset, start, trimEnd(bytes, start, fields[4]-1));
+		
+		
+		//validate the synset terms, they are parsed when they are needed
+		start = trimStart(bytes, fields[4], fields[5]-1);
+		end = trimEnd(bytes, start, fields[5]-1);
+		
+		for(int i=start, termStart=start; i<=end; i++)
+		{
+			if(i == end || bytes[i] == ' ')
+			{
+				if(!isSynsetTerm(bytes, charset, termStart, i))
+				{
+					throw new IllegalArgumentException("invalid synset term: " + new String(bytes, termStart, i-termStart, charset));
+				}
+				termStart = i+1;
+			}
+		}
+		
+		columns.add(pos, id, positiveScore, negativeScore, offset + start, offset + end, 
+					offset + trimStart(bytes, fields[5], fields[6]-1), offset + trimEnd(bytes, fields[5], fields[6]-1));
+	}
+	
+	
+	
+	
+	/**checks if the text is a valid synset term, the same way as SynsetTerm.setFromString(text, "#")
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param bytes - a part of the file
+	 * @param charset - charset of the file
+	 * @param first - start of the term
+	 * @param last - end of the term (exclusive)
+	 * 
+	 * @return boolean - true if it is a valid synset term
+	 */
+	private static boolean isSynsetTerm(final byte[] bytes, final Charset charset, final int first, final int last)
+	{
+		boolean retVal = false;
+		int divider = first;
+		int senseEnd;
+		
+		while(divider < last && bytes[divider] != '#')
+		{
+			divider++;
+		}
+		
+		senseEnd = divider+1;
+		while(senseEnd < last && bytes[senseEnd] != '#')
+		{
+			senseEnd++;
+		}
+		
+		//String.split() drops the empty strings at the end, so trailing dividers are allowed but nothing else
+		if(divider < last && senseEnd > divider+1 && isDividers(bytes, senseEnd, last))
+		{
+			try
+			{
+				int start = trimStart(bytes, divider+1, senseEnd);
+				
+				parseInt(bytes, charset, start, trimEnd(bytes, start, senseEnd));
+				retVal = true;
+			}
+			catch(NumberFormatException e)
+			{
+				retVal = false;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	/**checks if the text consists of only '#'
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param bytes - a part of the file
+	 * @param first - start of the text
+	 * @param last - end of the text (exclusive)
+	 * 
+	 * @return boolean - true if every character is '#'
+	 */
+	private static boolean isDividers(final byte[] bytes, final int first, final int last)
+	{
+		boolean retVal = true;
+		
+		for(int i=first; i<last && retVal; i++)
+		{
+			retVal = bytes[i] == '#';
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	/**parses an integer, same as Integer.parseInt(). Plain numbers are parsed from the bytes directly 
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param bytes - a part of the file
+	 * @param charset - charset of the file
+	 * @param first - start of the number
+	 * @param last - end of the number (exclusive)
+	 * 
+	 * @return int - the number
+	 * 
+	 * @throws NumberFormatException - if it is not a number
+	 */
+	private static int parseInt(final byte[] bytes, final Charset charset, final int first, final int last)
+	{
+		int retVal = 0;
+		boolean plain = (last > first) && (last - first <= 9);
+		
+		for(int i=first; i<last && plain; i++)
+		{
+			plain = (bytes[i] >= '0' && bytes[i] <= '9');
+			retVal = retVal*10 + (bytes[i] - '0');
+		}
+		
+		if(!plain)
+		{
+			retVal = Integer.parseInt(new String(bytes, first, last-first, charset));
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	/**parses a float, same as Float.parseFloat(). Plain decimals with few digits are exact floats, 
+	 * so dividing them by a power of ten gives the same result without creating a string.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param bytes - a part of the file
+	 * @param charset - charset of the file
+	 * @param first - start of the number
+	 * @param last - end of the number (exclusive)
+	 * 
+	 * @return float - the number
+	 * 
+	 * @throws NumberFormatException - if it is not a number
+	 */
+	private static float parseFloat(final byte[] bytes, final Charset charset, final int first, final int last)
+	{
+		float retVal;
+		long mantissa = 0;
+		int decimals = -1;
+		int digits = 0;
+		boolean plain = true;
+		
+		for(int i=first; i<last && plain; i++)
+		{
+			if(bytes[i] >= '0' && bytes[i] <= '9')
+			{
+				mantissa = mantissa*10 + (bytes[i] - '0');
+				digits++;
+				decimals += (decimals >= 0) ? 1 : 0;
+				plain = (mantissa <= MAX_EXACT_MANTISSA);
+			}
+			else
+			{
+				plain = (bytes[i] == '.' && decimals < 0);
+				decimals = 0;
+			}
+		}
+		
+		if(plain && digits > 0 && decimals < POWERS_OF_TEN.length)
+		{
+			retVal = (decimals > 0) ? (mantissa / POWERS_OF_TEN[decimals]) : mantissa;
+		}
+		else
+		{
+			retVal = Float.parseFloat(new String(bytes, first, last-first, charset));
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	/**finds the start of the line after the given position
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param buffer - raw content of the file
+	 * @param position - a position in the buffer
+	 * 
+	 * @return int - start of the next line, or the limit of the buffer if there is not any
+	 */
+	private static int nextLine(final ByteBuffer buffer, final int position)
+	{
+		int retVal = position;
+		
+		while(retVal < buffer.limit() && buffer.get(retVal) != '\n' && buffer.get(retVal) != '\r')
+		{
+			retVal++;
+		}
+		
+		if(retVal < buffer.limit())
+		{
+			//\r\n is a single line end
+			retVal += (buffer.get(retVal) == '\r' && retVal+1 < buffer.limit() && buffer.get(retVal+1) == '\n') ? 2 : 1;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	/**skips the whitespaces at the start of the text, same as String.trim()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return int - start of the trimmed text
+	 */
+	private static int trimStart(final byte[] bytes, final int first, final int last)
+	{
+		int retVal = first;
+		
+		while(retVal < last && (bytes[retVal] & 0xFF) <= ' ')
+		{
+			retVal++;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	/**skips the whitespaces at the end of the text, same as String.trim()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return int - end of the trimmed text (exclusive)
+	 */
+	private static int trimEnd(final byte[] bytes, final int first, final int last)
+	{
+		int retVal = last;
+		
+		while(retVal > first && (bytes[retVal-1] & 0xFF) <= ' ')
+		{
+			retVal--;
+		}
+		
+		return retVal;
+	}
+	
 }
-
-
-
-
-
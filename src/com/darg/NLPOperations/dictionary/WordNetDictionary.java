@@ -19,14 +19,31 @@
 */
 package com.darg.NLPOperations.dictionary;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
+import com.darg.NLPOperations.dictionary.model.FileLoadTiming;
+import com.darg.NLPOperations.dictionary.model.FrozenWordNet;
+import com.darg.NLPOperations.dictionary.model.LemmaIndex;
+import com.darg.NLPOperations.dictionary.model.SenseIndex;
+import com.darg.NLPOperations.dictionary.model.WarmupProfile;
 import com.darg.NLPOperations.dictionary.model.WordNet;
 import com.darg.NLPOperations.dictionary.model.WordNetSense;
+import com.darg.NLPOperations.dictionary.model.WordNetSnapshot;
 import com.darg.NLPOperations.dictionary.model.WordNetWord;
 import com.darg.NLPOperations.pos.util.POSTagWordNet;
-import com.darg.fileOperations.utils.FileUtils;
 
 
 
@@ -41,7 +58,11 @@ import com.darg.fileOperations.utils.FileUtils;
 public class WordNetDictionary 
 {
 	private static boolean singletonUsed = false;
+	private static final int READER_BUFFER_SIZE = 1 << 16;
+	private static final int SENSE_FILE = 4; //index files use the value of their pos
 	private WordNetParser wordNetParser;
+	private WordNet version;
+	private boolean singleton; //created with getInstance(), closing it allows getInstance() to be called again
 	
 	private String dictionaryPath;
 	private final String nounPath = "index.noun";
@@ -55,32 +76,55 @@ public class WordNetDictionary
 	private transient ArrayList<WordNetWord> adjectives;
 	private transient ArrayList<WordNetWord> verbs;
 	private transient ArrayList<WordNetSense> senses;
+	private transient LemmaIndex nounIndex;
+	private transient LemmaIndex adverbIndex;
+	private transient LemmaIndex adjectiveIndex;
+	private transient LemmaIndex verbIndex;
+	private transient volatile SenseIndex senseIndex; //rebuilt when it is needed after new senses are added
+	private transient volatile WordNetSnapshot snapshot; //set when loaded from a snapshot until the lists are created
 	private int nounCount;
 	private int adverbCount;
 	private int adjectiveCount;
 	private int verbCount;
 	private int senseCount;
+	private FileLoadTiming[] loadTimings;
+	private long loadTime;
+	private volatile boolean lazyLoading; //files are loaded when they are first used, see warmUp()
+	private transient AtomicIntegerArray loadedFiles; //1 if the file is loaded, index files use the value of their pos
+	private transient volatile FrozenWordNet frozen; //set by freeze(), the dictionary cannot be modified or closed after it
 	
 	
 	
 
 	
 	//constructors
-	private WordNetDictionary(final String dictionaryPath, final WordNet version) 
+	private WordNetDictionary(final String dictionaryPath, final WordNet version, final boolean singleton) 
 	{
 		this.dictionaryPath = dictionaryPath;
+		this.version = version;
+		this.singleton = singleton;
 		
 		nouns = null;
 		adverbs = null;
 		adjectives = null;
 		verbs = null;
 		senses = null;
+		nounIndex = null;
+		adverbIndex = null;
+		adjectiveIndex = null;
+		verbIndex = null;
+		senseIndex = null;
+		snapshot = null;
 		
 		nounCount = 0;
 		adverbCount = 0;
 		adjectiveCount = 0;
 		verbCount = 0;
 		senseCount = 0;
+		loadTimings = new FileLoadTiming[SENSE_FILE + 1];
+		loadTime = 0;
+		lazyLoading = false;
+		loadedFiles = new AtomicIntegerArray(SENSE_FILE + 1);
 		
 		wordNetParser = new WordNetParser(version);
 	}
@@ -109,7 +153,7 @@ public class WordNetDictionary
 		else
 		{
 			singletonUsed = true;
-			retVal = new WordNetDictionary(path, version);
+			retVal = new WordNetDictionary(path, version, true);
 		}
 			
 		
@@ -119,6 +163,25 @@ public class WordNetDictionary
 	
 	
 	
+	/**Returns a new instance of WordNet that does not count as the singleton, initializes with the given path and version.
+	 * Several dictionaries can be used at the same time this way, see DictionaryRegistry to share them.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - a path to the WordNet dictionary.
+	 * 				a path to WordNet/dict must be given
+	 * @param version - WordNet version to use.
+	 * 
+	 * @return WordNet - a new dictionary that is not loaded yet
+	 */
+	public static WordNetDictionary newInstance(final String path, final WordNet version)
+	{
+		return new WordNetDictionary(path, version, false);
+	}
+	
+	
+	
+	
 	
 	
 	
@@ -129,6 +192,8 @@ public class WordNetDictionary
 	/**parses and loads the wordnet dictionary. 
 	 * Loads everything including: nouns, adjectives, adverbs, verbs and sense words
 	 * 						(index.noun, index.adjective, index.adverb, index.verb, index.sense)
+	 * Files are loaded at the same time, each of them by its own thread. If lazy loading is set, 
+	 * only the existence of the files is checked and each file is loaded when it is first used.
 	 * 
 	 * 
 	 * @author erhan sezerer
@@ -137,13 +202,15 @@ public class WordNetDictionary
 	 */
 	public synchronized boolean loadDictionary()
 	{
-		return loadNouns() && loadAdjectives() && loadAdverbs() && loadVerbs() && loadSenseWords();
+		return (frozen == null) && (lazyLoading ? checkFiles(true) : loadFiles(EnumSet.complementOf(EnumSet.of(POSTagWordNet.OTHER)), true));
 	}
 	
 	
 	
 	/**parses and loads the index files from wordnet dictionary. 
 	 * Includes: index.noun, index.verb, index.adverb, index.adjective
+	 * Builds the hash index of the lemmas of each file as well. Files are loaded at the same time, 
+	 * or when they are first used if lazy loading is set.
 	 * 
 	 * @author erhan sezerer
 	 *
@@ -151,35 +218,48 @@ public class WordNetDictionary
 	 */
 	public synchronized boolean loadIndexes()
 	{
-		return loadNouns() && loadAdjectives() && loadAdverbs() && loadVerbs();
+		return (frozen == null) && (lazyLoading ? checkFiles(false) : loadFiles(EnumSet.complementOf(EnumSet.of(POSTagWordNet.OTHER)), false));
 	}
 	
 	
 	
-	/**parses and loads the nouns from the wordnet dictinary. 
-	 * Includes: index.noun
+	/**loads the files of the given profile that are not loaded yet, at the same time. 
+	 * Used with lazy loading to load the files that are known to be used before they are needed.
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @return boolean - true if it successfully loads the nouns from wordnet dictionary
+	 * @param profile - index files and the sense file to load
+	 * 
+	 * @return boolean - true if every file of the profile is loaded
 	 */
-	public synchronized boolean loadNouns()
+	public synchronized boolean warmUp(final WarmupProfile profile)
 	{
-		boolean retVal = false;
-		String content = FileUtils.readFile(new File(dictionaryPath, nounPath).getAbsolutePath());
+		EnumSet<POSTagWordNet> tags = EnumSet.noneOf(POSTagWordNet.class);
 		
-		if(content != null)
+		for(POSTagWordNet pos : profile.getIndexes())
 		{
-			nouns = wordNetParser.parseWordNetIndex(content);
-			
-			if(nouns != null || nouns.size() != 0)
+			if(loadedFiles.get(pos.value) == 0)
 			{
-				retVal = true;
-				nounCount = nouns.size();
+				tags.add(pos);
 			}
 		}
 		
-		return retVal;
+		return loadFiles(tags, profile.hasSenses() && loadedFiles.get(SENSE_FILE) == 0);
+	}
+	
+	
+	
+	/**parses and loads the nouns from the wordnet dictinary. 
+	 * Includes: index.noun
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return boolean - true if it successfully loads the nouns from wordnet dictionary
+	 */
+	public synchronized boolean loadNouns()
+	{
+		ensureLists();
+		return (frozen == null) && loadIndex(POSTagWordNet.NOUN);
 	}
 
 	
@@ -187,113 +267,446 @@ public class WordNetDictionary
 	/**parses and loads the verbs from the wordnet dictinary. 
 	 * Includes: index.verb
 	 * 
-	 * 
 	 * @author erhan sezerer
 	 *
 	 * @return boolean - true if it successfully loads the verbs from wordnet dictionary
 	 */
 	public synchronized boolean loadVerbs()
+	{
+		ensureLists();
+		return (frozen == null) && loadIndex(POSTagWordNet.VERB);
+	}
+
+	
+	
+	/**parses and loads the adverbs from the wordnet dictinary. 
+	 * Includes: index.adverb
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return boolean - true if it successfully loads the adverbs from wordnet dictionary
+	 */
+	public synchronized boolean loadAdverbs()
+	{
+		ensureLists();
+		return (frozen == null) && loadIndex(POSTagWordNet.ADVERB);
+	}
+
+	
+	
+	/**parses and loads the adjectives from the wordnet dictinary. 
+	 * Includes: index.adjective
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return boolean - true if it successfully loads the adjectives from wordnet dictionary
+	 */
+	public synchronized boolean loadAdjectives()
+	{
+		ensureLists();
+		return (frozen == null) && loadIndex(POSTagWordNet.ADJECTIVE);
+	}
+
+	
+	
+	/**parses and loads the sense words from the wordnet dictinary. 
+	 * Includes: index.sense
+	 * Builds the compact sense index that is used by the fast sense searches as well.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return boolean - true if it successfully loads the sense words from wordnet dictionary
+	 */
+	public synchronized boolean loadSenseWords()
+	{
+		ensureLists();
+		return (frozen == null) && loadSenses();
+	}
+
+	
+	
+	
+	
+	/**loads the index files of the given tags, and the sense file if it is wanted, at the same time with a thread for each file.
+	 * Every file is parsed and indexed by its own thread, the lists are created on the calling thread 
+	 * before if the dictionary is loaded from a snapshot.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param tags - pos of the index files to load
+	 * @param loadSenses - true if index.sense should be loaded as well
+	 * 
+	 * @return boolean - true if every file is loaded successfully
+	 */
+	private boolean loadFiles(final EnumSet<POSTagWordNet> tags, final boolean loadSenses)
 	{
 		boolean retVal = true;
-		String content = FileUtils.readFile(new File(dictionaryPath, verbPath).getAbsolutePath());
+		ExecutorService executor = null;
+		ArrayList<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+		long start = System.nanoTime();
 		
-		if(content != null)
+		ensureLists();
+		
+		for(final POSTagWordNet pos : tags)
 		{
-			verbs = wordNetParser.parseWordNetIndex(content);
-			
-			if(verbs != null || verbs.size() != 0)
+			tasks.add(new Callable<Boolean>()
+			{
+				@Override
+				public Boolean call() throws Exception
+				{
+					return loadIndex(pos);
+				}
+			});
+		}
+		
+		if(loadSenses)
+		{
+			tasks.add(new Callable<Boolean>()
+			{
+				@Override
+				public Boolean call() throws Exception
+				{
+					return loadSenses();
+				}
+			});
+		}
+		
+		try
+		{
+			if(!tasks.isEmpty())
+			{
+				executor = Executors.newFixedThreadPool(tasks.size());
+				
+				//wait for every file, so that no thread is still writing when this function returns
+				for(Future<Boolean> result : executor.invokeAll(tasks))
+				{
+					retVal = result.get() && retVal;
+				}
+			}
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+			retVal = false;
+		}
+		finally
+		{
+			if(executor != null)
 			{
-				retVal = true;
-				verbCount = verbs.size();
+				executor.shutdown();
 			}
 		}
 		
+		loadTime = System.nanoTime() - start;
+		
 		
 		return retVal;
 	}
-
 	
 	
-	/**parses and loads the adverbs from the wordnet dictinary. 
-	 * Includes: index.adverb
+	
+	
+	
+	/**checks that the index files, and the sense file if it is wanted, can be read. Used instead of loading them 
+	 * when lazy loading is set.
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @return boolean - true if it successfully loads the adverbs from wordnet dictionary
+	 * @param loadSenses - true if index.sense should be checked as well
+	 * 
+	 * @return boolean - true if every file exists
 	 */
-	public synchronized boolean loadAdverbs()
+	private boolean checkFiles(final boolean loadSenses)
 	{
 		boolean retVal = true;
-		String content = FileUtils.readFile(new File(dictionaryPath, adverbPath).getAbsolutePath());
 		
-		if(content != null)
+		for(POSTagWordNet pos : POSTagWordNet.values())
+		{
+			if(pos != POSTagWordNet.OTHER && !new File(dictionaryPath, getFileName(pos)).canRead())
+			{
+				System.err.println("cannot read the file: " + getFileName(pos));
+				retVal = false;
+			}
+		}
+		
+		if(loadSenses && !new File(dictionaryPath, sensePath).canRead())
+		{
+			System.err.println("cannot read the file: " + sensePath);
+			retVal = false;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**parses the index file of the given pos line by line and builds the lemma index of it. 
+	 * Only the fields of the given pos are written, so the files can be loaded at the same time.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param pos - one of noun, verb, adjective or adverb
+	 * 
+	 * @return boolean - true if it successfully loads the file
+	 */
+	private boolean loadIndex(final POSTagWordNet pos)
+	{
+		boolean retVal = false;
+		String fileName = getFileName(pos);
+		ArrayList<WordNetWord> words = null;
+		LemmaIndex index = null;
+		long start = System.nanoTime();
+		long parsed;
+		
+		try(BufferedReader reader = new BufferedReader(new FileReader(new File(dictionaryPath, fileName)), READER_BUFFER_SIZE))
+		{
+			words = wordNetParser.parseWordNetIndex(reader);
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			words = null;
+		}
+		
+		parsed = System.nanoTime();
+		
+		if(words != null && words.size() != 0)
 		{
-			adverbs = wordNetParser.parseWordNetIndex(content);
+			index = LemmaIndex.build(words);
+			retVal = true;
 			
-			if(adverbs != null || adverbs.size() != 0)
+			switch(pos)
 			{
-				retVal = true;
-				adverbCount = adverbs.size();
+				case NOUN: nouns = words;
+						   nounCount = words.size();
+						   nounIndex = index;
+						   break;
+				
+				case VERB: verbs = words;
+						   verbCount = words.size();
+						   verbIndex = index;
+						   break;
+				
+				case ADJECTIVE: adjectives = words;
+								adjectiveCount = words.size();
+								adjectiveIndex = index;
+								break;
+				
+				case ADVERB: adverbs = words;
+							 adverbCount = words.size();
+							 adverbIndex = index;
+							 break;
+				
+				default: throw new IllegalArgumentException("illegal Pos Value: " + pos);
 			}
+			
+			loadTimings[pos.value] = new FileLoadTiming(fileName, words.size(), parsed - start, System.nanoTime() - parsed);
+			loadedFiles.set(pos.value, 1);
 		}
 		
 		
 		return retVal;
 	}
-
 	
 	
-	/**parses and loads the adjectives from the wordnet dictinary. 
-	 * Includes: index.adjective
+	
+	
+	
+	/**parses the sense file line by line and builds the compact sense index of it. 
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @return boolean - true if it successfully loads the adjectives from wordnet dictionary
+	 * @return boolean - true if it successfully loads the file
 	 */
-	public synchronized boolean loadAdjectives()
+	private boolean loadSenses()
 	{
-		boolean retVal = true;
-		String content = FileUtils.readFile(new File(dictionaryPath, adjectivePath).getAbsolutePath());
+		boolean retVal = false;
+		ArrayList<WordNetSense> parsedSenses = null;
+		long start = System.nanoTime();
+		long parsed;
+		
+		try(BufferedReader reader = new BufferedReader(new FileReader(new File(dictionaryPath, sensePath)), READER_BUFFER_SIZE))
+		{
+			parsedSenses = wordNetParser.parseWordNetSense(reader);
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			parsedSenses = null;
+		}
+		
+		parsed = System.nanoTime();
+		
+		if(parsedSenses != null && parsedSenses.size() != 0)
+		{
+			senses = parsedSenses;
+			senseCount = parsedSenses.size();
+			senseIndex = SenseIndex.build(parsedSenses);
+			retVal = true;
+			
+			loadTimings[SENSE_FILE] = new FileLoadTiming(sensePath, parsedSenses.size(), parsed - start, System.nanoTime() - parsed);
+			loadedFiles.set(SENSE_FILE, 1);
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**loads the whole dictionary from a snapshot saved with saveSnapshot(). It is much faster than parsing the 
+	 * index files since the file is mapped into the memory and only the arrays are copied out of it.
+	 * Indexes are ready to use after loading, the lists of words and senses are created 
+	 * only when a function that needs them is called.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path to the snapshot file
+	 * 
+	 * @return boolean - true if it successfully loads the snapshot
+	 */
+	public synchronized boolean loadSnapshot(final String path)
+	{
+		boolean retVal = false;
+		WordNetSnapshot loaded = (frozen == null) ? WordNetSnapshot.load(path) : null;
 		
-		if(content != null)
+		if(loaded != null)
 		{
-			adjectives = wordNetParser.parseWordNetIndex(content);
+			nouns = null;
+			adverbs = null;
+			adjectives = null;
+			verbs = null;
+			senses = null;
+			
+			nounIndex = loaded.buildIndex(POSTagWordNet.NOUN);
+			adverbIndex = loaded.buildIndex(POSTagWordNet.ADVERB);
+			adjectiveIndex = loaded.buildIndex(POSTagWordNet.ADJECTIVE);
+			verbIndex = loaded.buildIndex(POSTagWordNet.VERB);
+			senseIndex = loaded.getSenseIndex();
+			
+			nounCount = loaded.getWordCount(POSTagWordNet.NOUN);
+			adverbCount = loaded.getWordCount(POSTagWordNet.ADVERB);
+			adjectiveCount = loaded.getWordCount(POSTagWordNet.ADJECTIVE);
+			verbCount = loaded.getWordCount(POSTagWordNet.VERB);
+			senseCount = loaded.getSenseCount();
+			
+			snapshot = loaded;
+			retVal = true;
 			
-			if(adjectives != null || adjectives.size() != 0)
+			for(int i=0; i<loadedFiles.length(); i++)
 			{
-				retVal = true;
-				adjectiveCount = adjectives.size();
+				loadedFiles.set(i, 1);
 			}
 		}
 		
 		
 		return retVal;
 	}
-
 	
 	
-	/**parses and loads the sense words from the wordnet dictinary. 
-	 * Includes: index.sense
+	
+	
+	
+	/**saves the loaded dictionary as a binary snapshot, which can be loaded with loadSnapshot().
+	 * Every file of the dictionary must be loaded before calling this function, the files that are not 
+	 * used yet are loaded if lazy loading is set.
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @return boolean - true if it successfully loads the words from wordnet dictionary
+	 * @param path - path of the snapshot file
+	 * 
+	 * @return boolean - true if the snapshot is saved successfully
 	 */
-	public synchronized boolean loadSenseWords()
+	public synchronized boolean saveSnapshot(final String path)
 	{
-		boolean retVal = true;
-		String content = FileUtils.readFile(new File(dictionaryPath, sensePath).getAbsolutePath());
+		boolean retVal = false;
 		
-		if(content != null)
+		try
 		{
-			senses = wordNetParser.parseWordNetSense(content);
+			for(POSTagWordNet pos : POSTagWordNet.values())
+			{
+				ensureIndex(pos);
+			}
+			ensureSenses();
 			
-			if(senses != null || senses.size() != 0)
+			if(snapshot != null)
+			{
+				retVal = snapshot.save(path);
+			}
+			else if(nouns == null || adverbs == null || adjectives == null || verbs == null || senses == null)
+			{
+				throw new IllegalArgumentException("dictionary is not loaded");
+			}
+			else
+			{
+				retVal = WordNetSnapshot.build(adjectives, adverbs, verbs, nouns, senses, getSenseIndex()).save(path);
+			}
+		}
+		catch(IllegalArgumentException e)
+		{
+			e.printStackTrace();
+			retVal = false;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**makes the loaded dictionary read only, and returns an immutable view of its indexes which can be shared by 
+	 * any number of threads without a lock. If lazy loading is set, only the files that are loaded so far (see warmUp()) 
+	 * are in the view and lazy loading is turned off, so the files that are not used yet are never loaded.
+	 * After it is frozen, the dictionary cannot be loaded again or modified (the load and add functions return false), 
+	 * it cannot be closed or moved to another path, and its lists are returned as unmodifiable lists. 
+	 * The search functions keep working as before.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return FrozenWordNet - view of the dictionary, the same one on every call. null if the dictionary is not loaded
+	 */
+	public synchronized FrozenWordNet freeze()
+	{
+		FrozenWordNet retVal = frozen;
+		LemmaIndex[] indexes = new LemmaIndex[SenseIndex.POS_COUNT];
+		
+		try
+		{
+			if(retVal == null)
 			{
-				retVal = true;
-				senseCount = senses.size();
+				boolean loaded = false;
+				
+				for(POSTagWordNet pos : POSTagWordNet.values())
+				{
+					if(pos != POSTagWordNet.OTHER && (!lazyLoading || loadedFiles.get(pos.value) != 0))
+					{
+						indexes[pos.value] = getIndex(pos);
+						loaded = true;
+					}
+				}
+				
+				SenseIndex senses = (!lazyLoading || loadedFiles.get(SENSE_FILE) != 0) ? getSenseIndex() : null;
+				if(!loaded && senses == null)
+				{
+					throw new IllegalArgumentException("dictionary is not loaded");
+				}
+				
+				retVal = new FrozenWordNet(indexes, senses, senseCount);
+				frozen = retVal;
+				lazyLoading = false;
 			}
 		}
+		catch(IllegalArgumentException e)
+		{
+			e.printStackTrace();
+			retVal = null;
+		}
 		
 		
 		return retVal;
@@ -328,23 +741,7 @@ public class WordNetDictionary
 		
 		try
 		{
-			switch(pos)
-			{
-				case NOUN: words = nouns;
-					  	  break;
-					  
-				case VERB: words = verbs;
-			  	  		  break;
-
-				case ADJECTIVE: words = adjectives;
-						  break;
-
-				case ADVERB: words = adverbs;
-			  	  		  break;
-
-				default: throw new IllegalArgumentException("illegal Pos Value: " + pos);
-			}
-			
+			words = getWords(pos);
 			size = words.size();
 			
 			for (int i=0; i<size; i++) 
@@ -390,10 +787,7 @@ public class WordNetDictionary
 	public ArrayList<Integer> findIDs(final String word, final POSTagWordNet pos)
 	{
 		ArrayList<Integer> id = null;
-		
-		int size = 0;
-		ArrayList<WordNetWord> words;
-		WordNetWord tempWord = null;
+		int position;
 		
 		try
 		{
@@ -404,34 +798,11 @@ public class WordNetDictionary
 			}
 			else
 			{
-				switch(pos)
-				{
-					case NOUN: words = nouns;
-						  	  break;
-						  
-					case VERB: words = verbs;
-				  	  		  break;
-
-					case ADJECTIVE: words = adjectives;
-							  break;
-
-					case ADVERB: words = adverbs;
-				  	  		  break;
-
-					default: throw new IllegalArgumentException("illegal Pos Value: " + pos);
-				}
-				
-				size = words.size();
+				position = getIndex(pos).positionOf(word);
 				
-				for (int i=0; i<size; i++) 
+				if(position != -1)
 				{
-					tempWord = words.get(i);
-					
-					if(tempWord.getWord().equalsIgnoreCase(word) && pos == tempWord.getPos())
-					{
-						id = tempWord.getId();
-						break;
-					}
+					id = getWords(pos).get(position).getId();
 				}
 			}
 			
@@ -455,6 +826,50 @@ public class WordNetDictionary
 	
 	
 	
+	/**finds and retrieves the id's of the word from the given word(from wordnet index files) and part-of-speech(penn treebank) tag. 
+	 * Possible tags are r=adverb , a=adjective , n=noun , v=verb
+	 * 
+	 * Same as findIDs() but does not create anything, the returned array is shared and must not be modified.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word - corresponding word of the id from wordnet dictionary
+	 * @param pos - corresponding part-of-speech tag of the id from penn treebank pos tags
+	 * 
+	 * @return int[] - 8 digit integers that corresponds to the given word, index of the id is its sense number-1.
+	 * 								returns null if no id that corresponds to the word, or if there is some error.
+	 */
+	public int[] findIDArray(final String word, final POSTagWordNet pos)
+	{
+		int[] id = null;
+		
+		try
+		{
+			if(word == null || word.isEmpty())
+			{
+				throw new IllegalArgumentException("invalid parameter in word");
+			}
+			
+			id = getIndex(pos).get(word);
+		}
+		catch(IllegalArgumentException ie)
+		{
+			ie.printStackTrace();
+			id = null;
+		}
+		
+		
+		return id;
+	}
+	
+	
+	
+	
+	
+	
+	
+	
+	
 	/**finds and retrieves the id of the word from the given word(from wordnet index files), part-of-speech(penn treebank)
 	 *  tag and sense number. 
 	 * Possible tags are r=adverb , a=adjective , n=noun , v=verb
@@ -471,10 +886,7 @@ public class WordNetDictionary
 	public int findID(final String word, final POSTagWordNet pos, final int senseNumber)
 	{
 		int id = -1;
-		
-		int size = 0;
-		ArrayList<WordNetWord> words;
-		WordNetWord tempWord = null;
+		int[] ids;
 		
 		try
 		{
@@ -485,39 +897,16 @@ public class WordNetDictionary
 			}
 			else
 			{
-				switch(pos)
-				{
-					case NOUN: words = nouns;
-						  	  break;
-						  
-					case VERB: words = verbs;
-				  	  		  break;
-
-					case ADJECTIVE: words = adjectives;
-							  break;
-
-					case ADVERB: words = adverbs;
-				  	  		  break;
-
-					default: throw new IllegalArgumentException("illegal Pos Value: " + pos);
-				}
-				
-				size = words.size();
+				ids = getIndex(pos).get(word);
 				
-				for (int i=0; i<size; i++) 
+				if(ids != null)
 				{
-					tempWord = words.get(i);
-					
-					if(tempWord.getWord().equalsIgnoreCase(word) && pos == tempWord.getPos())
+					if(senseNumber > ids.length || senseNumber < 1)
 					{
-						if(senseNumber > tempWord.getId().size())
-						{
-							throw new IllegalArgumentException("illegal sense number: " + senseNumber);
-						}
-						
-						id = tempWord.getId().get(senseNumber-1);
-						break;
+						throw new IllegalArgumentException("illegal sense number: " + senseNumber);
 					}
+					
+					id = ids[senseNumber-1];
 				}
 			}
 			
@@ -538,12 +927,6 @@ public class WordNetDictionary
 	
 	
 	
-	
-	
-	
-	
-	
-	
 	/**finds and retrieves the word from the given id(from wordnet index.sense file) and part-of-speech(penn treebank) tag. 
 	 * Possible tags are r=adverb , a=adjective , n=noun , v=verb
 	 * 
@@ -563,7 +946,9 @@ public class WordNetDictionary
 		
 		try
 		{
-
+			ensureLists();
+			ensureSenses();
+			
 			for (int i=0; i<senseCount; i++) 
 			{
 				tempWord = senses.get(i);
@@ -597,7 +982,7 @@ public class WordNetDictionary
 	
 	
 	/**finds and retrieves the id's of the word from the given id(from wordnet index.sense file) and part-of-speech(penn treebank) tag. 
-	 * Faster version of id search -> uses binary search.
+	 * Faster version of id search -> uses binary search over the sense index.
 	 * 
 	 * @author erhan sezerer
 	 *
@@ -609,92 +994,125 @@ public class WordNetDictionary
 	 */
 	public ArrayList<Integer> findIDsFromSense(final String word, final POSTagWordNet pos)
 	{
-		ArrayList<Integer> id = new ArrayList<Integer>();
-		WordNetSense tempWord = null;
-		
-		boolean found = false;
-		
-		int left = 0;
-		int right = senseCount-1;
-		int current = 0;
-		int comparison = 0;
+		ArrayList<Integer> id = null;
+		int[] sink;
+		int count;
 		
 		try
 		{
-			while(left<right && !found)//start binary search (since the file is alphabetically designed)
+			SenseIndex index = getSenseIndex();
+			
+			sink = new int[index.getMaxIDCount()];
+			count = findIDsFromSense(word, pos, sink);
+			
+			//if no occurence can be found, return null
+			if(count > 0)
 			{
-				current = (right-left)/2 + left;
-				tempWord = senses.get(current);
-				
+				id = new ArrayList<Integer>(count);
 				
-				comparison = tempWord.getWord().compareToIgnoreCase(word);
-				
-				
-				if(comparison < 0)//go to right half
-				{
-					left = current+1;
-				}
-				else if(comparison > 0)//go to left half
-				{
-					right = current-1;
-				}
-				else//if the word we are searching is found
+				for(int i=0; i<count; i++)
 				{
-					found = true;
-
-					//now check whether the pos tag is the same too
-					if(tempWord.getPos() == pos)
-					{
-						id.add(tempWord.getId());
-					}
-					
-					
-					//SINCE THERE CAN BE MORE THAN ONE OCCURENCE OF THE SAME WORD
-					//look for the same word occurrences in upper lines
-					int upper = current-1;
-					tempWord = senses.get(upper);
-					while(tempWord.getWord().compareToIgnoreCase(word) == 0)
-					{
-						if(tempWord.getPos() == pos)
-						{
-							id.add(tempWord.getId());
-						}
-						
-						upper--;
-						tempWord = senses.get(upper);
-					}
-					//look for the same word occurrences in lower lines
-					int lower = current+1;
-					tempWord = senses.get(lower);
-					while(tempWord.getWord().compareToIgnoreCase(word) == 0)
-					{
-						if(tempWord.getPos() == pos)
-						{
-							id.add(tempWord.getId());
-						}
-						
-						lower++;
-						tempWord = senses.get(lower);
-					}
+					id.add(sink[i]);
 				}
 			}
-
 		}
 		catch(Exception ie)
 		{
 			ie.printStackTrace();
 			id = null;
 		}
+		
+		
+		return id;
+	}
 	
-		//if no occurence can be found, return null
-		if(id !=null && id.isEmpty())
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	/**finds the id's of the word from the given id(from wordnet index.sense file) and part-of-speech(penn treebank) tag
+	 * and copies them into the given array. Does not create anything, so it is suitable for tight loops.
+	 * An array of getMaxSenseIDCount() items is enough for any word.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word - corresponding word of the id from wordnet dictionary
+	 * @param pos - corresponding part-of-speech tag of the id from penn treebank pos tags
+	 * @param sink - array to copy the ids into, if it is too small only the first ids are copied
+	 * 
+	 * @return int - number of ids of the word, 0 if nothing has been found and -1 if there is an error
+	 */
+	public int findIDsFromSense(final String word, final POSTagWordNet pos, final int[] sink)
+	{
+		int retVal = -1;
+		
+		try
 		{
-			id = null;
+			if(word == null || word.isEmpty() || sink == null)
+			{
+				throw new IllegalArgumentException("invalid parameter");
+			}
+			
+			retVal = getSenseIndex().copyIDs(word, pos, sink);
+		}
+		catch(IllegalArgumentException ie)
+		{
+			ie.printStackTrace();
+			retVal = -1;
 		}
-
 		
 		
-		return id;
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	/**finds the id's of the word from the given id(from wordnet index.sense file) and part-of-speech(penn treebank) tag
+	 * and puts them into the given buffer. Does not create anything, so it is suitable for tight loops.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word - corresponding word of the id from wordnet dictionary
+	 * @param pos - corresponding part-of-speech tag of the id from penn treebank pos tags
+	 * @param sink - buffer to put the ids into, if it does not have enough space only the first ids are put
+	 * 
+	 * @return int - number of ids of the word, 0 if nothing has been found and -1 if there is an error
+	 */
+	public int findIDsFromSense(final String word, final POSTagWordNet pos, final IntBuffer sink)
+	{
+		int retVal = -1;
+		
+		try
+		{
+			if(word == null || word.isEmpty() || sink == null)
+			{
+				throw new IllegalArgumentException("invalid parameter");
+			}
+			
+			retVal = getSenseIndex().copyIDs(word, pos, sink);
+		}
+		catch(IllegalArgumentException ie)
+		{
+			ie.printStackTrace();
+			retVal = -1;
+		}
+		
+		
+		return retVal;
 	}
 	
 	
@@ -709,7 +1127,7 @@ public class WordNetDictionary
 	
 	/**finds and retrieves the id of the word from the given id(from wordnet index.sense file) , part-of-speech(penn treebank) tag,
 	 * and sense number. 
-	 * Faster version of id search -> uses binary search.
+	 * Faster version of id search -> uses binary search over the sense index.
 	 * 
 	 * @author erhan sezerer
 	 *
@@ -717,81 +1135,21 @@ public class WordNetDictionary
 	 * @param pos - corresponding part-of-speech tag of the id from penn treebank pos tags
 	 * @param senseNumber - corresponding sense number of the id as a digit from wordnet dictionary
 	 * 
-	 * @return ArrayList<Integer> - a list of 8 digit integers that corresponds to the given word and pos tag
-	 * 							    if nothing has been found returns null
+	 * @return int - an 8 digit integer that corresponds to the given word, pos tag and sense number
+	 * 							    if nothing has been found returns -1
 	 */
 	public int findIDFromSense(final String word, final POSTagWordNet pos, final int senseNumber)
 	{
 		int id = -1;
-		WordNetSense tempWord = null;
-		
-		boolean found = false;
-		
-		int left = 0;
-		int right = senseCount-1;
-		int current = 0;
-		int comparison = 0;
 		
 		try
-		{
-			while(left<right && !found)//start binary search (since the file is alphabetically designed)
-			{
-				current = (right-left)/2 + left;
-				tempWord = senses.get(current);
-				
-				comparison = tempWord.getWord().compareToIgnoreCase(word);
-				
-				if(comparison < 0)//go to right half
-				{
-					left = current+1;
-				}
-				else if(comparison > 0)//go to left half
-				{
-					right = current-1;
-				}
-				else//if the word we are searching is found
-				{
-					found = true;
-
-					//now check whether the pos tag is the same too
-					if(tempWord.getPos() == pos && tempWord.getSenseNumber() == senseNumber)
-					{
-						id = tempWord.getId();
-					}
-					else
-					{
-							//SINCE THERE CAN BE MORE THAN ONE OCCURENCE OF THE SAME WORD
-							//look for the same word occurrences in upper lines
-							int upper = current-1;
-							tempWord = senses.get(upper);
-							while(tempWord.getWord().compareToIgnoreCase(word) == 0)
-							{
-								if(tempWord.getPos() == pos && tempWord.getSenseNumber() == senseNumber)
-								{
-									id = tempWord.getId();
-								}
-								
-								upper--;
-								tempWord = senses.get(upper);
-							}
-							//look for the same word occurrences in lower lines
-							int lower = current+1;
-							tempWord = senses.get(lower);
-							while(tempWord.getWord().compareToIgnoreCase(word) == 0)
-							{
-								if(tempWord.getPos() == pos && tempWord.getSenseNumber() == senseNumber)
-								{
-									id = tempWord.getId();
-								}
-								
-								lower++;
-								tempWord = senses.get(lower);
-							}
-					
-					}//else
-				}//else
-			}//while
+		{
+			if(word == null || word.isEmpty() || SenseIndex.indexOf(pos) == -1)
+			{
+				throw new IllegalArgumentException("invalid parameter");
+			}
 			
+			id = getSenseIndex().findID(word, pos, senseNumber);
 		}
 		catch(Exception ie)
 		{
@@ -815,88 +1173,28 @@ public class WordNetDictionary
 	
 	
 	/**finds and retrieves the id of the word from the given id(from wordnet index.sense file) and sense number. 
-	 * Faster version of id search -> uses binary search.
+	 * Faster version of id search -> uses binary search over the sense index.
 	 * 
 	 * @author erhan sezerer
 	 *
 	 * @param word - corresponding word of the id from wordnet dictionary
 	 * @param senseNumber - corresponding sense number of the id as a digit from wordnet dictionary
 	 * 
-	 * @return ArrayList<Integer> - a list of 8 digit integers that corresponds to the given word and pos tag
-	 * 							    if nothing has been found returns null
+	 * @return int - an 8 digit integer that corresponds to the given word and sense number
+	 * 							    if nothing has been found returns -1
 	 */
 	public int findIDFromSense(final String word, final int senseNumber)
 	{
 		int id = -1;
-		WordNetSense tempWord = null;
-		
-		boolean found = false;
-		
-		int left = 0;
-		int right = senseCount-1;
-		int current = 0;
-		int comparison = 0;
 		
 		try
 		{
-			while(left<right && !found)//start binary search (since the file is alphabetically designed)
+			if(word == null || word.isEmpty())
 			{
-				current = (right-left)/2 + left;
-				tempWord = senses.get(current);
-				
-				comparison = tempWord.getWord().compareToIgnoreCase(word);
-				
-				if(comparison < 0)//go to right half
-				{
-					left = current+1;
-				}
-				else if(comparison > 0)//go to left half
-				{
-					right = current-1;
-				}
-				else//if the word we are searching is found
-				{
-					found = true;
-
-					//now check whether the pos tag is the same too
-					if(tempWord.getSenseNumber() == senseNumber)
-					{
-						id = tempWord.getId();
-					}
-					else
-					{
-							//SINCE THERE CAN BE MORE THAN ONE OCCURENCE OF THE SAME WORD
-							//look for the same word occurrences in upper lines
-							int upper = current-1;
-							tempWord = senses.get(upper);
-							while(tempWord.getWord().compareToIgnoreCase(word) == 0)
-							{
-								if(tempWord.getSenseNumber() == senseNumber)
-								{
-									id = tempWord.getId();
-								}
-								
-								upper--;
-								tempWord = senses.get(upper);
-							}
-							//look for the same word occurrences in lower lines
-							int lower = current+1;
-							tempWord = senses.get(lower);
-							while(tempWord.getWord().compareToIgnoreCase(word) == 0)
-							{
-								if(tempWord.getSenseNumber() == senseNumber)
-								{
-									id = tempWord.getId();
-								}
-								
-								lower++;
-								tempWord = senses.get(lower);
-							}
-					
-					}//else
-				}//else
-			}//while
+				throw new IllegalArgumentException("invalid parameter");
+			}
 			
+			id = getSenseIndex().findID(word, POSTagWordNet.OTHER, senseNumber);
 		}
 		catch(Exception ie)
 		{
@@ -941,6 +1239,9 @@ public class WordNetDictionary
 		
 		try
 		{
+			ensureLists();
+			ensureSenses();
+			
 			//search all records for occurrence
 			for (int i=0; i<senseCount; i++) 
 			{
@@ -998,6 +1299,9 @@ public class WordNetDictionary
 		
 		try
 		{
+			ensureLists();
+			ensureSenses();
+			
 			//search all records for occurrence
 			for (int i=0; i<senseCount; i++) 
 			{
@@ -1041,20 +1345,44 @@ public class WordNetDictionary
 	 * 
 	 * @author erhan sezerer
 	 *
+	 * @throws IllegalArgumentException - if the dictionary is frozen, its view may still be in use
 	 */
 	public synchronized void closeDictionary()
 	{
-		nouns.clear();
+		if(frozen != null)
+		{
+			throw new IllegalArgumentException("dictionary is frozen");
+		}
+		
+		ensureLists();
+		
+		//files that are never used are not loaded with lazy loading
+		for(ArrayList<?> list : new ArrayList<?>[]{nouns, adverbs, adjectives, verbs, senses})
+		{
+			if(list != null)
+			{
+				list.clear();
+			}
+		}
+		
 		nouns = null;
-		adverbs.clear();
 		adverbs = null;
-		adjectives.clear();
 		adjectives = null;
-		verbs.clear();
 		verbs = null;
-		senses.clear();
 		senses = null;
-		singletonUsed = false;
+		nounIndex = null;
+		adverbIndex = null;
+		adjectiveIndex = null;
+		verbIndex = null;
+		senseIndex = null;
+		loadTimings = new FileLoadTiming[SENSE_FILE + 1];
+		loadTime = 0;
+		loadedFiles = new AtomicIntegerArray(SENSE_FILE + 1);
+		
+		if(singleton)
+		{
+			singletonUsed = false;
+		}
 	}
 
 	
@@ -1102,8 +1430,12 @@ public class WordNetDictionary
 	{
 		boolean retVal = false;
 		
-		if(word != null)
+		ensureLists();
+		
+		if(word != null && frozen == null)
 		{
+			ensureIndex(word.getPos());
+			
 			switch(word.getPos())
 			{
 				case NOUN: retVal = nouns.add(word);
@@ -1124,6 +1456,11 @@ public class WordNetDictionary
 
 				default: break;
 			}
+			
+			if(retVal)
+			{
+				getIndex(word.getPos()).put(word, getWords(word.getPos()).size()-1);
+			}
 		}
 		
 		return retVal;
@@ -1142,10 +1479,14 @@ public class WordNetDictionary
 	{
 		boolean retVal = false;
 		
-		if(word != null)
+		ensureLists();
+		ensureSenses();
+		
+		if(word != null && frozen == null)
 		{
 			retVal = senses.add(word);
 			senseCount++;
+			senseIndex = null;
 		}
 		
 		return retVal;
@@ -1186,6 +1527,275 @@ public class WordNetDictionary
 	
 	
 	
+	/**returns the list of words of the given part of speech
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param pos - one of noun, verb, adjective or adverb
+	 * 
+	 * @return ArrayList<WordNetWord> - words loaded from the index file of the pos
+	 */
+	private ArrayList<WordNetWord> getWords(final POSTagWordNet pos)
+	{
+		ArrayList<WordNetWord> words;
+		
+		ensureLists();
+		ensureIndex(pos);
+		
+		switch(pos)
+		{
+			case NOUN: words = nouns;
+				  	  break;
+				  
+			case VERB: words = verbs;
+		  	  		  break;
+
+			case ADJECTIVE: words = adjectives;
+					  break;
+
+			case ADVERB: words = adverbs;
+		  	  		  break;
+
+			default: throw new IllegalArgumentException("illegal Pos Value: " + pos);
+		}
+		
+		return words;
+	}
+	
+	
+	
+	
+	
+	/**returns the name of the index file of the given part of speech
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param pos - one of noun, verb, adjective or adverb
+	 * 
+	 * @return String - name of the index file in the dictionary path
+	 */
+	private String getFileName(final POSTagWordNet pos)
+	{
+		String fileName;
+		
+		switch(pos)
+		{
+			case NOUN: fileName = nounPath;
+				  	  break;
+				  
+			case VERB: fileName = verbPath;
+		  	  		  break;
+
+			case ADJECTIVE: fileName = adjectivePath;
+					  break;
+
+			case ADVERB: fileName = adverbPath;
+		  	  		  break;
+
+			default: throw new IllegalArgumentException("illegal Pos Value: " + pos);
+		}
+		
+		return fileName;
+	}
+	
+	
+	
+	
+	
+	/**creates the lists of words and senses from the snapshot, if the dictionary is loaded from a snapshot 
+	 * and they are not created yet. Must be called before the lists are read or replaced.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	private void ensureLists()
+	{
+		if(snapshot != null)
+		{
+			synchronized(this)
+			{
+				WordNetSnapshot loaded = snapshot;
+				
+				if(loaded != null)
+				{
+					nouns = loaded.createWords(POSTagWordNet.NOUN);
+					adverbs = loaded.createWords(POSTagWordNet.ADVERB);
+					adjectives = loaded.createWords(POSTagWordNet.ADJECTIVE);
+					verbs = loaded.createWords(POSTagWordNet.VERB);
+					senses = loaded.createSenses();
+					
+					//the lists are complete, the snapshot is not needed anymore
+					snapshot = null;
+				}
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/**loads the index file of the given pos if lazy loading is set and the file is not loaded yet.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param pos - one of noun, verb, adjective or adverb, nothing is loaded for the others
+	 * 
+	 * @throws IllegalArgumentException - if the file cannot be loaded
+	 */
+	private void ensureIndex(final POSTagWordNet pos)
+	{
+		if(lazyLoading && pos != null && pos != POSTagWordNet.OTHER && loadedFiles.get(pos.value) == 0)
+		{
+			synchronized(this)
+			{
+				if(loadedFiles.get(pos.value) == 0 && !loadIndex(pos))
+				{
+					throw new IllegalArgumentException("cannot load the file: " + getFileName(pos));
+				}
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/**loads the sense file if lazy loading is set and the file is not loaded yet.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @throws IllegalArgumentException - if the file cannot be loaded
+	 */
+	private void ensureSenses()
+	{
+		if(lazyLoading && loadedFiles.get(SENSE_FILE) == 0)
+		{
+			synchronized(this)
+			{
+				if(loadedFiles.get(SENSE_FILE) == 0 && !loadSenses())
+				{
+					throw new IllegalArgumentException("cannot load the file: " + sensePath);
+				}
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/**returns the lemma index of the given part of speech
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param pos - one of noun, verb, adjective or adverb
+	 * 
+	 * @return LemmaIndex - index built from the index file of the pos
+	 */
+	private LemmaIndex getIndex(final POSTagWordNet pos)
+	{
+		LemmaIndex index;
+		
+		ensureIndex(pos);
+		
+		switch(pos)
+		{
+			case NOUN: index = nounIndex;
+				  	  break;
+				  
+			case VERB: index = verbIndex;
+		  	  		  break;
+
+			case ADJECTIVE: index = adjectiveIndex;
+					  break;
+
+			case ADVERB: index = adverbIndex;
+		  	  		  break;
+
+			default: throw new IllegalArgumentException("illegal Pos Value: " + pos);
+		}
+		
+		if(index == null)
+		{
+			throw new IllegalArgumentException("index of " + pos + " is not loaded");
+		}
+		
+		return index;
+	}
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	/**returns the sense index, builds it again if senses are added after it is built
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return SenseIndex - index of the sense words
+	 * @throws IllegalArgumentException - if the sense words are not loaded
+	 */
+	public SenseIndex getSenseIndex()
+	{
+		SenseIndex index;
+		
+		ensureSenses();
+		index = senseIndex;
+		
+		if(index == null)
+		{
+			synchronized(this)
+			{
+				if(senses == null)
+				{
+					throw new IllegalArgumentException("sense words are not loaded");
+				}
+				
+				index = senseIndex;
+				if(index == null)
+				{
+					index = SenseIndex.build(senses);
+					senseIndex = index;
+				}
+			}
+		}
+		
+		return index;
+	}
+	
+	
+	
+	
+	
+	
+	
+	
+	
+	/**returns the list as it is, or as an unmodifiable list if the dictionary is frozen
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param list - a list of the dictionary
+	 * 
+	 * @return List<T> - the list or its unmodifiable view, null if the list is null
+	 */
+	private <T> List<T> readOnly(final ArrayList<T> list)
+	{
+		return (frozen == null || list == null) ? list : Collections.unmodifiableList(list);
+	}
+	
+	
+	
+	
+	
+	
+	
+	
+	
 	/*-------------------------------------------------------------------------------------------------------*/
 	//				setters and getters
 	/*-------------------------------------------------------------------------------------------------------*/
@@ -1194,60 +1804,154 @@ public class WordNetDictionary
 		return dictionaryPath;
 	}
 	
+	public WordNet getVersion() 
+	{
+		return version;
+	}
+	
+	/**sets the path of the dictionary, which cannot be changed after the dictionary is frozen
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param dictionaryPath - path to the WordNet/dict directory
+	 * 
+	 * @throws IllegalArgumentException - if the dictionary is frozen
+	 */
 	public synchronized void setDictionaryPath(final String dictionaryPath) 
 	{
+		if(frozen != null)
+		{
+			throw new IllegalArgumentException("dictionary is frozen");
+		}
+		
 		this.dictionaryPath = dictionaryPath;
 	}
 	
-	public ArrayList<WordNetWord> getNouns() 
+	public List<WordNetWord> getNouns() 
 	{
-		return nouns;
+		ensureLists();
+		ensureIndex(POSTagWordNet.NOUN);
+		return readOnly(nouns);
 	}
 	
-	public ArrayList<WordNetWord> getAdverbs() 
+	public List<WordNetWord> getAdverbs() 
 	{
-		return adverbs;
+		ensureLists();
+		ensureIndex(POSTagWordNet.ADVERB);
+		return readOnly(adverbs);
 	}
 	
-	public ArrayList<WordNetWord> getAdjectives() 
+	public List<WordNetWord> getAdjectives() 
 	{
-		return adjectives;
+		ensureLists();
+		ensureIndex(POSTagWordNet.ADJECTIVE);
+		return readOnly(adjectives);
 	}
 	
-	public ArrayList<WordNetWord> getVerbs() 
+	public List<WordNetWord> getVerbs() 
 	{
-		return verbs;
+		ensureLists();
+		ensureIndex(POSTagWordNet.VERB);
+		return readOnly(verbs);
 	}
 		
-	public ArrayList<WordNetSense> getSenses() 
+	public List<WordNetSense> getSenses() 
 	{
-		return senses;
+		ensureLists();
+		ensureSenses();
+		return readOnly(senses);
 	}
 		
 	public int getNounCount()
 	{
+		ensureIndex(POSTagWordNet.NOUN);
 		return nounCount;
 	}
 	
 	public int getAdverbCount() 
 	{
+		ensureIndex(POSTagWordNet.ADVERB);
 		return adverbCount;
 	}
 	
 	public int getAdjectiveCount() 
 	{
+		ensureIndex(POSTagWordNet.ADJECTIVE);
 		return adjectiveCount;
 	}
 
 	public int getVerbCount()
 	{
+		ensureIndex(POSTagWordNet.VERB);
 		return verbCount;
 	}
 
+	public int getMaxSenseIDCount()
+	{
+		return getSenseIndex().getMaxIDCount();
+	}
+	
 	public int getSenseCount() 
 	{
+		ensureSenses();
 		return senseCount;
 	}
 	
+	/**returns the time spent on each file that is loaded, the files that are not loaded are skipped
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return ArrayList<FileLoadTiming> - parse and index times of the loaded files
+	 */
+	public synchronized ArrayList<FileLoadTiming> getLoadTimings() 
+	{
+		ArrayList<FileLoadTiming> retVal = new ArrayList<FileLoadTiming>();
+		
+		for(FileLoadTiming timing : loadTimings)
+		{
+			if(timing != null)
+			{
+				retVal.add(timing);
+			}
+		}
+		
+		return retVal;
+	}
+	
+	/**returns the time passed while loading the files at the same time with loadDictionary() or loadIndexes(), 
+	 * in nanoseconds.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return long - wall clock time of the last load
+	 */
+	public synchronized long getLoadTime() 
+	{
+		return loadTime;
+	}
+	
+	public boolean isLazyLoading() 
+	{
+		return lazyLoading;
+	}
+	
+	public synchronized boolean isFrozen() 
+	{
+		return frozen != null;
+	}
+	
+	/**sets whether the files are loaded when they are first used instead of loading all of them at once, 
+	 * see warmUp() to load the files that are known to be used beforehand
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param lazyLoading - true to load each file when it is first used
+	 */
+	public synchronized void setLazyLoading(final boolean lazyLoading) 
+	{
+		//files are not loaded after the dictionary is frozen
+		this.lazyLoading = lazyLoading && (frozen == null);
+	}
+	
 	
 }
@@ -19,6 +19,8 @@
 */
 package com.darg.NLPOperations.dictionary;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.ArrayList;
 
 import com.darg.NLPOperations.dictionary.model.WordNet;
@@ -102,6 +104,66 @@ public class WordNetParser
 		
 		return tempList;
 	}
+	
+	
+	
+	
+	
+	
+	/**parses an index file of the WordNet dictionary line by line, without reading the whole file into the memory. 
+	 * Gives the same words as parseWordNetIndex(String). It is not synchronized, so several files can be parsed at the same time.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param reader - a reader of an index file (index.noun, index.adverb etc.), it is not closed
+	 *  
+	 * @return ArrayList<WordNetWord> - a list of words contained in the file. returns null if there is any error
+	 * 									concerning the input such ass wrong file structure.
+	 */
+	public ArrayList<WordNetWord> parseWordNetIndex(final BufferedReader reader)
+	{
+		ArrayList<WordNetWord> tempList = null;
+		
+		switch(version)
+		{
+			case VERSION_30: tempList =  parseWordNetIndex30(reader);
+						 	 break;
+						 
+			default: tempList = null;			 
+		}
+		
+		return tempList;
+	}
+	
+	
+	
+	
+	
+	
+	/**parses the sense file of the WordNet dictionary line by line, without reading the whole file into the memory. 
+	 * Gives the same senses as parseWordNetSense(String). It is not synchronized, so several files can be parsed at the same time.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param reader - a reader of the sense file (index.sense), it is not closed
+	 *  
+	 * @return ArrayList<WordNetSense> - a list of senses contained in the file. returns null if there is any error
+	 * 									 concerning the input such ass wrong file structure.
+	 */
+	public ArrayList<WordNetSense> parseWordNetSense(final BufferedReader reader)
+	{
+		ArrayList<WordNetSense> tempList = null;
+		
+		switch(version)
+		{
+			case VERSION_30: tempList =  parseWordNetSense30(reader);
+						 	 break;
+						 
+			default: tempList = null;			 
+		}
+		
+		return tempList;
+	}
 
 	
 	
@@ -132,8 +194,6 @@ public class WordNetParser
 		
 		
 		ArrayList<WordNetWord> words = new ArrayList<WordNetWord>();
-		String word = null;
-		POSTagWordNet pos;
 		
 		
 		try
@@ -145,38 +205,10 @@ public class WordNetParser
 				
 				for(String line: lines)//for each line
 				{
-					String[] tempWords = line.split(" ");
+					wordNetWord = parseIndexLine30(line);
 					
-					if(tempWords[0].length() >= 1)//if it is a comment line it will be empty string
+					if(wordNetWord != null)
 					{
-						word = tempWords[0];
-						
-						if(tempWords[1].length() == 1)//check for pos tag
-						{
-							pos = POSTagWordNet.getPosType(tempWords[1].charAt(0));
-							
-							if(pos == POSTagWordNet.OTHER)
-							{
-								throw new IllegalArgumentException("Illegal pos tag: " + tempWords[1]);
-							}
-						}
-						else
-						{
-							throw new IllegalArgumentException("Unexpected argument: " + tempWords[1]);
-						}
-
-						int count = tempWords.length-1;
-						String tempid = tempWords[count];
-						wordNetWord = new WordNetWord(word, pos);
-						
-						while(tempid.length() == 8)//check for corresponding id's
-						{
-							wordNetWord.addId(Integer.parseInt(tempid));
-							
-							count--;
-							tempid = tempWords[count];
-						}
-						
 						words.add(wordNetWord);
 					}
 				}
@@ -197,6 +229,110 @@ public class WordNetParser
 	
 	
 	
+	/**parses an index file of the WordNet dictionary line by line. 
+	 * For version 3.0
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param reader - a reader of an index file
+	 *  
+	 * @return ArrayList<WordNetWord> - a list of words contained in the file. returns null if there is any error
+	 */
+	private ArrayList<WordNetWord> parseWordNetIndex30(final BufferedReader reader)
+	{
+		WordNetWord wordNetWord = null; 
+		ArrayList<WordNetWord> words = new ArrayList<WordNetWord>();
+		String line;
+		
+		
+		try
+		{
+			while((line = reader.readLine()) != null)//for each line
+			{
+				wordNetWord = parseIndexLine30(line);
+				
+				if(wordNetWord != null)
+				{
+					words.add(wordNetWord);
+				}
+			}
+		}
+		catch(IllegalArgumentException e)
+		{
+			e.printStackTrace();
+			words = null;
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			words = null;
+		}
+		
+		
+		
+		return words;
+	}
+	
+	
+	
+	
+	
+	/**parses a single line of an index file. 
+	 * For version 3.0
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param line - a line of an index file
+	 *  
+	 * @return WordNetWord - the word in the line, or null if it is a comment line
+	 * 
+	 * @throws IllegalArgumentException - if the line is not valid
+	 */
+	private static WordNetWord parseIndexLine30(final String line)
+	{
+		WordNetWord wordNetWord = null; 
+		String word = null;
+		POSTagWordNet pos;
+		String[] tempWords = line.split(" ");
+		
+		if(tempWords[0].length() >= 1)//if it is a comment line it will be empty string
+		{
+			word = tempWords[0];
+			
+			if(tempWords[1].length() == 1)//check for pos tag
+			{
+				pos = POSTagWordNet.getPosType(tempWords[1].charAt(0));
+				
+				if(pos == POSTagWordNet.OTHER)
+				{
+					throw new IllegalArgumentException("Illegal pos tag: " + tempWords[1]);
+				}
+			}
+			else
+			{
+				throw new IllegalArgumentException("Unexpected argument: " + tempWords[1]);
+			}
+
+			int count = tempWords.length-1;
+			String tempid = tempWords[count];
+			wordNetWord = new WordNetWord(word, pos);
+			
+			while(tempid.length() == 8)//check for corresponding id's
+			{
+				wordNetWord.addId(Integer.parseInt(tempid));
+				
+				count--;
+				tempid = tempWords[count];
+			}
+		}
+		
+		return wordNetWord;
+	}
+	
+	
+	
+	
+	
 	/**parses the sense file of the WordNet dictionary. and return all of the elements
 	 * in an array. 
 	 * For version 3.0
@@ -212,10 +348,6 @@ public class WordNetParser
 	private synchronized ArrayList<WordNetSense> parseWordNetSense30(final String text)
 	{
 		ArrayList<WordNetSense> words = new ArrayList<WordNetSense>();
-		String word = null;
-		POSTagWordNet pos;
-		int id = 0;
-		int senseNumber = 0;
 		
 		
 		try
@@ -227,100 +359,178 @@ public class WordNetParser
 				
 				for(String line: lines)//for each line
 				{
-					String[] tempWords = line.split(":");
-					
-					if(tempWords[0].length() >= 1)
-					{
-						String[] temp = tempWords[0].split("%");
-						
-						if(temp.length != 2)
-						{
-							throw new IllegalArgumentException("illegal arguments at: " + line);
-						}
-						else
-						{
-							word = temp[0];
+					words.add(parseSenseLine30(line));
+				}
+			}
+		}
+		catch(IllegalArgumentException e)
+		{
+			e.printStackTrace();
+			words = null;
+		}
+		
+		
+		
+		return words;
+	}
+	
+	
+	
+	
+	
+	/**parses the sense file of the WordNet dictionary line by line. 
+	 * For version 3.0
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param reader - a reader of the sense file
+	 *  
+	 * @return ArrayList<WordNetSense> - a list of senses contained in the file. returns null if there is any error
+	 */
+	private ArrayList<WordNetSense> parseWordNetSense30(final BufferedReader reader)
+	{
+		ArrayList<WordNetSense> words = new ArrayList<WordNetSense>();
+		String line;
+		int emptyLines = 0;
+		
+		
+		try
+		{
+			while((line = reader.readLine()) != null)//for each line
+			{
+				//empty lines are only allowed at the end of the file, as in parseWordNetSense(String)
+				if(line.isEmpty())
+				{
+					emptyLines++;
+				}
+				else if(emptyLines > 0)
+				{
+					throw new IllegalArgumentException("illegal argument at: ");
+				}
+				else
+				{
+					words.add(parseSenseLine30(line));
+				}
+			}
+		}
+		catch(IllegalArgumentException e)
+		{
+			e.printStackTrace();
+			words = null;
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			words = null;
+		}
+		
+		
+		
+		return words;
+	}
+	
+	
+	
+	
+	
+	/**parses a single line of the sense file. 
+	 * For version 3.0
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param line - a line of the sense file
+	 *  
+	 * @return WordNetSense - the sense in the line
+	 * 
+	 * @throws IllegalArgumentException - if the line is not valid
+	 */
+	private static WordNetSense parseSenseLine30(final String line)
+	{
+		String word = null;
+		POSTagWordNet pos;
+		int id = 0;
+		int senseNumber = 0;
+		String[] tempWords = line.split(":");
+		
+		if(tempWords[0].length() >= 1)
+		{
+			String[] temp = tempWords[0].split("%");
+			
+			if(temp.length != 2)
+			{
+				throw new IllegalArgumentException("illegal arguments at: " + line);
+			}
+			else
+			{
+				word = temp[0];
+				
+				switch(Integer.parseInt(temp[1]))
+				{
+					case 1: pos = POSTagWordNet.NOUN;
+							break;
 							
-							switch(Integer.parseInt(temp[1]))
-							{
-								case 1: pos = POSTagWordNet.NOUN;
-										break;
-										
-								case 2: pos = POSTagWordNet.VERB;
-										break;
-								
-								case 3: pos = POSTagWordNet.ADJECTIVE;
-										break;
-								
-								case 4: pos = POSTagWordNet.ADVERB;
-										break;
-								
-								case 5: pos = POSTagWordNet.ADJECTIVE;
-										break;
-								
-								default: throw new IllegalArgumentException("illegal pos tag at: " + line);
-							}
-						}
-					}
-					else
-					{
-						throw new IllegalArgumentException("illegal argument at: " + line);
-					}
+					case 2: pos = POSTagWordNet.VERB;
+							break;
 					
-					String tempString = tempWords[tempWords.length-1];
-					
-					if(tempString.length() >= 8)
-					{
-						tempWords = tempString.trim().split(" ");
-						
-						
-						//get the id
-						tempString = tempWords[tempWords.length-3];
-						
-						if(tempString == null || tempString.length() != 8)
-						{
-							throw new IllegalArgumentException("illegal argument at: " + line);
-						}
-						
-						id = Integer.parseInt(tempString);
-						
-						
-						
-						//get the sense number
-						tempString = tempWords[tempWords.length-2];
-						
-						if(tempString == null || tempString.length() >= 3)
-						{
-							throw new IllegalArgumentException("illegal sense number at: " + line);
-						}
-						
-						senseNumber = Integer.parseInt(tempString);
-						
-						if(senseNumber >= 100 || senseNumber <=0)
-						{
-							throw new IllegalArgumentException("illegal sense number at: " + line);
-						}
-					}
-					else
-					{
-						throw new IllegalArgumentException("illegal argument at: " + line);
-					}
+					case 3: pos = POSTagWordNet.ADJECTIVE;
+							break;
 					
+					case 4: pos = POSTagWordNet.ADVERB;
+							break;
 					
-					words.add(new WordNetSense(word, id, pos, senseNumber));
+					case 5: pos = POSTagWordNet.ADJECTIVE;
+							break;
 					
+					default: throw new IllegalArgumentException("illegal pos tag at: " + line);
 				}
 			}
 		}
-		catch(IllegalArgumentException e)
+		else
 		{
-			e.printStackTrace();
-			words = null;
+			throw new IllegalArgumentException("illegal argument at: " + line);
 		}
 		
+		String tempString = tempWords[tempWords.length-1];
+		
+		if(tempString.length() >= 8)
+		{
+			tempWords = tempString.trim().split(" ");
+			
+			
+			//get the id
+			tempString = tempWords[tempWords.length-3];
+			
+			if(tempString == null || tempString.length() != 8)
+			{
+				throw new IllegalArgumentException("illegal argument at: " + line);
+			}
+			
+			id = Integer.parseInt(tempString);
+			
+			
+			
+			//get the sense number
+			tempString = tempWords[tempWords.length-2];
+			
+			if(tempString == null || tempString.length() >= 3)
+			{
+				throw new IllegalArgumentException("illegal sense number at: " + line);
+			}
+			
+			senseNumber = Integer.parseInt(tempString);
+			
+			if(senseNumber >= 100 || senseNumber <=0)
+			{
+				throw new IllegalArgumentException("illegal sense number at: " + line);
+			}
+		}
+		else
+		{
+			throw new IllegalArgumentException("illegal argument at: " + line);
+		}
 		
 		
-		return words;
+		return new WordNetSense(word, id, pos, senseNumber);
 	}
 	
 	
@@ -0,0 +1,104 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.dictionary.model;
+
+import java.util.Locale;
+
+
+
+
+/**time spent while loading a single file of a dictionary, 
+ * split into parsing the file and building the index of the parsed entries.
+ * Times are kept in nanoseconds.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class FileLoadTiming 
+{
+	private String fileName;
+	private int entryCount;
+	private long parseTime;
+	private long indexTime;
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private FileLoadTiming()//prevent users from calling it
+	{
+		
+	}
+	public FileLoadTiming(final String fileName, final int entryCount, final long parseTime, final long indexTime) 
+	{
+		this.fileName = fileName;
+		this.entryCount = entryCount;
+		this.parseTime = parseTime;
+		this.indexTime = indexTime;
+	}
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*---------------------------------------------------------------------------------------*/
+
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+
+	@Override
+	public String toString()
+	{
+		return String.format(Locale.ENGLISH, "%s: %d entries, parse %.1f ms, index %.1f ms, total %.1f ms", 
+								fileName, entryCount, parseTime / 1e6, indexTime / 1e6, getTotalTime() / 1e6);
+	}
+	
+	public String getFileName() 
+	{
+		return fileName;
+	}
+	
+	public int getEntryCount() 
+	{
+		return entryCount;
+	}
+	
+	public long getParseTime() 
+	{
+		return parseTime;
+	}
+	
+	public long getIndexTime() 
+	{
+		return indexTime;
+	}
+	
+	public long getTotalTime() 
+	{
+		return parseTime + indexTime;
+	}
+	
+	
+}
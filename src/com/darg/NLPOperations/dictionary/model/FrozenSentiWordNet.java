@@ -0,0 +1,282 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.dictionary.model;
+
+import java.util.Arrays;
+
+import com.darg.NLPOperations.pos.util.POSTagWordNet;
+
+
+
+/**read only view of a loaded sentiwordnet dictionary, created by SentiWordNetDictionary.freeze().
+ * It keeps only the score tables of each pos and the average scores, the lists of words are left in the dictionary.
+ * Every field is final and every table is built before it is created, so a lookup neither takes a lock
+ * nor reads a volatile field, and any number of threads can share a single instance. The score tables do not hand out 
+ * their arrays outside their package, so nothing that is reachable from the view can be modified.
+ *
+ * @author erhan sezerer
+ *
+ */
+public final class FrozenSentiWordNet
+{
+	private final SentiScoreTable[] scoreTables; //indexed by the value of the pos
+	private final double[] averageScores; //positive, negative and objectivity averages of each pos, and of every word at the end
+	private final int wordCount;
+	
+	
+	
+	
+	//constructors
+	public FrozenSentiWordNet(final SentiScoreTable[] scoreTables, final double[] averageScores, final int wordCount)
+	{
+		this.scoreTables = Arrays.copyOf(scoreTables, SenseIndex.POS_COUNT);
+		this.averageScores = averageScores.clone();
+		this.wordCount = wordCount;
+		
+		for(int i=0; i<this.scoreTables.length; i++)
+		{
+			if(this.scoreTables[i] == null)
+			{
+				throw new IllegalArgumentException("score table is not built: " + i);
+			}
+		}
+	}
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*---------------------------------------------------------------------------------------*/
+	/**finds the scores of the synset whose id and pos are given, same as SentiWordNetDictionary.scoreOf()
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param id - id of the synset we are searching for.
+	 * @param pos - pos of the synset
+	 * @param scores - an array of at least 3 items, filled with positive, negative and objectivity scores (in that order)
+	 * 
+	 * @return boolean - true if the synset is found, false otherwise.
+	 */
+	public boolean scoreOf(final int id, final POSTagWordNet pos, final float[] scores)
+	{
+		boolean retVal = false;
+		SentiScoreTable table = getScoreTable(pos);
+		int index;
+		
+		if(table != null)
+		{
+			index = table.indexOf(id);
+			
+			if(index != -1)
+			{
+				scores[0] = table.getPositiveScore(index);
+				scores[1] = table.getNegativeScore(index);
+				scores[2] = table.getObjectiveScore(index);
+				retVal = true;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**checks whether the synset whose id and pos are given is in the dictionary
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param id - id of the synset
+	 * @param pos - pos of the synset
+	 * 
+	 * @return boolean - true if the synset is found
+	 */
+	public boolean contains(final int id, final POSTagWordNet pos)
+	{
+		SentiScoreTable table = getScoreTable(pos);
+		
+		return table != null && table.indexOf(id) != -1;
+	}
+	
+	
+	
+	
+	
+	/**counts the words with positivity score lower or greater than the limit, 
+	 * same as SentiWordNetDictionary.countWordsWithPositiveScore()
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param limit - a threshold for finding positivity score
+	 * @param lower - if true counts the smaller numbers than limit, else counts the greater ones
+	 * 
+	 * @return int - number of words conforming the conditions.
+	 */
+	public int countWordsWithPositiveScore(final double limit, final boolean lower)
+	{
+		int retVal = 0;
+		
+		for(SentiScoreTable table : scoreTables)
+		{
+			retVal += table.countPositiveScores(limit, lower);
+		}
+		
+		return retVal;
+	}
+	
+	/**counts the words with negativity score lower or greater than the limit, 
+	 * same as SentiWordNetDictionary.countWordsWithNegativeScore()
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param limit - a threshold for finding negativity score
+	 * @param lower - if true counts the smaller numbers than limit, else counts the greater ones
+	 * 
+	 * @return int - number of words conforming the conditions.
+	 */
+	public int countWordsWithNegativeScore(final double limit, final boolean lower)
+	{
+		int retVal = 0;
+		
+		for(SentiScoreTable table : scoreTables)
+		{
+			retVal += table.countNegativeScores(limit, lower);
+		}
+		
+		return retVal;
+	}
+	
+	/**counts the words with objectivity score lower or greater than the limit, 
+	 * same as SentiWordNetDictionary.countObjectiveWords()
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param limit - a threshold for finding objectivity score
+	 * @param lower - if true counts the smaller numbers than limit, else counts the greater ones
+	 * 
+	 * @return int - number of words conforming the conditions.
+	 */
+	public int countObjectiveWords(final double limit, final boolean lower)
+	{
+		int retVal = 0;
+		
+		for(SentiScoreTable table : scoreTables)
+		{
+			retVal += table.countObjectiveScores(limit, lower);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**returns the average positive score of the words with the given pos, of every word if it is POSTagWordNet.OTHER
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param tag - pos of the words
+	 * 
+	 * @return double - average positive score
+	 */
+	public double findAveragePositiveScore(final POSTagWordNet tag)
+	{
+		return averageScores[averageIndex(tag)];
+	}
+	
+	/**returns the average negative score of the words with the given pos, of every word if it is POSTagWordNet.OTHER
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param tag - pos of the words
+	 * 
+	 * @return double - average negative score
+	 */
+	public double findAverageNegativeScore(final POSTagWordNet tag)
+	{
+		return averageScores[averageIndex(tag) + 1];
+	}
+	
+	/**returns the average objectivity score of the words with the given pos, of every word if it is POSTagWordNet.OTHER
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param tag - pos of the words
+	 * 
+	 * @return double - average objectivity score
+	 */
+	public double findAverageObjectiveScore(final POSTagWordNet tag)
+	{
+		return averageScores[averageIndex(tag) + 2];
+	}
+	
+	
+	
+	
+	
+	/**finds the position of the averages of the given pos, same as in SentiWordNetDictionary
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param tag - pos of the averages, POSTagWordNet.OTHER for all the words
+	 * 
+	 * @return int - position of the average positive score, negative and objective scores follow it
+	 */
+	private static int averageIndex(final POSTagWordNet tag)
+	{
+		return ((tag == POSTagWordNet.OTHER) ? 4 : tag.value) * 3;
+	}
+	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	/**returns the score table of the given pos, which is shared with the dictionary and is read only
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param pos - one of noun, verb, adjective or adverb
+	 * 
+	 * @return SentiScoreTable - scores of the pos, null if the pos is not valid
+	 */
+	public SentiScoreTable getScoreTable(final POSTagWordNet pos)
+	{
+		return (pos == null || pos == POSTagWordNet.OTHER) ? null : scoreTables[pos.value];
+	}
+	
+	public int getSize(final POSTagWordNet pos)
+	{
+		SentiScoreTable table = getScoreTable(pos);
+		
+		return (table == null) ? 0 : table.size();
+	}
+	
+	public int getWordCount()
+	{
+		return wordCount;
+	}
+	
+}
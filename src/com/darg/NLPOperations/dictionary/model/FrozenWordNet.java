@@ -0,0 +1,241 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.dictionary.model;
+
+import java.util.Arrays;
+
+import com.darg.NLPOperations.pos.util.POSTagWordNet;
+
+
+
+/**read only view of a loaded wordnet dictionary, created by WordNetDictionary.freeze().
+ * It keeps only the lemma indexes of each pos and the sense index, the lists of words are left in the dictionary.
+ * Every field is final and the indexes are never modified after the dictionary is frozen, so a lookup
+ * neither takes a lock nor reads a volatile field, and any number of threads can share a single instance. 
+ * The ids are returned as copies and the sense index does not hand out its arrays outside its package, 
+ * so nothing that is reachable from the view can be modified.
+ * 
+ * A view of a dictionary that is loaded lazily only has the files that were loaded before it is frozen, 
+ * the words of the other files are never found (see WordNetDictionary.freeze()).
+ *
+ * @author erhan sezerer
+ *
+ */
+public final class FrozenWordNet
+{
+	private final LemmaIndex[] indexes; //lemma index of each pos, indexed by the value of the pos
+	private final SenseIndex senseIndex;
+	private final int senseCount;
+	
+	
+	
+	
+	//constructors
+	/**creates the view of the given indexes
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param indexes - lemma index of each pos indexed by the value of the pos, null for the files that are not loaded
+	 * @param senseIndex - index of the sense file, null if it is not loaded
+	 * @param senseCount - number of the sense words
+	 */
+	public FrozenWordNet(final LemmaIndex[] indexes, final SenseIndex senseIndex, final int senseCount)
+	{
+		this.indexes = Arrays.copyOf(indexes, SenseIndex.POS_COUNT);
+		this.senseIndex = senseIndex;
+		this.senseCount = senseCount;
+	}
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*---------------------------------------------------------------------------------------*/
+	/**finds the ids of the word from the index file of the given pos, same as WordNetDictionary.findIDArray()
+	 * but the returned array is a copy.
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param word - word to search
+	 * @param pos - one of noun, verb, adjective or adverb
+	 * 
+	 * @return int[] - ids of the word, index of the id is its sense number-1. null if the word cannot be found
+	 */
+	public int[] findIDArray(final CharSequence word, final POSTagWordNet pos)
+	{
+		int[] retVal = null;
+		LemmaIndex index = getIndex(pos);
+		
+		if(index != null && word != null)
+		{
+			retVal = index.get(word);
+		}
+		
+		return (retVal == null) ? null : retVal.clone();
+	}
+	
+	
+	
+	
+	
+	/**copies the ids of the word from the index file of the given pos into the sink, without creating anything.
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param word - word to search
+	 * @param pos - one of noun, verb, adjective or adverb
+	 * @param sink - array to copy the ids into, if it is too small only the ones that fit are copied
+	 * 
+	 * @return int - number of ids the word has, 0 if the word cannot be found
+	 */
+	public int copyIDs(final CharSequence word, final POSTagWordNet pos, final int[] sink)
+	{
+		int retVal = 0;
+		LemmaIndex index = getIndex(pos);
+		int[] ids;
+		
+		if(index != null && word != null)
+		{
+			ids = index.get(word);
+			
+			if(ids != null)
+			{
+				retVal = ids.length;
+				System.arraycopy(ids, 0, sink, 0, Math.min(retVal, sink.length));
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**checks whether the word is in the index file of the given pos
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param word - word to search
+	 * @param pos - one of noun, verb, adjective or adverb
+	 * 
+	 * @return boolean - true if the word is found
+	 */
+	public boolean contains(final CharSequence word, final POSTagWordNet pos)
+	{
+		LemmaIndex index = getIndex(pos);
+		
+		return index != null && word != null && index.ordinalOf(word) != -1;
+	}
+	
+	
+	
+	
+	
+	/**copies the ids of the word in the given pos from the sense file into the sink, same as
+	 * WordNetDictionary.findIDsFromSense()
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param word - word to search
+	 * @param pos - pos of the ids
+	 * @param sink - array to copy the ids into, if it is too small only the ones that fit are copied
+	 * 
+	 * @return int - number of ids the word has, 0 if the word cannot be found
+	 */
+	public int copyIDsFromSense(final CharSequence word, final POSTagWordNet pos, final int[] sink)
+	{
+		return (word == null || senseIndex == null) ? 0 : senseIndex.copyIDs(word, pos, sink);
+	}
+	
+	
+	
+	
+	
+	/**finds the id of the word with the given pos and sense number from the sense file, same as
+	 * WordNetDictionary.findIDFromSense()
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param word - word to search
+	 * @param pos - pos of the id, if it is OTHER all of the pos tags are searched
+	 * @param senseNumber - sense number of the id
+	 * 
+	 * @return int - id of the sense, -1 if it cannot be found
+	 */
+	public int findIDFromSense(final CharSequence word, final POSTagWordNet pos, final int senseNumber)
+	{
+		return (word == null || senseIndex == null) ? -1 : senseIndex.findID(word, pos, senseNumber);
+	}
+	
+	
+	
+	
+	
+	/**returns the lemma index of the given pos
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param pos - one of noun, verb, adjective or adverb
+	 * 
+	 * @return LemmaIndex - index of the pos, null if the pos is not valid
+	 */
+	private LemmaIndex getIndex(final POSTagWordNet pos)
+	{
+		return (pos == null || pos == POSTagWordNet.OTHER) ? null : indexes[pos.value];
+	}
+	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	public int getWordCount(final POSTagWordNet pos)
+	{
+		LemmaIndex index = getIndex(pos);
+		
+		return (index == null) ? 0 : index.size();
+	}
+	
+	public int getSenseCount()
+	{
+		return senseCount;
+	}
+	
+	public int getMaxSenseIDCount()
+	{
+		return (senseIndex == null) ? 0 : senseIndex.getMaxIDCount();
+	}
+	
+	/**returns the sense index, which is shared with the dictionary and is read only
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @return SenseIndex - index of the sense words, null if the sense file is not loaded
+	 */
+	public SenseIndex getSenseIndex()
+	{
+		return senseIndex;
+	}
+	
+}
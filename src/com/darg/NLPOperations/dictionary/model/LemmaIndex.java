@@ -0,0 +1,389 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.dictionary.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+
+/**an open addressing hash index from lemmas to the ids of their synsets.
+ * Lemmas are case folded while they are added, and the lookups fold the searched word on the fly,
+ * so a lookup neither scans the word lists nor allocates anything.
+ * 
+ * Each lemma is stored only once, the first one added wins (same as the linear search that finds the first match).
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class LemmaIndex 
+{
+	private static final int MIN_CAPACITY = 16;
+	
+	private int[] slots; //ordinal+1 of the lemma stored in the slot, 0 if the slot is empty
+	private String[] keys; //case folded lemmas in the order they are added
+	private int[][] values; //ids of the lemmas
+	private int[] positions; //positions of the lemmas in the list they are indexed from
+	private int size;
+	private int mask;
+	
+	
+	
+	
+	//constructors
+	public LemmaIndex(final int expectedSize) 
+	{
+		int capacity = MIN_CAPACITY;
+		
+		//keep the load factor under 0.5 so that the probe sequences stay short
+		while(capacity < expectedSize*2)
+		{
+			capacity = capacity << 1;
+		}
+		
+		slots = new int[capacity];
+		mask = capacity - 1;
+		keys = new String[Math.max(expectedSize, MIN_CAPACITY)];
+		values = new int[keys.length][];
+		positions = new int[keys.length];
+		size = 0;
+	}
+	@SuppressWarnings("unused")
+	private LemmaIndex()//prevent users from calling it
+	{
+		
+	}
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*---------------------------------------------------------------------------------------*/
+	/**builds the index of a list of words, positions of the lemmas are their indexes in the list
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param words - list of words from a wordnet index file
+	 * 
+	 * @return LemmaIndex - index of the words
+	 */
+	public static LemmaIndex build(final List<WordNetWord> words)
+	{
+		int size = words.size();
+		LemmaIndex retVal = new LemmaIndex(size);
+		
+		for(int i=0; i<size; i++)
+		{
+			retVal.put(words.get(i), i);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**adds a word to the index
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word - word to be added
+	 * @param position - position of the word in its list
+	 * 
+	 * @return boolean - false if the lemma already exists or the word is not valid
+	 */
+	public boolean put(final WordNetWord word, final int position)
+	{
+		boolean retVal = false;
+		
+		if(word != null && word.getWord() != null && word.getId() != null)
+		{
+			int count = word.getId().size();
+			int[] ids = new int[count];
+			
+			for(int i=0; i<count; i++)
+			{
+				ids[i] = word.getId().get(i);
+			}
+			
+			retVal = put(word.getWord(), ids, position);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**adds a lemma with its ids to the index
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param lemma - lemma to be added, it will be case folded
+	 * @param ids - ids of the synsets of the lemma
+	 * @param position - position of the word in its list
+	 * 
+	 * @return boolean - false if the lemma already exists
+	 */
+	public boolean put(final String lemma, final int[] ids, final int position)
+	{
+		boolean retVal = false;
+		int slot;
+		
+		if(lemma != null && ordinalOf(lemma) == -1)
+		{
+			if((size+1)*2 > slots.length)
+			{
+				rehash(slots.length << 1);
+			}
+			if(size == keys.length)
+			{
+				keys = Arrays.copyOf(keys, size << 1);
+				values = Arrays.copyOf(values, size << 1);
+				positions = Arrays.copyOf(positions, size << 1);
+			}
+			
+			keys[size] = fold(lemma);
+			values[size] = ids;
+			positions[size] = position;
+			
+			slot = hash(lemma) & mask;
+			while(slots[slot] != 0)
+			{
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = size + 1;
+			size++;
+			
+			retVal = true;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**finds the ordinal of a lemma (the order it is added), ignoring the case
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param lemma - lemma to search
+	 * 
+	 * @return int - ordinal of the lemma, -1 if it does not exist
+	 */
+	public int ordinalOf(final CharSequence lemma)
+	{
+		int retVal = -1;
+		int slot = hash(lemma) & mask;
+		int ordinal;
+		
+		while((ordinal = slots[slot]) != 0)
+		{
+			if(matches(keys[ordinal-1], lemma))
+			{
+				retVal = ordinal - 1;
+				break;
+			}
+			
+			slot = (slot + 1) & mask;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**finds the ids of a lemma, ignoring the case. 
+	 * The returned array is shared, it must not be modified.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param lemma - lemma to search
+	 * 
+	 * @return int[] - ids of the lemma, null if it does not exist
+	 */
+	public int[] get(final CharSequence lemma)
+	{
+		int ordinal = ordinalOf(lemma);
+		
+		return (ordinal == -1) ? null : values[ordinal];
+	}
+	
+	
+	
+	
+	
+	/**finds the position of a lemma in the list it is indexed from, ignoring the case
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param lemma - lemma to search
+	 * 
+	 * @return int - position of the lemma, -1 if it does not exist
+	 */
+	public int positionOf(final CharSequence lemma)
+	{
+		int ordinal = ordinalOf(lemma);
+		
+		return (ordinal == -1) ? -1 : positions[ordinal];
+	}
+	
+	
+	
+	
+	
+	/**calculates the hash of the case folded form of a word without creating the folded word
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word
+	 * 
+	 * @return int - hash of the folded word
+	 */
+	public static int hash(final CharSequence word)
+	{
+		int length = word.length();
+		int retVal = 0;
+		
+		for(int i=0; i<length; i++)
+		{
+			retVal = 31*retVal + Character.toLowerCase(word.charAt(i));
+		}
+		
+		//spread the bits since only the lower ones are used
+		retVal = retVal * 0x9E3779B9;
+		
+		return retVal ^ (retVal >>> 16);
+	}
+	
+	
+	
+	
+	
+	/**case folds a word character by character, so that the lengths stay the same
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word
+	 * 
+	 * @return String - folded word
+	 */
+	public static String fold(final CharSequence word)
+	{
+		int length = word.length();
+		char[] folded = new char[length];
+		
+		for(int i=0; i<length; i++)
+		{
+			folded[i] = Character.toLowerCase(word.charAt(i));
+		}
+		
+		return new String(folded);
+	}
+	
+	
+	
+	
+	
+	/**checks if a folded key is the same as the folded form of the word
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param key - already folded key
+	 * @param word - word in any case
+	 * 
+	 * @return boolean - true if they are the same
+	 */
+	private static boolean matches(final String key, final CharSequence word)
+	{
+		boolean retVal = key.length() == word.length();
+		int length = key.length();
+		
+		for(int i=0; retVal && i<length; i++)
+		{
+			retVal = key.charAt(i) == Character.toLowerCase(word.charAt(i));
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**moves the keys to a new table of the given capacity
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param capacity - power of two
+	 */
+	private void rehash(final int capacity)
+	{
+		int slot;
+		
+		slots = new int[capacity];
+		mask = capacity - 1;
+		
+		for(int i=0; i<size; i++)
+		{
+			slot = hash(keys[i]) & mask;
+			while(slots[slot] != 0)
+			{
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = i + 1;
+		}
+	}
+	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	public int size()
+	{
+		return size;
+	}
+	
+	public String getKey(final int ordinal)
+	{
+		return keys[ordinal];
+	}
+	
+	public int[] getValues(final int ordinal)
+	{
+		return values[ordinal];
+	}
+	
+	public int getPosition(final int ordinal)
+	{
+		return positions[ordinal];
+	}
+	
+}
@@ -0,0 +1,458 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.dictionary.model;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.darg.NLPOperations.pos.util.POSTagWordNet;
+
+
+
+/**a compact, read only index of the sense file (index.sense) of wordnet.
+ * The distinct case folded words are kept sorted in a single character array, and the ids and
+ * sense numbers of each word are kept in primitive arrays, one set of arrays for each pos.
+ * Lookups are done with a binary search over the characters, folding the searched word on the fly,
+ * so nothing is created while searching. The arrays are never modified after it is built, and they are only handed out 
+ * inside the package (to write the snapshots), so an index can be shared by the frozen dictionaries without being copied.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class SenseIndex 
+{
+	//pos tags are indexed with their values (adjective=0, adverb=1, verb=2, noun=3)
+	public static final int POS_COUNT = 4;
+	
+	private char[] arena; //all the distinct words one after another
+	private int[] wordStart; //start of the ith word in the arena, the last item is the length of the arena
+	private int[][] offsets; //for each pos, the ids of the ith word are between offsets[pos][i] and offsets[pos][i+1]
+	private int[][] ids; //for each pos, ids of the words in the order they appear in the file
+	private int[][] senseNumbers; //for each pos, sense numbers of the ids
+	private int wordCount;
+	private int maxIDCount; //maximum number of ids a word has in a single pos
+	
+	
+	
+	
+	//constructors
+	public SenseIndex(final char[] arena, final int[] wordStart, final int[][] offsets, final int[][] ids, final int[][] senseNumbers) 
+	{
+		this.arena = arena;
+		this.wordStart = wordStart;
+		this.offsets = offsets;
+		this.ids = ids;
+		this.senseNumbers = senseNumbers;
+		this.wordCount = wordStart.length - 1;
+		this.maxIDCount = 0;
+		
+		for(int pos=0; pos<POS_COUNT; pos++)
+		{
+			for(int i=0; i<wordCount; i++)
+			{
+				maxIDCount = Math.max(maxIDCount, offsets[pos][i+1] - offsets[pos][i]);
+			}
+		}
+	}
+	@SuppressWarnings("unused")
+	private SenseIndex()//prevent users from calling it
+	{
+		
+	}
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*---------------------------------------------------------------------------------------*/
+	/**builds the index from the list of sense words. Senses of the same word keep the order they have in the list.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param senses - list of senses loaded from index.sense
+	 * 
+	 * @return SenseIndex - index of the senses
+	 */
+	public static SenseIndex build(final List<WordNetSense> senses)
+	{
+		int size = senses.size();
+		final String[] folded = new String[size];
+		Integer[] order = new Integer[size];
+		int[] wordOf = new int[size];
+		int wordCount = 0;
+		int arenaLength = 0;
+		char[] arena;
+		int[] wordStart;
+		int[][] offsets = new int[POS_COUNT][];
+		int[][] ids = new int[POS_COUNT][];
+		int[][] senseNumbers = new int[POS_COUNT][];
+		int[] filled = new int[POS_COUNT];
+		WordNetSense sense;
+		int pos;
+		
+		for(int i=0; i<size; i++)
+		{
+			folded[i] = LemmaIndex.fold(senses.get(i).getWord());
+			order[i] = i;
+		}
+		
+		//sort by the folded words, the sort is stable so the file order of the same words is kept
+		Arrays.sort(order, new Comparator<Integer>()
+		{
+			@Override
+			public int compare(final Integer first, final Integer second)
+			{
+				return folded[first].compareTo(folded[second]);
+			}
+		});
+		
+		//find the distinct words
+		for(int i=0; i<size; i++)
+		{
+			if(i == 0 || !folded[order[i]].equals(folded[order[i-1]]))
+			{
+				arenaLength += folded[order[i]].length();
+				wordCount++;
+			}
+			wordOf[i] = wordCount - 1;
+		}
+		
+		arena = new char[arenaLength];
+		wordStart = new int[wordCount + 1];
+		for(pos=0; pos<POS_COUNT; pos++)
+		{
+			offsets[pos] = new int[wordCount + 1];
+		}
+		
+		//copy the words into the arena and count the ids of each word in each pos
+		arenaLength = 0;
+		for(int i=0; i<size; i++)
+		{
+			if(i == 0 || wordOf[i] != wordOf[i-1])
+			{
+				String word = folded[order[i]];
+				
+				word.getChars(0, word.length(), arena, arenaLength);
+				wordStart[wordOf[i]] = arenaLength;
+				arenaLength += word.length();
+			}
+			
+			pos = indexOf(senses.get(order[i]).getPos());
+			if(pos != -1)
+			{
+				offsets[pos][wordOf[i]+1]++;
+			}
+		}
+		wordStart[wordCount] = arenaLength;
+		
+		for(pos=0; pos<POS_COUNT; pos++)
+		{
+			for(int i=0; i<wordCount; i++)
+			{
+				offsets[pos][i+1] += offsets[pos][i];
+			}
+			
+			ids[pos] = new int[offsets[pos][wordCount]];
+			senseNumbers[pos] = new int[offsets[pos][wordCount]];
+		}
+		
+		//words are visited in sorted order, so the ids of each word fill their range in order
+		for(int i=0; i<size; i++)
+		{
+			sense = senses.get(order[i]);
+			pos = indexOf(sense.getPos());
+			
+			if(pos != -1)
+			{
+				ids[pos][filled[pos]] = sense.getId();
+				senseNumbers[pos][filled[pos]] = sense.getSenseNumber();
+				filled[pos]++;
+			}
+		}
+		
+		return new SenseIndex(arena, wordStart, offsets, ids, senseNumbers);
+	}
+	
+	
+	
+	
+	
+	/**finds the ordinal of the word in the index, ignoring the case
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word - word to search
+	 * 
+	 * @return int - ordinal of the word, -1 if it cannot be found
+	 */
+	public int find(final CharSequence word)
+	{
+		int retVal = -1;
+		int left = 0;
+		int right = wordCount - 1;
+		int current;
+		int comparison;
+		
+		while(left <= right)
+		{
+			current = (left + right) >>> 1;
+			comparison = compare(current, word);
+			
+			if(comparison < 0)//go to right half
+			{
+				left = current + 1;
+			}
+			else if(comparison > 0)//go to left half
+			{
+				right = current - 1;
+			}
+			else
+			{
+				retVal = current;
+				break;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**copies the ids of a word in the given pos into the sink.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word - word to search
+	 * @param pos - pos of the ids
+	 * @param sink - array to copy the ids into, if it is too small only the ones that fit are copied
+	 * 
+	 * @return int - number of ids the word has, 0 if the word cannot be found
+	 */
+	public int copyIDs(final CharSequence word, final POSTagWordNet pos, final int[] sink)
+	{
+		int retVal = 0;
+		int ordinal = find(word);
+		int index = indexOf(pos);
+		
+		if(ordinal != -1 && index != -1)
+		{
+			int start = offsets[index][ordinal];
+			
+			retVal = offsets[index][ordinal+1] - start;
+			System.arraycopy(ids[index], start, sink, 0, Math.min(retVal, sink.length));
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**puts the ids of a word in the given pos into the sink.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word - word to search
+	 * @param pos - pos of the ids
+	 * @param sink - buffer to put the ids into, if it does not have enough space only the ones that fit are put
+	 * 
+	 * @return int - number of ids the word has, 0 if the word cannot be found
+	 */
+	public int copyIDs(final CharSequence word, final POSTagWordNet pos, final IntBuffer sink)
+	{
+		int retVal = 0;
+		int ordinal = find(word);
+		int index = indexOf(pos);
+		
+		if(ordinal != -1 && index != -1)
+		{
+			int start = offsets[index][ordinal];
+			
+			retVal = offsets[index][ordinal+1] - start;
+			sink.put(ids[index], start, Math.min(retVal, sink.remaining()));
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**finds the id of a word with the given pos and sense number
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word - word to search
+	 * @param pos - pos of the id, if it is OTHER all of the pos tags are searched
+	 * @param senseNumber - sense number of the id
+	 * 
+	 * @return int - id of the sense, -1 if it cannot be found
+	 */
+	public int findID(final CharSequence word, final POSTagWordNet pos, final int senseNumber)
+	{
+		int retVal = -1;
+		int ordinal = find(word);
+		int index = indexOf(pos);
+		
+		if(ordinal != -1)
+		{
+			for(int p=0; p<POS_COUNT && retVal == -1; p++)
+			{
+				if(index == -1 || index == p)
+				{
+					for(int i=offsets[p][ordinal]; i<offsets[p][ordinal+1]; i++)
+					{
+						if(senseNumbers[p][i] == senseNumber)
+						{
+							retVal = ids[p][i];
+							break;
+						}
+					}
+				}
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**compares the word at the given ordinal with the folded form of the given word
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param ordinal - ordinal of a word in the index
+	 * @param word - word in any case
+	 * 
+	 * @return int - same as String.compareTo()
+	 */
+	private int compare(final int ordinal, final CharSequence word)
+	{
+		int start = wordStart[ordinal];
+		int length = wordStart[ordinal+1] - start;
+		int wordLength = word.length();
+		int limit = Math.min(length, wordLength);
+		int retVal = length - wordLength;
+		char first, second;
+		
+		for(int i=0; i<limit; i++)
+		{
+			first = arena[start + i];
+			second = Character.toLowerCase(word.charAt(i));
+			
+			if(first != second)
+			{
+				retVal = first - second;
+				break;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**returns the position of the pos tag in the arrays
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param pos
+	 * 
+	 * @return int - index of the pos, -1 if it is not one of noun, verb, adjective or adverb
+	 */
+	public static int indexOf(final POSTagWordNet pos)
+	{
+		return (pos != null && pos.value < POS_COUNT) ? pos.value : -1;
+	}
+	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	public int getWordCount()
+	{
+		return wordCount;
+	}
+	
+	public int getMaxIDCount()
+	{
+		return maxIDCount;
+	}
+	
+	public String getWord(final int ordinal)
+	{
+		return new String(arena, wordStart[ordinal], wordStart[ordinal+1] - wordStart[ordinal]);
+	}
+	
+	public int getIDCount(final int ordinal, final POSTagWordNet pos)
+	{
+		int index = indexOf(pos);
+		
+		return (index == -1) ? 0 : offsets[index][ordinal+1] - offsets[index][ordinal];
+	}
+	
+	public int getID(final int ordinal, final POSTagWordNet pos, final int i)
+	{
+		int index = indexOf(pos);
+		
+		return ids[index][offsets[index][ordinal] + i];
+	}
+	
+	//arrays of the index, only for writing the snapshots
+	char[] getArena()
+	{
+		return arena;
+	}
+	
+	int[] getWordStart()
+	{
+		return wordStart;
+	}
+	
+	int[][] getOffsets()
+	{
+		return offsets;
+	}
+	
+	int[][] getIDs()
+	{
+		return ids;
+	}
+	
+	int[][] getSenseNumbers()
+	{
+		return senseNumbers;
+	}
+	
+}
@@ -0,0 +1,367 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.dictionary.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+
+import com.darg.NLPOperations.pos.util.POSTagWordNet;
+import com.darg.utils.PerfectHash;
+
+
+
+/**scores of the sentiwordnet synsets of a single pos, kept as parallel primitive arrays sorted by id.
+ * It is the hot path of the scoring, the synset terms and the glossaries are not kept here.
+ * Ids can be searched either with a binary search, or in constant time with the perfect hash of the ids.
+ * The arrays are never modified after it is built, and they are only handed out inside the package (to write the snapshots), 
+ * so a table can be shared by the frozen dictionaries without being copied.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class SentiScoreTable 
+{
+	private POSTagWordNet pos;
+	private int[] ids;
+	private float[] positiveScores;
+	private float[] negativeScores;
+	private float[] objectiveScores;
+	private PerfectHash hash;
+	
+	
+	
+	
+	//constructors
+	public SentiScoreTable(final POSTagWordNet pos, final int[] ids, final float[] positiveScores, final float[] negativeScores, final PerfectHash hash) 
+	{
+		this.pos = pos;
+		this.ids = ids;
+		this.positiveScores = positiveScores;
+		this.negativeScores = negativeScores;
+		this.objectiveScores = new float[ids.length];
+		this.hash = (hash == null) ? PerfectHash.build(ids) : hash;
+		
+		//same as SentiWordNetWord.getObjectivityScore()
+		for(int i=0; i<ids.length; i++)
+		{
+			objectiveScores[i] = 1-(positiveScores[i] + negativeScores[i]);
+		}
+	}
+	@SuppressWarnings("unused")
+	private SentiScoreTable()//prevent users from calling it
+	{
+		
+	}
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*---------------------------------------------------------------------------------------*/
+	/**builds the score table of the words with the given pos
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param words - words of the sentiwordnet dictionary, words with other pos tags are skipped
+	 * @param pos - pos of the table
+	 * 
+	 * @return SentiScoreTable - scores of the words sorted by their ids
+	 */
+	public static SentiScoreTable build(final ArrayList<SentiWordNetWord> words, final POSTagWordNet pos)
+	{
+		ArrayList<SentiWordNetWord> selected = new ArrayList<SentiWordNetWord>();
+		int size;
+		int[] ids;
+		float[] positiveScores;
+		float[] negativeScores;
+		SentiWordNetWord word;
+		
+		for(int i=0; i<words.size(); i++)
+		{
+			if(words.get(i).getPos() == pos)
+			{
+				selected.add(words.get(i));
+			}
+		}
+		
+		//the file is already sorted by the ids, but do not rely on it
+		Collections.sort(selected, new Comparator<SentiWordNetWord>()
+		{
+			@Override
+			public int compare(final SentiWordNetWord first, final SentiWordNetWord second)
+			{
+				return Integer.compare(first.getId(), second.getId());
+			}
+		});
+		
+		size = selected.size();
+		ids = new int[size];
+		positiveScores = new float[size];
+		negativeScores = new float[size];
+		
+		for(int i=0; i<size; i++)
+		{
+			word = selected.get(i);
+			ids[i] = word.getId();
+			positiveScores[i] = word.getPositiveScore();
+			negativeScores[i] = word.getNegativeScore();
+		}
+		
+		return new SentiScoreTable(pos, ids, positiveScores, negativeScores, null);
+	}
+	
+	
+	
+	
+	
+	/**builds the score table of the synsets with the given pos, same as build() over the words created from the columns
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param columns - synsets of the sentiwordnet dictionary, synsets with other pos tags are skipped
+	 * @param pos - pos of the table
+	 * 
+	 * @return SentiScoreTable - scores of the synsets sorted by their ids
+	 */
+	public static SentiScoreTable build(final SentiWordNetColumns columns, final POSTagWordNet pos)
+	{
+		int size = 0;
+		boolean sorted = true;
+		int[] rows = new int[columns.size()];
+		int[] ids;
+		float[] positiveScores;
+		float[] negativeScores;
+		
+		for(int i=0; i<columns.size(); i++)
+		{
+			if(columns.getPos(i) == pos)
+			{
+				sorted = sorted && (size == 0 || columns.getId(rows[size-1]) <= columns.getId(i));
+				rows[size++] = i;
+			}
+		}
+		
+		//the file is already sorted by the ids, but do not rely on it. Equal ids keep their order as in build()
+		if(!sorted)
+		{
+			Integer[] order = new Integer[size];
+			
+			for(int i=0; i<size; i++)
+			{
+				order[i] = rows[i];
+			}
+			
+			Arrays.sort(order, new Comparator<Integer>()
+			{
+				@Override
+				public int compare(final Integer first, final Integer second)
+				{
+					return Integer.compare(columns.getId(first), columns.getId(second));
+				}
+			});
+			
+			for(int i=0; i<size; i++)
+			{
+				rows[i] = order[i];
+			}
+		}
+		
+		ids = new int[size];
+		positiveScores = new float[size];
+		negativeScores = new float[size];
+		
+		for(int i=0; i<size; i++)
+		{
+			ids[i] = columns.getId(rows[i]);
+			positiveScores[i] = columns.getPositiveScore(rows[i]);
+			negativeScores[i] = columns.getNegativeScore(rows[i]);
+		}
+		
+		return new SentiScoreTable(pos, ids, positiveScores, negativeScores, null);
+	}
+	
+	
+	
+	
+	
+	/**finds the index of the id in the table in constant time, using the perfect hash of the ids.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param id - id of the synset
+	 * 
+	 * @return int - index of the id, -1 if it does not exist
+	 */
+	public int indexOf(final int id)
+	{
+		return hash.indexOf(id);
+	}
+	
+	
+	
+	
+	
+	/**finds the index of the id in the table with binary search.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param id - id of the synset
+	 * 
+	 * @return int - index of the id, -1 if it does not exist
+	 */
+	public int binarySearch(final int id)
+	{
+		int retVal = Arrays.binarySearch(ids, id);
+		
+		return (retVal < 0) ? -1 : retVal;
+	}
+	
+	
+	
+	
+	
+	/**counts the synsets with positivity score lower or greater than the limit, limit itself is included in both cases
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param limit - threshold
+	 * @param lower - if true counts the smaller numbers than limit, else counts the greater ones
+	 * 
+	 * @return int - number of synsets conforming the conditions.
+	 */
+	public int countPositiveScores(final double limit, final boolean lower)
+	{
+		return countScores(positiveScores, limit, lower);
+	}
+	
+	/**counts the synsets with negativity score lower or greater than the limit, limit itself is included in both cases
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param limit - threshold
+	 * @param lower - if true counts the smaller numbers than limit, else counts the greater ones
+	 * 
+	 * @return int - number of synsets conforming the conditions.
+	 */
+	public int countNegativeScores(final double limit, final boolean lower)
+	{
+		return countScores(negativeScores, limit, lower);
+	}
+	
+	/**counts the synsets with objectivity score lower or greater than the limit, limit itself is included in both cases
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param limit - threshold
+	 * @param lower - if true counts the smaller numbers than limit, else counts the greater ones
+	 * 
+	 * @return int - number of synsets conforming the conditions.
+	 */
+	public int countObjectiveScores(final double limit, final boolean lower)
+	{
+		return countScores(objectiveScores, limit, lower);
+	}
+	
+	
+	
+	
+	
+	private static int countScores(final float[] scores, final double limit, final boolean lower)
+	{
+		int retVal = 0;
+		
+		for(int i=0; i<scores.length; i++)
+		{
+			if((!lower && scores[i] >= limit) || (lower && scores[i] <= limit))
+			{
+				retVal++;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	public POSTagWordNet getPos()
+	{
+		return pos;
+	}
+	
+	public int size()
+	{
+		return ids.length;
+	}
+	
+	public int getId(final int index)
+	{
+		return ids[index];
+	}
+	
+	public float getPositiveScore(final int index)
+	{
+		return positiveScores[index];
+	}
+	
+	public float getNegativeScore(final int index)
+	{
+		return negativeScores[index];
+	}
+	
+	public float getObjectiveScore(final int index)
+	{
+		return objectiveScores[index];
+	}
+	
+	//arrays of the table, only for writing the snapshots
+	int[] getIds()
+	{
+		return ids;
+	}
+	
+	float[] getPositiveScores()
+	{
+		return positiveScores;
+	}
+	
+	float[] getNegativeScores()
+	{
+		return negativeScores;
+	}
+	
+	float[] getObjectiveScores()
+	{
+		return objectiveScores;
+	}
+	
+	PerfectHash getHash()
+	{
+		return hash;
+	}
+	
+}
@@ -0,0 +1,338 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.dictionary.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.darg.NLPOperations.pos.util.POSTagWordNet;
+
+
+
+/**synsets of a sentiwordnet file kept as parallel primitive columns in the order of the file. 
+ * Only the pos, id and scores are parsed, the synset terms and the glossaries are kept as positions in the 
+ * raw file and they are decoded only when a word is created.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class SentiWordNetColumns 
+{
+	private static final POSTagWordNet[] TAGS = POSTagWordNet.values();
+	
+	private ByteBuffer buffer; //raw content of the file
+	private Charset charset;
+	private int size;
+	private int[] pos; //ordinal of the pos of the ith synset
+	private int[] ids;
+	private float[] positiveScores;
+	private float[] negativeScores;
+	private int[] termStarts; //synset terms of the ith synset are between termStarts[i] and termEnds[i] in the buffer
+	private int[] termEnds;
+	private int[] glossaryStarts; //glossary of the ith synset is between glossaryStarts[i] and glossaryEnds[i] in the buffer
+	private int[] glossaryEnds;
+	
+	
+	
+	
+	//constructors
+	public SentiWordNetColumns(final ByteBuffer buffer, final Charset charset, final int capacity) 
+	{
+		int length = Math.max(1, capacity);
+		
+		this.buffer = buffer;
+		this.charset = charset;
+		size = 0;
+		pos = new int[length];
+		ids = new int[length];
+		positiveScores = new float[length];
+		negativeScores = new float[length];
+		termStarts = new int[length];
+		termEnds = new int[length];
+		glossaryStarts = new int[length];
+		glossaryEnds = new int[length];
+	}
+	@SuppressWarnings("unused")
+	private SentiWordNetColumns()//prevent users from calling it
+	{
+		
+	}
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*---------------------------------------------------------------------------------------*/
+	/**adds a synset to the end of the columns
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param tag - pos of the synset
+	 * @param id - id of the synset
+	 * @param positiveScore - positive score of the synset
+	 * @param negativeScore - negative score of the synset
+	 * @param termStart - start of the synset terms in the buffer
+	 * @param termEnd - end of the synset terms in the buffer (exclusive)
+	 * @param glossaryStart - start of the glossary in the buffer
+	 * @param glossaryEnd - end of the glossary in the buffer (exclusive)
+	 */
+	public void add(final POSTagWordNet tag, final int id, final float positiveScore, final float negativeScore,
+					final int termStart, final int termEnd, final int glossaryStart, final int glossaryEnd)
+	{
+		if(size == ids.length)
+		{
+			grow(size * 2);
+		}
+		
+		pos[size] = tag.ordinal();
+		ids[size] = id;
+		positiveScores[size] = positiveScore;
+		negativeScores[size] = negativeScore;
+		termStarts[size] = termStart;
+		termEnds[size] = termEnd;
+		glossaryStarts[size] = glossaryStart;
+		glossaryEnds[size] = glossaryEnd;
+		size++;
+	}
+	
+	
+	
+	
+	
+	/**joins the columns parsed from consecutive parts of the same file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param parts - columns of each part in the order of the file
+	 * 
+	 * @return SentiWordNetColumns - all the synsets in the order of the file
+	 */
+	public static SentiWordNetColumns merge(final List<SentiWordNetColumns> parts)
+	{
+		SentiWordNetColumns retVal;
+		int total = 0;
+		int offset = 0;
+		
+		for(SentiWordNetColumns part : parts)
+		{
+			total += part.size;
+		}
+		
+		retVal = new SentiWordNetColumns(parts.get(0).buffer, parts.get(0).charset, total);
+		
+		for(SentiWordNetColumns part : parts)
+		{
+			System.arraycopy(part.pos, 0, retVal.pos, offset, part.size);
+			System.arraycopy(part.ids, 0, retVal.ids, offset, part.size);
+			System.arraycopy(part.positiveScores, 0, retVal.positiveScores, offset, part.size);
+			System.arraycopy(part.negativeScores, 0, retVal.negativeScores, offset, part.size);
+			System.arraycopy(part.termStarts, 0, retVal.termStarts, offset, part.size);
+			System.arraycopy(part.termEnds, 0, retVal.termEnds, offset, part.size);
+			System.arraycopy(part.glossaryStarts, 0, retVal.glossaryStarts, offset, part.size);
+			System.arraycopy(part.glossaryEnds, 0, retVal.glossaryEnds, offset, part.size);
+			offset += part.size;
+		}
+		retVal.size = total;
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**decodes the glossary of the synset from the file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param index - index of the synset
+	 * 
+	 * @return String - glossary of the synset
+	 */
+	public String getGlossary(final int index)
+	{
+		return decode(glossaryStarts[index], glossaryEnds[index]);
+	}
+	
+	
+	
+	
+	
+	/**decodes the synset terms of the synset from the file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param index - index of the synset
+	 * 
+	 * @return ArrayList<SynsetTerm> - synset terms in the order of the file
+	 */
+	public ArrayList<SynsetTerm> getSynsetTerms(final int index)
+	{
+		String[] synWords = decode(termStarts[index], termEnds[index]).split(" ");
+		ArrayList<SynsetTerm> retVal = new ArrayList<SynsetTerm>(synWords.length);
+		SynsetTerm synTerm;
+		
+		//the terms are validated while parsing, so they cannot fail here
+		for(int i=0; i<synWords.length; i++)
+		{
+			synTerm = new SynsetTerm();
+			synTerm.setFromString(synWords[i], "#");
+			retVal.add(synTerm);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**creates the word of the synset, same as the one parsed by SentiWordNetParser.parseSentiWordNet()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param index - index of the synset
+	 * 
+	 * @return SentiWordNetWord - the word
+	 */
+	public SentiWordNetWord createWord(final int index)
+	{
+		return new SentiWordNetWord(getPos(index), ids[index], positiveScores[index], negativeScores[index], 
+									getSynsetTerms(index), getGlossary(index));
+	}
+	
+	
+	
+	
+	
+	/**creates the list of the words, same as the list parsed from the sentiwordnet file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return ArrayList<SentiWordNetWord> - words in the order of the file
+	 */
+	public ArrayList<SentiWordNetWord> createWords()
+	{
+		ArrayList<SentiWordNetWord> retVal = new ArrayList<SentiWordNetWord>(size);
+		
+		for(int i=0; i<size; i++)
+		{
+			retVal.add(createWord(i));
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**decodes a part of the buffer with the charset of the file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param start - start of the part
+	 * @param end - end of the part (exclusive)
+	 * 
+	 * @return String - decoded text
+	 */
+	private String decode(final int start, final int end)
+	{
+		//a duplicate is used since the position of the shared buffer cannot be changed by several threads
+		ByteBuffer part = buffer.duplicate();
+		
+		part.limit(end);
+		part.position(start);
+		
+		return charset.decode(part).toString();
+	}
+	
+	
+	
+	
+	
+	/**enlarges the columns
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param capacity - new capacity of the columns
+	 */
+	private void grow(final int capacity)
+	{
+		pos = Arrays.copyOf(pos, capacity);
+		ids = Arrays.copyOf(ids, capacity);
+		positiveScores = Arrays.copyOf(positiveScores, capacity);
+		negativeScores = Arrays.copyOf(negativeScores, capacity);
+		termStarts = Arrays.copyOf(termStarts, capacity);
+		termEnds = Arrays.copyOf(termEnds, capacity);
+		glossaryStarts = Arrays.copyOf(glossaryStarts, capacity);
+		glossaryEnds = Arrays.copyOf(glossaryEnds, capacity);
+	}
+	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	public int size()
+	{
+		return size;
+	}
+	
+	public POSTagWordNet getPos(final int index)
+	{
+		return TAGS[pos[index]];
+	}
+	
+	public int getId(final int index)
+	{
+		return ids[index];
+	}
+	
+	public float getPositiveScore(final int index)
+	{
+		return positiveScores[index];
+	}
+	
+	public float getNegativeScore(final int index)
+	{
+		return negativeScores[index];
+	}
+	
+	/**same as SentiWordNetWord.getObjectivityScore()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param index - index of the synset
+	 * 
+	 * @return float - objectivity score
+	 */
+	public float getObjectivityScore(final int index)
+	{
+		return 1-(positiveScores[index] + negativeScores[index]);
+	}
+	
+}
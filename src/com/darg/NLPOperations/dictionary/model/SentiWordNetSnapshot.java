@@ -0,0 +1,357 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.dictionary.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.darg.NLPOperations.pos.util.POSTagWordNet;
+import com.darg.fileOperations.utils.BinaryUtils;
+import com.darg.fileOperations.utils.FileUtils;
+import com.darg.utils.PerfectHash;
+
+
+
+/**a compiled, binary form of the sentiwordnet dictionary. The synsets are stored as parallel arrays in the order 
+ * of the file, glossaries and synset terms as character arenas with offset tables, and the score tables of every pos 
+ * together with their perfect hashes, so nothing has to be parsed, sorted or hashed while loading.
+ * The average scores are stored as well since they are needed by the analyzers right after loading.
+ * 
+ * The file is mapped into the memory and the arrays are bulk copied out of it. The pages of the file are 
+ * shared through the operating system cache, so several programs on the same machine can load it without reading the disk again.
+ * SentiWordNetWord objects are only created when they are asked for.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class SentiWordNetSnapshot 
+{
+	private static final int MAGIC = 0x53574E53; //"SWNS"
+	private static final int VERSION = 1;
+	private static final int POS_COUNT = 4;
+	
+	//averages are stored for each pos and for all of the words (index 4), as (positive, negative, objective)
+	public static final int AVERAGE_COUNT = (POS_COUNT + 1) * 3;
+	
+	private int[] pos; //ordinal of the pos of the ith synset
+	private int[] ids;
+	private float[] positiveScores;
+	private float[] negativeScores;
+	private char[] glossaryArena; //glossaries one after another
+	private int[] glossaryStarts; //start of the ith glossary in the arena, the last item is the length of the arena
+	private char[] termArena; //synset terms one after another
+	private int[] termStarts; //start of the ith term in the arena, the last item is the length of the arena
+	private int[] termSenseNumbers;
+	private int[] synsetTermStarts; //terms of the ith synset are between synsetTermStarts[i] and synsetTermStarts[i+1]
+	private SentiScoreTable[] scoreTables;
+	private double[] averageScores;
+	
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private SentiWordNetSnapshot()//prevent users from calling it
+	{
+		
+	}
+	private SentiWordNetSnapshot(final int[] pos, final int[] ids, final float[] positiveScores, final float[] negativeScores,
+								 final char[] glossaryArena, final int[] glossaryStarts, final char[] termArena, final int[] termStarts,
+								 final int[] termSenseNumbers, final int[] synsetTermStarts, final SentiScoreTable[] scoreTables,
+								 final double[] averageScores) 
+	{
+		this.pos = pos;
+		this.ids = ids;
+		this.positiveScores = positiveScores;
+		this.negativeScores = negativeScores;
+		this.glossaryArena = glossaryArena;
+		this.glossaryStarts = glossaryStarts;
+		this.termArena = termArena;
+		this.termStarts = termStarts;
+		this.termSenseNumbers = termSenseNumbers;
+		this.synsetTermStarts = synsetTermStarts;
+		this.scoreTables = scoreTables;
+		this.averageScores = averageScores;
+	}
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*---------------------------------------------------------------------------------------*/
+	/**creates a snapshot of a loaded sentiwordnet dictionary
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param words - all the words of the dictionary in the order of the file
+	 * @param scoreTables - score tables of each pos, indexed by the value of the pos
+	 * @param averageScores - average scores, see AVERAGE_COUNT
+	 * 
+	 * @return SentiWordNetSnapshot - snapshot of the dictionary
+	 */
+	public static SentiWordNetSnapshot build(final List<SentiWordNetWord> words, final SentiScoreTable[] scoreTables, final double[] averageScores)
+	{
+		int size = words.size();
+		int[] pos = new int[size];
+		int[] ids = new int[size];
+		float[] positiveScores = new float[size];
+		float[] negativeScores = new float[size];
+		StringBuilder glossaryArena = new StringBuilder();
+		int[] glossaryStarts = new int[size+1];
+		int[] synsetTermStarts = new int[size+1];
+		ArrayList<String> terms = new ArrayList<String>();
+		ArrayList<Integer> senseNumbers = new ArrayList<Integer>();
+		int[] termSenseNumbers;
+		StringBuilder termArena = new StringBuilder();
+		int[] termStarts;
+		SentiWordNetWord word;
+		
+		for(int i=0; i<size; i++)
+		{
+			word = words.get(i);
+			pos[i] = word.getPos().ordinal();
+			ids[i] = word.getId();
+			positiveScores[i] = word.getPositiveScore();
+			negativeScores[i] = word.getNegativeScore();
+			
+			if(word.getGlossary() != null)
+			{
+				glossaryArena.append(word.getGlossary());
+			}
+			glossaryStarts[i+1] = glossaryArena.length();
+			
+			if(word.getSynsetTerms() != null)
+			{
+				for(SynsetTerm term : word.getSynsetTerms())
+				{
+					terms.add(term.getTerm());
+					senseNumbers.add(term.getSenseNumber());
+				}
+			}
+			synsetTermStarts[i+1] = terms.size();
+		}
+		
+		termStarts = new int[terms.size()+1];
+		termSenseNumbers = new int[terms.size()];
+		for(int i=0; i<terms.size(); i++)
+		{
+			if(terms.get(i) != null)
+			{
+				termArena.append(terms.get(i));
+			}
+			termStarts[i+1] = termArena.length();
+			termSenseNumbers[i] = senseNumbers.get(i);
+		}
+		
+		return new SentiWordNetSnapshot(pos, ids, positiveScores, negativeScores, 
+										glossaryArena.toString().toCharArray(), glossaryStarts, 
+										termArena.toString().toCharArray(), termStarts, termSenseNumbers, synsetTermStarts,
+										scoreTables, averageScores);
+	}
+	
+	
+	
+	
+	
+	/**saves the snapshot into a binary file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path of the file
+	 * 
+	 * @return boolean - true if the operation is successful
+	 */
+	public boolean save(final String path)
+	{
+		boolean retVal = true;
+		SentiScoreTable table;
+		
+		try(FileOutputStream fos = new FileOutputStream(path);
+			DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16));)
+		{
+			BinaryUtils.writeHeader(dos, MAGIC, VERSION);
+			
+			BinaryUtils.writeInts(dos, pos);
+			BinaryUtils.writeInts(dos, ids);
+			BinaryUtils.writeFloats(dos, positiveScores);
+			BinaryUtils.writeFloats(dos, negativeScores);
+			BinaryUtils.writeChars(dos, glossaryArena);
+			BinaryUtils.writeInts(dos, glossaryStarts);
+			BinaryUtils.writeChars(dos, termArena);
+			BinaryUtils.writeInts(dos, termStarts);
+			BinaryUtils.writeInts(dos, termSenseNumbers);
+			BinaryUtils.writeInts(dos, synsetTermStarts);
+			
+			for(int i=0; i<POS_COUNT; i++)
+			{
+				table = scoreTables[i];
+				
+				BinaryUtils.writeInts(dos, table.getIds());
+				BinaryUtils.writeFloats(dos, table.getPositiveScores());
+				BinaryUtils.writeFloats(dos, table.getNegativeScores());
+				BinaryUtils.writeInts(dos, table.getHash().getSeeds());
+				BinaryUtils.writeInts(dos, table.getHash().getSlotKeys());
+				BinaryUtils.writeInts(dos, table.getHash().getSlotIndexes());
+			}
+			
+			BinaryUtils.writeDoubles(dos, averageScores);
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			retVal = false;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**loads a snapshot saved with save(). The file is mapped into the memory and read with bulk copies.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path of the file
+	 * 
+	 * @return SentiWordNetSnapshot - the snapshot, or null if there is an error
+	 */
+	public static SentiWordNetSnapshot load(final String path)
+	{
+		SentiWordNetSnapshot retVal = null;
+		ByteBuffer buffer = FileUtils.mapFile(path);
+		
+		try
+		{
+			if(buffer == null)
+			{
+				throw new IOException("Cannot read the contents of: " + path);
+			}
+			
+			int[] pos, ids, glossaryStarts, termStarts, termSenseNumbers, synsetTermStarts;
+			float[] positiveScores, negativeScores;
+			char[] glossaryArena, termArena;
+			SentiScoreTable[] scoreTables = new SentiScoreTable[POS_COUNT];
+			POSTagWordNet[] tags = {POSTagWordNet.ADJECTIVE, POSTagWordNet.ADVERB, POSTagWordNet.VERB, POSTagWordNet.NOUN};
+			
+			BinaryUtils.readHeader(buffer, MAGIC, VERSION);
+			
+			pos = BinaryUtils.readInts(buffer);
+			ids = BinaryUtils.readInts(buffer);
+			positiveScores = BinaryUtils.readFloats(buffer);
+			negativeScores = BinaryUtils.readFloats(buffer);
+			glossaryArena = BinaryUtils.readChars(buffer);
+			glossaryStarts = BinaryUtils.readInts(buffer);
+			termArena = BinaryUtils.readChars(buffer);
+			termStarts = BinaryUtils.readInts(buffer);
+			termSenseNumbers = BinaryUtils.readInts(buffer);
+			synsetTermStarts = BinaryUtils.readInts(buffer);
+			
+			for(POSTagWordNet tag : tags)
+			{
+				int[] tableIds = BinaryUtils.readInts(buffer);
+				float[] tablePositives = BinaryUtils.readFloats(buffer);
+				float[] tableNegatives = BinaryUtils.readFloats(buffer);
+				int[] seeds = BinaryUtils.readInts(buffer);
+				int[] slotKeys = BinaryUtils.readInts(buffer);
+				int[] slotIndexes = BinaryUtils.readInts(buffer);
+				
+				scoreTables[tag.value] = new SentiScoreTable(tag, tableIds, tablePositives, tableNegatives, 
+															 PerfectHash.fromArrays(seeds, slotKeys, slotIndexes));
+			}
+			
+			retVal = new SentiWordNetSnapshot(pos, ids, positiveScores, negativeScores, glossaryArena, glossaryStarts, 
+											  termArena, termStarts, termSenseNumbers, synsetTermStarts, 
+											  scoreTables, BinaryUtils.readDoubles(buffer));
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+			retVal = null;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**creates the list of the words, same as the list parsed from the sentiwordnet file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return ArrayList<SentiWordNetWord> - words in the order of the file
+	 */
+	public ArrayList<SentiWordNetWord> createWords()
+	{
+		ArrayList<SentiWordNetWord> retVal = new ArrayList<SentiWordNetWord>(ids.length);
+		POSTagWordNet[] tags = POSTagWordNet.values();
+		ArrayList<SynsetTerm> terms;
+		String glossary;
+		
+		for(int i=0; i<ids.length; i++)
+		{
+			terms = new ArrayList<SynsetTerm>(synsetTermStarts[i+1] - synsetTermStarts[i]);
+			
+			for(int j=synsetTermStarts[i]; j<synsetTermStarts[i+1]; j++)
+			{
+				terms.add(new SynsetTerm(new String(termArena, termStarts[j], termStarts[j+1] - termStarts[j]), termSenseNumbers[j]));
+			}
+			
+			glossary = new String(glossaryArena, glossaryStarts[i], glossaryStarts[i+1] - glossaryStarts[i]);
+			retVal.add(new SentiWordNetWord(tags[pos[i]], ids[i], positiveScores[i], negativeScores[i], terms, glossary));
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	public int getWordCount()
+	{
+		return ids.length;
+	}
+	
+	public SentiScoreTable[] getScoreTables()
+	{
+		return scoreTables;
+	}
+	
+	public double[] getAverageScores()
+	{
+		return averageScores;
+	}
+	
+}
@@ -0,0 +1,143 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.dictionary.model;
+
+import java.util.EnumSet;
+
+import com.darg.NLPOperations.pos.util.POSTagWordNet;
+
+
+
+
+/**segments of the dictionaries that are loaded up front when the dictionaries are loaded lazily. 
+ * Segments that are not in the profile are loaded when they are first used.
+ * For WordNet a segment is the index file of a pos or the sense file, 
+ * for SentiWordNet it is the score table of a pos or the synset terms and glossaries of the words.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class WarmupProfile 
+{
+	private EnumSet<POSTagWordNet> indexes; //index files of wordnet
+	private boolean senses; //index.sense of wordnet
+	private EnumSet<POSTagWordNet> scoreTables; //score tables of sentiwordnet
+	private boolean glossaries; //synset terms and glossaries of sentiwordnet
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private WarmupProfile()//prevent users from calling it
+	{
+		
+	}
+	public WarmupProfile(final EnumSet<POSTagWordNet> indexes, final boolean senses, final EnumSet<POSTagWordNet> scoreTables, final boolean glossaries) 
+	{
+		this.indexes = EnumSet.copyOf(indexes);
+		this.senses = senses;
+		this.scoreTables = EnumSet.copyOf(scoreTables);
+		this.glossaries = glossaries;
+		
+		this.indexes.remove(POSTagWordNet.OTHER);
+		this.scoreTables.remove(POSTagWordNet.OTHER);
+	}
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*---------------------------------------------------------------------------------------*/
+	/**returns the profile of the segments used by the sentiment analyzers. They only use the SentimentLexicon, 
+	 * which is built from the sense index of WordNet and the score tables of SentiWordNet. 
+	 * The index files of WordNet and the glossaries of SentiWordNet are not touched.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return WarmupProfile - profile of the sentiment analyzers
+	 */
+	public static WarmupProfile forSentimentLexicon()
+	{
+		return new WarmupProfile(EnumSet.noneOf(POSTagWordNet.class), true, EnumSet.complementOf(EnumSet.of(POSTagWordNet.OTHER)), false);
+	}
+	
+	
+	
+	
+	
+	/**returns the profile that contains every segment of the dictionaries, same as loading them eagerly.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return WarmupProfile - profile of every segment
+	 */
+	public static WarmupProfile all()
+	{
+		EnumSet<POSTagWordNet> tags = EnumSet.complementOf(EnumSet.of(POSTagWordNet.OTHER));
+		
+		return new WarmupProfile(tags, true, tags, true);
+	}
+	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+
+	@Override
+	public String toString()
+	{
+		return new String("indexes: " + indexes + ", senses: " + senses + ", score tables: " + scoreTables + ", glossaries: " + glossaries);
+	}
+	
+	public EnumSet<POSTagWordNet> getIndexes() 
+	{
+		return EnumSet.copyOf(indexes);
+	}
+	
+	public boolean hasIndex(final POSTagWordNet pos) 
+	{
+		return indexes.contains(pos);
+	}
+	
+	public boolean hasSenses() 
+	{
+		return senses;
+	}
+	
+	public EnumSet<POSTagWordNet> getScoreTables() 
+	{
+		return EnumSet.copyOf(scoreTables);
+	}
+	
+	public boolean hasScoreTable(final POSTagWordNet pos) 
+	{
+		return scoreTables.contains(pos);
+	}
+	
+	public boolean hasGlossaries() 
+	{
+		return glossaries;
+	}
+	
+	
+}
@@ -0,0 +1,447 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.dictionary.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import com.darg.NLPOperations.pos.util.POSTagWordNet;
+import com.darg.fileOperations.utils.BinaryUtils;
+import com.darg.fileOperations.utils.FileUtils;
+
+
+
+/**a compiled, binary form of the wordnet dictionary. Instead of the text of the index files, it stores
+ * the words of every pos as strings with flat id tables, the senses as parallel int arrays and the sense index
+ * as it is (character arena and offset tables), so loading it requires no parsing.
+ * 
+ * The file is mapped into the memory and the arrays are bulk copied out of it. The pages of the file are 
+ * shared through the operating system cache, so several programs on the same machine can load it without reading the disk again.
+ * Lists of WordNetWord and WordNetSense objects are only created when they are asked for.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class WordNetSnapshot 
+{
+	private static final int MAGIC = 0x574E5353; //"WNSS"
+	private static final int VERSION = 1;
+	private static final int POS_COUNT = SenseIndex.POS_COUNT;
+	
+	private String[][] words; //for each pos, words in the order of the index file
+	private int[][] idStarts; //for each pos, ids of the ith word are between idStarts[pos][i] and idStarts[pos][i+1]
+	private int[][] ids; //for each pos, ids of all the words one after another
+	private char[] senseArena; //distinct words of the senses one after another, as they are written in the file
+	private int[] senseStarts; //start of the ith distinct word in the arena, the last item is the length of the arena
+	private int[] senseWords; //ordinal of the distinct word of the ith sense
+	private int[] sensePos; //ordinal of the pos of the ith sense
+	private int[] senseIds;
+	private int[] senseNumbers;
+	private SenseIndex senseIndex;
+	
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private WordNetSnapshot()//prevent users from calling it
+	{
+		
+	}
+	private WordNetSnapshot(final String[][] words, final int[][] idStarts, final int[][] ids, final char[] senseArena, final int[] senseStarts,
+							final int[] senseWords, final int[] sensePos, final int[] senseIds, final int[] senseNumbers, final SenseIndex senseIndex) 
+	{
+		this.words = words;
+		this.idStarts = idStarts;
+		this.ids = ids;
+		this.senseArena = senseArena;
+		this.senseStarts = senseStarts;
+		this.senseWords = senseWords;
+		this.sensePos = sensePos;
+		this.senseIds = senseIds;
+		this.senseNumbers = senseNumbers;
+		this.senseIndex = senseIndex;
+	}
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*---------------------------------------------------------------------------------------*/
+	/**creates a snapshot of a loaded wordnet dictionary
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param adjectives - words of index.adj
+	 * @param adverbs - words of index.adv
+	 * @param verbs - words of index.verb
+	 * @param nouns - words of index.noun
+	 * @param senses - senses of index.sense
+	 * @param senseIndex - index of the senses
+	 * 
+	 * @return WordNetSnapshot - snapshot of the dictionary
+	 */
+	public static WordNetSnapshot build(final List<WordNetWord> adjectives, final List<WordNetWord> adverbs, final List<WordNetWord> verbs, 
+										final List<WordNetWord> nouns, final List<WordNetSense> senses, final SenseIndex senseIndex)
+	{
+		String[][] words = new String[POS_COUNT][];
+		int[][] idStarts = new int[POS_COUNT][];
+		int[][] ids = new int[POS_COUNT][];
+		int senseCount = senses.size();
+		int[] senseWords = new int[senseCount];
+		int[] sensePos = new int[senseCount];
+		int[] senseIds = new int[senseCount];
+		int[] senseNumbers = new int[senseCount];
+		HashMap<String, Integer> distinctWords = new HashMap<String, Integer>();
+		ArrayList<String> distinctList = new ArrayList<String>();
+		StringBuilder senseArena = new StringBuilder();
+		int[] senseStarts;
+		Integer ordinal;
+		WordNetSense sense;
+		
+		
+		fill(adjectives, POSTagWordNet.ADJECTIVE.value, words, idStarts, ids);
+		fill(adverbs, POSTagWordNet.ADVERB.value, words, idStarts, ids);
+		fill(verbs, POSTagWordNet.VERB.value, words, idStarts, ids);
+		fill(nouns, POSTagWordNet.NOUN.value, words, idStarts, ids);
+		
+		for(int i=0; i<senseCount; i++)
+		{
+			sense = senses.get(i);
+			ordinal = distinctWords.get(sense.getWord());
+			
+			if(ordinal == null)
+			{
+				ordinal = distinctList.size();
+				distinctWords.put(sense.getWord(), ordinal);
+				distinctList.add(sense.getWord());
+			}
+			
+			senseWords[i] = ordinal;
+			sensePos[i] = sense.getPos().ordinal();
+			senseIds[i] = sense.getId();
+			senseNumbers[i] = sense.getSenseNumber();
+		}
+		
+		senseStarts = new int[distinctList.size()+1];
+		for(int i=0; i<distinctList.size(); i++)
+		{
+			senseArena.append(distinctList.get(i));
+			senseStarts[i+1] = senseArena.length();
+		}
+		
+		return new WordNetSnapshot(words, idStarts, ids, senseArena.toString().toCharArray(), senseStarts, 
+								   senseWords, sensePos, senseIds, senseNumbers, senseIndex);
+	}
+	
+	
+	
+	
+	
+	/**copies the words of a pos into the flat arrays
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param list - words of the pos
+	 * @param pos - value of the pos
+	 * @param words - strings of every pos
+	 * @param idStarts - id offsets of every pos
+	 * @param ids - ids of every pos
+	 */
+	private static void fill(final List<WordNetWord> list, final int pos, final String[][] words, final int[][] idStarts, final int[][] ids)
+	{
+		int size = list.size();
+		int total = 0;
+		ArrayList<Integer> wordIds;
+		
+		words[pos] = new String[size];
+		idStarts[pos] = new int[size+1];
+		
+		for(int i=0; i<size; i++)
+		{
+			wordIds = list.get(i).getId();
+			words[pos][i] = list.get(i).getWord();
+			idStarts[pos][i] = total;
+			total += (wordIds == null) ? 0 : wordIds.size();
+		}
+		idStarts[pos][size] = total;
+		
+		ids[pos] = new int[total];
+		for(int i=0; i<size; i++)
+		{
+			wordIds = list.get(i).getId();
+			
+			for(int j=idStarts[pos][i]; j<idStarts[pos][i+1]; j++)
+			{
+				ids[pos][j] = wordIds.get(j - idStarts[pos][i]);
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/**saves the snapshot into a binary file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path of the file
+	 * 
+	 * @return boolean - true if the operation is successful
+	 */
+	public boolean save(final String path)
+	{
+		boolean retVal = true;
+		
+		try(FileOutputStream fos = new FileOutputStream(path);
+			DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16));)
+		{
+			BinaryUtils.writeHeader(dos, MAGIC, VERSION);
+			
+			for(int pos=0; pos<POS_COUNT; pos++)
+			{
+				BinaryUtils.writeStrings(dos, words[pos]);
+				BinaryUtils.writeInts(dos, idStarts[pos]);
+				BinaryUtils.writeInts(dos, ids[pos]);
+			}
+			
+			BinaryUtils.writeChars(dos, senseArena);
+			BinaryUtils.writeInts(dos, senseStarts);
+			BinaryUtils.writeInts(dos, senseWords);
+			BinaryUtils.writeInts(dos, sensePos);
+			BinaryUtils.writeInts(dos, senseIds);
+			BinaryUtils.writeInts(dos, senseNumbers);
+			
+			BinaryUtils.writeChars(dos, senseIndex.getArena());
+			BinaryUtils.writeInts(dos, senseIndex.getWordStart());
+			for(int pos=0; pos<POS_COUNT; pos++)
+			{
+				BinaryUtils.writeInts(dos, senseIndex.getOffsets()[pos]);
+				BinaryUtils.writeInts(dos, senseIndex.getIDs()[pos]);
+				BinaryUtils.writeInts(dos, senseIndex.getSenseNumbers()[pos]);
+			}
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			retVal = false;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**loads a snapshot saved with save(). The file is mapped into the memory and read with bulk copies.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path of the file
+	 * 
+	 * @return WordNetSnapshot - the snapshot, or null if there is an error
+	 */
+	public static WordNetSnapshot load(final String path)
+	{
+		WordNetSnapshot retVal = null;
+		ByteBuffer buffer = FileUtils.mapFile(path);
+		
+		try
+		{
+			if(buffer == null)
+			{
+				throw new IOException("Cannot read the contents of: " + path);
+			}
+			
+			String[][] words = new String[POS_COUNT][];
+			int[][] idStarts = new int[POS_COUNT][];
+			int[][] ids = new int[POS_COUNT][];
+			int[][] offsets = new int[POS_COUNT][];
+			int[][] indexIds = new int[POS_COUNT][];
+			int[][] indexSenseNumbers = new int[POS_COUNT][];
+			int[] senseStarts, senseWords, sensePos, senseIds, senseNumbers;
+			char[] senseArena, arena;
+			int[] wordStart;
+			
+			BinaryUtils.readHeader(buffer, MAGIC, VERSION);
+			
+			for(int pos=0; pos<POS_COUNT; pos++)
+			{
+				words[pos] = BinaryUtils.readStrings(buffer);
+				idStarts[pos] = BinaryUtils.readInts(buffer);
+				ids[pos] = BinaryUtils.readInts(buffer);
+			}
+			
+			senseArena = BinaryUtils.readChars(buffer);
+			senseStarts = BinaryUtils.readInts(buffer);
+			senseWords = BinaryUtils.readInts(buffer);
+			sensePos = BinaryUtils.readInts(buffer);
+			senseIds = BinaryUtils.readInts(buffer);
+			senseNumbers = BinaryUtils.readInts(buffer);
+			
+			arena = BinaryUtils.readChars(buffer);
+			wordStart = BinaryUtils.readInts(buffer);
+			for(int pos=0; pos<POS_COUNT; pos++)
+			{
+				offsets[pos] = BinaryUtils.readInts(buffer);
+				indexIds[pos] = BinaryUtils.readInts(buffer);
+				indexSenseNumbers[pos] = BinaryUtils.readInts(buffer);
+			}
+			
+			retVal = new WordNetSnapshot(words, idStarts, ids, senseArena, senseStarts, senseWords, sensePos, senseIds, senseNumbers, 
+										 new SenseIndex(arena, wordStart, offsets, indexIds, indexSenseNumbers));
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+			retVal = null;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**builds the lemma index of a pos directly from the arrays, without creating WordNetWord objects
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param pos - one of noun, verb, adjective or adverb
+	 * 
+	 * @return LemmaIndex - index of the words, positions are the same as the list returned by createWords()
+	 */
+	public LemmaIndex buildIndex(final POSTagWordNet pos)
+	{
+		int index = SenseIndex.indexOf(pos);
+		int size = words[index].length;
+		LemmaIndex retVal = new LemmaIndex(size);
+		
+		for(int i=0; i<size; i++)
+		{
+			retVal.put(words[index][i], Arrays.copyOfRange(ids[index], idStarts[index][i], idStarts[index][i+1]), i);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**creates the list of the words of a pos, same as the list parsed from the index file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param pos - one of noun, verb, adjective or adverb
+	 * 
+	 * @return ArrayList<WordNetWord> - words of the pos
+	 */
+	public ArrayList<WordNetWord> createWords(final POSTagWordNet pos)
+	{
+		int index = SenseIndex.indexOf(pos);
+		int size = words[index].length;
+		ArrayList<WordNetWord> retVal = new ArrayList<WordNetWord>(size);
+		ArrayList<Integer> wordIds;
+		
+		for(int i=0; i<size; i++)
+		{
+			wordIds = new ArrayList<Integer>(idStarts[index][i+1] - idStarts[index][i]);
+			
+			for(int j=idStarts[index][i]; j<idStarts[index][i+1]; j++)
+			{
+				wordIds.add(ids[index][j]);
+			}
+			
+			retVal.add(new WordNetWord(words[index][i], wordIds, pos));
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**creates the list of the senses, same as the list parsed from index.sense
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return ArrayList<WordNetSense> - senses in the order of the file
+	 */
+	public ArrayList<WordNetSense> createSenses()
+	{
+		ArrayList<WordNetSense> retVal = new ArrayList<WordNetSense>(senseIds.length);
+		POSTagWordNet[] tags = POSTagWordNet.values();
+		String[] senseWordStrings = new String[senseStarts.length-1];
+		int word;
+		
+		for(int i=0; i<senseIds.length; i++)
+		{
+			word = senseWords[i];
+			
+			//senses of the same word share the same string
+			if(senseWordStrings[word] == null)
+			{
+				senseWordStrings[word] = new String(senseArena, senseStarts[word], senseStarts[word+1] - senseStarts[word]);
+			}
+			
+			retVal.add(new WordNetSense(senseWordStrings[word], senseIds[i], tags[sensePos[i]], senseNumbers[i]));
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	public int getWordCount(final POSTagWordNet pos)
+	{
+		return words[SenseIndex.indexOf(pos)].length;
+	}
+	
+	public int getSenseCount()
+	{
+		return senseIds.length;
+	}
+	
+	public SenseIndex getSenseIndex()
+	{
+		return senseIndex;
+	}
+	
+}
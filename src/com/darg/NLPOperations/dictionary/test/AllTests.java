@@ -23,13 +23,17 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import com.darg.NLPOperations.dictionary.test.DictionaryRegistryTests;
+import com.darg.NLPOperations.dictionary.test.LemmaIndexTests;
 import com.darg.NLPOperations.dictionary.test.StopWordsTests;
 import com.darg.NLPOperations.dictionary.test.WordNetTests;
 
 @RunWith(Suite.class)
 
 @SuiteClasses({ StopWordsTests.class,
-				WordNetTests.class})
+				WordNetTests.class,
+				LemmaIndexTests.class,
+				DictionaryRegistryTests.class})
 
 
 public class AllTests 
@@ -0,0 +1,157 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.dictionary.test;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumSet;
+
+import org.junit.Test;
+
+import com.darg.NLPOperations.dictionary.DictionaryRegistry;
+import com.darg.NLPOperations.dictionary.SentiWordNetDictionary;
+import com.darg.NLPOperations.dictionary.WordNetDictionary;
+import com.darg.NLPOperations.dictionary.model.FrozenWordNet;
+import com.darg.NLPOperations.dictionary.model.SentiWordNet;
+import com.darg.NLPOperations.dictionary.model.WarmupProfile;
+import com.darg.NLPOperations.dictionary.model.WordNet;
+import com.darg.NLPOperations.pos.util.POSTagWordNet;
+
+
+public class DictionaryRegistryTests 
+{
+	private static String wordNetPath = "/home/erhan/Desktop/TEST-FOR-THESIS/WordNet-3.0/dict";
+	private static String sentiWordNetPath = "/home/erhan/Desktop/TEST-FOR-THESIS/sentiwordnet/SentiWordNet_3.0.0_20130122.txt";
+	
+	
+	
+	
+	/*----------------------------------------------------------------------------------*/
+	//			REGISTRY TESTS
+	/*----------------------------------------------------------------------------------*/
+	/**Tests if the dictionaries are found by their path and version, and the view of the first registered one is kept
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void registerTest()
+	{
+		DictionaryRegistry registry = new DictionaryRegistry();
+		WordNetDictionary first = loadAdverbs(wordNetPath);
+		WordNetDictionary second = loadAdverbs(wordNetPath + "/.");
+		FrozenWordNet frozen;
+		
+		assertNull(registry.getWordNet(wordNetPath, WordNet.VERSION_30));
+		frozen = registry.registerWordNet(first);
+		assertNotNull(frozen);
+		assertSame(first.freeze(), frozen);
+		assertSame(frozen, registry.registerWordNet(second));
+		
+		//registered dictionaries are frozen
+		assertTrue(first.isFrozen());
+		assertTrue(second.isFrozen());
+		assertFalse(second.loadDictionary());
+		
+		assertSame(frozen, registry.getWordNet(wordNetPath + "/", WordNet.VERSION_30));
+		assertEquals(1, registry.getWordNetCount());
+	}
+	
+	
+	
+	
+	/**Tests if a dictionary can be replaced while the old one is still held
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void replaceTest()
+	{
+		DictionaryRegistry registry = new DictionaryRegistry();
+		SentiWordNetDictionary first = SentiWordNetDictionary.newInstance(sentiWordNetPath, SentiWordNet.VERSION_30, true);
+		SentiWordNetDictionary second = SentiWordNetDictionary.newInstance(sentiWordNetPath, SentiWordNet.VERSION_30, true);
+		SentiWordNetDictionary notIndexed = SentiWordNetDictionary.newInstance(sentiWordNetPath, SentiWordNet.VERSION_30, false);
+		
+		assertTrue(first.loadDictionary());
+		assertTrue(second.loadDictionary());
+		assertTrue(notIndexed.loadDictionary());
+		
+		assertNull(registry.replaceSentiWordNet(first));
+		assertSame(first.freeze(), registry.replaceSentiWordNet(second));
+		assertSame(notIndexed.freeze(), registry.registerSentiWordNet(notIndexed));
+		
+		assertSame(second.freeze(), registry.getSentiWordNet(sentiWordNetPath, SentiWordNet.VERSION_30, true));
+		assertSame(notIndexed.freeze(), registry.getSentiWordNet(sentiWordNetPath, SentiWordNet.VERSION_30, false));
+		assertSame(second.freeze(), registry.removeSentiWordNet(sentiWordNetPath, SentiWordNet.VERSION_30, true));
+		assertNull(registry.getSentiWordNet(sentiWordNetPath, SentiWordNet.VERSION_30, true));
+	}
+	
+	
+	
+	
+	/**Tests if a dictionary that is not loaded cannot be registered
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void notLoadedTest()
+	{
+		DictionaryRegistry registry = new DictionaryRegistry();
+		
+		registry.registerSentiWordNet(SentiWordNetDictionary.newInstance(sentiWordNetPath, SentiWordNet.VERSION_30, true));
+	}
+	
+	
+	
+	
+	/**Tests if the path of a registered dictionary cannot be changed, which would change its key
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void registeredPathTest()
+	{
+		DictionaryRegistry registry = new DictionaryRegistry();
+		WordNetDictionary dictionary = loadAdverbs(wordNetPath);
+		
+		assertNotNull(registry.registerWordNet(dictionary));
+		dictionary.setDictionaryPath("/tmp");
+	}
+	
+	
+	
+	
+	/**returns a new dictionary that only has index.adv loaded lazily
+	 */
+	private static WordNetDictionary loadAdverbs(final String path)
+	{
+		WordNetDictionary retVal = WordNetDictionary.newInstance(path, WordNet.VERSION_30);
+		
+		retVal.setLazyLoading(true);
+		assertTrue(retVal.loadDictionary());
+		assertTrue(retVal.warmUp(new WarmupProfile(EnumSet.of(POSTagWordNet.ADVERB), false, EnumSet.noneOf(POSTagWordNet.class), false)));
+		
+		return retVal;
+	}
+	
+}
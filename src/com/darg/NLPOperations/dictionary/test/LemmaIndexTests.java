@@ -0,0 +1,103 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.dictionary.test;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.darg.NLPOperations.dictionary.model.LemmaIndex;
+
+
+public class LemmaIndexTests 
+{
+	
+	/*----------------------------------------------------------------------------------*/
+	//			LOOKUP TESTS
+	/*----------------------------------------------------------------------------------*/
+	/**Tests if the lemmas can be found regardless of the case
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void caseFoldingTest()
+	{
+		LemmaIndex index = new LemmaIndex(4);
+		int[] ids = {1740, 2098};
+		
+		assertTrue(index.put("Unable", ids, 0));
+		
+		assertArrayEquals(ids, index.get("unable"));
+		assertArrayEquals(ids, index.get("UNABLE"));
+		assertEquals(0, index.positionOf("uNaBlE"));
+		assertEquals("unable", index.getKey(0));
+		assertNull(index.get("able"));
+		assertEquals(-1, index.positionOf("unabl"));
+	}
+	
+	
+	
+	
+	/**Tests if only the first of the same lemmas is kept
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void duplicateTest()
+	{
+		LemmaIndex index = new LemmaIndex(4);
+		
+		assertTrue(index.put("able", new int[]{1}, 0));
+		assertFalse(index.put("ABLE", new int[]{2}, 1));
+		
+		assertEquals(1, index.size());
+		assertEquals(1, index.get("able")[0]);
+	}
+	
+	
+	
+	
+	/**Tests if the index keeps working while it grows
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void growthTest()
+	{
+		LemmaIndex index = new LemmaIndex(1);
+		int count = 10000;
+		
+		for(int i=0; i<count; i++)
+		{
+			assertTrue(index.put("word" + i, new int[]{i}, i));
+		}
+		
+		assertEquals(count, index.size());
+		for(int i=0; i<count; i++)
+		{
+			assertEquals(i, index.get("WORD" + i)[0]);
+			assertEquals(i, index.positionOf("word" + i));
+		}
+	}
+	
+}
@@ -21,16 +21,22 @@ package com.darg.NLPOperations.dictionary.test;
 
 import static org.junit.Assert.*;
 
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.darg.NLPOperations.dictionary.SentiWordNetDictionary;
+import com.darg.NLPOperations.dictionary.SentiWordNetParser;
+import com.darg.NLPOperations.dictionary.model.FrozenSentiWordNet;
 import com.darg.NLPOperations.dictionary.model.SentiWordNet;
+import com.darg.NLPOperations.dictionary.model.SentiWordNetColumns;
 import com.darg.NLPOperations.dictionary.model.SentiWordNetWord;
 import com.darg.NLPOperations.dictionary.model.SynsetTerm;
+import com.darg.NLPOperations.dictionary.model.WarmupProfile;
 import com.darg.NLPOperations.pos.util.POSTagWordNet;
+import com.darg.fileOperations.utils.FileUtils;
 
 public class SentiWordNetTests 
 {
@@ -90,6 +96,26 @@ public class SentiWordNetTests
 	
 	
 	
+	@Test
+	public void scoreOfTests() 
+	{
+		float[] scores = new float[3];
+		SentiWordNetWord word = dict.findWord(658052, POSTagWordNet.VERB);
+		
+		assertTrue(dict.scoreOf(658052, POSTagWordNet.VERB, scores));
+		assertEquals(word.getPositiveScore(), scores[0], 0.0001);
+		assertEquals(word.getNegativeScore(), scores[1], 0.0001);
+		assertEquals(word.getObjectivityScore(), scores[2], 0.0001);
+		
+		assertEquals(dict.getScoreTable(POSTagWordNet.VERB).indexOf(658052), dict.getScoreTable(POSTagWordNet.VERB).binarySearch(658052));
+		assertFalse(dict.scoreOf(1, POSTagWordNet.VERB, scores));
+		assertFalse(dict.scoreOf(658052, POSTagWordNet.OTHER, scores));
+	}
+	
+	
+	
+	
+	
 	@Test
 	public void scoreSearchTests()
 	{
@@ -114,4 +140,156 @@ public class SentiWordNetTests
 
 	}
 
+	
+	
+	
+	
+	@Test
+	public void countTests()
+	{
+		assertEquals(dict.getWordsWithPositiveScore(0.5, false).size(), dict.countWordsWithPositiveScore(0.5, false));
+		assertEquals(dict.getWordsWithNegativeScore(0.5, true).size(), dict.countWordsWithNegativeScore(0.5, true));
+		assertEquals(dict.getObjectiveWords(0.5, false).size(), dict.countObjectiveWords(0.5, false));
+	}
+	
+	
+	
+	
+	
+	@Test
+	public void snapshotTests()
+	{
+		String file = "/home/erhan/Desktop/TEST-FOR-THESIS/sentiwordnet.snapshot";
+		float[] expected = new float[3];
+		float[] scores = new float[3];
+		double average = dict.findAveragePositiveScore(POSTagWordNet.OTHER);
+		int count = dict.getWordCount();
+		String glossary = dict.findWord(658052, POSTagWordNet.VERB).getGlossary();
+		
+		assertTrue(dict.scoreOf(658052, POSTagWordNet.VERB, expected));
+		assertTrue(dict.saveSnapshot(file));
+		assertTrue(dict.loadSnapshot(file));
+		
+		assertEquals(count, dict.getWordCount());
+		assertEquals(average, dict.findAveragePositiveScore(POSTagWordNet.OTHER), 0);
+		assertTrue(dict.scoreOf(658052, POSTagWordNet.VERB, scores));
+		assertArrayEquals(expected, scores, 0);
+		
+		//lists are created from the snapshot when they are needed
+		assertEquals(glossary, dict.findWord(658052, POSTagWordNet.VERB).getGlossary());
+		assertEquals(count, dict.getWords().size());
+	}
+
+	
+	
+	
+	
+	
+	@Test
+	public void columnsTests()
+	{
+		SentiWordNetParser parser = new SentiWordNetParser(SentiWordNet.VERSION_30);
+		ArrayList<SentiWordNetWord> words = parser.parseSentiWordNet(FileUtils.readFile(dict.getDictionaryPath()));
+		SentiWordNetColumns columns = parser.parseSentiWordNetColumns(FileUtils.mapFile(dict.getDictionaryPath()), Charset.defaultCharset(), 4);
+		
+		assertNotNull(columns);
+		assertEquals(words.size(), columns.size());
+		
+		//parsing in parallel parts gives the same words in the same order
+		for(int i=0; i<words.size(); i++)
+		{
+			assertEquals(words.get(i).getId(), (Integer) columns.getId(i));
+			assertEquals(words.get(i).getPositiveScore(), columns.getPositiveScore(i), 0);
+			assertEquals(words.get(i).getNegativeScore(), columns.getNegativeScore(i), 0);
+			assertEquals(words.get(i).toString(), columns.createWord(i).toString());
+		}
+	}
+
+	
+	
+	
+	
+	
+	@Test
+	public void warmUpTests()
+	{
+		WarmupProfile profile = WarmupProfile.forSentimentLexicon();
+		
+		assertTrue(dict.warmUp(profile));
+		
+		//score tables of every pos are ready, the counts are the sizes of the tables
+		assertEquals(dict.getAdjectiveCount(), dict.getScoreTable(POSTagWordNet.ADJECTIVE).size());
+		assertEquals(dict.getAdverbCount(), dict.getScoreTable(POSTagWordNet.ADVERB).size());
+		assertEquals(dict.getVerbCount(), dict.getScoreTable(POSTagWordNet.VERB).size());
+		assertEquals(dict.getNounCount(), dict.getScoreTable(POSTagWordNet.NOUN).size());
+		assertFalse(profile.hasGlossaries());
+	}
+
+	
+	
+	
+	
+	
+	@Test
+	public void freezeTests()
+	{
+		SentiWordNetDictionary frozenDict = SentiWordNetDictionary.newInstance(dict.getDictionaryPath(), SentiWordNet.VERSION_30, true);
+		FrozenSentiWordNet frozen;
+		float[] expected = new float[3];
+		float[] scores = new float[3];
+		
+		frozenDict.setLazyLoading(true);
+		assertTrue(frozenDict.loadDictionary());
+		frozen = frozenDict.freeze();
+		
+		//every score table is built before freezing, even if lazy loading is set
+		assertNotNull(frozen);
+		assertSame(frozen, frozenDict.freeze());
+		assertEquals(frozenDict.getNounCount(), frozen.getSize(POSTagWordNet.NOUN));
+		assertEquals(frozenDict.getVerbCount(), frozen.getSize(POSTagWordNet.VERB));
+		
+		//same results as the dictionary
+		assertTrue(frozenDict.scoreOf(658052, POSTagWordNet.VERB, expected));
+		assertTrue(frozen.scoreOf(658052, POSTagWordNet.VERB, scores));
+		assertArrayEquals(expected, scores, 0);
+		assertFalse(frozen.scoreOf(658052, POSTagWordNet.OTHER, scores));
+		assertFalse(frozen.contains(1, POSTagWordNet.VERB));
+		assertEquals(frozenDict.findAveragePositiveScore(POSTagWordNet.OTHER), frozen.findAveragePositiveScore(POSTagWordNet.OTHER), 0);
+		assertEquals(frozenDict.findAverageNegativeScore(POSTagWordNet.NOUN), frozen.findAverageNegativeScore(POSTagWordNet.NOUN), 0);
+		
+		//the dictionary cannot be loaded again
+		assertFalse(frozenDict.loadDictionary());
+		assertTrue(frozenDict.isFrozen());
+	}
+
+	
+	
+	
+	
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void frozenListTests()
+	{
+		SentiWordNetDictionary frozenDict = SentiWordNetDictionary.newInstance(dict.getDictionaryPath(), SentiWordNet.VERSION_30, true);
+		
+		assertTrue(frozenDict.loadDictionary());
+		assertNotNull(frozenDict.freeze());
+		frozenDict.getWords().clear();
+	}
+	
+	
+	
+	
+	
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void frozenCloseTests()
+	{
+		SentiWordNetDictionary frozenDict = SentiWordNetDictionary.newInstance(dict.getDictionaryPath(), SentiWordNet.VERSION_30, true);
+		
+		assertTrue(frozenDict.loadDictionary());
+		assertNotNull(frozenDict.freeze());
+		frozenDict.closeDictionary();
+	}
+
 }
@@ -21,12 +21,17 @@ package com.darg.NLPOperations.dictionary.test;
 
 import static org.junit.Assert.*;
 
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.EnumSet;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.darg.NLPOperations.dictionary.WordNetDictionary;
+import com.darg.NLPOperations.dictionary.model.FileLoadTiming;
+import com.darg.NLPOperations.dictionary.model.FrozenWordNet;
+import com.darg.NLPOperations.dictionary.model.WarmupProfile;
 import com.darg.NLPOperations.dictionary.model.WordNet;
 import com.darg.NLPOperations.dictionary.model.WordNetWord;
 import com.darg.NLPOperations.pos.util.POSTagWordNet;
@@ -111,6 +116,29 @@ public class WordNetTests
 	
 	
 	
+	/**Tests findIDArray() function, it should find the same ids as findIDs() regardless of the case.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void findIDArrayTest()
+	{
+		int[] ids = dict.findIDArray("UnAble", POSTagWordNet.ADJECTIVE);
+		ArrayList<Integer> idList = dict.findIDs("unable", POSTagWordNet.ADJECTIVE);
+		
+		assertEquals(idList.size(), ids.length);
+		for (int i=0; i<ids.length; i++)
+		{
+			assertEquals((int)idList.get(i), ids[i]);
+		}
+		
+		assertNull(dict.findIDArray("asdasdasd", POSTagWordNet.ADJECTIVE));
+	}
+	
+	
+	
+	
 	
 	
 	/*----------------------------------------------------------------------------------*/
@@ -194,6 +222,35 @@ public class WordNetTests
 	
 	
 	
+	/**Tests findIDsFromSense() functions that fill a given array or buffer, they should find the same ids as the list version.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void findIDsFromSenseSinkTest()
+	{
+		ArrayList<Integer> ids = dict.findIDsFromSense("unable", POSTagWordNet.ADJECTIVE);
+		int[] sink = new int[dict.getMaxSenseIDCount()];
+		IntBuffer buffer = IntBuffer.allocate(dict.getMaxSenseIDCount());
+		
+		assertEquals(ids.size(), dict.findIDsFromSense("UNABLE", POSTagWordNet.ADJECTIVE, sink));
+		assertEquals(ids.size(), dict.findIDsFromSense("unable", POSTagWordNet.ADJECTIVE, buffer));
+		
+		for (int i=0; i<ids.size(); i++)
+		{
+			assertEquals((int)ids.get(i), sink[i]);
+			assertEquals((int)ids.get(i), buffer.get(i));
+		}
+		
+		assertEquals(0, dict.findIDsFromSense("asdasdasd", POSTagWordNet.ADJECTIVE, sink));
+		assertEquals(3, dict.findIDsFromSense("unable", POSTagWordNet.ADJECTIVE, new int[1]));
+	}
+	
+	
+	
+	
+	
 	/**Tests findWordFromSense() function. 
 	 * @author erhan sezerer
 	 *
@@ -263,4 +320,254 @@ public class WordNetTests
 	}
 	
 	
+	
+	
+	
+	
+	/**Tests saveSnapshot() and loadSnapshot()
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void snapshotTest()
+	{
+		String file = "/home/erhan/Desktop/TEST-FOR-THESIS/wordnet.snapshot";
+		int[] ids = dict.findIDArray("dog", POSTagWordNet.NOUN);
+		ArrayList<Integer> senseIds = dict.findIDsFromSense("dog", POSTagWordNet.NOUN);
+		int senseCount = dict.getSenseCount();
+		
+		assertTrue(dict.saveSnapshot(file));
+		assertTrue(dict.loadSnapshot(file));
+		
+		assertArrayEquals(ids, dict.findIDArray("dog", POSTagWordNet.NOUN));
+		assertEquals(senseIds, dict.findIDsFromSense("dog", POSTagWordNet.NOUN));
+		assertEquals(senseCount, dict.getSenseCount());
+		
+		//lists are created from the snapshot when they are needed
+		assertEquals("dog", dict.findWord(ids[0], POSTagWordNet.NOUN));
+		assertEquals(senseCount, dict.getSenses().size());
+	}
+	
+	
+	
+	
+	/**Tests the timings of the files loaded at the same time by loadDictionary()
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void loadTimingsTest()
+	{
+		ArrayList<FileLoadTiming> timings = dict.getLoadTimings();
+		ArrayList<String> names = new ArrayList<String>();
+		
+		assertEquals(5, timings.size());
+		
+		for(FileLoadTiming timing : timings)
+		{
+			names.add(timing.getFileName());
+			assertTrue(timing.getEntryCount() > 0);
+			assertEquals(timing.getParseTime() + timing.getIndexTime(), timing.getTotalTime());
+		}
+		
+		assertTrue(names.contains("index.noun"));
+		assertTrue(names.contains("index.sense"));
+		assertTrue(dict.getLoadTime() > 0);
+	}
+	
+	
+	
+	
+	/**Tests warmUp() on a dictionary that is already loaded
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void warmUpTest()
+	{
+		int timings = dict.getLoadTimings().size();
+		
+		//every file is loaded already, so nothing is loaded again
+		assertTrue(dict.warmUp(WarmupProfile.all()));
+		assertEquals(timings, dict.getLoadTimings().size());
+		assertNotNull(dict.getSenseIndex());
+	}
+
+	
+	
+	
+	
+	/**Tests lazy loading and warmUp() on a dictionary of its own that is not loaded yet
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void lazyLoadingTest()
+	{
+		WordNetDictionary lazyDict = WordNetDictionary.newInstance(path, WordNet.VERSION_30);
+		
+		//only the files are checked
+		lazyDict.setLazyLoading(true);
+		assertTrue(lazyDict.loadDictionary());
+		assertTrue(getLoadedFiles(lazyDict).isEmpty());
+		
+		//only the files of the profile are loaded
+		assertTrue(lazyDict.warmUp(new WarmupProfile(EnumSet.of(POSTagWordNet.ADJECTIVE), false, 
+													EnumSet.noneOf(POSTagWordNet.class), false)));
+		assertEquals(1, getLoadedFiles(lazyDict).size());
+		assertTrue(getLoadedFiles(lazyDict).contains("index.adj"));
+		assertArrayEquals(dict.findIDArray("unable", POSTagWordNet.ADJECTIVE), lazyDict.findIDArray("unable", POSTagWordNet.ADJECTIVE));
+		assertEquals(1, getLoadedFiles(lazyDict).size());
+		
+		//the others are loaded when they are first used
+		assertArrayEquals(dict.findIDArray("dog", POSTagWordNet.NOUN), lazyDict.findIDArray("dog", POSTagWordNet.NOUN));
+		assertTrue(getLoadedFiles(lazyDict).contains("index.noun"));
+		assertFalse(getLoadedFiles(lazyDict).contains("index.sense"));
+		
+		assertEquals(dict.findIDsFromSense("dog", POSTagWordNet.NOUN), lazyDict.findIDsFromSense("dog", POSTagWordNet.NOUN));
+		assertTrue(getLoadedFiles(lazyDict).contains("index.sense"));
+		
+		//files that are never used stay unloaded
+		assertEquals(3, getLoadedFiles(lazyDict).size());
+		assertFalse(getLoadedFiles(lazyDict).contains("index.verb"));
+		assertFalse(getLoadedFiles(lazyDict).contains("index.adv"));
+	}
+	
+	
+	
+	
+	/**returns the names of the files loaded by a dictionary
+	 */
+	private static ArrayList<String> getLoadedFiles(final WordNetDictionary dictionary)
+	{
+		ArrayList<String> retVal = new ArrayList<String>();
+		
+		for(FileLoadTiming timing : dictionary.getLoadTimings())
+		{
+			retVal.add(timing.getFileName());
+		}
+		
+		return retVal;
+	}
+
+	
+	
+	
+	
+	/**Tests freeze(), on a dictionary of its own so that the other tests can still modify the shared one
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void freezeTest()
+	{
+		WordNetDictionary frozenDict = WordNetDictionary.newInstance(path, WordNet.VERSION_30);
+		FrozenWordNet frozen;
+		int[] sink = new int[64];
+		
+		assertTrue(frozenDict.loadDictionary());
+		frozen = frozenDict.freeze();
+		
+		assertNotNull(frozen);
+		assertSame(frozen, frozenDict.freeze());
+		assertTrue(frozenDict.isFrozen());
+		
+		//same results as the dictionary
+		assertArrayEquals(frozenDict.findIDArray("unable", POSTagWordNet.ADJECTIVE), frozen.findIDArray("UnAble", POSTagWordNet.ADJECTIVE));
+		assertEquals(frozenDict.findIDArray("unable", POSTagWordNet.ADJECTIVE).length, frozen.copyIDs("unable", POSTagWordNet.ADJECTIVE, sink));
+		assertEquals(frozenDict.findIDsFromSense("unable", POSTagWordNet.ADJECTIVE, sink), frozen.copyIDsFromSense("unable", POSTagWordNet.ADJECTIVE, sink));
+		assertEquals(frozenDict.findIDFromSense("unable", POSTagWordNet.ADJECTIVE, 1), frozen.findIDFromSense("unable", POSTagWordNet.ADJECTIVE, 1));
+		assertEquals(frozenDict.getNounCount(), frozen.getWordCount(POSTagWordNet.NOUN));
+		assertTrue(frozen.contains("unable", POSTagWordNet.ADJECTIVE));
+		assertFalse(frozen.contains("asdasdasd", POSTagWordNet.ADJECTIVE));
+		assertNull(frozen.findIDArray("unable", POSTagWordNet.OTHER));
+		
+		//the dictionary cannot be modified anymore
+		assertFalse(frozenDict.addIndexWord(new WordNetWord("asdasdasd", POSTagWordNet.NOUN)));
+		assertFalse(frozenDict.loadNouns());
+		assertFalse(frozenDict.loadDictionary());
+		assertTrue(frozenDict.isFrozen());
+	}
+	
+	
+	
+	
+	/**Tests freeze() on a dictionary that is loaded lazily, only the files loaded before are in the view
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void lazyFreezeTest()
+	{
+		WordNetDictionary frozenDict = freezeAdverbs();
+		FrozenWordNet frozen = frozenDict.freeze();
+		
+		assertNotNull(frozen);
+		assertFalse(frozenDict.isLazyLoading());
+		assertTrue(frozen.getWordCount(POSTagWordNet.ADVERB) > 0);
+		assertEquals(0, frozen.getWordCount(POSTagWordNet.NOUN));
+		assertNull(frozen.findIDArray("dog", POSTagWordNet.NOUN));
+		assertNull(frozen.getSenseIndex());
+		assertEquals(-1, frozen.findIDFromSense("dog", POSTagWordNet.NOUN, 1));
+		
+		//freezing does not load the other files
+		assertEquals(1, getLoadedFiles(frozenDict).size());
+	}
+	
+	
+	
+	
+	/**Tests that the lists of a frozen dictionary cannot be modified
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test(expected = UnsupportedOperationException.class)
+	public void frozenListTest()
+	{
+		freezeAdverbs().getAdverbs().clear();
+	}
+	
+	
+	
+	
+	/**Tests that a frozen dictionary cannot be closed
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void frozenCloseTest()
+	{
+		freezeAdverbs().closeDictionary();
+	}
+	
+	
+	
+	
+	/**Tests that the path of a frozen dictionary cannot be changed
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void frozenPathTest()
+	{
+		freezeAdverbs().setDictionaryPath("/tmp");
+	}
+	
+	
+	
+	
+	/**returns a new dictionary that is frozen after loading only index.adv lazily
+	 */
+	private static WordNetDictionary freezeAdverbs()
+	{
+		WordNetDictionary retVal = WordNetDictionary.newInstance(path, WordNet.VERSION_30);
+		
+		retVal.setLazyLoading(true);
+		assertTrue(retVal.loadDictionary());
+		assertTrue(retVal.warmUp(new WarmupProfile(EnumSet.of(POSTagWordNet.ADVERB), false, EnumSet.noneOf(POSTagWordNet.class), false)));
+		assertNotNull(retVal.freeze());
+		
+		return retVal;
+	}
+
 }
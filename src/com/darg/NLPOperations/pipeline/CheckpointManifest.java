@@ -0,0 +1,430 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pipeline;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+
+import com.darg.utils.StringUtils;
+
+
+
+/**keeps the articles that completed the stages of an operation, so that an operation that is stopped or run 
+ * again over the same articles can skip the finished ones. Each article is recorded with its docID, the stage it 
+ * completed and a hash of the content of its file, an article whose file has changed since then is processed again.
+ * An article is recorded as STARTED (without a hash) when it gets its docID, so that it keeps the same docID, and 
+ * the same output files, after a restart.
+ * 
+ * The records are appended to a text file (checkpoint.manifest) as they are made, one line for each record:
+ * 		STAGE	docID	hash	key
+ * so the manifest is kept up to date if the operation dies. The later records of a key override the earlier ones, 
+ * and an incomplete last line is ignored. close() rewrites the file with a single line for each key.
+ * 
+ * The functions are synchronized, so a manifest can be shared by the threads of an operation.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class CheckpointManifest implements Closeable
+{
+	public static final String MANIFEST_FILE = "checkpoint.manifest";
+	
+	public enum Stage{STARTED, TAGGED, SCORED};
+	
+	private File file;
+	private HashMap<String, Entry> entries;
+	private BufferedWriter writer;
+	private int lastDocID; //highest docID given to an article, new articles get the next ones
+	private int recordCount;
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private CheckpointManifest()
+	{
+		
+	}
+	/**loads the manifest in the given directory if it exists, and opens it to append the new records
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param directory - directory of the manifest, it is created if it does not exist
+	 * 
+	 * @throws IOException - if the manifest cannot be read or opened
+	 */
+	public CheckpointManifest(final String directory) throws IOException
+	{
+		if(directory == null)
+		{
+			throw new IllegalArgumentException("directory cannot be null");
+		}
+		
+		File dir = new File(directory);
+		if(!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory())
+		{
+			throw new IOException("cannot create the directory: " + dir.getAbsolutePath());
+		}
+		
+		file = new File(dir, MANIFEST_FILE);
+		entries = new HashMap<String, Entry>();
+		
+		if(file.exists())
+		{
+			load();
+		}
+		
+		writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+		
+		//an incomplete last line is ended, so that it does not join the next record
+		if(file.length() > 0 && !endsWithNewLine())
+		{
+			writer.newLine();
+			writer.flush();
+		}
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//						FUNCTIONS
+	/*-----------------------------------------------------------------------------------------------*/
+	/**returns the last stage that an article completed
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param key - key of the article, i.e. the path of its file
+	 * @param hash - hash of the current content of the article (see hashFile())
+	 * 
+	 * @return Stage - the last stage completed (TAGGED or SCORED). null if the article is not finished any stage or its content has changed
+	 */
+	public synchronized Stage getStage(final String key, final String hash)
+	{
+		Stage retVal = null;
+		Entry entry = entries.get(key);
+		
+		if(entry != null && entry.hash.equals(hash))
+		{
+			retVal = entry.stage;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**returns the docID of an article. An article keeps the docID it is recorded with, so that its output files stay 
+	 * in the same place, and every new article gets a docID higher than the ones in the manifest.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param key - key of the article
+	 * 
+	 * @return int - docID of the article
+	 * 
+	 * @throws IOException - if the docID of a new article cannot be recorded
+	 */
+	public synchronized int getDocID(final String key) throws IOException
+	{
+		int retVal;
+		Entry entry = entries.get(key);
+		
+		if(entry != null)
+		{
+			retVal = entry.docID;
+		}
+		else
+		{
+			lastDocID++;
+			retVal = lastDocID;
+			record(key, "", retVal, Stage.STARTED);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**records that an article completed a stage, the record is written to the manifest immediately
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param key - key of the article
+	 * @param hash - hash of the content of the article
+	 * @param docID - docID of the article
+	 * @param stage - stage completed
+	 * 
+	 * @throws IOException - if the record cannot be written
+	 */
+	public synchronized void record(final String key, final String hash, final int docID, final Stage stage) throws IOException
+	{
+		if(writer == null)
+		{
+			throw new IllegalStateException("manifest is closed");
+		}
+		if(key == null || hash == null || stage == null)
+		{
+			throw new IllegalArgumentException("key, hash and stage cannot be null");
+		}
+		
+		entries.put(key, new Entry(hash, docID, stage));
+		lastDocID = Math.max(lastDocID, docID);
+		
+		writeEntry(writer, key, entries.get(key));
+		writer.flush();
+		recordCount++;
+	}
+	
+	
+	
+	
+	
+	/**closes the manifest and rewrites it with the last record of each article. Nothing can be recorded after it is called.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @throws IOException - if the manifest cannot be written
+	 */
+	public synchronized void close() throws IOException
+	{
+		if(writer != null)
+		{
+			writer.close();
+			writer = null;
+			
+			//write to a temporary file first, so that the manifest is not lost if it fails in the middle
+			File temp = new File(file.getParentFile(), MANIFEST_FILE + ".tmp");
+			try(BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)))
+			{
+				for(String key : entries.keySet())
+				{
+					writeEntry(bw, key, entries.get(key));
+				}
+			}
+			
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+	
+	
+	
+	
+	
+	/**computes the hash (MD5) of the content of a file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param file - file to hash
+	 * 
+	 * @return String - hash of the file as a hexadecimal string
+	 * 
+	 * @throws IOException - if the file cannot be read
+	 */
+	public static String hashFile(final File file) throws IOException
+	{
+		MessageDigest digest;
+		byte[] buffer = new byte[8192];
+		int length;
+		
+		try
+		{
+			digest = MessageDigest.getInstance("MD5");
+		}
+		catch(NoSuchAlgorithmException e)
+		{
+			//every java platform has MD5
+			throw new IOException(e);
+		}
+		
+		try(InputStream is = new FileInputStream(file))
+		{
+			while((length = is.read(buffer)) > 0)
+			{
+				digest.update(buffer, 0, length);
+			}
+		}
+		
+		return StringUtils.toHexString(digest.digest());
+	}
+	
+	
+	
+	
+	
+	/**reads the records in the manifest, skips the lines that cannot be parsed
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @throws IOException - if the manifest cannot be read
+	 */
+	private void load() throws IOException
+	{
+		String line;
+		
+		try(BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)))
+		{
+			while((line = br.readLine()) != null)
+			{
+				String[] fields = line.split("\t", 4);
+				
+				try
+				{
+					if(fields.length == 4 && !fields[3].isEmpty() && (!fields[2].isEmpty() || fields[0].equals(Stage.STARTED.name())))
+					{
+						Entry entry = new Entry(fields[2], Integer.parseInt(fields[1]), Stage.valueOf(fields[0]));
+						
+						entries.put(fields[3], entry);
+						lastDocID = Math.max(lastDocID, entry.docID);
+					}
+				}
+				catch(IllegalArgumentException e)
+				{
+					//an incomplete line written when the operation died
+				}
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/**checks whether the last line of the manifest is complete
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return boolean - true if the manifest ends with a new line
+	 * 
+	 * @throws IOException - if the manifest cannot be read
+	 */
+	private boolean endsWithNewLine() throws IOException
+	{
+		boolean retVal;
+		
+		try(RandomAccessFile raf = new RandomAccessFile(file, "r"))
+		{
+			raf.seek(raf.length() - 1);
+			retVal = (raf.read() == '\n');
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**writes a record as a line of the manifest
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param bw - writer of the manifest
+	 * @param key - key of the article
+	 * @param entry - record of the article
+	 * 
+	 * @throws IOException - if the line cannot be written
+	 */
+	private static void writeEntry(final BufferedWriter bw, final String key, final Entry entry) throws IOException
+	{
+		bw.write(entry.stage.name() + "\t" + entry.docID + "\t" + entry.hash + "\t" + key);
+		bw.newLine();
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//setters and getters
+	/*-----------------------------------------------------------------------------------------------*/
+	public String getPath() 
+	{
+		return file.getAbsolutePath();
+	}
+	
+	/**returns the number of articles that completed at least one stage
+	 * 
+	 * @return int - number of articles
+	 */
+	public synchronized int getArticleCount() 
+	{
+		int retVal = 0;
+		
+		for(Entry entry : entries.values())
+		{
+			if(entry.stage != Stage.STARTED)
+			{
+				retVal++;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	public synchronized int getRecordCount() 
+	{
+		return recordCount;
+	}
+	
+	
+	
+	
+	
+	/**last record of an article
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	private static class Entry
+	{
+		private String hash;
+		private int docID;
+		private Stage stage;
+		
+		private Entry(final String hash, final int docID, final Stage stage)
+		{
+			this.hash = hash;
+			this.docID = docID;
+			this.stage = stage;
+		}
+	}
+	
+}
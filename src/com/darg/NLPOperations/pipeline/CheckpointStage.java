@@ -0,0 +1,81 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pipeline;
+
+import com.darg.NLPOperations.utils.TaggedArticle;
+
+
+
+/**records the articles that reach this stage to a checkpoint manifest, i.e. placed after the tag stage it records 
+ * the tagged articles. Articles without a content hash are passed without being recorded.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class CheckpointStage implements PipelineStage<TaggedArticle>
+{
+	private CheckpointManifest manifest;
+	private CheckpointManifest.Stage stage;
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private CheckpointStage()
+	{
+		
+	}
+	public CheckpointStage(final CheckpointManifest manifest, final CheckpointManifest.Stage stage) 
+	{
+		this.manifest = manifest;
+		this.stage = stage;
+	}
+	
+	
+	
+	
+	
+	@Override
+	public boolean process(final TaggedArticle item) throws Exception
+	{
+		if(item.getContentHash() != null)
+		{
+			manifest.record(item.getFile().getAbsolutePath(), item.getContentHash(), item.getDocID(), stage);
+		}
+		
+		return true;
+	}
+	
+	
+	
+	
+	
+	//setters and getters
+	public CheckpointManifest getManifest() 
+	{
+		return manifest;
+	}
+	
+	public CheckpointManifest.Stage getStage() 
+	{
+		return stage;
+	}
+	
+}
@@ -0,0 +1,117 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pipeline;
+
+import com.darg.NLPOperations.utils.TaggedArticle;
+import com.darg.documentParser.NYTCorpusDocumentParser;
+import com.darg.documentParser.NYTCorpusStreamParser;
+import com.darg.documentParser.ParserInterface;
+import com.darg.documentParser.ReutersCorpusDocumentParser;
+import com.darg.documentParser.model.ArticleAbstract;
+
+
+
+/**parses the file of an article and sets its text to the headline and the body of the article.
+ * Articles that are already tagged in an earlier run (see TaggedArticle.getTaggedFile()) are passed without parsing. Each thread of the stage keeps its own parser, so that the document builders are reused. NYT articles
+ * can be parsed with NYTCorpusStreamParser, which only reads the headline and the body without building a DOM tree.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class ParseStage implements PipelineStage<TaggedArticle>
+{
+	private boolean fromReuters;
+	private boolean streamParsing; //only used for the NYT articles
+	private ThreadLocal<ParserInterface> parsers;
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private ParseStage()
+	{
+		
+	}
+	public ParseStage(final boolean fromReuters, final boolean streamParsing) 
+	{
+		this.fromReuters = fromReuters;
+		this.streamParsing = streamParsing;
+		this.parsers = new ThreadLocal<ParserInterface>()
+		{
+			@Override
+			protected ParserInterface initialValue()
+			{
+				ParserInterface retVal;
+				
+				if(ParseStage.this.fromReuters)
+				{
+					retVal = new ReutersCorpusDocumentParser();
+				}
+				else if(ParseStage.this.streamParsing)
+				{
+					retVal = new NYTCorpusStreamParser();
+				}
+				else
+				{
+					retVal = new NYTCorpusDocumentParser();
+				}
+				
+				return retVal;
+			}
+		};
+	}
+	
+	
+	
+	
+	
+	@Override
+	public boolean process(final TaggedArticle item) throws Exception
+	{
+		if(item.getTaggedFile() == null)
+		{
+			ArticleAbstract article = parsers.get().parseArticleDocument(item.getFile(), false);
+			if(article == null)
+			{
+				throw new Exception("Cannot parse the article! -> " + item.getName());
+			}
+			
+			item.setText(article.getHeadline() + "\n" + article.getBody());
+		}
+		
+		return true;
+	}
+	
+	
+	
+	
+	
+	//setters and getters
+	public boolean isFromReuters() 
+	{
+		return fromReuters;
+	}
+	
+	public boolean isStreamParsing() 
+	{
+		return streamParsing;
+	}
+	
+}
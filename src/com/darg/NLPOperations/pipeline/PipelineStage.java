@@ -0,0 +1,45 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pipeline;
+
+
+
+/**a stage of a StagedExecutor. The same stage object is used by all the threads of the stage, so it must be thread safe.
+ * 
+ * @author erhan sezerer
+ *
+ * @param <T> - type of the items passed between the stages
+ */
+public interface PipelineStage<T> 
+{
+	
+	/**processes an item, the item can be modified in place for the next stages
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param item - item to process
+	 * 
+	 * @return boolean - true to pass the item to the next stage, false to drop it
+	 * 
+	 * @throws Exception - the item is dropped if any exception is thrown
+	 */
+	public boolean process(final T item) throws Exception;
+	
+}
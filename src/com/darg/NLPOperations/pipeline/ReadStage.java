@@ -0,0 +1,50 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pipeline;
+
+import java.io.File;
+
+import com.darg.NLPOperations.utils.TaggedArticle;
+import com.darg.fileOperations.utils.FileUtils;
+
+
+
+/**reads the tagged text of an article from its _POS file (the file of the article, or its tagged file if it is set), the name of the article is the name of the file without "_POS"
+ * 
+ * WARNING: can only work with uncompressed files, if your file retriever runs through the compressed files do not use it
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class ReadStage implements PipelineStage<TaggedArticle>
+{
+	
+	@Override
+	public boolean process(final TaggedArticle item) throws Exception
+	{
+		File file = (item.getTaggedFile() != null) ? item.getTaggedFile() : item.getFile();
+		
+		item.setTaggedText(FileUtils.readFile(file.getCanonicalPath()));
+		item.setName(file.getName().replaceAll("_POS", ""));
+		
+		return true;
+	}
+	
+}
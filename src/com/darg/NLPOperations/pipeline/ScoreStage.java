@@ -17,64 +17,59 @@
     You should have received a copy of the GNU General Public License
     along with this program.  If not, see <http://www.gnu.org/licenses/>.
 */
-package com.darg.NLPOperations.utils;
+package com.darg.NLPOperations.pipeline;
 
-import com.darg.NLPOperations.pos.POSTagger;
+import com.darg.NLPOperations.utils.ArticleScorer;
+import com.darg.NLPOperations.utils.TaggedArticle;
 
-public class PosParam 
+
+
+/**scores a tagged article with the given scorer, which also writes the results. 
+ * The tagged text of the article is released after it is scored.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class ScoreStage implements PipelineStage<TaggedArticle>
 {
-	private int docID;
-	private String text;
-	private String outputFolder;
-	private String fileName;
-	private POSTagger tagger;
+	private ArticleScorer scorer;
 	
 	
 	
 	//constructors
 	@SuppressWarnings("unused")
-	private PosParam()
+	private ScoreStage()
 	{
 		
 	}
-	public PosParam(final int docID, final String text, final String fileName, 
-					final String outputFolder, final POSTagger tagger) 
+	public ScoreStage(final ArticleScorer scorer) 
 	{
-		this.docID = docID;
-		this.tagger = tagger;
-		this.text = text;
-		this.fileName = fileName;
-		this.outputFolder = outputFolder;
+		this.scorer = scorer;
 	}
 	
 	
 	
 	
-	//setters and getters
-	public String getText() 
-	{
-		return text;
-	}
 	
-	public String getOutputFolder() 
+	@Override
+	public boolean process(final TaggedArticle item) throws Exception
 	{
-		return outputFolder;
+		boolean retVal = scorer.scoreArticle(item);
+		
+		item.setTaggedText(null);
+		item.setTaggedSentences(null);
+		
+		return retVal;
 	}
 	
-	public String getFileName() 
-	{
-		return fileName;
-	}
 	
-	public POSTagger getTagger()
-	{
-		return tagger;
-	}
 	
-	public int getDocID() 
+	
+	
+	//setters and getters
+	public ArticleScorer getScorer() 
 	{
-		return docID;
+		return scorer;
 	}
-
 	
 }
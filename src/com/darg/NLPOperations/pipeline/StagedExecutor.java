@@ -0,0 +1,349 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pipeline;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+
+/**runs items through a chain of stages (i.e. parse -> tag -> score), each stage with its own threads.
+ * The stages are connected with bounded queues, so a slow stage blocks the ones before it instead of 
+ * letting the items pile up in memory, and submit() blocks when the first stage is full.
+ * 
+ * finish() closes the first stage and waits for the threads of all the stages to end, the last thread
+ * of each stage closes the next stage after the items in its queue are processed. 
+ * 
+ * usage: addStage() for each stage in order, start(), submit() the items, finish(). close() in a finally block
+ * to stop the threads if anything goes wrong.
+ * 
+ * @author erhan sezerer
+ *
+ * @param <T> - type of the items passed between the stages
+ */
+public class StagedExecutor<T> 
+{
+	//put to the queue of a stage once for each of its threads to stop them
+	private static final Object END_OF_STREAM = new Object();
+	
+	private int capacity;
+	private ArrayList<PipelineStage<T>> stages;
+	private ArrayList<Integer> threadCounts;
+	private ArrayList<BlockingQueue<Object>> queues;
+	private ArrayList<AtomicInteger> runningThreads;
+	private ArrayList<AtomicInteger> processedCounts;
+	private AtomicInteger submittedCount;
+	
+	private ExecutorService executor;
+	private ArrayList<Future<?>> futures;
+	
+	
+	
+	
+	//------------------------------------------------------------------------------------------------------------------------------
+	//			constructors 
+	//------------------------------------------------------------------------------------------------------------------------------
+	@SuppressWarnings("unused")
+	private StagedExecutor()
+	{
+		
+	}
+	public StagedExecutor(final int capacity) 
+	{
+		if(capacity < 1)
+		{
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+		
+		this.capacity = capacity;
+		stages = new ArrayList<PipelineStage<T>>();
+		threadCounts = new ArrayList<Integer>();
+		queues = new ArrayList<BlockingQueue<Object>>();
+		runningThreads = new ArrayList<AtomicInteger>();
+		processedCounts = new ArrayList<AtomicInteger>();
+		submittedCount = new AtomicInteger(0);
+		futures = new ArrayList<Future<?>>();
+	}
+	
+	
+	
+	
+	
+	
+	/*------------------------------------------------------------------------------------------------------------------------------
+	*			FUNCTIONS
+	*------------------------------------------------------------------------------------------------------------------------------*/
+	/**adds a stage after the last one
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param stage - stage to add
+	 * @param threadCount - number of threads that run the stage
+	 */
+	public void addStage(final PipelineStage<T> stage, final int threadCount)
+	{
+		if(executor != null)
+		{
+			throw new IllegalStateException("stages cannot be added after the executor is started");
+		}
+		if(stage == null || threadCount < 1)
+		{
+			throw new IllegalArgumentException("stage cannot be null and thread count must be positive");
+		}
+		
+		stages.add(stage);
+		threadCounts.add(threadCount);
+		queues.add(new ArrayBlockingQueue<Object>(capacity));
+		runningThreads.add(new AtomicInteger(threadCount));
+		processedCounts.add(new AtomicInteger(0));
+	}
+	
+	
+	
+	
+	
+	/**starts the threads of all the stages
+	 * 
+	 * @author erhan sezerer
+	 */
+	public void start()
+	{
+		int total = 0;
+		
+		if(stages.isEmpty())
+		{
+			throw new IllegalStateException("there are no stages to start");
+		}
+		
+		for(int i=0; i<stages.size(); i++)
+		{
+			total += threadCounts.get(i);
+		}
+		executor = Executors.newFixedThreadPool(total);
+		
+		for(int i=0; i<stages.size(); i++)
+		{
+			final int index = i;
+			
+			for(int j=0; j<threadCounts.get(i); j++)
+			{
+				futures.add(executor.submit(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						work(index);
+					}
+				}));
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/**passes an item to the first stage, blocks while its queue is full
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param item - item to process
+	 * 
+	 * @throws InterruptedException - if the thread is interrupted while waiting
+	 */
+	public void submit(final T item) throws InterruptedException
+	{
+		queues.get(0).put(item);
+		submittedCount.incrementAndGet();
+	}
+	
+	
+	
+	
+	
+	/**waits until all of the submitted items pass through the stages and stops the threads. 
+	 * Nothing can be submitted after it is called.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @throws InterruptedException - if the thread is interrupted while waiting
+	 * @throws ExecutionException - if a thread of a stage ends with an error
+	 */
+	public void finish() throws InterruptedException, ExecutionException
+	{
+		closeStage(0);
+		
+		//futures are in the order of the stages, so a failed stage is reported before waiting for the ones after it
+		for(int i=0; i<futures.size(); i++)
+		{
+			futures.get(i).get();
+		}
+		
+		executor.shutdown();
+	}
+	
+	
+	
+	
+	
+	/**stops the threads without waiting for the items in the stages, does nothing if they are already stopped
+	 * 
+	 * @author erhan sezerer
+	 */
+	public void close()
+	{
+		if(executor != null)
+		{
+			executor.shutdownNow();
+		}
+	}
+	
+	
+	
+	
+	
+	/**takes the items from the queue of a stage and processes them until the stage is closed
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param index - index of the stage
+	 */
+	@SuppressWarnings("unchecked")
+	private void work(final int index)
+	{
+		PipelineStage<T> stage = stages.get(index);
+		BlockingQueue<Object> queue = queues.get(index);
+		boolean last = (index == stages.size() - 1);
+		Object item;
+		
+		try
+		{
+			while((item = queue.take()) != END_OF_STREAM)
+			{
+				if(process(stage, (T) item))
+				{
+					processedCounts.get(index).incrementAndGet();
+					
+					if(!last)
+					{
+						queues.get(index + 1).put(item);
+					}
+				}
+			}
+			
+			//the last thread that leaves the stage closes the next one
+			if(runningThreads.get(index).decrementAndGet() == 0 && !last)
+			{
+				closeStage(index + 1);
+			}
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	
+	
+	
+	
+	/**processes an item with the given stage, errors only drop the item so that the rest of the items can go on
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param stage - stage to run
+	 * @param item - item to process
+	 * 
+	 * @return boolean - true if the item is passed to the next stage
+	 */
+	private boolean process(final PipelineStage<T> stage, final T item)
+	{
+		boolean retVal = false;
+		
+		try
+		{
+			retVal = stage.process(item);
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**puts an end of stream mark to the queue of a stage for each of its threads
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param index - index of the stage
+	 * 
+	 * @throws InterruptedException - if the thread is interrupted while waiting
+	 */
+	private void closeStage(final int index) throws InterruptedException
+	{
+		for(int i=0; i<threadCounts.get(index); i++)
+		{
+			queues.get(index).put(END_OF_STREAM);
+		}
+	}
+	
+	
+	
+	
+	
+	/*------------------------------------------------------------------------------------------------------------------------------
+	*			setters and getters
+	*------------------------------------------------------------------------------------------------------------------------------*/
+	public int getStageCount()
+	{
+		return stages.size();
+	}
+	
+	public int getSubmittedCount()
+	{
+		return submittedCount.get();
+	}
+	
+	/**returns the number of items that are processed by the stage and passed to the next one
+	 * 
+	 * @param index - index of the stage
+	 */
+	public int getProcessedCount(final int index)
+	{
+		return processedCounts.get(index).get();
+	}
+	
+	public int getCapacity()
+	{
+		return capacity;
+	}
+	
+}
@@ -0,0 +1,164 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pipeline;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import com.darg.NLPOperations.pos.ParallelDocumentTagger;
+import com.darg.NLPOperations.pos.corpus.TaggedCorpusWriter;
+import com.darg.NLPOperations.pos.model.TaggedSentence;
+import com.darg.NLPOperations.utils.TaggedArticle;
+import com.darg.fileOperations.utils.FileUtils;
+
+
+
+/**tags the text of an article with the taggers of a pool, the long ones are split and tagged in parallel (see ParallelDocumentTagger), and writes the tagged text to a _POS file if a destination is given.
+ * If there is no destination, the tagged sentences are kept instead of the tagged text, and they are written to a binary corpus if one is given.
+ * Articles that are already tagged in an earlier run get their tagged text from their _POS file instead of being tagged again.
+ * The text of the article is released after it is tagged.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class TagStage implements PipelineStage<TaggedArticle>
+{
+	private ParallelDocumentTagger tagger;
+	private String outputFolder; //null if the _POS files are not written
+	private TaggedCorpusWriter corpus; //null if the binary corpus is not written
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private TagStage()
+	{
+		
+	}
+	public TagStage(final ParallelDocumentTagger tagger, final String outputFolder) 
+	{
+		this.tagger = tagger;
+		this.outputFolder = outputFolder;
+	}
+	public TagStage(final ParallelDocumentTagger tagger, final TaggedCorpusWriter corpus) 
+	{
+		this.tagger = tagger;
+		this.corpus = corpus;
+	}
+	
+	
+	
+	
+	
+	@Override
+	public boolean process(final TaggedArticle item) throws Exception
+	{
+		if(item.getTaggedFile() != null)
+		{
+			String taggedString = FileUtils.readFile(item.getTaggedFile().getCanonicalPath());
+			
+			if(taggedString == null || taggedString.isEmpty())
+			{
+				throw new Exception("Cannot read the tagged text! -> " + item.getTaggedFile().getName());
+			}
+			
+			item.setTaggedText(taggedString);
+		}
+		else if(outputFolder == null)
+		{
+			//nothing is written, so the sentences are taken from the tagger without building a tagged string
+			ArrayList<TaggedSentence> sentences = tagger.tagText(item.getText());
+			
+			if(sentences == null || sentences.isEmpty())
+			{
+				throw new Exception("Cannot tag the text! -> " + item.getName());
+			}
+			
+			if(corpus != null)
+			{
+				corpus.writeArticle(item.getDocID(), item.getName(), sentences);
+			}
+			
+			item.setTaggedSentences(sentences);
+		}
+		else
+		{
+			//tag the string
+			String taggedString = tagger.tagString(item.getText());
+			
+			
+			//check the results for error
+			if(taggedString == null || taggedString.isEmpty())
+			{
+				throw new Exception("Cannot tag the text! -> " + item.getName());
+			}
+			
+			
+			//save the tagged string to a file in the output folder 
+			FileUtils.writeFile(getPosFile(outputFolder, item.getDocID(), item.getName()), taggedString);
+			
+			item.setTaggedText(taggedString);
+		}
+		
+		item.setText(null);
+		
+		return true;
+	}
+	
+	
+	
+	
+	
+	/**returns the _POS file of an article, the files are kept in subfolders of 1000 articles by their docIDs
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param outputFolder - folder of the _POS files
+	 * @param docID - docID of the article
+	 * @param name - name of the article
+	 * 
+	 * @return File - _POS file of the article
+	 */
+	public static File getPosFile(final String outputFolder, final int docID, final String name)
+	{
+		return new File(outputFolder + File.separator + docID/1000, name + "_POS");
+	}
+	
+	
+	
+	
+	
+	//setters and getters
+	public ParallelDocumentTagger getTagger() 
+	{
+		return tagger;
+	}
+	
+	public String getOutputFolder() 
+	{
+		return outputFolder;
+	}
+	
+	public TaggedCorpusWriter getCorpus() 
+	{
+		return corpus;
+	}
+	
+}
@@ -20,8 +20,19 @@
 package com.darg.NLPOperations.pos;
 
 
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.darg.NLPOperations.pos.model.TaggedSentence;
+import com.darg.NLPOperations.pos.model.TaggedWord;
+import com.darg.NLPOperations.pos.util.POSTagEnglish;
+import com.darg.NLPOperations.tokenizer.Tokenizer;
+import com.darg.documentParser.model.ArticleAbstract;
 import com.darg.fileOperations.utils.FileUtils;
 
+import edu.stanford.nlp.ling.HasWord;
+import edu.stanford.nlp.ling.Word;
 import edu.stanford.nlp.tagger.maxent.MaxentTagger;
 
 
@@ -44,6 +55,15 @@ public class POSTagger
 		this.modelPath = modelPath;
 		tagger = new MaxentTagger(modelPath);
 	}
+	/**creates a tagger that uses the model of the given tagger instead of loading it again
+	 * 
+	 * @param other - a tagger whose model is already loaded
+	 */
+	public POSTagger(final POSTagger other) 
+	{
+		this.modelPath = other.modelPath;
+		this.tagger = other.tagger;
+	}
 
 	
 	
@@ -69,6 +89,158 @@ public class POSTagger
 	
 	
 	
+	/**tags the given sentences with a single call to the tagger, so that the cost of a call is shared by all of them. 
+	 * Each string is tokenized as one sentence, it is not split any further.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param sentences - sentences to tag
+	 * 
+	 * @return ArrayList<TaggedSentence> - a tagged sentence for each of the given sentences in the same order, 
+	 * 									   empty for the empty ones. null if the list is null
+	 */
+	public ArrayList<TaggedSentence> tagSentences(final List<String> sentences)
+	{
+		ArrayList<TaggedSentence> retVal = null;
+		ArrayList<ArrayList<Word>> tokens = new ArrayList<ArrayList<Word>>();
+		ArrayList<List<Word>> nonEmpty = new ArrayList<List<Word>>();
+		
+		if(sentences != null)
+		{
+			for(String sentence : sentences)
+			{
+				ArrayList<Word> words = Tokenizer.tokenizeString(sentence, true);
+				
+				if(words == null)
+				{
+					words = new ArrayList<Word>();
+				}
+				else if(!words.isEmpty())
+				{
+					nonEmpty.add(words);
+				}
+				tokens.add(words);
+			}
+			
+			
+			List<? extends List<edu.stanford.nlp.ling.TaggedWord>> tagged = tagger.process(nonEmpty);
+			int next = 0;
+			
+			//the empty sentences are not given to the tagger, put empty ones to their places
+			retVal = new ArrayList<TaggedSentence>(tokens.size());
+			for(int i=0; i<tokens.size(); i++)
+			{
+				if(tokens.get(i).isEmpty())
+				{
+					retVal.add(new TaggedSentence());
+				}
+				else
+				{
+					retVal.add(toTaggedSentence(tagged.get(next)));
+					next++;
+				}
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**tags the headline and the body of an article, see tagText()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param article - a parsed article
+	 * 
+	 * @return ArrayList<TaggedSentence> - tagged sentences of the article, null if the article is null
+	 */
+	public ArrayList<TaggedSentence> tagDocument(final ArticleAbstract article)
+	{
+		ArrayList<TaggedSentence> retVal = null;
+		
+		if(article != null)
+		{
+			retVal = tagText(article.getHeadline() + "\n" + article.getBody());
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**tags a text and returns its sentences directly from the tokens of the tagger, instead of writing 
+	 * them to a string as tagString() does and splitting them again. The text is split into sentences by the tagger.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a string to apply POS tagging
+	 * 
+	 * @return ArrayList<TaggedSentence> - tagged sentences, the empty ones are skipped. null if the text is null
+	 */
+	public ArrayList<TaggedSentence> tagText(final String text)
+	{
+		ArrayList<TaggedSentence> retVal = null;
+		
+		if(text != null)
+		{
+			retVal = new ArrayList<TaggedSentence>();
+			
+			List<List<HasWord>> tokens = MaxentTagger.tokenizeText(new StringReader(text));
+			List<? extends List<edu.stanford.nlp.ling.TaggedWord>> tagged = tagger.process(tokens);
+			
+			for(List<edu.stanford.nlp.ling.TaggedWord> words : tagged)
+			{
+				TaggedSentence sentence = toTaggedSentence(words);
+				
+				if(!sentence.getWords().isEmpty())
+				{
+					retVal.add(sentence);
+				}
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**converts the tokens of the tagger to a tagged sentence. The tokens whose tags are not known are skipped, 
+	 * same as TaggedWord.setPair() does for the tagged strings.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param words - tagged tokens of a sentence
+	 * 
+	 * @return TaggedSentence - the sentence, may be empty
+	 */
+	private static TaggedSentence toTaggedSentence(final List<edu.stanford.nlp.ling.TaggedWord> words)
+	{
+		TaggedSentence retVal = new TaggedSentence();
+		
+		for(edu.stanford.nlp.ling.TaggedWord word : words)
+		{
+			POSTagEnglish tag = POSTagEnglish.findTag(word.tag());
+			
+			if(tag != null && word.word() != null && word.word().length() != 0)
+			{
+				retVal.appendToSentence(new TaggedWord(word.word(), tag, word.tag()));
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
 	/**writes the given tagged string to a file
 	 * Deprecated: use FileUtils.writeFile() instead
 	 * 
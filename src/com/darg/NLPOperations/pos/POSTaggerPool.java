@@ -0,0 +1,334 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.darg.NLPOperations.pos.model.TaggedSentence;
+import com.darg.documentParser.model.ArticleAbstract;
+
+
+
+/**a fixed size pool of POSTaggers that can be used by many threads. A thread checks out a tagger, 
+ * tags its text and releases it, and waits if all of the taggers are in use. The time spent waiting 
+ * is recorded, so that the pool size can be compared with the number of tagging threads.
+ * 
+ * The model is loaded once and shared by all of the taggers if shareModel is true, since the weights
+ * are only read while tagging. Otherwise every tagger loads its own copy of the model, which takes
+ * size times more memory.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class POSTaggerPool 
+{
+	private String modelPath;
+	private int size;
+	private boolean shareModel;
+	private BlockingQueue<POSTagger> taggers;
+	
+	private AtomicLong checkoutCount;
+	private AtomicLong waitTime; //in nanoseconds
+	private AtomicLong maxWaitTime; //in nanoseconds
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private POSTaggerPool()
+	{
+		
+	}
+	public POSTaggerPool(final String modelPath, final int size) 
+	{
+		this(modelPath, size, true);
+	}
+	public POSTaggerPool(final String modelPath, final int size, final boolean shareModel) 
+	{
+		if(size < 1)
+		{
+			throw new IllegalArgumentException("pool size must be positive");
+		}
+		
+		this.modelPath = modelPath;
+		this.size = size;
+		this.shareModel = shareModel;
+		taggers = new ArrayBlockingQueue<POSTagger>(size);
+		checkoutCount = new AtomicLong(0);
+		waitTime = new AtomicLong(0);
+		maxWaitTime = new AtomicLong(0);
+		
+		POSTagger first = new POSTagger(modelPath);
+		taggers.add(first);
+		
+		for(int i=1; i<size; i++)
+		{
+			if(shareModel)
+			{
+				taggers.add(new POSTagger(first));
+			}
+			else
+			{
+				taggers.add(new POSTagger(modelPath));
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//						FUNCTIONS
+	/*-----------------------------------------------------------------------------------------------*/
+	/**takes a tagger from the pool, waits until one is released if all of them are in use. 
+	 * The tagger must be given back with release()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return POSTagger - a tagger that is not used by any other thread
+	 * 
+	 * @throws InterruptedException - if the thread is interrupted while waiting
+	 */
+	public POSTagger checkout() throws InterruptedException
+	{
+		long start = System.nanoTime();
+		POSTagger retVal = taggers.take();
+		long waited = System.nanoTime() - start;
+		
+		checkoutCount.incrementAndGet();
+		waitTime.addAndGet(waited);
+		
+		long max = maxWaitTime.get();
+		while(waited > max && !maxWaitTime.compareAndSet(max, waited))
+		{
+			max = maxWaitTime.get();
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**gives a tagger back to the pool
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param tagger - a tagger taken with checkout()
+	 */
+	public void release(final POSTagger tagger)
+	{
+		if(tagger == null || !taggers.offer(tagger))
+		{
+			throw new IllegalArgumentException("tagger does not belong to the pool");
+		}
+	}
+	
+	
+	
+	
+	
+	/**tags a text with one of the taggers in the pool, see POSTagger.tagString()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a string to apply POS tagging
+	 * 
+	 * @return string- tagged text
+	 * 
+	 * @throws InterruptedException - if the thread is interrupted while waiting for a tagger
+	 */
+	public String tagString(final String text) throws InterruptedException
+	{
+		String retVal = null;
+		POSTagger tagger = checkout();
+		
+		try
+		{
+			retVal = tagger.tagString(text);
+		}
+		finally
+		{
+			release(tagger);
+		}
+		
+		return retVal;
+	}
+
+	
+	
+	
+	
+	
+	/**tags the given sentences in a single call with one of the taggers in the pool, see POSTagger.tagSentences()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param sentences - sentences to tag
+	 * 
+	 * @return ArrayList<TaggedSentence> - a tagged sentence for each of the given sentences
+	 * 
+	 * @throws InterruptedException - if the thread is interrupted while waiting for a tagger
+	 */
+	public ArrayList<TaggedSentence> tagSentences(final List<String> sentences) throws InterruptedException
+	{
+		ArrayList<TaggedSentence> retVal = null;
+		POSTagger tagger = checkout();
+		
+		try
+		{
+			retVal = tagger.tagSentences(sentences);
+		}
+		finally
+		{
+			release(tagger);
+		}
+		
+		return retVal;
+	}
+
+	
+	
+	
+	
+	
+	/**tags a text into sentences with one of the taggers in the pool, see POSTagger.tagText()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a string to apply POS tagging
+	 * 
+	 * @return ArrayList<TaggedSentence> - tagged sentences of the text
+	 * 
+	 * @throws InterruptedException - if the thread is interrupted while waiting for a tagger
+	 */
+	public ArrayList<TaggedSentence> tagText(final String text) throws InterruptedException
+	{
+		ArrayList<TaggedSentence> retVal = null;
+		POSTagger tagger = checkout();
+		
+		try
+		{
+			retVal = tagger.tagText(text);
+		}
+		finally
+		{
+			release(tagger);
+		}
+		
+		return retVal;
+	}
+
+	
+	
+	
+	
+	
+	/**tags the headline and the body of an article with one of the taggers in the pool, see POSTagger.tagDocument()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param article - a parsed article
+	 * 
+	 * @return ArrayList<TaggedSentence> - tagged sentences of the article
+	 * 
+	 * @throws InterruptedException - if the thread is interrupted while waiting for a tagger
+	 */
+	public ArrayList<TaggedSentence> tagDocument(final ArticleAbstract article) throws InterruptedException
+	{
+		ArrayList<TaggedSentence> retVal = null;
+		POSTagger tagger = checkout();
+		
+		try
+		{
+			retVal = tagger.tagDocument(article);
+		}
+		finally
+		{
+			release(tagger);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//setters and getters
+	/*-----------------------------------------------------------------------------------------------*/
+	public String getModelPath() 
+	{
+		return modelPath;
+	}
+	
+	public int getSize() 
+	{
+		return size;
+	}
+	
+	public boolean isShareModel() 
+	{
+		return shareModel;
+	}
+	
+	/**returns the number of the taggers that are not checked out at the moment
+	 */
+	public int getAvailableCount() 
+	{
+		return taggers.size();
+	}
+	
+	public long getCheckoutCount() 
+	{
+		return checkoutCount.get();
+	}
+	
+	/**returns the total time that the threads waited for a tagger in milliseconds
+	 */
+	public double getWaitTime() 
+	{
+		return waitTime.get() / 1e6d;
+	}
+	
+	/**returns the longest time that a thread waited for a tagger in milliseconds
+	 */
+	public double getMaxWaitTime() 
+	{
+		return maxWaitTime.get() / 1e6d;
+	}
+	
+	/**returns the average time that a checkout took in milliseconds, 0 if there are no checkouts
+	 */
+	public double getAverageWaitTime() 
+	{
+		long count = checkoutCount.get();
+		
+		return count == 0 ? 0 : waitTime.get() / 1e6d / count;
+	}
+	
+}
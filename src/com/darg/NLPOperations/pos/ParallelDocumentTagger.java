@@ -0,0 +1,495 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pos;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.darg.NLPOperations.pos.model.TaggedSentence;
+
+
+
+/**tags the texts with the taggers of a pool, and splits the long ones into chunks of sentences which are tagged 
+ * in parallel by a fork/join pool and put back together in order. Otherwise a single long article is tagged by 
+ * one thread while the other taggers of the pool sit idle at the end of a run.
+ * 
+ * A text longer than the chunk threshold is cut at the first end of a sentence (.!? followed by a whitespace) after
+ * every chunk threshold characters. The tagger tags each sentence on its own, so the results are
+ * the same with tagging the whole text unless a cut falls inside a sentence of the tagger (i.e. after an abbreviation),
+ * in which case that sentence is tagged as two.
+ * 
+ * If a cache is set (see TaggedTextCache), the texts are looked up in the cache before they are split and tagged,
+ * and the results are added to it.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class ParallelDocumentTagger 
+{
+	private POSTaggerPool taggers;
+	private int chunkThreshold; //in characters, 0 if the texts are never split
+	private ForkJoinPool forkJoinPool;
+	private TaggedTextCache cache; //null if the texts are always tagged
+	
+	private AtomicLong splitCount;
+	private AtomicLong chunkCount;
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private ParallelDocumentTagger()
+	{
+		
+	}
+	public ParallelDocumentTagger(final POSTaggerPool taggers, final int chunkThreshold) 
+	{
+		if(taggers == null || chunkThreshold < 0)
+		{
+			throw new IllegalArgumentException("pool cannot be null and chunk threshold cannot be negative");
+		}
+		
+		this.taggers = taggers;
+		this.chunkThreshold = chunkThreshold;
+		forkJoinPool = new ForkJoinPool(taggers.getSize());
+		splitCount = new AtomicLong(0);
+		chunkCount = new AtomicLong(0);
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//						FUNCTIONS
+	/*-----------------------------------------------------------------------------------------------*/
+	/**tags a text, see POSTagger.tagString(). The tagged chunks are appended in order.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a string to apply POS tagging
+	 * 
+	 * @return string- tagged text, null if any of the chunks cannot be tagged
+	 * 
+	 * @throws InterruptedException - if the thread is interrupted while waiting for a tagger
+	 */
+	public String tagString(final String text) throws InterruptedException
+	{
+		String retVal = null;
+		
+		if(cache != null && text != null)
+		{
+			retVal = cache.getTaggedString(text);
+			
+			if(retVal == null)
+			{
+				retVal = tagStringChunks(text);
+				
+				if(retVal != null)
+				{
+					cache.putTaggedString(text, retVal);
+				}
+			}
+		}
+		else
+		{
+			retVal = tagStringChunks(text);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**tags a text into sentences, see POSTagger.tagText(). The sentences of the chunks are appended in order.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a string to apply POS tagging
+	 * 
+	 * @return ArrayList<TaggedSentence> - tagged sentences, null if the text is null or any of the chunks cannot be tagged
+	 * 
+	 * @throws InterruptedException - if the thread is interrupted while waiting for a tagger
+	 */
+	public ArrayList<TaggedSentence> tagText(final String text) throws InterruptedException
+	{
+		ArrayList<TaggedSentence> retVal = null;
+		
+		if(cache != null && text != null)
+		{
+			retVal = cache.getTaggedSentences(text);
+			
+			if(retVal == null)
+			{
+				retVal = tagTextChunks(text);
+				
+				if(retVal != null)
+				{
+					cache.putTaggedSentences(text, retVal);
+				}
+			}
+		}
+		else
+		{
+			retVal = tagTextChunks(text);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**splits a text into chunks if it is long and tags them into a string, see tagString()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a string to apply POS tagging
+	 * 
+	 * @return string- tagged text, null if any of the chunks cannot be tagged
+	 * 
+	 * @throws InterruptedException - if the thread is interrupted while waiting for a tagger
+	 */
+	private String tagStringChunks(final String text) throws InterruptedException
+	{
+		String retVal = null;
+		ArrayList<String> chunks = splitText(text, chunkThreshold);
+		
+		if(chunks == null || chunks.size() == 1)
+		{
+			retVal = taggers.tagString(text);
+		}
+		else
+		{
+			Object[] results = tagChunks(chunks, true);
+			StringBuilder builder = new StringBuilder();
+			
+			//the tagger ends each sentence with a space, so the chunks are appended without a separator
+			for(int i=0; i<results.length && builder != null; i++)
+			{
+				if(results[i] == null)
+				{
+					builder = null;
+				}
+				else
+				{
+					builder.append((String)results[i]);
+				}
+			}
+			
+			if(builder != null)
+			{
+				retVal = builder.toString();
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**splits a text into chunks if it is long and tags them into sentences, see tagText()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a string to apply POS tagging
+	 * 
+	 * @return ArrayList<TaggedSentence> - tagged sentences, null if the text is null or any of the chunks cannot be tagged
+	 * 
+	 * @throws InterruptedException - if the thread is interrupted while waiting for a tagger
+	 */
+	@SuppressWarnings("unchecked")
+	private ArrayList<TaggedSentence> tagTextChunks(final String text) throws InterruptedException
+	{
+		ArrayList<TaggedSentence> retVal = null;
+		ArrayList<String> chunks = splitText(text, chunkThreshold);
+		
+		if(chunks == null || chunks.size() == 1)
+		{
+			retVal = taggers.tagText(text);
+		}
+		else
+		{
+			Object[] results = tagChunks(chunks, false);
+			retVal = new ArrayList<TaggedSentence>();
+			
+			for(int i=0; i<results.length && retVal != null; i++)
+			{
+				if(results[i] == null)
+				{
+					retVal = null;
+				}
+				else
+				{
+					retVal.addAll((ArrayList<TaggedSentence>)results[i]);
+				}
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**tags the chunks with the fork/join pool and waits for all of them
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param chunks - chunks of a text in order
+	 * @param asString - true to tag them with tagString(), false to tag them with tagText()
+	 * 
+	 * @return Object[] - result of each chunk in the same order, null for the ones that cannot be tagged
+	 * 
+	 * @throws InterruptedException - if the thread is interrupted while waiting for the chunks or a chunk is interrupted
+	 */
+	private Object[] tagChunks(final ArrayList<String> chunks, final boolean asString) throws InterruptedException
+	{
+		Object[] retVal = new Object[chunks.size()];
+		
+		splitCount.incrementAndGet();
+		chunkCount.addAndGet(chunks.size());
+		
+		ForkJoinTask<Void> task = forkJoinPool.submit(new ChunkAction(chunks, retVal, 0, chunks.size(), asString));
+		
+		try
+		{
+			task.get();
+		}
+		catch(ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			
+			//the fork/join pool wraps the exceptions of the chunks, find out whether one of them is interrupted
+			while(cause != null && !(cause instanceof InterruptedException))
+			{
+				cause = cause.getCause();
+			}
+			
+			//a chunk that is interrupted fails the whole text, instead of leaving a hole in the results
+			if(cause != null)
+			{
+				throw new InterruptedException("interrupted while tagging the chunks");
+			}
+			else if(e.getCause() instanceof RuntimeException)
+			{
+				throw (RuntimeException) e.getCause();
+			}
+			else
+			{
+				throw new RuntimeException(e.getCause());
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**splits a text into chunks of whole sentences. A chunk is cut at the first end of a sentence 
+	 * after threshold characters, so it is longer than the threshold only by a sentence.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a string to split
+	 * @param threshold - minimum length of a chunk in characters, the text is not split if it is 0
+	 * 
+	 * @return ArrayList<String> - chunks of the text in order, a single chunk if the text is not longer than the threshold. 
+	 * 							   null if the text is null
+	 */
+	public static ArrayList<String> splitText(final String text, final int threshold)
+	{
+		ArrayList<String> retVal = null;
+		int start = 0;
+		
+		if(text != null)
+		{
+			retVal = new ArrayList<String>();
+			
+			if(threshold > 0)
+			{
+				int length = text.length();
+				
+				while(length - start > threshold)
+				{
+					int end = -1;
+					
+					for(int i=start+threshold-1; i<length-1 && end == -1; i++)
+					{
+						char c = text.charAt(i);
+						
+						if((c == '.' || c == '!' || c == '?') && Character.isWhitespace(text.charAt(i+1)))
+						{
+							end = i+1;
+						}
+					}
+					
+					if(end == -1)
+					{
+						break;
+					}
+					
+					retVal.add(text.substring(start, end));
+					start = end;
+				}
+			}
+			
+			retVal.add(text.substring(start));
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**stops the threads of the fork/join pool, the pool of the taggers is not affected
+	 * 
+	 * @author erhan sezerer
+	 */
+	public void shutdown()
+	{
+		forkJoinPool.shutdown();
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//setters and getters
+	/*-----------------------------------------------------------------------------------------------*/
+	public POSTaggerPool getTaggers() 
+	{
+		return taggers;
+	}
+	
+	public int getChunkThreshold() 
+	{
+		return chunkThreshold;
+	}
+	
+	public TaggedTextCache getCache() 
+	{
+		return cache;
+	}
+	
+	/**sets the cache of the tagged texts, should be set before the texts are tagged
+	 * 
+	 * @param cache - a cache, or null to always tag the texts
+	 */
+	public void setCache(final TaggedTextCache cache) 
+	{
+		this.cache = cache;
+	}
+	
+	/**returns the number of texts that are split into chunks
+	 */
+	public long getSplitCount() 
+	{
+		return splitCount.get();
+	}
+	
+	/**returns the total number of chunks of the split texts
+	 */
+	public long getChunkCount() 
+	{
+		return chunkCount.get();
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//						TASKS
+	/*-----------------------------------------------------------------------------------------------*/
+	/**tags the chunks in [start, end) by splitting the range in half until a single chunk is left
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	@SuppressWarnings("serial")
+	private class ChunkAction extends RecursiveAction
+	{
+		private ArrayList<String> chunks;
+		private Object[] results;
+		private int start;
+		private int end;
+		private boolean asString;
+		
+		
+		public ChunkAction(final ArrayList<String> chunks, final Object[] results, final int start, final int end, final boolean asString) 
+		{
+			this.chunks = chunks;
+			this.results = results;
+			this.start = start;
+			this.end = end;
+			this.asString = asString;
+		}
+		
+		
+		@Override
+		protected void compute()
+		{
+			if(end - start == 1)
+			{
+				try
+				{
+					if(asString)
+					{
+						results[start] = taggers.tagString(chunks.get(start));
+					}
+					else
+					{
+						results[start] = taggers.tagText(chunks.get(start));
+					}
+				}
+				catch(InterruptedException e)
+				{
+					//keep the interrupt of the worker, and pass the failure to the thread waiting in tagChunks()
+					Thread.currentThread().interrupt();
+					completeExceptionally(e);
+				}
+			}
+			else
+			{
+				int middle = (start + end) / 2;
+				
+				invokeAll(new ChunkAction(chunks, results, start, middle, asString), 
+						  new ChunkAction(chunks, results, middle, end, asString));
+			}
+		}
+	}
+	
+}
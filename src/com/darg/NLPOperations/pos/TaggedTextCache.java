@@ -0,0 +1,578 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pos;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.darg.NLPOperations.pos.model.TaggedSentence;
+import com.darg.NLPOperations.pos.model.TaggedWord;
+import com.darg.NLPOperations.pos.util.POSTagEnglish;
+import com.darg.utils.StringUtils;
+
+
+
+/**a cache of the tagged texts, so that the same text is tagged only once even if it appears in many articles
+ * (i.e. reprints, corrections or the articles that are in both corpora) or in many runs. The texts are looked up 
+ * by a SHA-256 hash of the model path and the text, in which every run of whitespaces is replaced with a single space.
+ * 
+ * The tagged texts are kept in a directory, one file for each text named after its hash and placed in a subfolder 
+ * named after the first two characters of the hash. The recently used ones are also kept in the memory (least recently 
+ * used ones are removed first) up to the given number of characters. A directory is not needed if the cache is only used in one run.
+ * Only the memory is bounded: nothing is ever removed from the directory, so it grows by one file for every text 
+ * that is tagged with a model (about the size of the tagged text) and must be deleted by hand when it is too large 
+ * or when the models are not used anymore. Deleting it while no cache uses it is always safe.
+ * 
+ * The tagged sentences are kept as one token per line (word, tab, tag string) with an empty line after each sentence.
+ * 
+ * The functions are thread safe. Errors of the directory are printed and only cause a miss.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class TaggedTextCache 
+{
+	public static final long DEFAULT_MEMORY_CAPACITY = 32L*1024*1024; //in characters
+	
+	private File directory; //null if the texts are only kept in the memory
+	private String modelPath;
+	private long memoryCapacity;
+	private long memorySize;
+	private LinkedHashMap<String, String> memory; //in the order of access, the first one is the least recently used
+	
+	private long memoryHits;
+	private long diskHits;
+	private long misses;
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private TaggedTextCache()
+	{
+		
+	}
+	public TaggedTextCache(final String directory, final String modelPath) 
+	{
+		this(directory, modelPath, DEFAULT_MEMORY_CAPACITY);
+	}
+	public TaggedTextCache(final String directory, final String modelPath, final long memoryCapacity) 
+	{
+		if(modelPath == null || memoryCapacity < 0)
+		{
+			throw new IllegalArgumentException("model path cannot be null and memory capacity cannot be negative");
+		}
+		
+		this.directory = (directory != null) ? new File(directory) : null;
+		this.modelPath = modelPath;
+		this.memoryCapacity = memoryCapacity;
+		memory = new LinkedHashMap<String, String>(16, 0.75f, true);
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//						FUNCTIONS
+	/*-----------------------------------------------------------------------------------------------*/
+	/**returns the tagged string of a text, see POSTagger.tagString()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - text that is tagged
+	 * 
+	 * @return String - tagged string, null if the text is not in the cache
+	 */
+	public String getTaggedString(final String text)
+	{
+		return get(getKey(text, false));
+	}
+	
+	
+	
+	
+	
+	/**adds the tagged string of a text, see POSTagger.tagString()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - text that is tagged
+	 * @param taggedString - tagged string of the text
+	 */
+	public void putTaggedString(final String text, final String taggedString)
+	{
+		put(getKey(text, false), taggedString);
+	}
+	
+	
+	
+	
+	
+	/**returns the tagged sentences of a text, see POSTagger.tagText()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - text that is tagged
+	 * 
+	 * @return ArrayList<TaggedSentence> - tagged sentences, null if the text is not in the cache
+	 */
+	public ArrayList<TaggedSentence> getTaggedSentences(final String text)
+	{
+		ArrayList<TaggedSentence> retVal = null;
+		String value = get(getKey(text, true));
+		
+		if(value != null)
+		{
+			retVal = decodeSentences(value);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**adds the tagged sentences of a text, see POSTagger.tagText(). The sentences are not added if any of 
+	 * the words contains a tab or a new line.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - text that is tagged
+	 * @param sentences - tagged sentences of the text
+	 */
+	public void putTaggedSentences(final String text, final ArrayList<TaggedSentence> sentences)
+	{
+		String value = encodeSentences(sentences);
+		
+		if(value != null)
+		{
+			put(getKey(text, true), value);
+		}
+	}
+	
+	
+	
+	
+	
+	/**replaces every run of whitespaces in a text with a single space and removes the ones at the ends, 
+	 * the tagger gives the same result for the texts that are only different in whitespaces
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - text to normalize
+	 * 
+	 * @return String - normalized text
+	 */
+	public static String normalize(final String text)
+	{
+		StringBuilder builder = new StringBuilder(text.length());
+		boolean space = false;
+		
+		for(int i=0; i<text.length(); i++)
+		{
+			char c = text.charAt(i);
+			
+			if(Character.isWhitespace(c))
+			{
+				space = (builder.length() != 0);
+			}
+			else
+			{
+				if(space)
+				{
+					builder.append(' ');
+					space = false;
+				}
+				builder.append(c);
+			}
+		}
+		
+		return builder.toString();
+	}
+	
+	
+	
+	
+	
+	/**computes the key of a text, which is the hash of the model path, the type of the result and the normalized text
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - text that is tagged
+	 * @param sentences - true for the tagged sentences, false for the tagged string
+	 * 
+	 * @return String - SHA-256 hash as a hexadecimal string
+	 */
+	private String getKey(final String text, final boolean sentences)
+	{
+		MessageDigest digest;
+		
+		try
+		{
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch(NoSuchAlgorithmException e)
+		{
+			//every java platform has SHA-256
+			throw new IllegalStateException(e);
+		}
+		
+		digest.update(modelPath.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte)0);
+		digest.update((byte)(sentences ? 'S' : 'T'));
+		digest.update((byte)0);
+		digest.update(normalize(text).getBytes(StandardCharsets.UTF_8));
+		
+		return StringUtils.toHexString(digest.digest());
+	}
+	
+	
+	
+	
+	
+	/**looks up a key in the memory and then in the directory, the ones found in the directory are kept in the memory
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param key - key of a text
+	 * 
+	 * @return String - value of the key, null if it is not found
+	 */
+	private String get(final String key)
+	{
+		String retVal;
+		
+		synchronized(this)
+		{
+			retVal = memory.get(key);
+			
+			if(retVal != null)
+			{
+				memoryHits++;
+			}
+		}
+		
+		if(retVal == null && directory != null)
+		{
+			File file = getFile(key);
+			
+			try
+			{
+				if(file.exists())
+				{
+					retVal = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+				}
+			}
+			catch(IOException e)
+			{
+				e.printStackTrace();
+			}
+			
+			if(retVal != null)
+			{
+				synchronized(this)
+				{
+					diskHits++;
+					keep(key, retVal);
+				}
+			}
+		}
+		
+		if(retVal == null)
+		{
+			synchronized(this)
+			{
+				misses++;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**adds a value to the memory and writes it to the directory. The file is written with another name and then renamed,
+	 * so that a file that is not completely written is never read.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param key - key of a text
+	 * @param value - value to keep
+	 */
+	private void put(final String key, final String value)
+	{
+		synchronized(this)
+		{
+			keep(key, value);
+		}
+		
+		if(directory != null)
+		{
+			File file = getFile(key);
+			File temp = new File(file.getParentFile(), key + "." + Thread.currentThread().getId() + ".tmp");
+			
+			try
+			{
+				if(!file.getParentFile().isDirectory() && !file.getParentFile().mkdirs() && !file.getParentFile().isDirectory())
+				{
+					throw new IOException("cannot create the directory: " + file.getParentFile().getAbsolutePath());
+				}
+				
+				Files.write(temp.toPath(), value.getBytes(StandardCharsets.UTF_8));
+				
+				try
+				{
+					Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+				}
+				catch(AtomicMoveNotSupportedException e)
+				{
+					Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+			catch(IOException e)
+			{
+				e.printStackTrace();
+				temp.delete();
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/**adds a value to the memory and removes the least recently used ones if the memory is over its capacity. 
+	 * Must be called while holding the lock of the cache.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param key - key of a text
+	 * @param value - value to keep
+	 */
+	private void keep(final String key, final String value)
+	{
+		long size = key.length() + value.length();
+		
+		if(size <= memoryCapacity)
+		{
+			String old = memory.put(key, value);
+			memorySize += size;
+			
+			if(old != null)
+			{
+				memorySize -= key.length() + old.length();
+			}
+			
+			Iterator<Map.Entry<String, String>> it = memory.entrySet().iterator();
+			while(memorySize > memoryCapacity && it.hasNext())
+			{
+				Map.Entry<String, String> eldest = it.next();
+				
+				memorySize -= eldest.getKey().length() + eldest.getValue().length();
+				it.remove();
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/**returns the file of a key in the directory
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param key - key of a text
+	 * 
+	 * @return File - file of the key
+	 */
+	private File getFile(final String key)
+	{
+		return new File(new File(directory, key.substring(0, 2)), key);
+	}
+	
+	
+	
+	
+	
+	/**writes the tagged sentences as one token per line and an empty line after each sentence
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param sentences - tagged sentences
+	 * 
+	 * @return String - encoded sentences, null if a word or a tag string contains a tab or a new line
+	 */
+	private static String encodeSentences(final ArrayList<TaggedSentence> sentences)
+	{
+		StringBuilder builder = new StringBuilder();
+		
+		for(int i=0; i<sentences.size() && builder != null; i++)
+		{
+			for(TaggedWord word : sentences.get(i).getWords())
+			{
+				if(!isSafe(word.getWord()) || !isSafe(word.getTagString()))
+				{
+					builder = null;
+					break;
+				}
+				
+				builder.append(word.getWord()).append('\t').append(word.getTagString()).append('\n');
+			}
+			
+			if(builder != null)
+			{
+				builder.append('\n');
+			}
+		}
+		
+		return (builder != null) ? builder.toString() : null;
+	}
+	
+	
+	
+	
+	
+	/**reads the sentences written by encodeSentences()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param value - encoded sentences
+	 * 
+	 * @return ArrayList<TaggedSentence> - tagged sentences
+	 */
+	private static ArrayList<TaggedSentence> decodeSentences(final String value)
+	{
+		ArrayList<TaggedSentence> retVal = new ArrayList<TaggedSentence>();
+		TaggedSentence sentence = new TaggedSentence();
+		int start = 0;
+		int end;
+		
+		while((end = value.indexOf('\n', start)) >= 0)
+		{
+			if(end == start)
+			{
+				retVal.add(sentence);
+				sentence = new TaggedSentence();
+			}
+			else
+			{
+				int tab = value.indexOf('\t', start);
+				String word = value.substring(start, tab);
+				POSTagEnglish tag = POSTagEnglish.findTag(value, tab + 1, end);
+				
+				if(tag != null)
+				{
+					//share the usual tag strings instead of keeping a copy for each token
+					String tagString = POSTagEnglish.getPennString(tag);
+					if(!tagString.contentEquals(value.subSequence(tab + 1, end)))
+					{
+						tagString = value.substring(tab + 1, end);
+					}
+					
+					sentence.appendToSentence(new TaggedWord(word, tag, tagString));
+				}
+			}
+			
+			start = end + 1;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**checks whether a string can be written to a line of the encoded sentences
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param string - a word or a tag string
+	 * 
+	 * @return boolean - false if the string contains a tab or a new line
+	 */
+	private static boolean isSafe(final String string)
+	{
+		return string.indexOf('\t') < 0 && string.indexOf('\n') < 0;
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//setters and getters
+	/*-----------------------------------------------------------------------------------------------*/
+	public String getDirectory() 
+	{
+		return (directory != null) ? directory.getAbsolutePath() : null;
+	}
+	
+	public String getModelPath() 
+	{
+		return modelPath;
+	}
+	
+	public long getMemoryCapacity() 
+	{
+		return memoryCapacity;
+	}
+	
+	public synchronized long getMemorySize() 
+	{
+		return memorySize;
+	}
+	
+	public synchronized int getMemoryCount() 
+	{
+		return memory.size();
+	}
+	
+	public synchronized long getMemoryHits() 
+	{
+		return memoryHits;
+	}
+	
+	public synchronized long getDiskHits() 
+	{
+		return diskHits;
+	}
+	
+	public synchronized long getMisses() 
+	{
+		return misses;
+	}
+	
+}
@@ -0,0 +1,302 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pos.corpus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import com.darg.NLPOperations.pos.model.TaggedSentence;
+import com.darg.NLPOperations.pos.model.TaggedWord;
+import com.darg.NLPOperations.pos.util.POSTagEnglish;
+import com.darg.NLPOperations.pos.util.TaggedSentenceHandler;
+import com.darg.fileOperations.utils.BinaryUtils;
+import com.darg.fileOperations.utils.FileUtils;
+
+
+
+/**reads the articles of a corpus written by TaggedCorpusWriter one at a time, in the order they are written.
+ * The segments are mapped into the memory and decoded sequentially, and the words of the tokens are shared 
+ * with the vocabulary, so only the tagged words and the sentences are created while reading.
+ * 
+ * usage: while(reader.next()) { reader.getName(), reader.getSentences() ... }
+ * 
+ * A reader is not thread safe.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class TaggedCorpusReader 
+{
+	private File directory;
+	private String[] words;
+	private POSTagEnglish[] tags;
+	private int segmentIndex;
+	private ByteBuffer segment; //null before the first segment and after the last one
+	
+	private int docID;
+	private String name;
+	private int sentenceCount;
+	private int articleCount;
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private TaggedCorpusReader()
+	{
+		
+	}
+	/**opens a corpus and reads its vocabulary
+	 * 
+	 * @param directory - directory of the corpus
+	 * 
+	 * @throws IOException - if the vocabulary cannot be read
+	 */
+	public TaggedCorpusReader(final String directory) throws IOException
+	{
+		this.directory = new File(directory);
+		tags = POSTagEnglish.values();
+		
+		ByteBuffer buffer = FileUtils.mapFile(new File(directory, TaggedCorpusWriter.VOCABULARY_FILE).getAbsolutePath());
+		if(buffer == null)
+		{
+			throw new IOException("cannot read the vocabulary of the corpus: " + directory);
+		}
+		
+		BinaryUtils.readHeader(buffer, TaggedCorpusWriter.VOCABULARY_MAGIC, TaggedCorpusWriter.VERSION);
+		words = BinaryUtils.readStrings(buffer);
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//						FUNCTIONS
+	/*-----------------------------------------------------------------------------------------------*/
+	/**moves to the next article and reads its name and id. Its sentences must be read with getSentences() or 
+	 * scanSentences() before moving to the next one, otherwise they are skipped.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return boolean - false if there are no more articles
+	 * 
+	 * @throws IOException - if a segment cannot be read
+	 */
+	public boolean next() throws IOException
+	{
+		boolean retVal = false;
+		
+		//skip the sentences of the previous article if they are not read
+		while(sentenceCount > 0)
+		{
+			readSentence();
+		}
+		
+		while(!retVal && nextSegment())
+		{
+			if(segment.hasRemaining())
+			{
+				docID = BinaryUtils.readVarInt(segment);
+				
+				byte[] nameBytes = new byte[BinaryUtils.readVarInt(segment)];
+				segment.get(nameBytes);
+				name = new String(nameBytes, StandardCharsets.UTF_8);
+				
+				sentenceCount = BinaryUtils.readVarInt(segment);
+				articleCount++;
+				retVal = true;
+			}
+			else
+			{
+				segment = null;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**reads all the sentences of the current article
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return ArrayList<TaggedSentence> - sentences of the article, empty if they are already read
+	 */
+	public ArrayList<TaggedSentence> getSentences()
+	{
+		ArrayList<TaggedSentence> retVal = new ArrayList<TaggedSentence>(sentenceCount);
+		
+		while(sentenceCount > 0)
+		{
+			retVal.add(readSentence());
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**gives the sentences of the current article to the handler one at a time
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param handler - receives the sentences
+	 * 
+	 * @return int - number of the sentences given to the handler
+	 */
+	public int scanSentences(final TaggedSentenceHandler handler)
+	{
+		int retVal = 0;
+		boolean running = true;
+		
+		while(sentenceCount > 0 && running)
+		{
+			running = handler.handleSentence(readSentence());
+			retVal++;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**decodes the next sentence of the current article
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return TaggedSentence - the sentence
+	 */
+	private TaggedSentence readSentence()
+	{
+		int count = BinaryUtils.readVarInt(segment);
+		ArrayList<TaggedWord> sentence = new ArrayList<TaggedWord>(count);
+		
+		for(int i=0; i<count; i++)
+		{
+			String word = words[BinaryUtils.readVarInt(segment)];
+			int tagByte = segment.get() & 0xFF;
+			POSTagEnglish tag = tags[tagByte & ~TaggedCorpusWriter.EXPLICIT_TAG];
+			String tagString;
+			
+			if((tagByte & TaggedCorpusWriter.EXPLICIT_TAG) != 0)
+			{
+				tagString = words[BinaryUtils.readVarInt(segment)];
+			}
+			else
+			{
+				tagString = POSTagEnglish.getPennString(tag);
+			}
+			
+			sentence.add(new TaggedWord(word, tag, tagString));
+		}
+		
+		sentenceCount--;
+		
+		return new TaggedSentence(sentence);
+	}
+	
+	
+	
+	
+	
+	/**maps the next segment if the current one is finished
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return boolean - false if there are no more segments
+	 * 
+	 * @throws IOException - if the segment cannot be read
+	 */
+	private boolean nextSegment() throws IOException
+	{
+		boolean retVal = true;
+		
+		if(segment == null)
+		{
+			File file = new File(directory, TaggedCorpusWriter.segmentName(segmentIndex));
+			
+			if(file.isFile())
+			{
+				segment = FileUtils.mapFile(file.getAbsolutePath());
+				if(segment == null)
+				{
+					throw new IOException("cannot read the segment: " + file.getAbsolutePath());
+				}
+				
+				BinaryUtils.readHeader(segment, TaggedCorpusWriter.SEGMENT_MAGIC, TaggedCorpusWriter.VERSION);
+				segmentIndex++;
+			}
+			else
+			{
+				retVal = false;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//setters and getters
+	/*-----------------------------------------------------------------------------------------------*/
+	public int getDocID() 
+	{
+		return docID;
+	}
+	
+	public String getName() 
+	{
+		return name;
+	}
+	
+	/**returns the number of the sentences of the current article that are not read yet
+	 */
+	public int getSentenceCount() 
+	{
+		return sentenceCount;
+	}
+	
+	/**returns the number of the articles read so far
+	 */
+	public int getArticleCount() 
+	{
+		return articleCount;
+	}
+	
+	public int getVocabularySize() 
+	{
+		return words.length;
+	}
+	
+}
@@ -0,0 +1,418 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pos.corpus;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import com.darg.NLPOperations.pos.model.TaggedSentence;
+import com.darg.NLPOperations.pos.model.TaggedWord;
+import com.darg.NLPOperations.pos.util.POSTagEnglish;
+import com.darg.fileOperations.utils.BinaryUtils;
+
+
+
+/**writes tagged articles into a compact binary corpus instead of a "_POS" text file for each article.
+ * The words are replaced with their ids in a vocabulary, and the articles are appended to large segment 
+ * files, so that reading the corpus back (see TaggedCorpusReader) is a sequential read of a few files.
+ * 
+ * A directory of a corpus contains:
+ * 		vocabulary.tcv				- the words in the order of their ids
+ * 		segment-00000.tcs, ...		- the articles in the order they are written
+ * 
+ * Each article in a segment is written as: docID, length and UTF-8 bytes of its name, number of sentences, 
+ * and for each sentence the number of tokens followed by the tokens. A token is the id of its word and a byte 
+ * for the ordinal of its tag. If the tag string is not the usual string of the tag (see POSTagEnglish.getPennString()),
+ * the highest bit of the tag byte is set and the id of the tag string follows. All numbers are written with 
+ * BinaryUtils.writeVarInt().
+ * 
+ * The segments are written to a temporary directory inside the directory of the corpus, and the vocabulary is written by 
+ * close(), which then replaces the corpus that is already in the directory with them. A run that is interrupted before 
+ * close() leaves the earlier corpus as it is, and its own segments are removed by the next writer of the directory.
+ * The functions are synchronized, so a writer can be shared by the tagging threads.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class TaggedCorpusWriter 
+{
+	public static final String VOCABULARY_FILE = "vocabulary.tcv";
+	public static final String SEGMENT_PREFIX = "segment-";
+	public static final String SEGMENT_EXTENSION = ".tcs";
+	public static final String TEMPORARY_DIRECTORY = "incomplete";
+	public static final long DEFAULT_SEGMENT_SIZE = 64L*1024*1024;
+	
+	static final int VOCABULARY_MAGIC = 0x54435643; //"TCVC"
+	static final int SEGMENT_MAGIC = 0x54435347; //"TCSG"
+	static final int VERSION = 1;
+	static final int EXPLICIT_TAG = 0x80;
+	
+	private File directory;
+	private File temporary; //segments and the vocabulary are written here until the corpus is closed
+	private long segmentSize; //a new segment is started after a segment reaches this size in bytes
+	private HashMap<String, Integer> vocabulary;
+	private ArrayList<String> words;
+	private DataOutputStream segment;
+	private int segmentCount;
+	private int articleCount;
+	private long tokenCount;
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private TaggedCorpusWriter()
+	{
+		
+	}
+	public TaggedCorpusWriter(final String directory) 
+	{
+		this(directory, DEFAULT_SEGMENT_SIZE);
+	}
+	public TaggedCorpusWriter(final String directory, final long segmentSize) 
+	{
+		if(directory == null || segmentSize < 1)
+		{
+			throw new IllegalArgumentException("directory cannot be null and segment size must be positive");
+		}
+		
+		this.directory = new File(directory);
+		this.temporary = new File(this.directory, TEMPORARY_DIRECTORY);
+		this.segmentSize = segmentSize;
+		vocabulary = new HashMap<String, Integer>();
+		words = new ArrayList<String>();
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//						FUNCTIONS
+	/*-----------------------------------------------------------------------------------------------*/
+	/**appends an article to the current segment, and starts a new segment if the current one is full
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param docID - id of the article
+	 * @param name - name of the article, the output files are named after it
+	 * @param sentences - tagged sentences of the article
+	 * 
+	 * @throws IOException - if the segment cannot be written
+	 */
+	public synchronized void writeArticle(final int docID, final String name, final List<TaggedSentence> sentences) throws IOException
+	{
+		if(words == null)
+		{
+			throw new IllegalStateException("writer is closed");
+		}
+		if(segment == null)
+		{
+			openSegment();
+		}
+		
+		
+		byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		
+		BinaryUtils.writeVarInt(segment, docID);
+		BinaryUtils.writeVarInt(segment, nameBytes.length);
+		segment.write(nameBytes);
+		BinaryUtils.writeVarInt(segment, sentences.size());
+		
+		for(TaggedSentence sentence : sentences)
+		{
+			BinaryUtils.writeVarInt(segment, sentence.getWords().size());
+			
+			for(TaggedWord word : sentence.getWords())
+			{
+				writeToken(word);
+			}
+		}
+		
+		articleCount++;
+		
+		
+		if(segment.size() >= segmentSize)
+		{
+			segment.close();
+			segment = null;
+		}
+	}
+	
+	
+	
+	
+	
+	/**writes a token as the id of its word and its tag
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word - a tagged word
+	 * 
+	 * @throws IOException - if the segment cannot be written
+	 */
+	private void writeToken(final TaggedWord word) throws IOException
+	{
+		POSTagEnglish tag = word.getTag() == null ? POSTagEnglish.UNKNOWN : word.getTag();
+		String tagString = word.getTagString();
+		
+		BinaryUtils.writeVarInt(segment, wordID(word.getWord()));
+		
+		if(tagString == null || tagString.equals(POSTagEnglish.getPennString(tag)))
+		{
+			segment.writeByte(tag.ordinal());
+		}
+		else
+		{
+			segment.writeByte(tag.ordinal() | EXPLICIT_TAG);
+			BinaryUtils.writeVarInt(segment, wordID(tagString));
+		}
+		
+		tokenCount++;
+	}
+	
+	
+	
+	
+	
+	/**returns the id of a word in the vocabulary, the word is added if it is not in it
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word - a word, null is written as an empty word
+	 * 
+	 * @return int - id of the word
+	 */
+	private int wordID(final String word)
+	{
+		String key = word == null ? "" : word;
+		Integer retVal = vocabulary.get(key);
+		
+		if(retVal == null)
+		{
+			retVal = words.size();
+			vocabulary.put(key, retVal);
+			words.add(key);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**starts the next segment file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @throws IOException - if the file cannot be created
+	 */
+	private void openSegment() throws IOException
+	{
+		if(segmentCount == 0)
+		{
+			createTemporary();
+		}
+		
+		File file = new File(temporary, segmentName(segmentCount));
+		segment = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+		BinaryUtils.writeHeader(segment, SEGMENT_MAGIC, VERSION);
+		segmentCount++;
+	}
+	
+	
+	
+	
+	
+	/**closes the current segment and writes the vocabulary, then replaces the corpus in the directory with the new one.
+	 * The segments of an earlier corpus in the directory are deleted, even if it has more segments than the new one.
+	 * Nothing can be written after it is called.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @throws IOException - if the vocabulary cannot be written or the corpus cannot be moved into the directory
+	 */
+	public synchronized void close() throws IOException
+	{
+		if(words != null)
+		{
+			if(segment != null)
+			{
+				segment.close();
+				segment = null;
+			}
+			if(segmentCount == 0)
+			{
+				createTemporary();
+			}
+			
+			try(DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(new File(temporary, VOCABULARY_FILE)))))
+			{
+				BinaryUtils.writeHeader(dos, VOCABULARY_MAGIC, VERSION);
+				BinaryUtils.writeStrings(dos, words.toArray(new String[words.size()]));
+			}
+			
+			//the vocabulary of the earlier corpus is removed first and the new one is moved last, so that the segments 
+			//are never read with a vocabulary of another corpus
+			deleteFile(new File(directory, VOCABULARY_FILE));
+			for(File stale : directory.listFiles())
+			{
+				if(stale.getName().startsWith(SEGMENT_PREFIX) && stale.getName().endsWith(SEGMENT_EXTENSION))
+				{
+					deleteFile(stale);
+				}
+			}
+			
+			for(int i=0; i<segmentCount; i++)
+			{
+				moveFile(new File(temporary, segmentName(i)), new File(directory, segmentName(i)));
+			}
+			moveFile(new File(temporary, VOCABULARY_FILE), new File(directory, VOCABULARY_FILE));
+			deleteFile(temporary);
+			
+			words = null;
+			vocabulary = null;
+		}
+	}
+	
+	
+	
+	
+	
+	/**creates the temporary directory of the segments, the files left in it by an interrupted run are deleted
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @throws IOException - if the directory cannot be created or emptied
+	 */
+	private void createTemporary() throws IOException
+	{
+		if(temporary.isDirectory())
+		{
+			for(File file : temporary.listFiles())
+			{
+				deleteFile(file);
+			}
+		}
+		else if(!temporary.mkdirs() && !temporary.isDirectory())
+		{
+			throw new IOException("cannot create the directory: " + temporary.getAbsolutePath());
+		}
+	}
+	
+	
+	
+	
+	
+	/**deletes a file if it exists
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param file - file or empty directory to delete
+	 * 
+	 * @throws IOException - if the file exists and cannot be deleted
+	 */
+	private static void deleteFile(final File file) throws IOException
+	{
+		if(file.exists() && !file.delete())
+		{
+			throw new IOException("cannot delete the file: " + file.getAbsolutePath());
+		}
+	}
+	
+	
+	
+	
+	
+	/**moves a file to another path in the same file system
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param source - file to move
+	 * @param destination - new path of the file
+	 * 
+	 * @throws IOException - if the file cannot be moved
+	 */
+	private static void moveFile(final File source, final File destination) throws IOException
+	{
+		if(!source.renameTo(destination))
+		{
+			throw new IOException("cannot move the file: " + source.getAbsolutePath() + " to " + destination.getAbsolutePath());
+		}
+	}
+	
+	
+	
+	
+	
+	/**returns the name of a segment file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param index - index of the segment
+	 * 
+	 * @return String - name of the file
+	 */
+	static String segmentName(final int index)
+	{
+		return SEGMENT_PREFIX + String.format("%05d", index) + SEGMENT_EXTENSION;
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//setters and getters
+	/*-----------------------------------------------------------------------------------------------*/
+	public String getDirectory() 
+	{
+		return directory.getAbsolutePath();
+	}
+	
+	public long getSegmentSize() 
+	{
+		return segmentSize;
+	}
+	
+	public synchronized int getSegmentCount() 
+	{
+		return segmentCount;
+	}
+	
+	public synchronized int getArticleCount() 
+	{
+		return articleCount;
+	}
+	
+	public synchronized long getTokenCount() 
+	{
+		return tokenCount;
+	}
+	
+}
@@ -22,17 +22,26 @@ package com.darg.NLPOperations.pos.test;
 import static org.junit.Assert.*;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 
 import org.junit.Test;
 
 import com.darg.NLPOperations.pos.POSTagger;
+import com.darg.NLPOperations.pos.POSTaggerPool;
+import com.darg.NLPOperations.pos.ParallelDocumentTagger;
+import com.darg.NLPOperations.pos.TaggedTextCache;
+import com.darg.NLPOperations.pos.corpus.TaggedCorpusReader;
+import com.darg.NLPOperations.pos.corpus.TaggedCorpusWriter;
 import com.darg.NLPOperations.pos.model.TaggedSentence;
 import com.darg.NLPOperations.pos.model.TaggedWord;
 import com.darg.NLPOperations.pos.util.POSTagEnglish;
 import com.darg.NLPOperations.pos.util.POSTagTokenizer;
+import com.darg.NLPOperations.pos.util.TaggedSentenceHandler;
+import com.darg.NLPOperations.pos.util.TaggedTextScanner;
 import com.darg.NLPOperations.pos.util.POSTagWordNet;
 import com.darg.NLPOperations.pos.util.POSTagConverter;
+import com.darg.fileOperations.utils.FileSystemUtils;
 import com.darg.fileOperations.utils.FileUtils;
 
 import edu.stanford.nlp.ling.WordTag;
@@ -90,6 +99,113 @@ public class POSTests
 	
 	
 	
+	/**For function(s): POSTaggerPool.checkout(), POSTaggerPool.release() and POSTaggerPool.tagString()
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void posTaggerPoolTest() throws InterruptedException
+	{
+		POSTaggerPool pool = new POSTaggerPool(modelPath, 2);
+		String content = FileUtils.readFile(path);
+		
+		
+		POSTagger first = pool.checkout();
+		POSTagger second = pool.checkout();
+		
+		assertNotSame(first, second);
+		assertEquals(0, pool.getAvailableCount());
+		assertEquals(first.tagString(content), second.tagString(content));
+		
+		pool.release(first);
+		pool.release(second);
+		
+		
+		assertEquals(2, pool.getAvailableCount());
+		assertEquals(first.tagString(content), pool.tagString(content));
+		assertEquals(3, pool.getCheckoutCount());
+		assertEquals(2, pool.getAvailableCount());
+	}
+	
+	
+	
+	
+	/**For function(s): ParallelDocumentTagger.tagString(), ParallelDocumentTagger.tagText() and ParallelDocumentTagger.splitText()
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void parallelDocumentTaggerTest() throws InterruptedException
+	{
+		POSTaggerPool pool = new POSTaggerPool(modelPath, 2);
+		ParallelDocumentTagger tagger = new ParallelDocumentTagger(pool, 10);
+		String content = "The dog runs quickly. It is a good dog! Is it? Yes.";
+		
+		
+		ArrayList<String> chunks = ParallelDocumentTagger.splitText(content, 10);
+		assertEquals(3, chunks.size());
+		assertEquals("The dog runs quickly.", chunks.get(0));
+		assertEquals(1, ParallelDocumentTagger.splitText(content, 0).size());
+		assertNull(ParallelDocumentTagger.splitText(null, 10));
+		
+		
+		//chunks are tagged separately but the results must be the same with tagging the whole text
+		assertEquals(pool.tagString(content), tagger.tagString(content));
+		assertEquals(pool.tagText(content).toString(), tagger.tagText(content).toString());
+		assertEquals(2, tagger.getSplitCount());
+		assertEquals(6, tagger.getChunkCount());
+		assertEquals(2, pool.getAvailableCount());
+		
+		tagger.shutdown();
+	}
+	
+	
+	
+	
+	/**For function(s): POSTagger.tagSentences() and POSTagger.tagText()
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void posTaggerSentencesTest()
+	{
+		POSTagger tagger = new POSTagger(modelPath);
+		ArrayList<String> sentences = new ArrayList<String>();
+		sentences.add("The dog runs quickly.");
+		sentences.add("");
+		sentences.add("It is a good dog.");
+		
+		
+		ArrayList<TaggedSentence> tagged = tagger.tagSentences(sentences);
+		
+		assertEquals(3, tagged.size());
+		assertEquals(5, tagged.get(0).getWords().size());
+		assertTrue(tagged.get(1).getWords().isEmpty());
+		assertEquals("dog", tagged.get(2).getWords().get(4).getWord());
+		assertEquals(POSTagEnglish.NN, tagged.get(2).getWords().get(4).getTag());
+		
+		
+		//tagged words must be the same with the ones of the tagged string
+		String content = "The dog runs quickly. It is a good dog.";
+		ArrayList<TaggedWord> expected = POSTagTokenizer.tokenizeTaggedString(tagger.tagString(content), "_");
+		ArrayList<TaggedWord> actual = new ArrayList<TaggedWord>();
+		
+		for(TaggedSentence sentence : tagger.tagText(content))
+		{
+			actual.addAll(sentence.getWords());
+		}
+		
+		assertEquals(expected.size(), actual.size());
+		for(int i=0; i<expected.size(); i++)
+		{
+			assertEquals(expected.get(i).getWord(), actual.get(i).getWord());
+			assertEquals(expected.get(i).getTag(), actual.get(i).getTag());
+		}
+	}
+	
+	
+	
+	
 	
 	
 	/*----------------------------------------------------------------------------------*/
@@ -235,6 +351,273 @@ public class POSTests
 	
 	
 	
+	/**For functions: POSTagTokenizer.tokenizeTaggedString() and POSTagTokenizer.tokenizeTaggedStringIntoSentences()
+	 *
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void posTagTokenizerTest5()
+	{
+		String taggedText = FileUtils.readFile(taggedPath);
+		ArrayList<TaggedWord> fileWords = POSTagTokenizer.tokenizeTaggedText(taggedPath, "_");
+		ArrayList<TaggedWord> words = POSTagTokenizer.tokenizeTaggedString(taggedText, "_");
+		ArrayList<TaggedSentence> fileSentences = POSTagTokenizer.tokenizeTaggedTextIntoSentences(taggedPath, "_");
+		ArrayList<TaggedSentence> sentences = POSTagTokenizer.tokenizeTaggedStringIntoSentences(taggedText, "_");
+		
+		assertEquals(fileWords.size(), words.size());
+		for (int i=0; i<words.size(); i++)
+		{
+			assertEquals(fileWords.get(i).toString(), words.get(i).toString());
+		}
+		
+		assertEquals(fileSentences.size(), sentences.size());
+		for (int i=0; i<sentences.size(); i++)
+		{
+			assertEquals(fileSentences.get(i).toString(), sentences.get(i).toString());
+		}
+		
+		assertEquals(null, POSTagTokenizer.tokenizeTaggedStringIntoSentences("", "_"));
+	}
+	
+	
+	
+	
+	/**For function(s): TaggedTextScanner.scanSentences(), TaggedTextScanner.scanWords() and POSTagEnglish.findTag(CharSequence, int, int)
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void taggedTextScannerTest()
+	{
+		TaggedTextScanner scanner = new TaggedTextScanner("_");
+		String text = "The_DT dog_NN runs_VBZ ._. \n broken_ _NN It_PRP is_VBZ (_-LRB- good_JJ !_. last_JJ";
+		final ArrayList<TaggedSentence> sentences = new ArrayList<TaggedSentence>();
+		
+		
+		int tokenCount = scanner.scanSentences(text, new TaggedSentenceHandler()
+		{
+			@Override
+			public boolean handleSentence(final TaggedSentence sentence)
+			{
+				return sentences.add(sentence);
+			}
+		});
+		
+		assertEquals(12, tokenCount);
+		assertEquals(2, sentences.size());
+		assertEquals(4, sentences.get(0).getWords().size());
+		assertEquals(POSTagEnglish.LRB, sentences.get(1).getWords().get(3).getTag());
+		assertEquals(-1, scanner.scanSentences(null, null));
+		
+		
+		ArrayList<TaggedWord> words = scanner.scanWords(text);
+		assertEquals(POSTagTokenizer.tokenizeTaggedString(text, "_").size(), words.size());
+		assertEquals(10, words.size());
+		assertEquals("last", words.get(9).getWord());
+		assertSame(words.get(2).getTagString(), words.get(5).getTagString());
+		
+		
+		assertEquals(POSTagEnglish.NNS, POSTagEnglish.findTag("dogs_NNS", 5, 8));
+		assertEquals(POSTagEnglish.QUOTECLOSE, POSTagEnglish.findTag("x_''", 2, 4));
+		assertEquals(POSTagEnglish.UNKNOWN, POSTagEnglish.findTag("x_nns", 2, 5));
+		assertEquals(null, POSTagEnglish.findTag(null, 0, 0));
+	}
+
+	
+	
+	
+	
+	
+	
+	/**For function(s): TaggedCorpusWriter.writeArticle() and TaggedCorpusReader.next()
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void taggedCorpusTest() throws IOException
+	{
+		File directory = new File(System.getProperty("java.io.tmpdir"), "taggedCorpusTest");
+		if(directory.exists())
+		{
+			FileSystemUtils.deleteDirectory(directory.getAbsolutePath());
+		}
+		
+		ArrayList<TaggedSentence> sentences = POSTagTokenizer.tokenizeTaggedStringIntoSentences("The_DT dog_NN runs_VBZ ._. It_PRP is_VBZ good_JJ !_. ", "_");
+		sentences.get(1).appendToSentence(new TaggedWord("odd", POSTagEnglish.UNKNOWN, "XYZ"));
+		
+		
+		//a small segment size, so that every article starts a new segment
+		TaggedCorpusWriter writer = new TaggedCorpusWriter(directory.getAbsolutePath(), 1);
+		writer.writeArticle(1, "first", sentences);
+		writer.writeArticle(2, "second", new ArrayList<TaggedSentence>());
+		writer.writeArticle(3, "third", sentences);
+		writer.close();
+		
+		assertEquals(3, writer.getSegmentCount());
+		assertEquals(3, writer.getArticleCount());
+		
+		
+		TaggedCorpusReader reader = new TaggedCorpusReader(directory.getAbsolutePath());
+		
+		assertTrue(reader.next());
+		assertEquals(1, reader.getDocID());
+		assertEquals("first", reader.getName());
+		ArrayList<TaggedSentence> read = reader.getSentences();
+		assertEquals(2, read.size());
+		for(int i=0; i<read.size(); i++)
+		{
+			assertEquals(sentences.get(i).getWords().size(), read.get(i).getWords().size());
+			
+			for(int j=0; j<read.get(i).getWords().size(); j++)
+			{
+				assertEquals(sentences.get(i).getWords().get(j).getWord(), read.get(i).getWords().get(j).getWord());
+				assertEquals(sentences.get(i).getWords().get(j).getTag(), read.get(i).getWords().get(j).getTag());
+				assertEquals(sentences.get(i).getWords().get(j).getTagString(), read.get(i).getWords().get(j).getTagString());
+			}
+		}
+		
+		assertTrue(reader.next());
+		assertEquals("second", reader.getName());
+		assertTrue(reader.getSentences().isEmpty());
+		
+		//the sentences of the third article are skipped
+		assertTrue(reader.next());
+		assertEquals(3, reader.getDocID());
+		assertFalse(reader.next());
+		assertEquals(3, reader.getArticleCount());
+		
+		FileSystemUtils.deleteDirectory(directory.getAbsolutePath());
+	}
+	
+	
+	
+	
+	
+	/**For function(s): TaggedCorpusWriter.close() when the directory already holds a corpus
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void taggedCorpusReplaceTest() throws IOException
+	{
+		File directory = new File(System.getProperty("java.io.tmpdir"), "taggedCorpusReplaceTest");
+		if(directory.exists())
+		{
+			FileSystemUtils.deleteDirectory(directory.getAbsolutePath());
+		}
+		
+		ArrayList<TaggedSentence> sentences = POSTagTokenizer.tokenizeTaggedStringIntoSentences("The_DT dog_NN runs_VBZ ._. ", "_");
+		
+		TaggedCorpusWriter writer = new TaggedCorpusWriter(directory.getAbsolutePath(), 1);
+		writer.writeArticle(1, "first", sentences);
+		writer.writeArticle(2, "second", sentences);
+		writer.writeArticle(3, "third", sentences);
+		writer.close();
+		
+		//an interrupted run leaves the earlier corpus readable
+		writer = new TaggedCorpusWriter(directory.getAbsolutePath(), 1);
+		writer.writeArticle(4, "interrupted", sentences);
+		writer.writeArticle(5, "interrupted", sentences);
+		
+		TaggedCorpusReader reader = new TaggedCorpusReader(directory.getAbsolutePath());
+		assertTrue(reader.next());
+		assertEquals("first", reader.getName());
+		assertTrue(reader.next());
+		assertTrue(reader.next());
+		assertFalse(reader.next());
+		
+		
+		//a smaller corpus replaces all the segments of the earlier one, and the files of the interrupted run are removed
+		writer = new TaggedCorpusWriter(directory.getAbsolutePath(), 1);
+		writer.writeArticle(6, "last", sentences);
+		writer.close();
+		
+		assertFalse(new File(directory, TaggedCorpusWriter.TEMPORARY_DIRECTORY).exists());
+		assertFalse(new File(directory, "segment-00001.tcs").exists());
+		
+		reader = new TaggedCorpusReader(directory.getAbsolutePath());
+		assertTrue(reader.next());
+		assertEquals(6, reader.getDocID());
+		assertEquals("last", reader.getName());
+		assertFalse(reader.next());
+		assertEquals(1, reader.getArticleCount());
+		
+		FileSystemUtils.deleteDirectory(directory.getAbsolutePath());
+	}
+	
+	
+	
+	
+	
+	/**For function(s): TaggedTextCache.getTaggedString(), getTaggedSentences() and their put functions
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void taggedTextCacheTest()
+	{
+		File directory = new File(System.getProperty("java.io.tmpdir"), "taggedTextCacheTest");
+		if(directory.exists())
+		{
+			FileSystemUtils.deleteDirectory(directory.getAbsolutePath());
+		}
+		
+		ArrayList<TaggedSentence> sentences = POSTagTokenizer.tokenizeTaggedStringIntoSentences("The_DT dog_NN runs_VBZ ._. It_PRP is_VBZ good_JJ !_. ", "_");
+		sentences.get(1).appendToSentence(new TaggedWord("odd", POSTagEnglish.UNKNOWN, "XYZ"));
+		
+		
+		TaggedTextCache cache = new TaggedTextCache(directory.getAbsolutePath(), "model");
+		assertNull(cache.getTaggedString("The dog runs."));
+		cache.putTaggedString("The dog runs.", "The_DT dog_NN runs_VBZ ._. ");
+		cache.putTaggedSentences("The dog runs.", sentences);
+		
+		//the texts that are only different in whitespaces are the same
+		assertEquals("The_DT dog_NN runs_VBZ ._. ", cache.getTaggedString("  The \n dog\truns. "));
+		assertNull(cache.getTaggedString("The dogs run."));
+		assertEquals(1, cache.getMemoryHits());
+		assertEquals(2, cache.getMisses());
+		
+		
+		//a cache with the same directory finds them on the disk
+		cache = new TaggedTextCache(directory.getAbsolutePath(), "model");
+		ArrayList<TaggedSentence> read = cache.getTaggedSentences("The dog runs.");
+		assertEquals(1, cache.getDiskHits());
+		assertEquals(sentences.size(), read.size());
+		for(int i=0; i<read.size(); i++)
+		{
+			assertEquals(sentences.get(i).getWords().size(), read.get(i).getWords().size());
+			
+			for(int j=0; j<read.get(i).getWords().size(); j++)
+			{
+				assertEquals(sentences.get(i).getWords().get(j).getWord(), read.get(i).getWords().get(j).getWord());
+				assertEquals(sentences.get(i).getWords().get(j).getTag(), read.get(i).getWords().get(j).getTag());
+				assertEquals(sentences.get(i).getWords().get(j).getTagString(), read.get(i).getWords().get(j).getTagString());
+			}
+		}
+		
+		//another model does not share the results
+		assertNull(new TaggedTextCache(directory.getAbsolutePath(), "other model").getTaggedString("The dog runs."));
+		
+		
+		//the least recently used ones are removed from the memory
+		cache = new TaggedTextCache(null, "model", 200);
+		cache.putTaggedString("a", "a_DT ");
+		cache.putTaggedString("b", "b_DT ");
+		cache.getTaggedString("a");
+		cache.putTaggedString("c", "c_DT ");
+		assertEquals(2, cache.getMemoryCount());
+		assertNull(cache.getTaggedString("b"));
+		assertEquals("a_DT ", cache.getTaggedString("a"));
+		assertEquals("c_DT ", cache.getTaggedString("c"));
+		
+		FileSystemUtils.deleteDirectory(directory.getAbsolutePath());
+	}
+	
+	
+	
+	
+	
 	/*----------------------------------------------------------------------------------*/
 	//			TaggedWord TESTS
 	/*----------------------------------------------------------------------------------*/
@@ -285,6 +668,17 @@ public class POSTests
 	{
 		assertEquals(POSTagWordNet.NOUN, POSTagConverter.getPOSType("NNS"));
 		assertEquals(POSTagWordNet.ADJECTIVE, POSTagConverter.getPOSType(POSTagEnglish.JJ));
+		assertEquals(POSTagWordNet.ADVERB, POSTagConverter.getPOSType("rbr"));
+		assertEquals(POSTagWordNet.OTHER, POSTagConverter.getPOSType("-LRB-"));
+		assertEquals(POSTagWordNet.OTHER, POSTagConverter.getPOSType((String)null));
+		
+		//the lookup tables must give the same results for the names of all the tags
+		for(POSTagEnglish tag : POSTagEnglish.values())
+		{
+			assertEquals(tag, POSTagEnglish.findTag(tag.name()));
+			assertEquals(tag, POSTagEnglish.findTagIgnoreCase(tag.name().toLowerCase()));
+			assertEquals(POSTagConverter.getPOSType(tag), POSTagConverter.getPOSType(tag.name()));
+		}
 	}
 	
 	
@@ -28,11 +28,43 @@ package com.darg.NLPOperations.pos.util;
  */
 public final class POSTagConverter 
 {
+	//wordnet type of each penn treebank tag, indexed by the ordinals of the tags
+	private static POSTagWordNet[] wordNetTypes;
+	
+	static
+	{
+		wordNetTypes = new POSTagWordNet[POSTagEnglish.values().length];
+		
+		for(POSTagEnglish tag : POSTagEnglish.values())
+		{
+			if(POSTagEnglish.isAdjective(tag))
+			{
+				wordNetTypes[tag.ordinal()] = POSTagWordNet.ADJECTIVE;
+			}
+			else if(POSTagEnglish.isAdverb(tag))
+			{
+				wordNetTypes[tag.ordinal()] = POSTagWordNet.ADVERB;
+			}
+			else if(POSTagEnglish.isNoun(tag))
+			{
+				wordNetTypes[tag.ordinal()] = POSTagWordNet.NOUN;
+			}
+			else if(POSTagEnglish.isVerb(tag))
+			{
+				wordNetTypes[tag.ordinal()] = POSTagWordNet.VERB;
+			}
+			else
+			{
+				wordNetTypes[tag.ordinal()] = POSTagWordNet.OTHER;
+			}
+		}
+	}
+	
 	
 	
 	
 	/** takes a penn treebank tag as a string and returns the type of the tag as a tag recognizable by
-	 * wordnet dictionary. If not found returns POSTagWordNet.OTHER
+	 * wordnet dictionary. If not found returns POSTagWordNet.OTHER. The case of the string is ignored.
 	 * 
 	 * @author erhan sezerer
 	 *
@@ -42,31 +74,7 @@ public final class POSTagConverter
 	 */
 	public static POSTagWordNet getPOSType(final String tag)
 	{
-		POSTagWordNet simplifiedTag;
-		
-		if(POSTagEnglish.isAdjective(tag))
-		{
-			simplifiedTag = POSTagWordNet.ADJECTIVE;
-		}
-		else if(POSTagEnglish.isAdverb(tag))
-		{
-			simplifiedTag = POSTagWordNet.ADVERB;
-		}
-		else if(POSTagEnglish.isNoun(tag))
-		{
-			simplifiedTag = POSTagWordNet.NOUN;
-		}
-		else if(POSTagEnglish.isVerb(tag))
-		{
-			simplifiedTag = POSTagWordNet.VERB;
-		}
-		else
-		{
-			simplifiedTag = POSTagWordNet.OTHER;
-		}
-		
-		
-		return simplifiedTag;
+		return getPOSType(POSTagEnglish.findTagIgnoreCase(tag));
 	}
 	
 	
@@ -83,30 +91,7 @@ public final class POSTagConverter
 	  */
 	public static POSTagWordNet getPOSType(POSTagEnglish tag)
 	{
-		POSTagWordNet simplifiedTag;
-		
-		if(POSTagEnglish.isAdjective(tag))
-		{
-			simplifiedTag = POSTagWordNet.ADJECTIVE;
-		}
-		else if(POSTagEnglish.isAdverb(tag))
-		{
-			simplifiedTag = POSTagWordNet.ADVERB;
-		}
-		else if(POSTagEnglish.isNoun(tag))
-		{
-			simplifiedTag = POSTagWordNet.NOUN;
-		}
-		else if(POSTagEnglish.isVerb(tag))
-		{
-			simplifiedTag = POSTagWordNet.VERB;
-		}
-		else
-		{
-			simplifiedTag = POSTagWordNet.OTHER;
-		}
-		
-		return simplifiedTag;
+		return tag == null ? POSTagWordNet.OTHER : wordNetTypes[tag.ordinal()];
 	}
 	
 	
@@ -19,6 +19,8 @@
 */
 package com.darg.NLPOperations.pos.util;
 
+import java.util.ArrayList;
+
 
 
 /**uses penn treebank POS TAGS to make it compatible with stanford NLP 
@@ -47,6 +49,62 @@ public enum POSTagEnglish
 										 "Comma" , "sentence-ending punctuation" , "colon, semicolon or ellipse" , "Left Curly Bracket" , "Right Curly Bracket" ,
 										 "Left Round Bracket" , "Right Round Bracket" , "Left Square Bracket" , "Right Square Bracket" , "tag could not be found"};
 	
+	//bits of the classes of each tag, indexed by the ordinals of the tags
+	private static final int NOUN_CLASS = 1;
+	private static final int VERB_CLASS = 2;
+	private static final int ADJECTIVE_CLASS = 4;
+	private static final int ADVERB_CLASS = 8;
+	private static final int PRONOUN_CLASS = 16;
+	private static final int PUNCTUATION_CLASS = 32;
+	private static final int END_OF_SENTENCE_CLASS = 64;
+	private transient static int[] classes;
+	
+	//perfect hash table of the tag strings, names of the tags are case sensitive and the symbols are not (see findTag())
+	private transient static String[] hashStrings;
+	private transient static POSTagEnglish[] hashTags;
+	private transient static boolean[] hashIgnoreCase;
+	private transient static int hashSeed;
+	
+	//tag string of each tag as the tagger writes it, indexed by the ordinals of the tags
+	private transient static String[] pennStrings;
+	
+	static
+	{
+		classes = new int[values().length];
+		setClass(NOUN_CLASS, NN, NNS, NNP, NNPS);
+		setClass(VERB_CLASS, VB, VBD, VBG, VBN, VBP, VBZ);
+		setClass(ADJECTIVE_CLASS, JJ, JJR, JJS);
+		setClass(ADVERB_CLASS, RB, RBR, RBS, WRB);
+		setClass(PRONOUN_CLASS, PRP, PRP$, WP, WP$);
+		setClass(PUNCTUATION_CLASS, DOT, COMMA, DOLSIGN, NUMSIGN, LCB, LRB, LSB, RCB, RRB, RSB, QUOTECLOSE, QUOTEOPEN, SEMICOLON);
+		setClass(END_OF_SENTENCE_CLASS, DOT);
+		
+		
+		ArrayList<String> strings = new ArrayList<String>();
+		ArrayList<POSTagEnglish> tags = new ArrayList<POSTagEnglish>();
+		
+		for(POSTagEnglish tag : values())
+		{
+			strings.add(tag.name());
+			tags.add(tag);
+		}
+		String[] symbols = {".", ",", "$", "#", "''", quoteOpen, ":", "-LCB-", "-LSB-", "-LRB-", "-RCB-", "-RSB-", "-RRB-"};
+		POSTagEnglish[] symbolTags = {DOT, COMMA, DOLSIGN, NUMSIGN, QUOTECLOSE, QUOTEOPEN, SEMICOLON, LCB, LSB, LRB, RCB, RSB, RRB};
+		pennStrings = new String[values().length];
+		for(POSTagEnglish tag : values())
+		{
+			pennStrings[tag.ordinal()] = tag.name();
+		}
+		for(int i=0; i<symbols.length; i++)
+		{
+			strings.add(symbols[i]);
+			tags.add(symbolTags[i]);
+			pennStrings[symbolTags[i].ordinal()] = symbols[i];
+		}
+		
+		buildHashTable(strings, tags, values().length);
+	}
+	
 	
 	
 	//constructor
@@ -72,44 +130,23 @@ public enum POSTagEnglish
 	 */
 	public static boolean isNoun(final POSTagEnglish tag)
 	{
-		boolean retVal = false;
-		
-		if(tag != null)
-		{
-			if(tag.equals(NN) || tag.equals(NNP) || tag.equals(NNPS) || tag.equals(NNS))
-			{
-				retVal = true;
-			}
-		}
-		
-		return retVal;
+		return tag != null && (classes[tag.ordinal()] & NOUN_CLASS) != 0;
 	}
 	
 	
 	
+	
 	/**determines whether the given tag is a noun or not
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @param tag - an instance to a String that corresponds to a penn treebank tag
+	 * @param tag - an instance to a String that corresponds to a penn treebank tag, case insensitive
 	 * 
-	 * @return boolean - true if the given tag is any kind of noun - 
+	 * @return boolean - true if the given tag is any kind of noun
 	 */
 	public static boolean isNoun(final String tag)
 	{
-		boolean retVal = false;
-		
-		if(tag != null && !tag.isEmpty())
-		{
-			if(tag.equalsIgnoreCase(POSTagEnglish.NN.name()) || tag.equalsIgnoreCase(POSTagEnglish.NNP.name())
-			   || tag.equalsIgnoreCase(POSTagEnglish.NNPS.name()) || tag.equalsIgnoreCase(POSTagEnglish.NNS.name()))
-			{
-				retVal = true;
-			}
-		}
-		
-		
-		return retVal;
+		return isNoun(findTagIgnoreCase(tag));
 	}
 	
 	
@@ -125,17 +162,7 @@ public enum POSTagEnglish
 	 */
 	public static boolean isVerb(final POSTagEnglish tag)
 	{
-		boolean retVal = false;
-		
-		if(tag != null)
-		{
-			if(tag.equals(VB) || tag.equals(VBD) || tag.equals(VBG) || tag.equals(VBN) || tag.equals(VBP) || tag.equals(VBZ))
-			{
-				retVal = true;
-			}
-		}
-		
-		return retVal;
+		return tag != null && (classes[tag.ordinal()] & VERB_CLASS) != 0;
 	}
 	
 	
@@ -145,27 +172,15 @@ public enum POSTagEnglish
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @param tag - an instance to a String that corresponds to a penn treebank tag
+	 * @param tag - an instance to a String that corresponds to a penn treebank tag, case insensitive
 	 * 
 	 * @return boolean - true if the given tag is any kind of verb
 	 */
 	public static boolean isVerb(final String tag)
 	{
-		boolean retVal = false;
-		
-		if(tag != null && !tag.isEmpty())
-		{
-			if(tag.equalsIgnoreCase(POSTagEnglish.VB.name()) || tag.equalsIgnoreCase(POSTagEnglish.VBD.name())
-			  || tag.equalsIgnoreCase(POSTagEnglish.VBN.name()) || tag.equalsIgnoreCase(POSTagEnglish.VBG.name())
-			  || tag.equalsIgnoreCase(POSTagEnglish.VBP.name()) || tag.equalsIgnoreCase(POSTagEnglish.VBZ.name()))
-			{
-				retVal = true;
-			}
-		}
-		
-		return retVal;
+		return isVerb(findTagIgnoreCase(tag));
 	}
-
+	
 	
 	
 	
@@ -179,17 +194,7 @@ public enum POSTagEnglish
 	 */
 	public static boolean isAdjective(final POSTagEnglish tag)
 	{
-		boolean retVal = false;
-		
-		if(tag != null)
-		{
-			if(tag.equals(JJ) || tag.equals(JJR) || tag.equals(JJS))
-			{
-				retVal = true;
-			}
-		}
-		
-		return retVal;
+		return tag != null && (classes[tag.ordinal()] & ADJECTIVE_CLASS) != 0;
 	}
 	
 	
@@ -199,26 +204,14 @@ public enum POSTagEnglish
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @param tag - an instance to a String that corresponds to a penn treebank tag
+	 * @param tag - an instance to a String that corresponds to a penn treebank tag, case insensitive
 	 * 
 	 * @return boolean - true if the given tag is any kind of adjective
 	 */
 	public static boolean isAdjective(final String tag)
 	{
-		boolean retVal = false;
-		
-		if(tag != null && !tag.isEmpty())
-		{
-			if(tag.equalsIgnoreCase(POSTagEnglish.JJ.name()) || tag.equalsIgnoreCase(POSTagEnglish.JJR.name())
-			  || tag.equalsIgnoreCase(POSTagEnglish.JJS.name()))
-			{
-				retVal = true;
-			}
-		}
-		
-		return retVal;
+		return isAdjective(findTagIgnoreCase(tag));
 	}
-
 	
 	
 	
@@ -233,17 +226,7 @@ public enum POSTagEnglish
 	 */
 	public static boolean isAdverb(final POSTagEnglish tag)
 	{
-		boolean retVal = false;
-		
-		if(tag != null)
-		{
-			if(tag.equals(RB) || tag.equals(RBR) || tag.equals(RBS) || tag.equals(WRB))
-			{
-				retVal = true;
-			}
-		}
-		
-		return retVal;
+		return tag != null && (classes[tag.ordinal()] & ADVERB_CLASS) != 0;
 	}
 	
 	
@@ -253,75 +236,45 @@ public enum POSTagEnglish
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @param tag - an instance to a String that corresponds to a penn treebank tag
+	 * @param tag - an instance to a String that corresponds to a penn treebank tag, case insensitive
 	 * 
 	 * @return boolean - true if the given tag is any kind of adverb
 	 */
 	public static boolean isAdverb(final String tag)
 	{
-		boolean retVal = false;
-		
-		if(tag != null &&!tag.isEmpty())
-		{
-			if(tag.equalsIgnoreCase(POSTagEnglish.RB.name()) || tag.equalsIgnoreCase(POSTagEnglish.RBR.name())
-			   || tag.equalsIgnoreCase(POSTagEnglish.RBS.name()) || tag.equalsIgnoreCase(POSTagEnglish.WRB.name()))
-			{
-				retVal = true;
-			}
-		}
-		
-		return retVal;
+		return isAdverb(findTagIgnoreCase(tag));
 	}
 	
 	
 	
+	
 	/**determines whether the given tag is a pronoun or not
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @param tag - an instance to a POSTagEnglish that corresponds to a penn treebank tag
+	 * @param tag - an instance to a POSTagEnglish
 	 * 
 	 * @return boolean - true if the given tag is any kind of pronoun
 	 */
 	public static boolean isPronoun(final POSTagEnglish tag)
 	{
-		boolean retVal = false;
-		
-		if(tag != null)
-		{
-			if(tag.equals(PRP) || tag.equals(PRP$) || tag.equals(WP) || tag.equals(WP$))
-			{
-				retVal = true;
-			}
-		}
-		
-		return retVal;
+		return tag != null && (classes[tag.ordinal()] & PRONOUN_CLASS) != 0;
 	}
 	
 	
 	
+	
 	/**determines whether the given tag is a pronoun or not
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @param tag - an instance to a String that corresponds to a penn treebank tag
+	 * @param tag - an instance to a String that corresponds to a penn treebank tag, case insensitive
 	 * 
 	 * @return boolean - true if the given tag is any kind of pronoun
 	 */
 	public static boolean isPronoun(final String tag)
 	{
-		boolean retVal = false;
-		
-		if(tag != null && !tag.isEmpty())
-		{
-			if(tag.equalsIgnoreCase(POSTagEnglish.PRP.name()) || tag.equalsIgnoreCase(POSTagEnglish.PRP$.name()) ||
-				tag.equalsIgnoreCase(POSTagEnglish.WP.name()) || tag.equalsIgnoreCase(POSTagEnglish.WP$.name()))
-			{
-				retVal = true;
-			}
-		}
-		
-		return retVal;
+		return isPronoun(findTagIgnoreCase(tag));
 	}
 	
 	
@@ -331,23 +284,13 @@ public enum POSTagEnglish
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @param tag - an instance to a POSTagEnglish that corresponds to a POSTagEnglish tag
+	 * @param tag - an instance to a POSTagEnglish
 	 * 
-	 * @return boolean - true if the given tag is any kind of adverb
+	 * @return boolean - true if the given tag is any kind of punctuation
 	 */
 	public static boolean isPunctuation(final POSTagEnglish tag)
 	{
-		boolean retVal = false;
-		
-		if(tag.equals(DOT) || tag.equals(COMMA) || tag.equals(DOLSIGN) ||
-		   tag.equals(NUMSIGN) || tag.equals(LCB) || tag.equals(LRB) ||
-		   tag.equals(LSB) || tag.equals(RCB) || tag.equals(RRB) || tag.equals(RSB)||
-		   tag.equals(QUOTECLOSE) || tag.equals(QUOTEOPEN) || tag.equals(SEMICOLON))
-		{
-			retVal = true;
-		}
-		
-		return retVal;
+		return tag != null && (classes[tag.ordinal()] & PUNCTUATION_CLASS) != 0;
 	}
 	
 	
@@ -357,41 +300,29 @@ public enum POSTagEnglish
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @param tag - an instance to a String that corresponds to a POSTagEnglish tag
+	 * @param tag - an instance to a String that corresponds to a penn treebank tag, case insensitive
 	 * 
-	 * @return boolean - true if the given tag is any kind of adverb
+	 * @return boolean - true if the given tag is any kind of punctuation
 	 */
 	public static boolean isPunctuation(final String tag)
 	{
-		boolean retVal = false;
-		
-		if(tag != null && !tag.isEmpty())
-		{
-			if(tag.equalsIgnoreCase(".") || tag.equalsIgnoreCase(",") || tag.equalsIgnoreCase("$") ||
-			   tag.equalsIgnoreCase("#") || tag.equalsIgnoreCase("-LCB-") || tag.equalsIgnoreCase("-LSB-") ||
-			   tag.equalsIgnoreCase("LRB") || tag.equalsIgnoreCase("-RCB-") || tag.equalsIgnoreCase("-RSB-") || tag.equalsIgnoreCase("-RRB-") ||
-			   tag.equalsIgnoreCase("''") || tag.equalsIgnoreCase(":") || tag.equalsIgnoreCase(quoteOpen))
-			{
-				retVal = true;
-			}
-		}
-		
-		return retVal;
+		return isPunctuation(findTagIgnoreCase(tag));
 	}
 	
 	
 	
+	
 	/**determines whether the given tag is a punctuation that ends the sentence or not
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @param tag - an instance to a POSTagEnglish that corresponds to a POSTagEnglish tag
+	 * @param tag - an instance to a POSTagEnglish
 	 * 
 	 * @return boolean - true if the given tag is any kind of sentence terminator
 	 */
 	public static boolean isEndOfSentence(final POSTagEnglish tag)
 	{
-		return tag==DOT?true:false;
+		return tag != null && (classes[tag.ordinal()] & END_OF_SENTENCE_CLASS) != 0;
 	}
 	
 	
@@ -401,27 +332,36 @@ public enum POSTagEnglish
 	 * 
 	 * @author erhan sezerer
 	 *
-	 * @param tag - an instance to a POSTagEnglish that corresponds to a POSTagEnglish tag
+	 * @param tag - an instance to a String that corresponds to a penn treebank tag, case insensitive
 	 * 
 	 * @return boolean - true if the given tag is any kind of sentence terminator
 	 */
 	public static boolean isEndOfSentence(final String tag)
 	{
-		boolean retVal = false;
-		
-		if(tag != null && !tag.isEmpty())
-		{
-			if(tag.equalsIgnoreCase("."))
-			{
-				retVal = true;
-			}
-		}
-		
-		return retVal;
+		return isEndOfSentence(findTagIgnoreCase(tag));
 	}
 	
 	
 	
+	
+	/**returns the string of the tag as the tagger writes it, i.e. "." for DOT and "NN" for NN. 
+	 * findTag() returns the same tag for this string.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param tag - a POSTagEnglish instance
+	 * 
+	 * @return String - penn treebank string of the tag, null if the tag is null
+	 */
+	public static String getPennString(final POSTagEnglish tag)
+	{
+		return tag == null ? null : pennStrings[tag.ordinal()];
+	}
+	
+	
+	
+	
+	
 	/**finds the enum representation of a tag string generated from a penn treebank pos tagger.
 	 * returns null if there is any error throughout the process.
 	 * returns POSTagEnglish.UNKNOWN if the tag cannot be found
@@ -430,84 +370,205 @@ public enum POSTagEnglish
 	 *
 	 * @param tagString - a String instance representing a penn treebank tag
 	 * 
-	 * @return POSTagEnglish - a tag corresponding the string, null if there are any exception
+	 * @return POSTagEnglish - a tag corresponding the string, null if the string is null
 	 */
 	public static POSTagEnglish findTag(final String tagString)
 	{
 		POSTagEnglish tag = null;
 		
-		try
+		if(tagString != null)
 		{
-			tag = POSTagEnglish.valueOf(tagString);
+			tag = findTag(tagString, 0, tagString.length());
 		}
-		catch(IllegalArgumentException ia)
+		
+		return tag;
+	}
+	
+	
+	
+	
+	
+	/**same as findTag(String) but the tag is a part of a longer text, so that a tag can be found 
+	 * without creating a string for it. Uses a perfect hash table instead of trying each of the tags.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a text that contains a penn treebank tag
+	 * @param start - index of the first character of the tag
+	 * @param end - index after the last character of the tag
+	 * 
+	 * @return POSTagEnglish - a tag corresponding the characters, POSTagEnglish.UNKNOWN if the tag cannot be found. null if the text is null
+	 */
+	public static POSTagEnglish findTag(final CharSequence text, final int start, final int end)
+	{
+		POSTagEnglish tag = null;
+		
+		if(text != null)
 		{
-			if(tagString.equalsIgnoreCase("."))
-			{
-				tag = POSTagEnglish.DOT;
-			}
-			else if(tagString.equalsIgnoreCase(","))
-			{
-				tag = POSTagEnglish.COMMA;
-			}
-			else if(tagString.equalsIgnoreCase("$"))
-			{
-				tag = POSTagEnglish.DOLSIGN;
-			}
-			else if(tagString.equalsIgnoreCase("#"))
-			{
-				tag = POSTagEnglish.NUMSIGN;
-			}
-			else if(tagString.equalsIgnoreCase("''"))
-			{
-				tag = POSTagEnglish.QUOTECLOSE;
-			}
-			else if(tagString.equalsIgnoreCase(quoteOpen))
-			{
-				tag = POSTagEnglish.QUOTEOPEN;
-			}
-			else if(tagString.equalsIgnoreCase(":"))
-			{
-				tag = POSTagEnglish.SEMICOLON;
-			}
-			else if(tagString.equalsIgnoreCase("-LCB-"))
-			{
-				tag = POSTagEnglish.LCB;
-			}
-			else if(tagString.equalsIgnoreCase("-LSB-"))
-			{
-				tag = POSTagEnglish.LSB;
-			}
-			else if(tagString.equalsIgnoreCase("-LRB-"))
-			{
-				tag = POSTagEnglish.LRB;
-			}
-			else if(tagString.equalsIgnoreCase("-RCB-"))
-			{
-				tag = POSTagEnglish.RCB;
-			}
-			else if(tagString.equalsIgnoreCase("-RSB-"))
-			{
-				tag = POSTagEnglish.RSB;
-			}
-			else if(tagString.equalsIgnoreCase("-RRB-"))
+			tag = UNKNOWN;
+			int slot = hash(text, start, end, hashSeed) & (hashStrings.length - 1);
+			
+			if(hashStrings[slot] != null && hashStrings[slot].length() == end - start 
+					&& regionMatches(text, start, hashStrings[slot], hashIgnoreCase[slot]))
 			{
-				tag = POSTagEnglish.RRB;
+				tag = hashTags[slot];
 			}
-			else
+		}
+		
+		return tag;
+	}
+	
+	
+	
+	
+	
+	/**finds the tag of a string ignoring the case of the letters, used to classify the tag strings
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param tagString - a String instance representing a penn treebank tag
+	 * 
+	 * @return POSTagEnglish - a tag corresponding the string, null if the string is null or it is not a tag
+	 */
+	public static POSTagEnglish findTagIgnoreCase(final String tagString)
+	{
+		POSTagEnglish tag = null;
+		
+		if(tagString != null)
+		{
+			int slot = hash(tagString, 0, tagString.length(), hashSeed) & (hashStrings.length - 1);
+			
+			if(hashStrings[slot] != null && hashStrings[slot].equalsIgnoreCase(tagString))
 			{
-				tag = POSTagEnglish.UNKNOWN;
+				tag = hashTags[slot];
 			}
-			
 		}
-		catch(NullPointerException ne)
+		
+		return tag;
+	}
+	
+	
+	
+	
+	
+	/**hashes the characters ignoring their case
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a text that contains a tag
+	 * @param start - index of the first character of the tag
+	 * @param end - index after the last character of the tag
+	 * @param seed - seed of the hash table
+	 * 
+	 * @return int - hash of the characters
+	 */
+	private static int hash(final CharSequence text, final int start, final int end, final int seed)
+	{
+		int retVal = 0;
+		
+		for(int i=start; i<end; i++)
 		{
-			ne.printStackTrace();
-			tag = null;
+			retVal = retVal * 31 + Character.toUpperCase(text.charAt(i));
 		}
 		
+		//mix the seed in with a multiplication, so that a different seed moves the strings differently
+		retVal = (retVal ^ seed) * 0x9E3779B1;
 		
-		return tag;
+		return retVal ^ (retVal >>> 16);
+	}
+	
+	
+	
+	
+	
+	/**compares the characters of the text starting from the given index with a tag string
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a text that contains a tag
+	 * @param start - index of the first character of the tag
+	 * @param tagString - a tag string that is not longer than the rest of the text
+	 * @param ignoreCase - true to compare the letters ignoring their case
+	 * 
+	 * @return boolean - true if the characters are the same
+	 */
+	private static boolean regionMatches(final CharSequence text, final int start, final String tagString, final boolean ignoreCase)
+	{
+		boolean retVal = true;
+		
+		for(int i=0; i<tagString.length() && retVal; i++)
+		{
+			char c = text.charAt(start + i);
+			char t = tagString.charAt(i);
+			
+			retVal = c == t || (ignoreCase && Character.toUpperCase(c) == Character.toUpperCase(t));
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**finds a seed for which the given strings do not collide, and fills the hash table with them. 
+	 * The strings after the first nameCount ones are the symbols, which are not case sensitive.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param strings - tag strings, none of them are the same ignoring the case
+	 * @param tags - tag of each string
+	 * @param nameCount - number of the names of the tags at the beginning of the list
+	 */
+	private static void buildHashTable(final ArrayList<String> strings, final ArrayList<POSTagEnglish> tags, final int nameCount)
+	{
+		//the table is sparse so that a seed without collisions is found in a few tries
+		int size = Integer.highestOneBit(strings.size() * strings.size());
+		boolean collision = true;
+		
+		for(int seed=1; collision; seed++)
+		{
+			hashStrings = new String[size];
+			hashTags = new POSTagEnglish[size];
+			hashIgnoreCase = new boolean[size];
+			hashSeed = seed;
+			collision = false;
+			
+			for(int i=0; i<strings.size() && !collision; i++)
+			{
+				int slot = hash(strings.get(i), 0, strings.get(i).length(), seed) & (size - 1);
+				
+				if(hashStrings[slot] != null)
+				{
+					collision = true;
+				}
+				else
+				{
+					hashStrings[slot] = strings.get(i);
+					hashTags[slot] = tags.get(i);
+					hashIgnoreCase[slot] = i >= nameCount;
+				}
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/**adds the class to each of the given tags
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param tagClass - bit of the class
+	 * @param tags - tags of the class
+	 */
+	private static void setClass(final int tagClass, final POSTagEnglish... tags)
+	{
+		for(POSTagEnglish tag : tags)
+		{
+			classes[tag.ordinal()] |= tagClass;
+		}
 	}
 	
 	
@@ -19,6 +19,7 @@
 */
 package com.darg.NLPOperations.pos.util;
 
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 
 import com.darg.NLPOperations.pos.model.TaggedSentence;
@@ -44,35 +45,34 @@ public final class POSTagTokenizer
 	 */
 	public static ArrayList<TaggedWord> tokenizeTaggedText(final String path, final String divider)
 	{
-		ArrayList<TaggedWord> tempList = null;
-		boolean flag = false;
+		ArrayList<TaggedWord> retVal = null;
+		CharBuffer text = TaggedTextScanner.mapFile(path);
 		
-		//tokenize the text into words
-		ArrayList<Word> taggedWords = Tokenizer.tokenizeText(path, false);
-		
-		if(taggedWords != null)
+		if(text != null)
 		{
-			tempList = new ArrayList<TaggedWord>();
-			
-			int count = taggedWords.size();
-			
-			
-			//parse each word for tags and add to the list
-			for (int i=0; i<count; i++) 
-			{
-				TaggedWord tw = new TaggedWord();
-				flag = tw.setPair(taggedWords.get(i).word(), divider);
-				
-				if(flag)
-				{
-					tempList.add(tw);
-				}
-			}
-			
+			retVal = new TaggedTextScanner(divider).scanWords(text);
 		}
 		
-		
-		return tempList;
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**tokenizes the tagged text into words and splits the word tag pair.
+	 * Same as tokenizeTaggedText() but the text is given as a string, so it can be used straight on the output of the tagger.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a tagged text
+	 * @param divider - a string to determine which character(s) are used for splitting the tagged word
+	 * 
+	 * @return ArrayList<TaggedWord> - word-tag pairs in this text. null if the text is null.
+	 */
+	public static ArrayList<TaggedWord> tokenizeTaggedString(final String text, final String divider)
+	{
+		return new TaggedTextScanner(divider).scanWords(text);
 	}
 	
 	
@@ -118,7 +118,7 @@ public final class POSTagTokenizer
 	
 	
 	/**tokenizes and splits the tagged text into sentences. 
-	 * Uses White space tokenizer. 
+	 * Uses TaggedTextScanner over the mapped file.
 	 * 
 	 * 
 	 * @author erhan sezerer
@@ -131,52 +131,46 @@ public final class POSTagTokenizer
 	 */
 	public static ArrayList<TaggedSentence> tokenizeTaggedTextIntoSentences(final String path, final String divider)
 	{
-		ArrayList<TaggedSentence> sentences = new ArrayList<TaggedSentence>();
-		
-		Word word;
-		TaggedWord taggedWord;
-		TaggedSentence s = new TaggedSentence();
-		
-		//tokenize the text into words
-		ArrayList<Word> tempList = Tokenizer.tokenizeText(path, false);
+		ArrayList<TaggedSentence> retVal = null;
+		CharBuffer text = TaggedTextScanner.mapFile(path);
 		
-		//error check
-		if(tempList == null || tempList.isEmpty())
+		if(text != null)
 		{
-			sentences = null;
+			retVal = tokenizeTaggedStringIntoSentences(text, divider);
 		}
-		else
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**tokenizes and splits the tagged text into sentences. 
+	 * Same as tokenizeTaggedTextIntoSentences() but the text is given as a string, so it can be used straight on the output of the tagger.
+	 * To handle the sentences one at a time without a list, use TaggedTextScanner.scanSentences().
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a tagged text
+	 * @param divider - a string that divides the word tag pair in the text
+	 * 
+	 * @return ArrayList<TaggedSentence> - or null if there are any error (i.e. null or empty text)
+	 */
+	public static ArrayList<TaggedSentence> tokenizeTaggedStringIntoSentences(final CharSequence text, final String divider)
+	{
+		final ArrayList<TaggedSentence> sentences = new ArrayList<TaggedSentence>();
+		
+		int tokenCount = new TaggedTextScanner(divider).scanSentences(text, new TaggedSentenceHandler()
 		{
-			int count = tempList.size();
-			
-			//parse each word and decide whether it is the end of a sentence or not
-			for(int i=0; i<count; i++)
+			@Override
+			public boolean handleSentence(final TaggedSentence sentence)
 			{
-				word = tempList.get(i);
-				taggedWord = new TaggedWord();
-				taggedWord.setPair(word.word(), divider);
-				
-				
-				//if nothing is wrong.
-				//in some cases exceptional words will occur which will lead to mistakes and exceptions
-				//(such as the words "10" in article 4039 of reuters)
-				if(taggedWord.getWord() != null || taggedWord.getTag() != null)
-				{
-					s.appendToSentence(taggedWord);
-				}
-				
-				
-				if(POSTagEnglish.isEndOfSentence(taggedWord.getTag()))
-				{
-					sentences.add(s);
-					s = new TaggedSentence();
-				}
-				
+				return sentences.add(sentence);
 			}
-
-		}
+		});
 		
-		return sentences;
+		return tokenCount > 0 ? sentences : null;
 	}
 	
 	
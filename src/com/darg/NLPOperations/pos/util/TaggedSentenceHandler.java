@@ -0,0 +1,44 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pos.util;
+
+import com.darg.NLPOperations.pos.model.TaggedSentence;
+
+
+
+/**receives the sentences of a tagged text one at a time, see TaggedTextScanner
+ * 
+ * @author erhan sezerer
+ *
+ */
+public interface TaggedSentenceHandler 
+{
+	
+	/**called for each sentence in the order of the text
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param sentence - a sentence, it is not used by the scanner after the call
+	 * 
+	 * @return boolean - false to stop scanning the rest of the text
+	 */
+	public boolean handleSentence(final TaggedSentence sentence);
+	
+}
@@ -0,0 +1,360 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.pos.util;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+
+import com.darg.NLPOperations.pos.model.TaggedSentence;
+import com.darg.NLPOperations.pos.model.TaggedWord;
+
+
+
+/**splits a tagged text (i.e. the contents of a _POS file) into word-tag pairs in a single pass over its characters.
+ * Unlike splitting the tokens of the whitespace tokenizer with TaggedWord.setPair(), the tokens are not put in a list 
+ * first, no regular expression is used, and the tags are found with POSTagEnglish.findTag(CharSequence, int, int). 
+ * The characters of each token are copied to a buffer that is reused, and the strings of the same tags are shared.
+ * 
+ * The results are the same with the ones of POSTagTokenizer before, a token is a word-tag pair only if it contains the 
+ * divider exactly once, not counting the ones at its end. The divider is not a regular expression. A sentence ends with a sentence-ending punctuation 
+ * tag (see POSTagEnglish.isEndOfSentence()), and the words after the last one are not part of any sentence.
+ * 
+ * A scanner is not thread safe, use one for each thread.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class TaggedTextScanner 
+{
+	private String divider;
+	private char[] buffer; //characters of the current token
+	private String[] tagStrings; //last string of each tag, so that the same tag strings are not created again
+	
+	
+	
+	//constructors
+	public TaggedTextScanner()
+	{
+		this("_");
+	}
+	public TaggedTextScanner(final String divider) 
+	{
+		if(divider == null || divider.isEmpty())
+		{
+			throw new IllegalArgumentException("divider cannot be empty");
+		}
+		
+		this.divider = divider;
+		buffer = new char[64];
+		tagStrings = new String[POSTagEnglish.values().length];
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//						FUNCTIONS
+	/*-----------------------------------------------------------------------------------------------*/
+	/**splits the text into sentences and gives them to the handler one at a time
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a tagged text
+	 * @param handler - receives the sentences
+	 * 
+	 * @return int - number of the tokens in the text, -1 if the text is null
+	 */
+	public int scanSentences(final CharSequence text, final TaggedSentenceHandler handler)
+	{
+		return scan(text, handler, null);
+	}
+	
+	
+	
+	
+	
+	/**splits the text into word-tag pairs, the tokens that are not word-tag pairs are skipped
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a tagged text
+	 * 
+	 * @return ArrayList<TaggedWord> - word-tag pairs in this text. null if the text is null
+	 */
+	public ArrayList<TaggedWord> scanWords(final CharSequence text)
+	{
+		ArrayList<TaggedWord> retVal = null;
+		
+		if(text != null)
+		{
+			retVal = new ArrayList<TaggedWord>();
+			scan(text, null, retVal);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**runs through the tokens of the text. In sentence mode the pairs with an empty word are kept in the sentences 
+	 * as the old tokenizer did, in word mode only the complete pairs are added.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param text - a tagged text
+	 * @param handler - receives the sentences, null in word mode
+	 * @param words - list to add the words, null in sentence mode
+	 * 
+	 * @return int - number of the tokens, -1 if the text is null
+	 */
+	private int scan(final CharSequence text, final TaggedSentenceHandler handler, final ArrayList<TaggedWord> words)
+	{
+		int tokenCount = -1;
+		
+		if(text != null)
+		{
+			int length = text.length();
+			int index = 0;
+			boolean running = true;
+			TaggedSentence sentence = new TaggedSentence();
+			CharBuffer token = CharBuffer.wrap(buffer);
+			
+			tokenCount = 0;
+			
+			while(index < length && running)
+			{
+				//skip the whitespaces and copy the next token to the buffer
+				while(index < length && Character.isWhitespace(text.charAt(index)))
+				{
+					index++;
+				}
+				
+				int size = 0;
+				while(index < length && !Character.isWhitespace(text.charAt(index)))
+				{
+					if(size == buffer.length)
+					{
+						char[] temp = new char[buffer.length * 2];
+						System.arraycopy(buffer, 0, temp, 0, size);
+						buffer = temp;
+						token = CharBuffer.wrap(buffer);
+					}
+					buffer[size] = text.charAt(index);
+					size++;
+					index++;
+				}
+				
+				
+				if(size > 0)
+				{
+					tokenCount++;
+					
+					int split = findDivider(size);
+					TaggedWord word = null;
+					
+					if(split > 0 || (split == 0 && words == null))
+					{
+						int tagStart = split + divider.length();
+						int tagEnd = trimDividers(size);
+						POSTagEnglish tag = POSTagEnglish.findTag(token, tagStart, tagEnd);
+						
+						word = new TaggedWord(new String(buffer, 0, split), tag, tagString(tag, tagStart, tagEnd));
+					}
+					
+					
+					if(word != null && words != null)
+					{
+						words.add(word);
+					}
+					else if(word != null)
+					{
+						sentence.appendToSentence(word);
+						
+						if(POSTagEnglish.isEndOfSentence(word.getTag()))
+						{
+							running = handler.handleSentence(sentence);
+							sentence = new TaggedSentence();
+						}
+					}
+				}
+			}
+		}
+		
+		return tokenCount;
+	}
+	
+	
+	
+	
+	
+	/**finds the divider in the token in the buffer. The dividers at the end of the token are ignored, 
+	 * same as String.split() drops the empty strings at the end.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param size - length of the token
+	 * 
+	 * @return int - index of the divider, -1 if the token does not have exactly one divider before its end
+	 */
+	private int findDivider(final int size)
+	{
+		int retVal = -1;
+		int count = 0;
+		int end = trimDividers(size);
+		
+		for(int i=0; i + divider.length() <= end && count < 2; i++)
+		{
+			if(matchesDivider(i))
+			{
+				count++;
+				retVal = i;
+				i += divider.length() - 1;
+			}
+		}
+		
+		if(count != 1)
+		{
+			retVal = -1;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**returns the length of the token in the buffer without the dividers at its end
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param size - length of the token
+	 * 
+	 * @return int - length without the trailing dividers
+	 */
+	private int trimDividers(final int size)
+	{
+		int retVal = size;
+		
+		while(retVal >= divider.length() && matchesDivider(retVal - divider.length()))
+		{
+			retVal -= divider.length();
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**checks whether the divider starts at the given index of the buffer
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param index - index in the buffer, the divider must fit in the token
+	 * 
+	 * @return boolean - true if the characters are the same with the divider
+	 */
+	private boolean matchesDivider(final int index)
+	{
+		boolean retVal = true;
+		
+		for(int j=0; j<divider.length() && retVal; j++)
+		{
+			retVal = buffer[index+j] == divider.charAt(j);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**returns the string of the tag in the buffer, the string is shared with the previous tokens of the same tag
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param tag - the tag found for the characters
+	 * @param start - index of the tag in the buffer
+	 * @param end - index after the tag in the buffer
+	 * 
+	 * @return String - tag string
+	 */
+	private String tagString(final POSTagEnglish tag, final int start, final int end)
+	{
+		String retVal = tagStrings[tag.ordinal()];
+		boolean same = retVal != null && retVal.length() == end - start;
+		
+		for(int i=start; i<end && same; i++)
+		{
+			same = retVal.charAt(i - start) == buffer[i];
+		}
+		
+		if(!same)
+		{
+			retVal = new String(buffer, start, end - start);
+			tagStrings[tag.ordinal()] = retVal;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**maps a file to the memory and decodes it with the default charset, so that it can be scanned without reading it line by line
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - a path to a tagged text file
+	 * 
+	 * @return CharBuffer - the text of the file. null if there is any error
+	 */
+	public static CharBuffer mapFile(final String path)
+	{
+		CharBuffer retVal = null;
+		
+		try(FileInputStream fis = new FileInputStream(path);
+			FileChannel channel = fis.getChannel())
+		{
+			MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			retVal = Charset.defaultCharset().decode(bytes);
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			retVal = null;
+		}
+		
+		return retVal;
+	}
+	
+}
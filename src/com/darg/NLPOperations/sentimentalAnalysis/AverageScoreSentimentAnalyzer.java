@@ -22,13 +22,15 @@ package com.darg.NLPOperations.sentimentalAnalysis;
 import java.util.ArrayList;
 
 
-import com.darg.NLPOperations.dictionary.SentiWordNetDictionary;
-import com.darg.NLPOperations.dictionary.WordNetDictionary;
-import com.darg.NLPOperations.dictionary.model.SentiWordNetWord;
+import com.darg.NLPOperations.dictionary.model.FrozenSentiWordNet;
+import com.darg.NLPOperations.dictionary.model.FrozenWordNet;
+import com.darg.NLPOperations.dictionary.model.SenseIndex;
 import com.darg.NLPOperations.pos.model.TaggedWord;
 import com.darg.NLPOperations.pos.util.POSTagConverter;
 import com.darg.NLPOperations.pos.util.POSTagWordNet;
+import com.darg.NLPOperations.sentimentalAnalysis.model.ScoreColumns;
 import com.darg.NLPOperations.sentimentalAnalysis.model.SentimentScore;
+import com.darg.NLPOperations.sentimentalAnalysis.model.TokenBatch;
 import com.darg.utils.Normalizer;
 
 /**this class uses average scores as a basis for analysis. for example:
@@ -60,8 +62,9 @@ import com.darg.utils.Normalizer;
  */
 public class AverageScoreSentimentAnalyzer 
 {
-	private WordNetDictionary wordNet;
-	private SentiWordNetDictionary sentiWordNet;
+	private FrozenSentiWordNet sentiWordNet;
+	private SentimentLexicon lexicon;
+	private boolean annotate = true; //whether to write the scores of the words into the articles
 	
 	
 	private boolean control = true;
@@ -71,10 +74,6 @@ public class AverageScoreSentimentAnalyzer
 	private double verbScore[] = {0,0,0};
 	private double allwordsScore[] = {0,0,0};
 	
-	ArrayList<Double> dataPos;
-	ArrayList<Double> dataNeg;
-	ArrayList<Double> dataObj;
-	
 	
 	
 	//constructors
@@ -84,18 +83,19 @@ public class AverageScoreSentimentAnalyzer
 		
 	}
 	
-	public AverageScoreSentimentAnalyzer(final WordNetDictionary wordNet, final SentiWordNetDictionary sentiWordNet) 
+	public AverageScoreSentimentAnalyzer(final FrozenWordNet wordNet, final FrozenSentiWordNet sentiWordNet) 
+	{
+		this(SentimentLexicon.build(wordNet, sentiWordNet, 1), sentiWordNet);
+	}
+	
+	public AverageScoreSentimentAnalyzer(final SentimentLexicon lexicon, final FrozenSentiWordNet sentiWordNet) 
 	{
-		this.wordNet = wordNet;
+		this.lexicon = lexicon;
 		this.sentiWordNet = sentiWordNet;
 		
-		dataPos = new ArrayList<Double>();
-		dataNeg = new ArrayList<Double>();
-		dataObj = new ArrayList<Double>();
-		
 		
 		//load average score variables
-		if(!loadAverageScores())
+		if(lexicon == null || !loadAverageScores())
 		{
 			control = false;
 		}
@@ -138,7 +138,7 @@ public class AverageScoreSentimentAnalyzer
 		int negCount = 0;
 		int posCount = 0;
 		int objCount = 0;
-		String article = "";
+		StringBuilder article = new StringBuilder();
 		
 		
 		
@@ -146,11 +146,9 @@ public class AverageScoreSentimentAnalyzer
 		double subNegScore = 0;
 		double subPosScore = 0;
 		double subObjScore = 0;
-		int idSize = 0;
+		int slot = -1;
 		TaggedWord tempWord;
-		SentiWordNetWord tempSentiWord;
 		POSTagWordNet tempTag;
-		ArrayList<Integer> tempIds;
 		
 
 		
@@ -164,34 +162,22 @@ public class AverageScoreSentimentAnalyzer
 					tempTag = POSTagConverter.getPOSType(tempWord.getTag());
 					
 					
-					tempIds = wordNet.findIDsFromSense(tempWord.getWord(), tempTag);
+					slot = lexicon.find(tempWord.getWord(), tempTag);
 					
 					//if the is word found
-					if(tempIds != null && tempIds.size() != 0)
+					if(slot != -1)
 					{
-						idSize = tempIds.size();
 						foundWords++;
-						subNegScore = 0;
-						subPosScore = 0;
-						subObjScore = 0;
-						
-						//for every id get the score from SentiWordNet and take the average 
-						for(int j=0; j<idSize; j++)
-						{
-							tempSentiWord = sentiWordNet.findWord(tempIds.get(j), tempTag);
-							
-							subNegScore += tempSentiWord.getNegativeScore();
-							subPosScore += tempSentiWord.getPositiveScore();
-							subObjScore += tempSentiWord.getObjectivityScore();
-						}
-						
-						subPosScore /= idSize;
-						subNegScore /= idSize;
-						subObjScore /= idSize;
+						subPosScore = lexicon.getPositiveScore(slot);
+						subNegScore = lexicon.getNegativeScore(slot);
+						subObjScore = lexicon.getObjectiveScore(slot);
 						
 						
 						//update the article with scores
-						article = article.concat(tempWord.getWord() + "_" + Math.round( subObjScore * 100.0 ) / 100.0 + ":" + Math.round( subPosScore * 100.0 ) / 100.0 + ":" + Math.round( subNegScore * 100.0 ) / 100.0 + " ");
+						if(annotate)
+						{
+							SentimentScore.appendAnnotation(article, tempWord.getWord(), subObjScore, subPosScore, subNegScore);
+						}
 						
 						//add to the total score
 						totalNegScore += subNegScore;
@@ -290,7 +276,7 @@ public class AverageScoreSentimentAnalyzer
 					
 					score.setWordCount(size);
 					score.setWordsFound(foundWords);
-					score.setArticle(article);
+					score.setArticle(article.toString());
 				}
 				
 
@@ -308,6 +294,136 @@ public class AverageScoreSentimentAnalyzer
 	
 	
 	
+	/**batch version of documentBasedAnalysis(). Every document of the batch is scored as a single list of words, 
+	 * and a row is appended to the results for every document. Scores are the same as the ones of the list version,
+	 * but the articles are not produced.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param batch - documents to score, created with the lexicon of this analyzer
+	 * @param difTag - a flag for deciding whether to use different average scores for each tag, or
+	 * 					to use overall averages.
+	 * @param results - columns to append the rows into
+	 * 
+	 * @return boolean - true if the operation is successful. If not, no rows are appended
+	 */
+	public boolean documentBasedAnalysis(final TokenBatch batch, final boolean difTag, final ScoreColumns results)
+	{
+		boolean retVal = true;
+		int firstRow = results.getRowCount();
+		
+		//temporary variables needed for inner loops
+		double negScore, posScore, objScore;
+		double totalNegScore, totalPosScore, totalObjScore;
+		double subNegScore, subPosScore, subObjScore;
+		double[] average;
+		double[] tempList;
+		int foundWords, negCount, posCount, objCount;
+		int start, end, size, slot;
+		
+		
+		try
+		{
+			if(!control)
+			{
+				throw new Exception("cannot load average values from sentiwordnet");
+			}
+			if(batch.getLexicon() != lexicon)
+			{
+				throw new IllegalArgumentException("the batch is created with a different lexicon");
+			}
+			
+			int documentCount = batch.getDocumentCount();
+			int row = results.addRows(documentCount);
+			int[] words = batch.getWords();
+			byte[] tags = batch.getTags();
+			int[] sentenceStarts = batch.getSentenceStarts();
+			int[] documentStarts = batch.getDocumentStarts();
+			
+			//expected scores indexed by the value of the pos, so that the tag is not switched for every word
+			double[][] averages = new double[SenseIndex.POS_COUNT][];
+			averages[POSTagWordNet.NOUN.value] = difTag ? nounScore : allwordsScore;
+			averages[POSTagWordNet.ADVERB.value] = difTag ? advScore : allwordsScore;
+			averages[POSTagWordNet.ADJECTIVE.value] = difTag ? adjScore : allwordsScore;
+			averages[POSTagWordNet.VERB.value] = difTag ? verbScore : allwordsScore;
+			
+			
+			//for every document
+			for(int d=0; d<documentCount; d++, row++)
+			{
+				start = sentenceStarts[documentStarts[d]];
+				end = sentenceStarts[documentStarts[d+1]];
+				size = end - start;
+				negScore = 0;
+				posScore = 0;
+				objScore = 0;
+				totalNegScore = 0;
+				totalPosScore = 0;
+				totalObjScore = 0;
+				foundWords = 0;
+				negCount = 0;
+				posCount = 0;
+				objCount = 0;
+				
+				//for every word in the document
+				for(int i=start; i<end; i++)
+				{
+					slot = lexicon.find(words[i], tags[i]);
+					
+					//only the words with one of the four pos can be found
+					if(slot != -1)
+					{
+						foundWords++;
+						subPosScore = lexicon.getPositiveScore(slot);
+						subNegScore = lexicon.getNegativeScore(slot);
+						subObjScore = lexicon.getObjectiveScore(slot);
+						
+						totalNegScore += subNegScore;
+						totalPosScore += subPosScore;
+						totalObjScore += subObjScore;
+						
+						if(subNegScore > 0)
+						{
+							negCount++;
+						}
+						if(subPosScore > 0)
+						{
+							posCount++;
+						}
+						if(subObjScore > 0)
+						{
+							objCount++;
+						}
+						
+						average = averages[tags[i]];
+						posScore += (subPosScore - average[0]);
+						negScore += (subNegScore - average[1]);
+						objScore += (subObjScore - average[2]);
+					}
+				}
+				
+				
+				tempList = Normalizer.normalizeSumAbsolute(new double[]{negScore / size, posScore / size, objScore / size}, 1);
+				
+				results.setRow(row, 33.33 + 33.33*tempList[0], 33.33 + 33.33*tempList[1], 33.33 + 33.33*tempList[2], 
+							   totalNegScore, totalPosScore, totalObjScore, negCount, posCount, objCount, size, foundWords);
+			}
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+			results.truncate(firstRow);
+			retVal = false;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
 	//------------------------------------------------------------------------------------------------------------------------------
 	//			OTHER FUNCTIONS 
 	//------------------------------------------------------------------------------------------------------------------------------
@@ -346,14 +462,10 @@ public class AverageScoreSentimentAnalyzer
 			control = false;
 		}
 
-		dataPos = sentiWordNet.getDataPos();
-		dataNeg = sentiWordNet.getDataNeg();
-		dataObj = sentiWordNet.getDataObj();
 		
-		
-		if(control && (dataPos == null || dataPos.isEmpty() || 
-		   dataNeg == null || dataNeg.isEmpty() || 
-		   dataObj == null || dataObj.isEmpty()))
+		//averages of the pos are not a number if the dictionary is not indexed
+		if(control && (Double.isNaN(nounScore[0]) || Double.isNaN(verbScore[0]) || 
+		   Double.isNaN(adjScore[0]) || Double.isNaN(advScore[0])))
 		{
 			control = false;
 		}
@@ -362,10 +474,26 @@ public class AverageScoreSentimentAnalyzer
 		return control;
 	}
 	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	public boolean isAnnotate()
+	{
+		return annotate;
+	}
+	
+	/**sets whether the analyzer writes the scores of every word into the article of the scores. 
+	 * Annotating dominates the memory used for long articles, so turn it off if the articles are not needed.
+	 * 
+	 * @param annotate - false to leave the articles empty
+	 */
+	public void setAnnotate(final boolean annotate)
+	{
+		this.annotate = annotate;
+	}
+	
 }
-
-
-
-
-
-
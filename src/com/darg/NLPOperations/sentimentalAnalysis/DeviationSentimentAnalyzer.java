@@ -22,25 +22,25 @@ package com.darg.NLPOperations.sentimentalAnalysis;
 
 import java.util.ArrayList;
 
-import com.darg.NLPOperations.dictionary.SentiWordNetDictionary;
-import com.darg.NLPOperations.dictionary.WordNetDictionary;
-import com.darg.NLPOperations.dictionary.model.SentiWordNetWord;
+import com.darg.NLPOperations.dictionary.model.FrozenSentiWordNet;
+import com.darg.NLPOperations.dictionary.model.FrozenWordNet;
 import com.darg.NLPOperations.pos.model.TaggedSentence;
 import com.darg.NLPOperations.pos.model.TaggedWord;
 import com.darg.NLPOperations.pos.util.POSTagConverter;
 import com.darg.NLPOperations.pos.util.POSTagWordNet;
+import com.darg.NLPOperations.sentimentalAnalysis.model.ScoreColumns;
+import com.darg.NLPOperations.sentimentalAnalysis.model.ScoreDistribution;
 import com.darg.NLPOperations.sentimentalAnalysis.model.SentimentScore;
 import com.darg.NLPOperations.sentimentalAnalysis.model.SentimentScoreType;
-import com.darg.RConnector.REngineConnector;
-import com.darg.RConnector.model.RException;
+import com.darg.NLPOperations.sentimentalAnalysis.model.TokenBatch;
 
 
 
 public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 {
-	private WordNetDictionary wordNet;
-	private SentiWordNetDictionary sentiWordNet;
-	private REngineConnector rConnector;
+	private SentimentLexicon lexicon;
+	private ScoreDistribution distribution;
+	private boolean annotate = true; //whether to write the scores of the words into the articles
 	
 	
 	
@@ -52,12 +52,15 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 	{
 		
 	}
-	public DeviationSentimentAnalyzer(final WordNetDictionary wordNet,final SentiWordNetDictionary sentiWordNet,
-									  final REngineConnector rConnector) 
+	public DeviationSentimentAnalyzer(final FrozenWordNet wordNet,final FrozenSentiWordNet sentiWordNet,
+									  final ScoreDistribution distribution) 
 	{
-		this.rConnector = rConnector;
-		this.wordNet = wordNet;
-		this.sentiWordNet = sentiWordNet;
+		this(SentimentLexicon.build(wordNet, sentiWordNet, 1), distribution);
+	}
+	public DeviationSentimentAnalyzer(final SentimentLexicon lexicon, final ScoreDistribution distribution) 
+	{
+		this.distribution = distribution;
+		this.lexicon = lexicon;
 	}
 
 
@@ -87,7 +90,7 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 		int negCount = 0;
 		int posCount = 0;
 		int objCount = 0;
-		String article = "";
+		StringBuilder article = new StringBuilder();
 		
 		
 		
@@ -95,11 +98,9 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 		double subNegScore = 0;
 		double subPosScore = 0;
 		double subObjScore = 0;
-		int idSize = 0;
+		int slot = -1;
 		TaggedWord tempWord;
-		SentiWordNetWord tempSentiWord;
 		POSTagWordNet tempTag;
-		ArrayList<Integer> tempIds;
 		
 
 		
@@ -113,35 +114,23 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 					tempTag = POSTagConverter.getPOSType(tempWord.getTag());
 					
 					
-					tempIds = wordNet.findIDsFromSense(tempWord.getWord(), tempTag);
+					slot = lexicon.find(tempWord.getWord(), tempTag);
 					
 					
 					//if the word is found
-					if(tempIds != null && tempIds.size() != 0)
+					if(slot != -1)
 					{
-						idSize = tempIds.size();
 						foundWords++;
-						subNegScore = 0;
-						subPosScore = 0;
-						subObjScore = 0;
-						
-						//for every id get the score from SentiWordNet and take the average 
-						for(int j=0; j<idSize; j++)
-						{
-							tempSentiWord = sentiWordNet.findWord(tempIds.get(j), tempTag);
-							
-							subNegScore += tempSentiWord.getNegativeScore();
-							subPosScore += tempSentiWord.getPositiveScore();
-							subObjScore += tempSentiWord.getObjectivityScore();
-						}
-						
-						subPosScore /= idSize;
-						subNegScore /= idSize;
-						subObjScore /= idSize;
+						subPosScore = lexicon.getPositiveScore(slot);
+						subNegScore = lexicon.getNegativeScore(slot);
+						subObjScore = lexicon.getObjectiveScore(slot);
 						
 						
 						//update the article with scores
-						article = article.concat(tempWord.getWord() + "_" + Math.round( subObjScore * 100.0 ) / 100.0 + ":" + Math.round( subPosScore * 100.0 ) / 100.0 + ":" + Math.round( subNegScore * 100.0 ) / 100.0 + " ");
+						if(annotate)
+						{
+							SentimentScore.appendAnnotation(article, tempWord.getWord(), subObjScore, subPosScore, subNegScore);
+						}
 						
 						//add to the total score
 						totalNegScore += subNegScore;
@@ -171,18 +160,21 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 						double tempNegScore = 0;
 						double tempObjScore = 0;
 						
-						if(     (tempPosScore = rConnector.evaluateScore(subPosScore, SentimentScoreType.POS)) == -1
-							 || (tempNegScore = rConnector.evaluateScore(subNegScore, SentimentScoreType.NEG)) == -1
-							 || (tempObjScore = rConnector.evaluateScore(subObjScore, SentimentScoreType.OBJ)) == -1 )
+						if(     (tempPosScore = distribution.evaluateScore(subPosScore, SentimentScoreType.POS)) == -1
+							 || (tempNegScore = distribution.evaluateScore(subNegScore, SentimentScoreType.NEG)) == -1
+							 || (tempObjScore = distribution.evaluateScore(subObjScore, SentimentScoreType.OBJ)) == -1 )
 						{
-							throw new RException("Cannot evaluate the score of: " + tempWord.getWord());
+							throw new Exception("Cannot evaluate the score of: " + tempWord.getWord());
 						}
 						else
 						{
 							posScore += tempPosScore;
 							negScore += tempNegScore;
 							objScore += tempObjScore;
-							article = article.concat(tempWord.getWord() + "_" + Math.round( tempObjScore * 100.0 ) / 100.0 + ":" + Math.round( tempPosScore * 100.0 ) / 100.0 + ":" + Math.round( tempNegScore * 100.0 ) / 100.0 + " ");
+							if(annotate)
+							{
+								SentimentScore.appendAnnotation(article, tempWord.getWord(), tempObjScore, tempPosScore, tempNegScore);
+							}
 							
 						}
 						
@@ -212,7 +204,7 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 					
 				score.setWordCount(size);
 				score.setWordsFound(foundWords);
-				score.setArticle(article);
+				score.setArticle(article.toString());
 				
 
 		}
@@ -237,7 +229,7 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 		//variables
 		ArrayList<SentimentScore> scores = new ArrayList<SentimentScore>();
 		
-		String article = "";//article content with scores
+		StringBuilder article = new StringBuilder();//article content with scores
 		double negScore = 0;
 		double posScore = 0;
 		double objScore = 0;
@@ -258,13 +250,11 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 		double subPosScore = 0;
 		double subObjScore = 0;
 		SentimentScore sentiScore;
-		int idSize = 0;
+		int slot = -1;
 		int sentenceSize = 0;
 		TaggedSentence tempSentence;
 		TaggedWord tempWord;
-		SentiWordNetWord tempSentiWord;
 		POSTagWordNet tempTag;
-		ArrayList<Integer> tempIds;
 		
 		
 		try
@@ -293,8 +283,8 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 							tempWord = tempSentence.getWords().get(j);
 							tempTag = POSTagConverter.getPOSType(tempWord.getTag());
 							
-							//find the word from wordnet
-							tempIds = wordNet.findIDsFromSense(tempWord.getWord(), tempTag);
+							//find the scores of the word from the lexicon
+							slot = lexicon.find(tempWord.getWord(), tempTag);
 							
 							subNegScore = 0;
 							subPosScore = 0;
@@ -302,26 +292,12 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 							
 							
 							//if the word is found
-							if(tempIds != null && !tempIds.isEmpty())
+							if(slot != -1)
 							{
-								idSize = tempIds.size();
 								foundWords++;
-								
-								
-								
-								//get the score of every id found
-								for (int k=0; k<idSize; k++)
-								{							
-									tempSentiWord = sentiWordNet.findWord(tempIds.get(k), tempTag);
-								
-									subNegScore += tempSentiWord.getNegativeScore();
-									subPosScore += tempSentiWord.getPositiveScore();
-									subObjScore += tempSentiWord.getObjectivityScore();
-								}
-								
-								subPosScore /= idSize;
-								subNegScore /= idSize;
-								subObjScore /= idSize;
+								subPosScore = lexicon.getPositiveScore(slot);
+								subNegScore = lexicon.getNegativeScore(slot);
+								subObjScore = lexicon.getObjectiveScore(slot);
 								
 								
 								
@@ -351,18 +327,21 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 								double tempNegScore = 0;
 								double tempObjScore = 0;
 								
-								if(     (tempPosScore = rConnector.evaluateScore(subPosScore, SentimentScoreType.POS)) == -1
-									 || (tempNegScore = rConnector.evaluateScore(subNegScore, SentimentScoreType.NEG)) == -1
-									 || (tempObjScore = rConnector.evaluateScore(subObjScore, SentimentScoreType.OBJ)) == -1 )
+								if(     (tempPosScore = distribution.evaluateScore(subPosScore, SentimentScoreType.POS)) == -1
+									 || (tempNegScore = distribution.evaluateScore(subNegScore, SentimentScoreType.NEG)) == -1
+									 || (tempObjScore = distribution.evaluateScore(subObjScore, SentimentScoreType.OBJ)) == -1 )
 								{
-									throw new RException("Cannot evaluate the score of: " + tempWord.getWord());
+									throw new Exception("Cannot evaluate the score of: " + tempWord.getWord());
 								}
 								else
 								{
 									posScore += tempPosScore;
 									negScore += tempNegScore;
 									objScore += tempObjScore;
-									article = article.concat(tempWord.getWord() + "_" + Math.round( tempObjScore * 100.0 ) / 100.0 + ":" + Math.round( tempPosScore * 100.0 ) / 100.0 + ":" + Math.round( tempNegScore * 100.0 ) / 100.0 + " ");
+									if(annotate)
+									{
+										SentimentScore.appendAnnotation(article, tempWord.getWord(), tempObjScore, tempPosScore, tempNegScore);
+									}
 									
 								}
 								
@@ -370,7 +349,10 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 							
 							
 							//update the article with scores
-							article = article.concat(tempWord.getWord() + "_" + Math.round( subObjScore * 100.0 ) / 100.0 + ":" + Math.round( subPosScore * 100.0 ) / 100.0 + ":" + Math.round( subNegScore * 100.0 ) / 100.0 + " ");
+							if(annotate)
+							{
+								SentimentScore.appendAnnotation(article, tempWord.getWord(), subObjScore, subPosScore, subNegScore);
+							}
 
 							
 						}//for every word
@@ -427,14 +409,14 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 						
 						sentiScore.setWordCount(totalWords);
 						sentiScore.setWordsFound(foundWords);
-						sentiScore.setArticle(article);
+						sentiScore.setArticle(article.toString());
 						scores.add(sentiScore);
 					}
 					
 					negScore = 0;
 					posScore = 0;
 					objScore = 0;
-					article = "";
+					article.setLength(0);
 					
 				}//for every sentences
 			}//if the list is not empty
@@ -462,6 +444,262 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 	
 	
 	
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/**batch version of documentBasedAnalysis(). Every document of the batch is scored as a single list of words, 
+	 * and a row is appended to the results for every document. Scores are the same as the ones of the list version,
+	 * but the articles are not produced.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param batch - documents to score, created with the lexicon of this analyzer
+	 * @param results - columns to append the rows into
+	 * 
+	 * @return boolean - true if the operation is successful. If not, no rows are appended
+	 */
+	@Override
+	public boolean documentBasedAnalysis(final TokenBatch batch, final ScoreColumns results)
+	{
+		boolean retVal = true;
+		int firstRow = results.getRowCount();
+		
+		//temporary variables needed for inner loops
+		double negScore, posScore, objScore;
+		double totalNegScore, totalPosScore, totalObjScore;
+		double subNegScore, subPosScore, subObjScore;
+		double tempNegScore, tempPosScore, tempObjScore;
+		int foundWords, negCount, posCount, objCount;
+		int start, end, slot;
+		
+		
+		try
+		{
+			if(batch.getLexicon() != lexicon)
+			{
+				throw new IllegalArgumentException("the batch is created with a different lexicon");
+			}
+			
+			int documentCount = batch.getDocumentCount();
+			int row = results.addRows(documentCount);
+			int[] words = batch.getWords();
+			byte[] tags = batch.getTags();
+			int[] sentenceStarts = batch.getSentenceStarts();
+			int[] documentStarts = batch.getDocumentStarts();
+			
+			
+			//for every document
+			for(int d=0; d<documentCount; d++, row++)
+			{
+				start = sentenceStarts[documentStarts[d]];
+				end = sentenceStarts[documentStarts[d+1]];
+				negScore = 0;
+				posScore = 0;
+				objScore = 0;
+				totalNegScore = 0;
+				totalPosScore = 0;
+				totalObjScore = 0;
+				foundWords = 0;
+				negCount = 0;
+				posCount = 0;
+				objCount = 0;
+				
+				//for every word in the document
+				for(int i=start; i<end; i++)
+				{
+					slot = lexicon.find(words[i], tags[i]);
+					
+					if(slot != -1)
+					{
+						foundWords++;
+						subPosScore = lexicon.getPositiveScore(slot);
+						subNegScore = lexicon.getNegativeScore(slot);
+						subObjScore = lexicon.getObjectiveScore(slot);
+						
+						totalNegScore += subNegScore;
+						totalPosScore += subPosScore;
+						totalObjScore += subObjScore;
+						
+						if(subNegScore > 0)
+						{
+							negCount++;
+						}
+						if(subPosScore > 0)
+						{
+							posCount++;
+						}
+						if(subObjScore > 0)
+						{
+							objCount++;
+						}
+						
+						if(     (tempPosScore = distribution.evaluateScore(subPosScore, SentimentScoreType.POS)) == -1
+							 || (tempNegScore = distribution.evaluateScore(subNegScore, SentimentScoreType.NEG)) == -1
+							 || (tempObjScore = distribution.evaluateScore(subObjScore, SentimentScoreType.OBJ)) == -1 )
+						{
+							throw new Exception("Cannot evaluate the score of the word: " + words[i]);
+						}
+						
+						posScore += tempPosScore;
+						negScore += tempNegScore;
+						objScore += tempObjScore;
+					}
+				}
+				
+				
+				results.setRow(row, negScore / foundWords, posScore / foundWords, objScore / foundWords, totalNegScore, totalPosScore, 
+					   totalObjScore, negCount, posCount, objCount, end - start, foundWords);
+			}
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+			results.truncate(firstRow);
+			retVal = false;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/**batch version of sentenceBasedAnalysis(). A row is appended to the results for every sentence of the batch,
+	 * in the same order. Just as the list version, scores and counts are cumulative within a document while the
+	 * probabilities belong to the sentence, and empty sentences have a row of zeros. Documents without any 
+	 * sentences do not have any rows. The articles are not produced.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param batch - documents to score, created with the lexicon of this analyzer
+	 * @param results - columns to append the rows into
+	 * 
+	 * @return boolean - true if the operation is successful. If not, no rows are appended
+	 */
+	@Override
+	public boolean sentenceBasedAnalysis(final TokenBatch batch, final ScoreColumns results)
+	{
+		boolean retVal = true;
+		int firstRow = results.getRowCount();
+		
+		//temporary variables needed for inner loops
+		double negScore, posScore, objScore;
+		double totalNegScore, totalPosScore, totalObjScore;
+		double subNegScore, subPosScore, subObjScore;
+		double tempNegScore, tempPosScore, tempObjScore;
+		int foundWords, totalWords, negCount, posCount, objCount;
+		int start, end, slot;
+		
+		
+		try
+		{
+			if(batch.getLexicon() != lexicon)
+			{
+				throw new IllegalArgumentException("the batch is created with a different lexicon");
+			}
+			
+			int documentCount = batch.getDocumentCount();
+			int row = results.addRows(batch.getSentenceCount());
+			int[] words = batch.getWords();
+			byte[] tags = batch.getTags();
+			int[] sentenceStarts = batch.getSentenceStarts();
+			int[] documentStarts = batch.getDocumentStarts();
+			
+			
+			//for every document
+			for(int d=0; d<documentCount; d++)
+			{
+				totalNegScore = 0;
+				totalPosScore = 0;
+				totalObjScore = 0;
+				totalWords = 0;
+				negCount = 0;
+				posCount = 0;
+				objCount = 0;
+				
+				//for every sentence
+				for(int s=documentStarts[d]; s<documentStarts[d+1]; s++, row++)
+				{
+					start = sentenceStarts[s];
+					end = sentenceStarts[s+1];
+					
+					if(start == end)
+					{
+						results.setRow(row, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+					}
+					else
+					{
+						negScore = 0;
+						posScore = 0;
+						objScore = 0;
+						foundWords = 0;
+						totalWords += end - start;
+						
+						//for every word
+						for(int i=start; i<end; i++)
+						{
+							slot = lexicon.find(words[i], tags[i]);
+							
+							if(slot != -1)
+							{
+								foundWords++;
+								subPosScore = lexicon.getPositiveScore(slot);
+								subNegScore = lexicon.getNegativeScore(slot);
+								subObjScore = lexicon.getObjectiveScore(slot);
+								
+								totalNegScore += subNegScore;
+								totalPosScore += subPosScore;
+								totalObjScore += subObjScore;
+								
+								if(subNegScore > 0)
+								{
+									negCount++;
+								}
+								if(subPosScore > 0)
+								{
+									posCount++;
+								}
+								if(subObjScore > 0)
+								{
+									objCount++;
+								}
+								
+								if(     (tempPosScore = distribution.evaluateScore(subPosScore, SentimentScoreType.POS)) == -1
+									 || (tempNegScore = distribution.evaluateScore(subNegScore, SentimentScoreType.NEG)) == -1
+									 || (tempObjScore = distribution.evaluateScore(subObjScore, SentimentScoreType.OBJ)) == -1 )
+								{
+									throw new Exception("Cannot evaluate the score of the word: " + words[i]);
+								}
+								
+								posScore += tempPosScore;
+								negScore += tempNegScore;
+								objScore += tempObjScore;
+							}
+						}
+						
+						
+						results.setRow(row, negScore / foundWords, posScore / foundWords, objScore / foundWords, totalNegScore, totalPosScore, 
+							   totalObjScore, negCount, posCount, objCount, totalWords, foundWords);
+					}
+				}//for every sentence
+			}//for every document
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+			results.truncate(firstRow);
+			retVal = false;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
 	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 	@Deprecated
 	@Override
@@ -470,4 +708,26 @@ public class DeviationSentimentAnalyzer implements SentimentAnalyzer
 		return null;
 	}
 	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	public boolean isAnnotate()
+	{
+		return annotate;
+	}
+	
+	/**sets whether the analyzer writes the scores of every word into the article of the scores. 
+	 * Annotating dominates the memory used for long articles, so turn it off if the articles are not needed.
+	 * 
+	 * @param annotate - false to leave the articles empty
+	 */
+	public void setAnnotate(final boolean annotate)
+	{
+		this.annotate = annotate;
+	}
+	
 }
@@ -23,21 +23,22 @@ package com.darg.NLPOperations.sentimentalAnalysis;
 import java.util.ArrayList;
 
 
-import com.darg.NLPOperations.dictionary.SentiWordNetDictionary;
-import com.darg.NLPOperations.dictionary.WordNetDictionary;
-import com.darg.NLPOperations.dictionary.model.SentiWordNetWord;
+import com.darg.NLPOperations.dictionary.model.FrozenSentiWordNet;
+import com.darg.NLPOperations.dictionary.model.FrozenWordNet;
 import com.darg.NLPOperations.pos.model.TaggedSentence;
 import com.darg.NLPOperations.pos.model.TaggedWord;
 import com.darg.NLPOperations.pos.util.POSTagConverter;
 import com.darg.NLPOperations.pos.util.POSTagWordNet;
+import com.darg.NLPOperations.sentimentalAnalysis.model.ScoreColumns;
 import com.darg.NLPOperations.sentimentalAnalysis.model.SentimentScore;
 import com.darg.NLPOperations.sentimentalAnalysis.model.SentimentScoreType;
+import com.darg.NLPOperations.sentimentalAnalysis.model.TokenBatch;
 
 public class NaiveBayesSentimentAnalyzer implements SentimentAnalyzer
 {
 	
-	private WordNetDictionary wordNet;
-	private SentiWordNetDictionary sentiWordNet;
+	private SentimentLexicon lexicon;
+	private boolean annotate = true; //whether to write the scores of the words into the articles
 	
 	//for m-estimate of conditional probability
 	private double objWordCount;
@@ -62,13 +63,16 @@ public class NaiveBayesSentimentAnalyzer implements SentimentAnalyzer
 	{
 		
 	}
-	public NaiveBayesSentimentAnalyzer(final WordNetDictionary wordNet, final SentiWordNetDictionary sentiWordNet) 
+	public NaiveBayesSentimentAnalyzer(final FrozenWordNet wordNet, final FrozenSentiWordNet sentiWordNet) 
 	{
-		this.wordNet = wordNet;
-		this.sentiWordNet = sentiWordNet;
-		objWordCount = sentiWordNet.getObjectiveWords(0.5, false).size();
-		negWordCount = sentiWordNet.getWordsWithNegativeScore(0.5, false).size();
-		posWordCount = sentiWordNet.getWordsWithPositiveScore(0.5, false).size();
+		this(SentimentLexicon.build(wordNet, sentiWordNet, 1), sentiWordNet);
+	}
+	public NaiveBayesSentimentAnalyzer(final SentimentLexicon lexicon, final FrozenSentiWordNet sentiWordNet) 
+	{
+		this.lexicon = lexicon;
+		objWordCount = sentiWordNet.countObjectiveWords(0.5, false);
+		negWordCount = sentiWordNet.countWordsWithNegativeScore(0.5, false);
+		posWordCount = sentiWordNet.countWordsWithPositiveScore(0.5, false);
 		wordcount = sentiWordNet.getWordCount();
 	
 		averageObjScore = sentiWordNet.findAverageObjectiveScore(POSTagWordNet.OTHER);
@@ -102,7 +106,7 @@ public class NaiveBayesSentimentAnalyzer implements SentimentAnalyzer
 		//variables
 		ArrayList<SentimentScore> scores = new ArrayList<SentimentScore>();
 		
-		String article = "";//article content with scores
+		StringBuilder article = new StringBuilder();//article content with scores
 		double negScore = 1;//will hold probabilities. initialize to 1 because we will multiply them using naive bayes
 		double posScore = 1;
 		double objScore = 1;
@@ -123,13 +127,11 @@ public class NaiveBayesSentimentAnalyzer implements SentimentAnalyzer
 		double subPosScore = 0;
 		double subObjScore = 0;
 		SentimentScore sentiScore;
-		int idSize = 0;
+		int slot = -1;
 		int sentenceSize = 0;
 		TaggedSentence tempSentence;
 		TaggedWord tempWord;
-		SentiWordNetWord tempSentiWord;
 		POSTagWordNet tempTag;
-		ArrayList<Integer> tempIds;
 		
 		
 		try
@@ -158,29 +160,16 @@ public class NaiveBayesSentimentAnalyzer implements SentimentAnalyzer
 							tempWord = tempSentence.getWords().get(j);
 							tempTag = POSTagConverter.getPOSType(tempWord.getTag());
 							
-							//find the word from wordnet
-							tempIds = wordNet.findIDsFromSense(tempWord.getWord(), tempTag);
+							//find the scores of the word from the lexicon
+							slot = lexicon.find(tempWord.getWord(), tempTag);
 							
 							//if the word is found
-							if(tempIds != null && !tempIds.isEmpty())
+							if(slot != -1)
 							{
-								idSize = tempIds.size();
 								foundWords++;
-								
-								
-								//get the score of every id found
-								for (int k=0; k<idSize; k++)
-								{							
-									tempSentiWord = sentiWordNet.findWord(tempIds.get(k), tempTag);
-								
-									subNegScore += tempSentiWord.getNegativeScore();
-									subPosScore += tempSentiWord.getPositiveScore();
-									subObjScore += tempSentiWord.getObjectivityScore();
-								}
-								
-								subPosScore /= idSize;
-								subNegScore /= idSize;
-								subObjScore /= idSize;
+								subPosScore = lexicon.getPositiveScore(slot);
+								subNegScore = lexicon.getNegativeScore(slot);
+								subObjScore = lexicon.getObjectiveScore(slot);
 								
 								
 								
@@ -207,7 +196,10 @@ public class NaiveBayesSentimentAnalyzer implements SentimentAnalyzer
 							
 							
 							//update the article with scores
-							article = article.concat(tempWord.getWord() + "_" + Math.round( subObjScore * 100.0 ) / 100.0 + ":" + Math.round( subPosScore * 100.0 ) / 100.0 + ":" + Math.round( subNegScore * 100.0 ) / 100.0 + " ");
+							if(annotate)
+							{
+								SentimentScore.appendAnnotation(article, tempWord.getWord(), subObjScore, subPosScore, subNegScore);
+							}
 
 							
 							//calculate the probabilities.
@@ -270,14 +262,14 @@ public class NaiveBayesSentimentAnalyzer implements SentimentAnalyzer
 						
 						sentiScore.setWordCount(totalWords);
 						sentiScore.setWordsFound(foundWords);
-						sentiScore.setArticle(article);
+						sentiScore.setArticle(article.toString());
 						scores.add(sentiScore);
 					}
 					
 					negScore = 1;
 					posScore = 1;
 					objScore = 1;
-					article = "";
+					article.setLength(0);
 					
 				}//for every sentences
 			}//if the list is not empty
@@ -303,6 +295,154 @@ public class NaiveBayesSentimentAnalyzer implements SentimentAnalyzer
 
 	
 	
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	@Deprecated
+	public boolean documentBasedAnalysis(final TokenBatch batch, final ScoreColumns results) 
+	{
+		return false;
+	}
+	
+	
+	
+	
+	
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/**batch version of sentenceBasedAnalysis(). A row is appended to the results for every sentence of the batch,
+	 * in the same order. Just as the list version, scores and counts are cumulative within a document while the
+	 * probabilities belong to the sentence, and empty sentences have a row of zeros. Documents without any 
+	 * sentences do not have any rows. The articles are not produced.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param batch - documents to score, created with the lexicon of this analyzer
+	 * @param results - columns to append the rows into
+	 * 
+	 * @return boolean - true if the operation is successful. If not, no rows are appended
+	 */
+	@Override
+	public boolean sentenceBasedAnalysis(final TokenBatch batch, final ScoreColumns results) 
+	{
+		boolean retVal = true;
+		int firstRow = results.getRowCount();
+		
+		//temporary variables needed for inner loops
+		double negScore, posScore, objScore;
+		double totalNegScore, totalPosScore, totalObjScore;
+		double subNegScore, subPosScore, subObjScore;
+		int foundWords, totalWords, negCount, posCount, objCount;
+		int start, end, slot;
+		
+		
+		try
+		{
+			if(batch.getLexicon() != lexicon)
+			{
+				throw new IllegalArgumentException("the batch is created with a different lexicon");
+			}
+			
+			int documentCount = batch.getDocumentCount();
+			int row = results.addRows(batch.getSentenceCount());
+			int[] words = batch.getWords();
+			byte[] tags = batch.getTags();
+			int[] sentenceStarts = batch.getSentenceStarts();
+			int[] documentStarts = batch.getDocumentStarts();
+			
+			//m-estimates do not depend on the word, so they are calculated once
+			double posEstimate = calculateBayesianProbability(0, SentimentScoreType.POS);
+			double negEstimate = calculateBayesianProbability(0, SentimentScoreType.NEG);
+			double objEstimate = calculateBayesianProbability(0, SentimentScoreType.OBJ);
+			
+			
+			//for every document
+			for(int d=0; d<documentCount; d++)
+			{
+				totalNegScore = 0;
+				totalPosScore = 0;
+				totalObjScore = 0;
+				foundWords = 0;
+				totalWords = 0;
+				negCount = 0;
+				posCount = 0;
+				objCount = 0;
+				
+				//for every sentence
+				for(int s=documentStarts[d]; s<documentStarts[d+1]; s++, row++)
+				{
+					start = sentenceStarts[s];
+					end = sentenceStarts[s+1];
+					
+					if(start == end)
+					{
+						results.setRow(row, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+					}
+					else
+					{
+						negScore = 1;
+						posScore = 1;
+						objScore = 1;
+						totalWords += end - start;
+						
+						//for every word
+						for(int i=start; i<end; i++)
+						{
+							slot = lexicon.find(words[i], tags[i]);
+							subNegScore = 0;
+							subPosScore = 0;
+							subObjScore = 0;
+							
+							if(slot != -1)
+							{
+								foundWords++;
+								subPosScore = lexicon.getPositiveScore(slot);
+								subNegScore = lexicon.getNegativeScore(slot);
+								subObjScore = lexicon.getObjectiveScore(slot);
+								
+								totalNegScore += subNegScore;
+								totalPosScore += subPosScore;
+								totalObjScore += subObjScore;
+								
+								if(subNegScore > 0)
+								{
+									negCount++;
+								}
+								if(subPosScore > 0)
+								{
+									posCount++;
+								}
+								if(subObjScore > 0)
+								{
+									objCount++;
+								}
+							}
+							
+							posScore = posScore * (subPosScore + posEstimate);
+							negScore = negScore * (subNegScore + negEstimate);
+							objScore = objScore * (subObjScore + objEstimate);
+						}
+						
+						
+						results.setRow(row, negScore, posScore, objScore, totalNegScore, totalPosScore, totalObjScore, 
+									   negCount, posCount, objCount, totalWords, foundWords);
+					}
+				}//for every sentence
+			}//for every document
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+			results.truncate(firstRow);
+			retVal = false;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
 	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 	@Override
 	@Deprecated
@@ -342,4 +482,25 @@ public class NaiveBayesSentimentAnalyzer implements SentimentAnalyzer
 	}
 	
 	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	public boolean isAnnotate()
+	{
+		return annotate;
+	}
+	
+	/**sets whether the analyzer writes the scores of every word into the article of the scores. 
+	 * Annotating dominates the memory used for long articles, so turn it off if the articles are not needed.
+	 * 
+	 * @param annotate - false to leave the articles empty
+	 */
+	public void setAnnotate(final boolean annotate)
+	{
+		this.annotate = annotate;
+	}
+	
 }
@@ -4,7 +4,9 @@ import java.util.ArrayList;
 
 import com.darg.NLPOperations.pos.model.TaggedSentence;
 import com.darg.NLPOperations.pos.model.TaggedWord;
+import com.darg.NLPOperations.sentimentalAnalysis.model.ScoreColumns;
 import com.darg.NLPOperations.sentimentalAnalysis.model.SentimentScore;
+import com.darg.NLPOperations.sentimentalAnalysis.model.TokenBatch;
 
 public interface SentimentAnalyzer 
 {
@@ -12,4 +14,8 @@ public interface SentimentAnalyzer
 	public SentimentScore documentBasedAnalysis(final ArrayList<TaggedWord> wordList);
 	public ArrayList<SentimentScore> sentenceBasedAnalysis(final ArrayList<TaggedSentence> wordList);
 	public ArrayList<SentimentScore> aspectBasedAnalysis(final ArrayList<TaggedWord> wordList);
+	
+	//batch versions: one row per document or per sentence is appended to the results, false if there is an error
+	public boolean documentBasedAnalysis(final TokenBatch batch, final ScoreColumns results);
+	public boolean sentenceBasedAnalysis(final TokenBatch batch, final ScoreColumns results);
 }
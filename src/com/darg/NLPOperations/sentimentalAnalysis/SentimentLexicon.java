@@ -0,0 +1,452 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.sentimentalAnalysis;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.darg.NLPOperations.dictionary.model.FrozenSentiWordNet;
+import com.darg.NLPOperations.dictionary.model.FrozenWordNet;
+import com.darg.NLPOperations.dictionary.model.LemmaIndex;
+import com.darg.NLPOperations.dictionary.model.SenseIndex;
+import com.darg.NLPOperations.pos.util.POSTagWordNet;
+import com.darg.fileOperations.utils.FileUtils;
+
+
+
+/**an immutable table of the average sentiwordnet scores of every word of wordnet in every pos.
+ * For a (word, pos) pair, analyzers used to find the ids of the word from the sense index of wordnet, then find the 
+ * scores of every id from sentiwordnet and take the average of them. That result never changes, so it is calculated once 
+ * for every word here, and stored as a packed float triple (positive, negative, objectivity). 
+ * A lookup is a single probe into a hash of case folded words.
+ * 
+ * Once built it is never modified, so a single lexicon can be shared by any number of analyzers and threads.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public final class SentimentLexicon 
+{
+	private static final int MAGIC = 0x534C4558; //"SLEX"
+	private static final int VERSION = 1;
+	private static final int POS_COUNT = SenseIndex.POS_COUNT;
+	private static final int WORDS_PER_TASK = 4096;
+	
+	private final LemmaIndex words;
+	private final float[] scores; //for every word, for every pos, (positive, negative, objectivity). NaN if the word does not have that pos
+	
+	
+	
+	
+	//constructors
+	private SentimentLexicon(final LemmaIndex words, final float[] scores)
+	{
+		this.words = words;
+		this.scores = scores;
+	}
+	
+	
+	
+	
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////			BUILD FUNCTIONS    			/////////////////////////////////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/**calculates the average scores of every word in the sense index of wordnet from sentiwordnet.
+	 * Words are split into chunks which are calculated in parallel.
+	 * Ids that cannot be found in sentiwordnet are left out of the average, and if none of the ids of a word
+	 * can be found the word is left out for that pos.
+	 * 
+	 * The dictionaries are read through their frozen views (see WordNetDictionary.freeze()), so the lexicon can be 
+	 * built while other threads use the same dictionaries. The view of wordnet must have the sense file.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param wordNet - frozen view of the wordnet dictionary
+	 * @param sentiWordNet - frozen view of the sentiwordnet dictionary
+	 * @param threadCount - number of threads to use
+	 * 
+	 * @return SentimentLexicon - the lexicon, or null if there is an error
+	 */
+	public static SentimentLexicon build(final FrozenWordNet wordNet, final FrozenSentiWordNet sentiWordNet, final int threadCount)
+	{
+		SentimentLexicon retVal = null;
+		ExecutorService executor = null;
+		
+		try
+		{
+			final SenseIndex senses = wordNet.getSenseIndex();
+			if(senses == null)
+			{
+				throw new IllegalArgumentException("sense words are not loaded");
+			}
+			
+			final int wordCount = senses.getWordCount();
+			final float[] scores = new float[wordCount * POS_COUNT * 3];
+			final LemmaIndex words = new LemmaIndex(wordCount);
+			ArrayList<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			
+			executor = Executors.newFixedThreadPool(Math.max(1, threadCount));
+			
+			//every chunk writes to its own part of the array
+			for(int start=0; start<wordCount; start+=WORDS_PER_TASK)
+			{
+				final int first = start;
+				final int last = Math.min(wordCount, start + WORDS_PER_TASK);
+				
+				results.add(executor.submit(new Callable<Boolean>()
+				{
+					@Override
+					public Boolean call() throws Exception
+					{
+						calculateScores(senses, sentiWordNet, scores, first, last);
+						return true;
+					}
+				}));
+			}
+			
+			//words are added in the order of the sense index, so the ordinal of a word is its ordinal in the sense index
+			for(int i=0; i<wordCount; i++)
+			{
+				words.put(senses.getWord(i), null, i);
+			}
+			
+			for(Future<Boolean> result : results)
+			{
+				result.get();
+			}
+			
+			retVal = new SentimentLexicon(words, scores);
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+			retVal = null;
+		}
+		finally
+		{
+			if(executor != null)
+			{
+				executor.shutdown();
+			}
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**calculates the average scores of the words between first and last
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param senses - sense index of wordnet
+	 * @param sentiWordNet - frozen view of the sentiwordnet dictionary
+	 * @param scores - array to write the scores into
+	 * @param first - ordinal of the first word (inclusive)
+	 * @param last - ordinal of the last word (exclusive)
+	 */
+	private static void calculateScores(final SenseIndex senses, final FrozenSentiWordNet sentiWordNet, final float[] scores,
+										final int first, final int last)
+	{
+		float[] tempScores = new float[3];
+		POSTagWordNet[] tags = {POSTagWordNet.ADJECTIVE, POSTagWordNet.ADVERB, POSTagWordNet.VERB, POSTagWordNet.NOUN};
+		double subPosScore, subNegScore, subObjScore;
+		int idSize, found, slot;
+		
+		for(int i=first; i<last; i++)
+		{
+			for(POSTagWordNet tag : tags)
+			{
+				idSize = senses.getIDCount(i, tag);
+				found = 0;
+				subPosScore = 0;
+				subNegScore = 0;
+				subObjScore = 0;
+				
+				for(int j=0; j<idSize; j++)
+				{
+					if(sentiWordNet.scoreOf(senses.getID(i, tag, j), tag, tempScores))
+					{
+						subPosScore += tempScores[0];
+						subNegScore += tempScores[1];
+						subObjScore += tempScores[2];
+						found++;
+					}
+				}
+				
+				slot = (i*POS_COUNT + tag.value) * 3;
+				if(found > 0)
+				{
+					scores[slot] = (float) (subPosScore / found);
+					scores[slot+1] = (float) (subNegScore / found);
+					scores[slot+2] = (float) (subObjScore / found);
+				}
+				else
+				{
+					scores[slot] = Float.NaN;
+					scores[slot+1] = Float.NaN;
+					scores[slot+2] = Float.NaN;
+				}
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////			SEARCH FUNCTIONS    		/////////////////////////////////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/**finds the scores of a word with the given pos. The returned slot is used to read the scores with
+	 * getPositiveScore(), getNegativeScore() and getObjectiveScore(). Nothing is created during the search.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word - word in any case
+	 * @param pos - pos of the word
+	 * 
+	 * @return int - slot of the scores, -1 if the word cannot be found with that pos
+	 */
+	public int find(final CharSequence word, final POSTagWordNet pos)
+	{
+		int retVal = -1;
+		
+		if(word != null && pos != null && pos.value < POS_COUNT)
+		{
+			retVal = find(words.positionOf(word), pos.value);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**finds the scores of a word that is already resolved with findWord(). Used by the batch analyzers, where
+	 * words are resolved once and the scores are looked up with plain arithmetic.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word - id of the word, -1 for unknown words
+	 * @param pos - value of the POSTagWordNet of the word
+	 * 
+	 * @return int - slot of the scores, -1 if the word cannot be found with that pos
+	 */
+	public int find(final int word, final int pos)
+	{
+		int retVal = -1;
+		
+		if(word >= 0 && pos >= 0 && pos < POS_COUNT)
+		{
+			retVal = (word*POS_COUNT + pos) * 3;
+			
+			if(Float.isNaN(scores[retVal]))
+			{
+				retVal = -1;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**finds the id of a word in this lexicon, regardless of its pos. 
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param word - word in any case
+	 * 
+	 * @return int - id of the word, -1 if the word is not in the lexicon
+	 */
+	public int findWord(final CharSequence word)
+	{
+		return word == null ? -1 : words.positionOf(word);
+	}
+	
+	
+	
+	
+	
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////			FILE FUNCTIONS    			/////////////////////////////////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/**saves the lexicon to a binary file so that it can be loaded without the dictionaries later.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path of the file to save into
+	 * 
+	 * @return boolean - true if the operation is successful
+	 */
+	public boolean save(final String path)
+	{
+		boolean retVal = true;
+		int size = words.size();
+		int arenaLength = 0;
+		
+		try(FileOutputStream fos = new FileOutputStream(path);
+			DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16));)
+		{
+			dos.writeInt(MAGIC);
+			dos.writeInt(VERSION);
+			dos.writeInt(size);
+			dos.writeInt(scores.length);
+			
+			//start of every word in the character arena
+			for(int i=0; i<size; i++)
+			{
+				dos.writeInt(arenaLength);
+				arenaLength += words.getKey(i).length();
+			}
+			dos.writeInt(arenaLength);
+			
+			//place of every word in the score table
+			for(int i=0; i<size; i++)
+			{
+				dos.writeInt(words.getPosition(i));
+			}
+			
+			for(int i=0; i<size; i++)
+			{
+				dos.writeChars(words.getKey(i));
+			}
+			
+			for(int i=0; i<scores.length; i++)
+			{
+				dos.writeFloat(scores[i]);
+			}
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			retVal = false;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**loads a lexicon that is saved with save(). The file is mapped into the memory and read in bulk.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param path - path of the file
+	 * 
+	 * @return SentimentLexicon - loaded lexicon, or null if there is an error
+	 */
+	public static SentimentLexicon load(final String path)
+	{
+		SentimentLexicon retVal = null;
+		ByteBuffer buffer = FileUtils.mapFile(path);
+		
+		try
+		{
+			if(buffer == null)
+			{
+				throw new IOException("Cannot read the contents of: " + path);
+			}
+			if(buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+			{
+				throw new IOException("not a lexicon file or an unsupported version: " + path);
+			}
+			
+			int size = buffer.getInt();
+			int[] wordStart = new int[size+1];
+			int[] positions = new int[size];
+			char[] arena;
+			float[] scores = new float[buffer.getInt()];
+			LemmaIndex words = new LemmaIndex(size);
+			
+			buffer.asIntBuffer().get(wordStart);
+			buffer.position(buffer.position() + wordStart.length*4);
+			buffer.asIntBuffer().get(positions);
+			buffer.position(buffer.position() + positions.length*4);
+			
+			arena = new char[wordStart[size]];
+			buffer.asCharBuffer().get(arena);
+			buffer.position(buffer.position() + arena.length*2);
+			
+			buffer.asFloatBuffer().get(scores);
+			
+			for(int i=0; i<size; i++)
+			{
+				words.put(new String(arena, wordStart[i], wordStart[i+1]-wordStart[i]), null, positions[i]);
+			}
+			
+			retVal = new SentimentLexicon(words, scores);
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+			retVal = null;
+		}
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	public float getPositiveScore(final int slot)
+	{
+		return scores[slot];
+	}
+	
+	public float getNegativeScore(final int slot)
+	{
+		return scores[slot+1];
+	}
+	
+	public float getObjectiveScore(final int slot)
+	{
+		return scores[slot+2];
+	}
+	
+	public int getWordCount()
+	{
+		return words.size();
+	}
+	
+}
@@ -0,0 +1,306 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.sentimentalAnalysis.model;
+
+import java.util.Arrays;
+
+
+
+/**results of the batch analyzers, kept as columns of primitive arrays instead of a SentimentScore per row.
+ * A row is a document or a sentence depending on the analysis. The columns hold the same values as the fields 
+ * of SentimentScore, except the article which is not produced by the batch analyzers.
+ * 
+ * Analyzers reserve their rows with addRows() and fill them with setRow(). The columns are returned as they are,
+ * so they must be requested again after every call to addRows(). Allocate it with enough capacity and clear() it between 
+ * batches to avoid any allocation.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class ScoreColumns 
+{
+	private double[] negativeProbs;
+	private double[] positiveProbs;
+	private double[] objectiveProbs;
+	private double[] negativeScores;
+	private double[] positiveScores;
+	private double[] objectiveScores;
+	private int[] negCounts;
+	private int[] posCounts;
+	private int[] objCounts;
+	private int[] wordCounts;
+	private int[] wordsFound;
+	
+	private int rowCount;
+	
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private ScoreColumns()
+	{
+		
+	}
+	public ScoreColumns(final int capacity)
+	{
+		if(capacity < 1)
+		{
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+		
+		allocate(capacity);
+		rowCount = 0;
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*-----------------------------------------------------------------------------------------------*/
+	/**reserves rows at the end of the columns, growing them if necessary. 
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param count - number of rows to reserve
+	 * 
+	 * @return int - index of the first reserved row
+	 */
+	public int addRows(final int count)
+	{
+		int retVal = rowCount;
+		
+		if(rowCount + count > wordCounts.length)
+		{
+			allocate(Math.max(rowCount + count, wordCounts.length + (wordCounts.length >> 1)));
+		}
+		rowCount += count;
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**drops the rows after the given row. Used to take back the rows of a failed analysis.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param rowCount - number of rows to keep
+	 */
+	public void truncate(final int rowCount)
+	{
+		if(rowCount < 0 || rowCount > this.rowCount)
+		{
+			throw new IllegalArgumentException("invalid row count: " + rowCount);
+		}
+		
+		this.rowCount = rowCount;
+	}
+	
+	
+	
+	
+	
+	/**empties the columns while keeping their arrays
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	public void clear()
+	{
+		rowCount = 0;
+	}
+	
+	
+	
+	
+	
+	/**sets all the columns of a row
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param row - index of a reserved row
+	 */
+	public void setRow(final int row, final double negativeProb, final double positiveProb, final double objectiveProb,
+					   final double negativeScore, final double positiveScore, final double objectiveScore, 
+					   final int negCount, final int posCount, final int objCount, final int wordCount, final int wordsFound)
+	{
+		negativeProbs[row] = negativeProb;
+		positiveProbs[row] = positiveProb;
+		objectiveProbs[row] = objectiveProb;
+		negativeScores[row] = negativeScore;
+		positiveScores[row] = positiveScore;
+		objectiveScores[row] = objectiveScore;
+		negCounts[row] = negCount;
+		posCounts[row] = posCount;
+		objCounts[row] = objCount;
+		wordCounts[row] = wordCount;
+		this.wordsFound[row] = wordsFound;
+	}
+	
+	
+	
+	
+	
+	/**copies a row into a SentimentScore, for the code that works with the objects.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param row - index of the row
+	 * 
+	 * @return SentimentScore - scores of the row, without an article
+	 */
+	public SentimentScore toSentimentScore(final int row)
+	{
+		SentimentScore retVal = new SentimentScore();
+		
+		if(row < 0 || row >= rowCount)
+		{
+			throw new IndexOutOfBoundsException("row: " + row + " row count: " + rowCount);
+		}
+		
+		retVal.setNegativeProb(negativeProbs[row]);
+		retVal.setNegativeScore(negativeScores[row]);
+		retVal.setNegCount(negCounts[row]);
+		
+		retVal.setPositiveProb(positiveProbs[row]);
+		retVal.setPositiveScore(positiveScores[row]);
+		retVal.setPosCount(posCounts[row]);
+		
+		retVal.setObjectiveProb(objectiveProbs[row]);
+		retVal.setObjectiveScore(objectiveScores[row]);
+		retVal.setObjCount(objCounts[row]);
+		
+		retVal.setWordCount(wordCounts[row]);
+		retVal.setWordsFound(wordsFound[row]);
+		
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	private void allocate(final int capacity)
+	{
+		if(wordCounts == null)
+		{
+			negativeProbs = new double[capacity];
+			positiveProbs = new double[capacity];
+			objectiveProbs = new double[capacity];
+			negativeScores = new double[capacity];
+			positiveScores = new double[capacity];
+			objectiveScores = new double[capacity];
+			negCounts = new int[capacity];
+			posCounts = new int[capacity];
+			objCounts = new int[capacity];
+			wordCounts = new int[capacity];
+			wordsFound = new int[capacity];
+		}
+		else
+		{
+			negativeProbs = Arrays.copyOf(negativeProbs, capacity);
+			positiveProbs = Arrays.copyOf(positiveProbs, capacity);
+			objectiveProbs = Arrays.copyOf(objectiveProbs, capacity);
+			negativeScores = Arrays.copyOf(negativeScores, capacity);
+			positiveScores = Arrays.copyOf(positiveScores, capacity);
+			objectiveScores = Arrays.copyOf(objectiveScores, capacity);
+			negCounts = Arrays.copyOf(negCounts, capacity);
+			posCounts = Arrays.copyOf(posCounts, capacity);
+			objCounts = Arrays.copyOf(objCounts, capacity);
+			wordCounts = Arrays.copyOf(wordCounts, capacity);
+			wordsFound = Arrays.copyOf(wordsFound, capacity);
+		}
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*-----------------------------------------------------------------------------------------------*/
+	public int getRowCount()
+	{
+		return rowCount;
+	}
+	
+	public double[] getNegativeProbs()
+	{
+		return negativeProbs;
+	}
+	
+	public double[] getPositiveProbs()
+	{
+		return positiveProbs;
+	}
+	
+	public double[] getObjectiveProbs()
+	{
+		return objectiveProbs;
+	}
+	
+	public double[] getNegativeScores()
+	{
+		return negativeScores;
+	}
+	
+	public double[] getPositiveScores()
+	{
+		return positiveScores;
+	}
+	
+	public double[] getObjectiveScores()
+	{
+		return objectiveScores;
+	}
+	
+	public int[] getNegCounts()
+	{
+		return negCounts;
+	}
+	
+	public int[] getPosCounts()
+	{
+		return posCounts;
+	}
+	
+	public int[] getObjCounts()
+	{
+		return objCounts;
+	}
+	
+	public int[] getWordCounts()
+	{
+		return wordCounts;
+	}
+	
+	public int[] getWordsFound()
+	{
+		return wordsFound;
+	}
+	
+}
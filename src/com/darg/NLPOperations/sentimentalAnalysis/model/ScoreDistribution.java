@@ -0,0 +1,219 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.sentimentalAnalysis.model;
+
+import com.darg.fileOperations.utils.FileUtils;
+import com.darg.utils.Statistics;
+
+
+
+/**cumulative distributions of the positive, negative and objectivity scores of the words, which give the probability
+ * of a word having its score in the deviation sentimental analysis.
+ * The density graphs are computed in java and kept as lookup tables of cdf values (see Statistics.getDensityCDF()),
+ * so neither building nor using them needs the R connection.
+ *
+ * Once created it is never modified, so a single distribution can be shared by any number of analyzers and threads.
+ *
+ * @author erhan sezerer
+ *
+ */
+public final class ScoreDistribution
+{
+	private static final int TABLE_SIZE = 512;
+	
+	private final double[] positiveCDF;
+	private final double[] negativeCDF;
+	private final double[] objectiveCDF;
+	
+	
+	
+	
+	//constructors
+	private ScoreDistribution(final double[] positiveCDF, final double[] negativeCDF, final double[] objectiveCDF)
+	{
+		this.positiveCDF = positiveCDF;
+		this.negativeCDF = negativeCDF;
+		this.objectiveCDF = objectiveCDF;
+	}
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*-----------------------------------------------------------------------------------------------*/
+	/**builds the distributions from the lists of scores of every word. Files should only contain scores separated with "\n"
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param posDataPath - path to a list of positive scores of all words.
+	 * @param negDataPath - path to a list of negative scores of all words.
+	 * @param objDataPath - path to a list of objective scores of all words.
+	 * 
+	 * @return ScoreDistribution - the distributions, null if a file cannot be read or is empty
+	 */
+	public static ScoreDistribution load(final String posDataPath, final String negDataPath, final String objDataPath)
+	{
+		ScoreDistribution retVal = null;
+		
+		try
+		{
+			retVal = build(readScores(posDataPath), readScores(negDataPath), readScores(objDataPath));
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+			retVal = null;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**builds the distributions from the scores of every word
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param posScores - positive scores of all words
+	 * @param negScores - negative scores of all words
+	 * @param objScores - objective scores of all words
+	 * 
+	 * @return ScoreDistribution - the distributions, null if a list of scores is empty
+	 */
+	public static ScoreDistribution build(final double[] posScores, final double[] negScores, final double[] objScores)
+	{
+		ScoreDistribution retVal = null;
+		double[] positiveCDF = Statistics.getDensityCDF(posScores, TABLE_SIZE);
+		double[] negativeCDF = Statistics.getDensityCDF(negScores, TABLE_SIZE);
+		double[] objectiveCDF = Statistics.getDensityCDF(objScores, TABLE_SIZE);
+		
+		if(positiveCDF != null && negativeCDF != null && objectiveCDF != null)
+		{
+			retVal = new ScoreDistribution(positiveCDF, negativeCDF, objectiveCDF);
+		}
+		else
+		{
+			System.err.println("Cannot create the density graph from an empty list of scores");
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**evaluates the score of word. Gives the probability of that word having that score.
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param wordScore - score of the word
+	 * @param type - type(pos, neg, obj) of score that is searched
+	 * 
+	 * @return double - score of the word in given type, -1 if the type is unknown
+	 */
+	public double evaluateScore(final double wordScore, final SentimentScoreType type)
+	{
+		double score = -1;
+		double[] cdf;
+		int position;
+		
+		//find the appropriate graph(graph of pos scores, graph of neg scores, etc.)
+		switch(type)
+		{
+			case POS: cdf = positiveCDF;
+					  break;
+			
+			case NEG: cdf = negativeCDF;
+			  		  break;
+			
+			case OBJ: cdf = objectiveCDF;
+			  		  break;
+			
+			default:  cdf = null;
+					  break;
+		}
+		
+		if(cdf != null)
+		{
+			//same position as cdf[512*score] in R, which starts from 1 and truncates the index
+			position = (int) (TABLE_SIZE * wordScore);
+			
+			//get the area under the graph
+			if(position < 1)
+			{
+				score = 0;
+			}
+			else if(position > cdf.length)
+			{
+				score = cdf[cdf.length-1];
+			}
+			else
+			{
+				score = cdf[position-1];
+			}
+		}
+		
+		return score;
+	}
+	
+	
+	
+	
+	
+	/** reads a list of scores separated with "\n" into an array
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param dataPath - path to a list of scores
+	 * 
+	 * @return double[] - scores in the file
+	 * @throws Exception - if the file cannot be read
+	 */
+	private static double[] readScores(final String dataPath) throws Exception
+	{
+		String tempString;
+		String[] rawScores;
+		double[] scoreList;
+		
+		//read the scores list
+		tempString = FileUtils.readFile(dataPath);
+		
+		if(tempString == null)
+		{
+			throw new Exception("Cannot read the contents of: " + dataPath);
+		}
+		
+		//parse it to a double array
+		rawScores = tempString.split("\n");
+		scoreList = new double[rawScores.length];
+		
+		for (int i=0; i<rawScores.length; i++)
+		{
+			scoreList[i] = Double.parseDouble(rawScores[i]);
+		}
+		
+		return scoreList;
+	}
+	
+}
@@ -19,6 +19,11 @@
 */
 package com.darg.NLPOperations.sentimentalAnalysis.model;
 
+import com.darg.utils.StringUtils;
+
+
+
+
 public class SentimentScore 
 {
 	private String article;
@@ -68,7 +73,9 @@ public class SentimentScore
 	public String toString()
 	{
 		String retVal;
-		if(article == null || article.isEmpty())
+		
+		//the article is not annotated when the analyzers are told not to, so the words decide if it is empty
+		if(wordsFound == 0 && (article == null || article.isEmpty()))
 		{
 			retVal = new String("article variable not set. might be an empty article!");
 		}
@@ -97,6 +104,30 @@ public class SentimentScore
 	
 	
 	
+	/**appends the scores of a word to an annotated article, in the form of "word_obj:pos:neg " 
+	 * where the scores are rounded to two decimals.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param article - annotated article to append into
+	 * @param word - the word
+	 * @param objScore - objectivity score of the word
+	 * @param posScore - positive score of the word
+	 * @param negScore - negative score of the word
+	 */
+	public static void appendAnnotation(final StringBuilder article, final String word, final double objScore, 
+										final double posScore, final double negScore)
+	{
+		article.append(word).append('_');
+		StringUtils.appendRounded(article, objScore).append(':');
+		StringUtils.appendRounded(article, posScore).append(':');
+		StringUtils.appendRounded(article, negScore).append(' ');
+	}
+	
+	
+	
+	
+	
 	/**returns true if this score object belongs to an empty article/sentence/aspect, false otherwise
 	 * 
 	 * @author erhan sezerer
@@ -0,0 +1,297 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.sentimentalAnalysis.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.darg.NLPOperations.dictionary.model.SenseIndex;
+import com.darg.NLPOperations.pos.model.TaggedSentence;
+import com.darg.NLPOperations.pos.model.TaggedWord;
+import com.darg.NLPOperations.pos.util.POSTagConverter;
+import com.darg.NLPOperations.sentimentalAnalysis.SentimentLexicon;
+
+
+
+/**many documents flattened into primitive arrays for the batch analyzers. Every token is kept as the id of its word
+ * in a lexicon and the value of its POSTagWordNet, sentences are kept as offsets into the tokens and documents as 
+ * offsets into the sentences. Words are resolved once when they are added, so the analyzers only do arithmetic 
+ * on the arrays.
+ * 
+ * Ids are only meaningful for the lexicon the batch is created with. A batch can be cleared and filled again
+ * to reuse its arrays.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class TokenBatch 
+{
+	private static final int DEFAULT_TOKEN_CAPACITY = 1 << 16;
+	private static final int TOKENS_PER_SENTENCE = 16;
+	private static final int SENTENCES_PER_DOCUMENT = 16;
+	
+	private SentimentLexicon lexicon;
+	
+	private int[] words;			//id of the word of every token, -1 if it is not in the lexicon
+	private byte[] tags;			//value of the POSTagWordNet of every token
+	private int[] sentenceStarts;	//first token of every sentence, followed by the token count
+	private int[] documentStarts;	//first sentence of every document, followed by the sentence count
+	
+	private int tokenCount;
+	private int sentenceCount;
+	private int documentCount;
+	
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private TokenBatch()
+	{
+		
+	}
+	public TokenBatch(final SentimentLexicon lexicon)
+	{
+		this(lexicon, DEFAULT_TOKEN_CAPACITY);
+	}
+	public TokenBatch(final SentimentLexicon lexicon, final int tokenCapacity)
+	{
+		if(lexicon == null || tokenCapacity < 1)
+		{
+			throw new IllegalArgumentException("lexicon cannot be null and capacity must be positive");
+		}
+		
+		int sentenceCapacity = Math.max(1, tokenCapacity / TOKENS_PER_SENTENCE);
+		
+		this.lexicon = lexicon;
+		words = new int[tokenCapacity];
+		tags = new byte[tokenCapacity];
+		sentenceStarts = new int[sentenceCapacity + 1];
+		documentStarts = new int[Math.max(1, sentenceCapacity / SENTENCES_PER_DOCUMENT) + 1];
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*-----------------------------------------------------------------------------------------------*/
+	/**adds a document to the end of the batch. Null sentences are added as empty sentences, 
+	 * just as the analyzers treat them.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param sentences - sentences of the document
+	 * 
+	 * @return int - index of the document in the batch
+	 */
+	public int addDocument(final List<TaggedSentence> sentences)
+	{
+		int size = sentences == null ? 0 : sentences.size();
+		TaggedSentence sentence;
+		
+		ensureDocumentCapacity(documentCount + 1);
+		ensureSentenceCapacity(sentenceCount + size);
+		
+		for(int i=0; i<size; i++)
+		{
+			sentence = sentences.get(i);
+			
+			if(sentence != null)
+			{
+				addTokens(sentence.getWords());
+			}
+			
+			sentenceCount++;
+			sentenceStarts[sentenceCount] = tokenCount;
+		}
+		
+		documentCount++;
+		documentStarts[documentCount] = sentenceCount;
+		
+		
+		return documentCount - 1;
+	}
+	
+	
+	
+	
+	
+	/**adds a document that is not split into sentences. It is kept as a document with a single sentence.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param wordList - words of the document
+	 * 
+	 * @return int - index of the document in the batch
+	 */
+	public int addDocumentWords(final List<TaggedWord> wordList)
+	{
+		ensureDocumentCapacity(documentCount + 1);
+		ensureSentenceCapacity(sentenceCount + 1);
+		
+		if(wordList != null)
+		{
+			addTokens(wordList);
+		}
+		
+		sentenceCount++;
+		sentenceStarts[sentenceCount] = tokenCount;
+		documentCount++;
+		documentStarts[documentCount] = sentenceCount;
+		
+		
+		return documentCount - 1;
+	}
+	
+	
+	
+	
+	
+	/**resolves the words to their ids and appends them as tokens. Words with a pos that has no 
+	 * scores in the lexicon are not searched at all.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param wordList - words to add
+	 */
+	private void addTokens(final List<TaggedWord> wordList)
+	{
+		int size = wordList.size();
+		int pos;
+		TaggedWord word;
+		
+		ensureTokenCapacity(tokenCount + size);
+		
+		for(int i=0; i<size; i++)
+		{
+			word = wordList.get(i);
+			pos = POSTagConverter.getPOSType(word.getTag()).value;
+			
+			words[tokenCount] = pos < SenseIndex.POS_COUNT ? lexicon.findWord(word.getWord()) : -1;
+			tags[tokenCount] = (byte) pos;
+			tokenCount++;
+		}
+	}
+	
+	
+	
+	
+	
+	/**empties the batch while keeping its arrays
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	public void clear()
+	{
+		tokenCount = 0;
+		sentenceCount = 0;
+		documentCount = 0;
+	}
+	
+	
+	
+	
+	
+	private void ensureTokenCapacity(final int capacity)
+	{
+		if(capacity > words.length)
+		{
+			int newLength = Math.max(capacity, words.length + (words.length >> 1));
+			
+			words = Arrays.copyOf(words, newLength);
+			tags = Arrays.copyOf(tags, newLength);
+		}
+	}
+	
+	private void ensureSentenceCapacity(final int capacity)
+	{
+		if(capacity + 1 > sentenceStarts.length)
+		{
+			sentenceStarts = Arrays.copyOf(sentenceStarts, Math.max(capacity + 1, sentenceStarts.length + (sentenceStarts.length >> 1)));
+		}
+	}
+	
+	private void ensureDocumentCapacity(final int capacity)
+	{
+		if(capacity + 1 > documentStarts.length)
+		{
+			documentStarts = Arrays.copyOf(documentStarts, Math.max(capacity + 1, documentStarts.length + (documentStarts.length >> 1)));
+		}
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*-----------------------------------------------------------------------------------------------*/
+	public SentimentLexicon getLexicon()
+	{
+		return lexicon;
+	}
+	
+	/**the arrays are returned as they are, only the first getTokenCount() tokens are valid
+	 */
+	public int[] getWords()
+	{
+		return words;
+	}
+	
+	public byte[] getTags()
+	{
+		return tags;
+	}
+	
+	/**first token of every sentence. The sentence i spans the tokens between 
+	 * getSentenceStarts()[i] and getSentenceStarts()[i+1]
+	 */
+	public int[] getSentenceStarts()
+	{
+		return sentenceStarts;
+	}
+	
+	/**first sentence of every document. The document i spans the sentences between 
+	 * getDocumentStarts()[i] and getDocumentStarts()[i+1]
+	 */
+	public int[] getDocumentStarts()
+	{
+		return documentStarts;
+	}
+	
+	public int getTokenCount()
+	{
+		return tokenCount;
+	}
+	
+	public int getSentenceCount()
+	{
+		return sentenceCount;
+	}
+	
+	public int getDocumentCount()
+	{
+		return documentCount;
+	}
+	
+}
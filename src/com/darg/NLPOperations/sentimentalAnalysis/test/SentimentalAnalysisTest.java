@@ -10,12 +10,20 @@ import org.junit.BeforeClass;
 
 import com.darg.NLPOperations.dictionary.SentiWordNetDictionary;
 import com.darg.NLPOperations.dictionary.WordNetDictionary;
+import com.darg.NLPOperations.dictionary.model.FrozenSentiWordNet;
+import com.darg.NLPOperations.dictionary.model.FrozenWordNet;
 import com.darg.NLPOperations.dictionary.model.SentiWordNet;
 import com.darg.NLPOperations.dictionary.model.WordNet;
+import com.darg.NLPOperations.pos.model.TaggedSentence;
 import com.darg.NLPOperations.pos.model.TaggedWord;
 import com.darg.NLPOperations.pos.util.POSTagEnglish;
+import com.darg.NLPOperations.pos.util.POSTagWordNet;
 import com.darg.NLPOperations.sentimentalAnalysis.AverageScoreSentimentAnalyzer;
+import com.darg.NLPOperations.sentimentalAnalysis.NaiveBayesSentimentAnalyzer;
+import com.darg.NLPOperations.sentimentalAnalysis.SentimentLexicon;
+import com.darg.NLPOperations.sentimentalAnalysis.model.ScoreColumns;
 import com.darg.NLPOperations.sentimentalAnalysis.model.SentimentScore;
+import com.darg.NLPOperations.sentimentalAnalysis.model.TokenBatch;
 
 public class SentimentalAnalysisTest 
 {
@@ -27,6 +35,8 @@ public class SentimentalAnalysisTest
 			SentiWordNet.VERSION_30, true);
 	private static String path = "/home/erhan/Desktop/TEST-FOR-THESIS/WordNet-3.0/dict";
 	private static WordNetDictionary dict2 = WordNetDictionary.getInstance(path , WordNet.VERSION_30);	
+	private static FrozenSentiWordNet frozenDict;
+	private static FrozenWordNet frozenDict2;
 
 	
 	
@@ -45,6 +55,10 @@ public class SentimentalAnalysisTest
 			fail("cannot load the wordnet library");
 		}
 		
+		//the analyzers use the frozen views of the dictionaries
+		frozenDict = dict.freeze();
+		frozenDict2 = dict2.freeze();
+		
 		System.out.println("adjectives: " + dict.getAdjectiveCount());
 		System.out.println("nouns: " + dict.getNounCount());
 		System.out.println("adverbs: " + dict.getAdverbCount());
@@ -66,7 +80,7 @@ public class SentimentalAnalysisTest
 		list.add(new TaggedWord("code" , POSTagEnglish.NN, "NN"));
 		list.add(new TaggedWord("." , POSTagEnglish.DOT, "."));
 		
-		AverageScoreSentimentAnalyzer analyzer = new AverageScoreSentimentAnalyzer(dict2, dict);
+		AverageScoreSentimentAnalyzer analyzer = new AverageScoreSentimentAnalyzer(frozenDict2, frozenDict);
 		SentimentScore score = analyzer.documentBasedAnalysis(list, false);
 		
 		if(score != null)
@@ -89,12 +103,102 @@ public class SentimentalAnalysisTest
 	}
 
 
-}
-
-
-
-
-
-
+	
+	
+	@Test
+	public void lexiconTest()
+	{
+		SentimentLexicon lexicon = SentimentLexicon.build(frozenDict2, frozenDict, 4);
+		SentimentLexicon loaded;
+		String file = "/home/erhan/Desktop/TEST-FOR-THESIS/lexicon.bin";
+		int slot;
+		
+		assertNotNull(lexicon);
+		
+		slot = lexicon.find("Unable", POSTagWordNet.ADJECTIVE);
+		assertTrue(slot != -1);
+		assertEquals(slot, lexicon.find("unable", POSTagWordNet.ADJECTIVE));
+		assertEquals(-1, lexicon.find("unable", POSTagWordNet.NOUN));
+		assertEquals(-1, lexicon.find("unable", POSTagWordNet.OTHER));
+		assertEquals(-1, lexicon.find("notaword", POSTagWordNet.NOUN));
+		
+		assertTrue(lexicon.save(file));
+		loaded = SentimentLexicon.load(file);
+		assertNotNull(loaded);
+		assertEquals(lexicon.getWordCount(), loaded.getWordCount());
+		assertEquals(slot, loaded.find("unable", POSTagWordNet.ADJECTIVE));
+		assertEquals(lexicon.getPositiveScore(slot), loaded.getPositiveScore(slot), 0);
+		assertEquals(lexicon.getNegativeScore(slot), loaded.getNegativeScore(slot), 0);
+		assertEquals(lexicon.getObjectiveScore(slot), loaded.getObjectiveScore(slot), 0);
+	}
+	
+	
+	
+	
+	@Test
+	public void batchAnalysisTest()
+	{
+		SentimentLexicon lexicon = SentimentLexicon.build(frozenDict2, frozenDict, 4);
+		AverageScoreSentimentAnalyzer averageAnalyzer = new AverageScoreSentimentAnalyzer(lexicon, frozenDict);
+		NaiveBayesSentimentAnalyzer bayesAnalyzer = new NaiveBayesSentimentAnalyzer(lexicon, frozenDict);
+		TokenBatch batch = new TokenBatch(lexicon, 4);
+		ScoreColumns results = new ScoreColumns(1);
+		ArrayList<TaggedSentence> document = new ArrayList<TaggedSentence>();
+		ArrayList<TaggedWord> words = new ArrayList<TaggedWord>();
+		ArrayList<TaggedWord> allWords = new ArrayList<TaggedWord>();
+		ArrayList<SentimentScore> sentenceScores;
+		SentimentScore score;
+		
+		words.add(new TaggedWord("i" , POSTagEnglish.NN, "NN"));
+		words.add(new TaggedWord("was" , POSTagEnglish.VB, "VB"));
+		words.add(new TaggedWord("unable" , POSTagEnglish.JJR, "JJR"));
+		words.add(new TaggedWord("to" , POSTagEnglish.TO, "TO"));
+		document.add(new TaggedSentence(words));
+		document.add(null);
+		words = new ArrayList<TaggedWord>();
+		words.add(new TaggedWord("test" , POSTagEnglish.VBD, "VBD"));
+		words.add(new TaggedWord("the" , POSTagEnglish.IN, "IN"));
+		words.add(new TaggedWord("code" , POSTagEnglish.NN, "NN"));
+		words.add(new TaggedWord("." , POSTagEnglish.DOT, "."));
+		document.add(new TaggedSentence(words));
+		allWords.addAll(document.get(0).getWords());
+		allWords.addAll(document.get(2).getWords());
+		
+		assertEquals(0, batch.addDocument(document));
+		assertEquals(1, batch.addDocumentWords(allWords));
+		assertEquals(16, batch.getTokenCount());
+		assertEquals(4, batch.getSentenceCount());
+		
+		//every document is a row, and the rows are the same as the ones of the list version
+		assertTrue(averageAnalyzer.documentBasedAnalysis(batch, true, results));
+		assertEquals(2, results.getRowCount());
+		score = averageAnalyzer.documentBasedAnalysis(allWords, true);
+		for(int i=0; i<2; i++)
+		{
+			assertEquals(score.getPositiveProb(), results.getPositiveProbs()[i], 0);
+			assertEquals(score.getNegativeProb(), results.getNegativeProbs()[i], 0);
+			assertEquals(score.getObjectiveProb(), results.getObjectiveProbs()[i], 0);
+			assertEquals(score.getWordsFound(), results.getWordsFound()[i]);
+			assertEquals(score.getWordCount(), results.getWordCounts()[i]);
+		}
+		
+		//every sentence is a row
+		results.clear();
+		assertTrue(bayesAnalyzer.sentenceBasedAnalysis(batch, results));
+		assertEquals(4, results.getRowCount());
+		sentenceScores = bayesAnalyzer.sentenceBasedAnalysis(document);
+		for(int i=0; i<sentenceScores.size(); i++)
+		{
+			assertEquals(sentenceScores.get(i).getPositiveProb(), results.getPositiveProbs()[i], 0);
+			assertEquals(sentenceScores.get(i).getNegativeScore(), results.getNegativeScores()[i], 0);
+			assertEquals(sentenceScores.get(i).getObjCount(), results.getObjCounts()[i]);
+			assertEquals(sentenceScores.get(i).getWordCount(), results.getWordCounts()[i]);
+		}
+		
+		//a batch of another lexicon is rejected without adding any rows
+		assertFalse(bayesAnalyzer.sentenceBasedAnalysis(new TokenBatch(SentimentLexicon.build(frozenDict2, frozenDict, 1)), results));
+		assertEquals(4, results.getRowCount());
+	}
 
 
+}
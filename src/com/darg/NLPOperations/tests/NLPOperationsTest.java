@@ -21,8 +21,16 @@ package com.darg.NLPOperations.tests;
 
 import static org.junit.Assert.*;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
 import org.junit.Test;
 
+import com.darg.NLPOperations.pipeline.CheckpointManifest;
+import com.darg.fileOperations.utils.FileSystemUtils;
+import com.darg.fileOperations.utils.FileUtils;
+
 public class NLPOperationsTest 
 {
 
@@ -31,5 +39,75 @@ public class NLPOperationsTest
 	{
 		fail("Not yet implemented");
 	}
+	
+	
+	
+	
+	/**For function(s): CheckpointManifest.record(), getStage() and getDocID()
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void checkpointManifestTest() throws IOException
+	{
+		File directory = new File(System.getProperty("java.io.tmpdir"), "checkpointManifestTest");
+		if(directory.exists())
+		{
+			FileSystemUtils.deleteDirectory(directory.getAbsolutePath());
+		}
+		
+		try
+		{
+			File article = new File(directory, "article.xml");
+			FileUtils.writeFile(article, "some text");
+			String hash = CheckpointManifest.hashFile(article);
+			
+			
+			try(CheckpointManifest manifest = new CheckpointManifest(directory.getAbsolutePath()))
+			{
+				assertEquals(1, manifest.getDocID("a"));
+				assertEquals(2, manifest.getDocID("b"));
+				assertEquals(1, manifest.getDocID("a"));
+				assertNull(manifest.getStage("a", hash));
+				
+				manifest.record("a", hash, 1, CheckpointManifest.Stage.TAGGED);
+				manifest.record("a", hash, 1, CheckpointManifest.Stage.SCORED);
+				assertEquals(CheckpointManifest.Stage.SCORED, manifest.getStage("a", hash));
+				assertNull(manifest.getStage("b", hash));
+			}
+			
+			
+			//an operation that dies leaves an incomplete line
+			try(FileWriter fw = new FileWriter(new File(directory, CheckpointManifest.MANIFEST_FILE), true))
+			{
+				fw.write("SCORED\t3\t");
+			}
+			
+			try(CheckpointManifest manifest = new CheckpointManifest(directory.getAbsolutePath()))
+			{
+				assertEquals(CheckpointManifest.Stage.SCORED, manifest.getStage("a", hash));
+				assertEquals(2, manifest.getDocID("b"));
+				assertEquals(3, manifest.getDocID("c"));
+				assertEquals(1, manifest.getArticleCount());
+				
+				//the content of the article has changed
+				FileUtils.writeFile(article, "some other text");
+				assertNull(manifest.getStage("a", CheckpointManifest.hashFile(article)));
+				assertEquals(1, manifest.getDocID("a"));
+			}
+			
+			
+			try(CheckpointManifest manifest = new CheckpointManifest(directory.getAbsolutePath()))
+			{
+				assertEquals(CheckpointManifest.Stage.SCORED, manifest.getStage("a", hash));
+				assertEquals(3, manifest.getDocID("c"));
+				assertEquals(4, manifest.getDocID("d"));
+			}
+		}
+		finally
+		{
+			FileSystemUtils.deleteDirectory(directory.getAbsolutePath());
+		}
+	}
 
 }
@@ -24,7 +24,9 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Iterator;
 
 import edu.stanford.nlp.ling.Word;
 import edu.stanford.nlp.process.PTBTokenizer;
@@ -78,6 +80,53 @@ public class Tokenizer
 	
 	
 	
+	/**splits the given text into tokens, same as tokenizeText() but the text is already in memory
+	 * 
+	 * @author erhan sezerer
+	 * 
+	 * @param text - text to tokenize
+	 * 
+	 * @param method - boolean for describing which tokenization method will be used.
+	 * 					If true PTB tokenizer will be used
+	 * 					else WhiteSpace Tokenizer will be used
+	 * 
+	 * @return ArrayList<Word> - tokenized words. returns null if the text is null
+	 */
+	public static ArrayList<Word> tokenizeString(final String text, final boolean method)
+	{
+		ArrayList<Word> tempWords = null;
+		Iterator<Word> words;
+		
+		if(text != null)
+		{
+			tempWords = new ArrayList<Word>();
+			
+			try(StringReader sr = new StringReader(text))
+			{
+				if(method)
+				{
+					words = PTBTokenizer.newPTBTokenizer(sr);
+				}
+				else
+				{
+					words = WhitespaceTokenizer.newWordWhitespaceTokenizer(sr);
+				}
+				
+				while(words.hasNext())
+				{
+					tempWords.add(words.next());
+				}
+			}
+		}
+		
+		return tempWords;
+	}
+	
+	
+	
+	
+	
+	
 	/**splits the text from file whose location is given by the path into tokens.
 	 *  Uses PTBTokenizer of Stanford NLP
 	 * 
@@ -0,0 +1,190 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.NLPOperations.utils;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import com.darg.NLPOperations.pos.model.TaggedSentence;
+import com.darg.NLPOperations.pos.model.TaggedWord;
+import com.darg.NLPOperations.pos.util.POSTagTokenizer;
+
+
+
+/**an article passed between the stages of an operation. It starts with the file of the article, 
+ * the stages fill in its text and its tagged text, so that the tagged text reaches the sentiment analyzers without being read from a file.
+ * The tagged text is either kept as a string or as the sentences returned by the tagger.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class TaggedArticle 
+{
+	private int docID;
+	private File file;
+	private String name; //name of the article file, the output files are named after it
+	private String text;
+	private String taggedText;
+	private ArrayList<TaggedSentence> taggedSentences; //null if the tagged text is kept as a string
+	private String contentHash; //hash of the article file, null if the operation does not keep a checkpoint manifest
+	private File taggedFile; //_POS file of the article tagged in an earlier run, null if the article is tagged again
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private TaggedArticle()
+	{
+		
+	}
+	public TaggedArticle(final int docID, final File file) 
+	{
+		this.docID = docID;
+		this.file = file;
+		this.name = file.getName();
+	}
+	public TaggedArticle(final int docID, final String name, final String taggedText) 
+	{
+		this.docID = docID;
+		this.name = name;
+		this.taggedText = taggedText;
+	}
+	
+	
+	
+	
+	/**returns the tagged words of the article, the tagged text is tokenized if the sentences are not set
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return ArrayList<TaggedWord> - word-tag pairs of the article. null if there is no tagged text
+	 */
+	public ArrayList<TaggedWord> getTaggedWords()
+	{
+		ArrayList<TaggedWord> retVal = null;
+		
+		if(taggedSentences != null)
+		{
+			retVal = new ArrayList<TaggedWord>();
+			
+			for(TaggedSentence sentence : taggedSentences)
+			{
+				retVal.addAll(sentence.getWords());
+			}
+		}
+		else
+		{
+			retVal = POSTagTokenizer.tokenizeTaggedString(taggedText, "_");
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	/**returns the tagged sentences of the article, the tagged text is tokenized if the sentences are not set
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return ArrayList<TaggedSentence> - sentences of the article. null if there is no tagged text
+	 */
+	public ArrayList<TaggedSentence> getTaggedSentences()
+	{
+		ArrayList<TaggedSentence> retVal = taggedSentences;
+		
+		if(retVal == null)
+		{
+			retVal = POSTagTokenizer.tokenizeTaggedStringIntoSentences(taggedText, "_");
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	//setters and getters
+	public int getDocID() 
+	{
+		return docID;
+	}
+	
+	public File getFile() 
+	{
+		return file;
+	}
+	
+	public String getName() 
+	{
+		return name;
+	}
+	
+	public void setName(final String name) 
+	{
+		this.name = name;
+	}
+	
+	public String getText() 
+	{
+		return text;
+	}
+	
+	public void setText(final String text) 
+	{
+		this.text = text;
+	}
+	
+	public String getTaggedText() 
+	{
+		return taggedText;
+	}
+	
+	public void setTaggedText(final String taggedText) 
+	{
+		this.taggedText = taggedText;
+	}
+	
+	public void setTaggedSentences(final ArrayList<TaggedSentence> taggedSentences) 
+	{
+		this.taggedSentences = taggedSentences;
+	}
+	
+	public String getContentHash() 
+	{
+		return contentHash;
+	}
+	
+	public void setContentHash(final String contentHash) 
+	{
+		this.contentHash = contentHash;
+	}
+	
+	public File getTaggedFile() 
+	{
+		return taggedFile;
+	}
+	
+	public void setTaggedFile(final File taggedFile) 
+	{
+		this.taggedFile = taggedFile;
+	}
+	
+}
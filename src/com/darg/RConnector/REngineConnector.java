@@ -20,12 +20,11 @@
 package com.darg.RConnector;
 
 
-import org.rosuda.JRI.REXP;
 import org.rosuda.JRI.Rengine;
 
+import com.darg.NLPOperations.sentimentalAnalysis.model.ScoreDistribution;
 import com.darg.NLPOperations.sentimentalAnalysis.model.SentimentScoreType;
 import com.darg.RConnector.model.RException;
-import com.darg.fileOperations.utils.FileUtils;
 
 /**singleton class, since the connection to R cannot be multiplied. Only one connection can exist.
  * 
@@ -37,6 +36,8 @@ public class REngineConnector
 	private Rengine rengine;
 	private static boolean instanceExist = false;
 	
+	private volatile ScoreDistribution distribution = null; //cdf graphs of the scores
+	
 	
 	
 	//constructor
@@ -128,7 +129,8 @@ public class REngineConnector
 	/** Sets the environment and initializes the graphs needed for average score sentimental analysis, from the list of scores.
 	 *  Files should only contain scores separated with "\n"
 	 *  
-	 *  WARNING: Do not use it without calling createConnection() first
+	 *  The graphs are kept in a ScoreDistribution, which is computed in java. Neither this function nor evaluateScore() 
+	 *  needs the R connection, and the analyzers can use the ScoreDistribution directly without creating this connector.
 	 * 
 	 * @author erhan sezerer
 	 *
@@ -140,105 +142,13 @@ public class REngineConnector
 	 */
 	public boolean setEnvForSental(final String posDataPath, final String negDataPath, final String objDataPath)
 	{
-		boolean retVal = true;
+		boolean retVal = false;
+		ScoreDistribution loaded = ScoreDistribution.load(posDataPath, negDataPath, objDataPath);
 		
-		try
+		if(loaded != null)
 		{
-			//temporary variables
-			String tempString;
-			String[] rawScores;
-			double[] scoreList;
-			
-			
-			//add the necessary library
-			rengine.eval("require(zoo)");
-			
-			
-			
-			//for objective scores
-			/////////////////////////////////////////////////////////////////////////////
-			
-			//read the scores list
-			tempString = FileUtils.readFile(objDataPath);
-			
-			if(tempString == null)
-			{
-				throw new Exception("Cannot read the contents of: " + objDataPath);
-			}
-			
-			//parse it to a double array
-			rawScores = tempString.split("\n");
-			scoreList = new double[rawScores.length];
-			
-			for (int i=0; i<rawScores.length; i++)
-			{
-				scoreList[i] = Double.parseDouble(rawScores[i]);
-			}
-			
-			//send it to R
-			rengine.assign("X", scoreList);
-			rengine.eval("OBJ <- density(X)", true);
-			rengine.eval("cdfOBJ <- cumsum(OBJ$y * diff(OBJ$x[1:2]))");
-			rengine.eval("cdfOBJ <- cdfOBJ / max(cdfOBJ)");
-			
-			
-			//for positive scores
-			/////////////////////////////////////////////////////////////////////////////
-			
-			//read the scores list
-			tempString = FileUtils.readFile(posDataPath);
-			
-			if(tempString == null)
-			{
-				throw new Exception("Cannot read the contents of: " + posDataPath);
-			}
-			
-			//parse it to a double array
-			rawScores = tempString.split("\n");
-			scoreList = new double[rawScores.length];
-			
-			for (int i=0; i<rawScores.length; i++)
-			{
-				scoreList[i] = Double.parseDouble(rawScores[i]);
-			}
-			
-			//send it to R
-			rengine.assign("X", scoreList);
-			rengine.eval("POS <- density(X)", true);
-			rengine.eval("cdfPOS <- cumsum(POS$y * diff(POS$x[1:2]))");
-			rengine.eval("cdfPOS <- cdfPOS / max(cdfPOS)");
-			
-			//for negative scores
-			/////////////////////////////////////////////////////////////////////////////
-			
-			//read the scores list
-			tempString = FileUtils.readFile(negDataPath);
-			
-			if(tempString == null)
-			{
-				throw new Exception("Cannot read the contents of: " + negDataPath);
-			}
-			
-			//parse it to a double array
-			rawScores = tempString.split("\n");
-			scoreList = new double[rawScores.length];
-			
-			for (int i=0; i<rawScores.length; i++)
-			{
-				scoreList[i] = Double.parseDouble(rawScores[i]);
-			}
-			
-			//send it to R
-			rengine.assign("X", scoreList);
-			rengine.eval("NEG <- density(X)", true);
-			rengine.eval("cdfNEG <- cumsum(NEG$y * diff(NEG$x[1:2]))");
-			rengine.eval("cdfNEG <- cdfNEG / max(cdfNEG)");
-			
-		}
-		catch(Exception e)
-		{
-			e.printStackTrace();
-			retVal = false;
+			distribution = loaded;
+			retVal = true;
 		}
 		
 		return retVal;
@@ -254,6 +164,7 @@ public class REngineConnector
 	///////			SCORING FUNCTIONS         /////////////////////////////////////////////////////////////////////////////////
 	///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 	/**evaluates the score of word. Gives the probability of that word having that score.
+	 * It only reads from the lookup tables, so it can be called from many threads at the same time.
 	 * 
 	 * WARNING: do not use this function without calling setEnvForSental() first.
 	 * 
@@ -267,43 +178,17 @@ public class REngineConnector
 	public double evaluateScore(final double wordScore, final SentimentScoreType type)
 	{
 		double score = -1;
-		REXP rexp;
+		ScoreDistribution current = distribution;
 		
-		try
+		if(current == null)
 		{
-			
-			//calculate the probability from the appropriate graph(graoh of pos scores, graph of neg scores, etc.)
-			switch(type)
-			{
-				case POS: rengine.eval("avgPosition <- " + (512* (wordScore/1) ));
-						  rexp = rengine.eval("cdfPOS[avgPosition]", true);
-						  break;
-				
-				case NEG: rengine.eval("avgPosition <- " + (512* (wordScore/1) ));
-				  		  rexp = rengine.eval("cdfNEG[avgPosition]", true);
-				  		  break;
-					
-				case OBJ: rengine.eval("avgPosition <- " + (512* (wordScore/1) ));
-				  		  rexp = rengine.eval("cdfOBJ[avgPosition]", true);
-				  		  break;
-					
-					
-				default:  throw new Exception("unknown score type\n");
-						
-			}
-			
-			//get the area under the graph
-			score = rexp.asDouble();
-			
+			System.err.println("environment for sentimental analysis is not set");
 		}
-		catch(Exception e)
+		else
 		{
-			e.printStackTrace();
-			score = -1;
+			score = current.evaluateScore(wordScore, type);
 		}
 		
-		
-		
 		return score;
 	}
 	
@@ -315,6 +200,20 @@ public class REngineConnector
 	///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 	public void closeConnection()
 	{
-		rengine.end();
+		if(rengine != null)
+		{
+			rengine.end();
+		}
+	}
+	
+	/**returns the distributions set by setEnvForSental(), which can be given to the analyzers directly
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return ScoreDistribution - cdf graphs of the scores, null if the environment is not set
+	 */
+	public ScoreDistribution getDistribution()
+	{
+		return distribution;
 	}
 }
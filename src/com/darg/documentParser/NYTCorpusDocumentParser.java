@@ -54,6 +54,9 @@ import org.xml.sax.SAXException;
  * <P>
  * Class for parsing New York Times articles from NITF files.
  * <P>
+ * Instances reuse their DocumentBuilders and are not thread safe, use one
+ * parser per thread.
+ * <P>
  * 
  * @author Evan Sandhaus
  * 
@@ -65,9 +68,13 @@ public class NYTCorpusDocumentParser implements ParserInterface{
 	/** NITF Constant */
 	private static final String SERIES_NAME_TAG = "series.name";
 
-	/** NITF Constant */
-	private static final DateFormat format = new SimpleDateFormat(
-			"yyyyMMdd'T'HHmmss");
+	/** NITF Constant, one per thread since SimpleDateFormat is not thread safe */
+	private static final ThreadLocal<DateFormat> format = new ThreadLocal<DateFormat>() {
+		@Override
+		protected DateFormat initialValue() {
+			return new SimpleDateFormat("yyyyMMdd'T'HHmmss");
+		}
+	};
 
 	/** NITF Constant */
 	private static final String TAGLINE_TAG = "tagline";
@@ -264,6 +271,11 @@ public class NYTCorpusDocumentParser implements ParserInterface{
 	/** NITF Constant */
 	private static final String GENERAL_DESCRIPTOR_ATTRIBUTE = "general_descriptor";
 
+	/** Builders are created on first use and reused for the following documents */
+	private DocumentBuilder nonValidatingBuilder;
+
+	private DocumentBuilder validatingBuilder;
+
 	
 	/**
 	 * Parse an New York Times Document from a file.
@@ -480,7 +492,7 @@ public class NYTCorpusDocumentParser implements ParserInterface{
 				DATE_PUBLICATION_ATTRIBUTE);
 		if (publicationDateString != null) {
 			try {
-				Date date = format.parse(publicationDateString);
+				Date date = format.get().parse(publicationDateString);
 				ldcDocument.setPublicationDate(date);
 			} catch (ParseException e) {
 				e.printStackTrace();
@@ -628,7 +640,7 @@ public class NYTCorpusDocumentParser implements ParserInterface{
 			} else if (name.equals(BANNER_ATTRIBUTE)) {
 				ldcDocument.setBanner(content);
 			} else if (name.equals(CORRECTION_DATE_ATTRIBUTE)) {
-				ldcDocument.setCorrectionDate(format.parse(content));
+				ldcDocument.setCorrectionDate(format.get().parse(content));
 			} else if (name.equals(FEATURE_PAGE_ATTRIBUTE)) {
 				ldcDocument.setFeaturePage(content);
 			} else if (name.equals(COLUMN_NAME_ATTRIBUTE)) {
@@ -739,11 +751,16 @@ public class NYTCorpusDocumentParser implements ParserInterface{
 	 */
 	private Document parseStringToDOM(String s, String encoding, File file) {
 		try {
-			DocumentBuilderFactory factory = DocumentBuilderFactory
-					.newInstance();
-			factory.setValidating(false);
+			if (nonValidatingBuilder == null) {
+				DocumentBuilderFactory factory = DocumentBuilderFactory
+						.newInstance();
+				factory.setValidating(false);
+				nonValidatingBuilder = factory.newDocumentBuilder();
+			} else {
+				nonValidatingBuilder.reset();
+			}
 			InputStream is = new ByteArrayInputStream(s.getBytes(encoding));
-			Document doc = factory.newDocumentBuilder().parse(is);
+			Document doc = nonValidatingBuilder.parse(is);
 			return doc;
 		} catch (SAXException e) {
 			e.printStackTrace();
@@ -774,17 +791,29 @@ public class NYTCorpusDocumentParser implements ParserInterface{
 	private Document getDOMObject(String filename, boolean validating)
 			throws SAXException, IOException, ParserConfigurationException {
 
-		// Create a builder factory
+		DocumentBuilder builder = validating ? validatingBuilder : nonValidatingBuilder;
+
+		if (builder == null) {
+			// Create a builder factory
+			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+			if (!validating) {
+				factory.setValidating(validating);
+				factory.setSchema(null);
+				factory.setNamespaceAware(false);
+			}
 
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		if (!validating) {
-			factory.setValidating(validating);
-			factory.setSchema(null);
-			factory.setNamespaceAware(false);
+			// Create the builder and keep it for the next documents
+			builder = factory.newDocumentBuilder();
+			if (validating) {
+				validatingBuilder = builder;
+			} else {
+				nonValidatingBuilder = builder;
+			}
+		} else {
+			builder.reset();
 		}
 
-		DocumentBuilder builder = factory.newDocumentBuilder();
-		// Create the builder and parse the file
+		// parse the file
 		Document doc = builder.parse(new File(filename));
 		return doc;
 	}
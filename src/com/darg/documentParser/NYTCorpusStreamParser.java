@@ -0,0 +1,521 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.documentParser;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumSet;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.darg.documentParser.model.ArticleAbstract;
+import com.darg.documentParser.model.NYTCorpusDocument;
+
+
+
+/**parses New York Times articles from NITF files with a StAX reader instead of building a DOM tree.
+ * Only the requested fields are extracted while the file is read, the rest of the document is skipped. 
+ * The extracted texts are the same as the ones of NYTCorpusDocumentParser.
+ * 
+ * Instances reuse their buffers and are not thread safe, use one parser per thread.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class NYTCorpusStreamParser implements ParserInterface
+{
+	public enum Field{HEADLINE, ONLINE_HEADLINE, BODY, LEAD_PARAGRAPH, ONLINE_LEAD_PARAGRAPH, ARTICLE_ABSTRACT, DATELINE};
+	
+	//NITF constants, see NYTCorpusDocumentParser
+	private static final String NITF_TAG = "nitf";
+	private static final String BODY_TAG = "body";
+	private static final String BODY_HEAD_TAG = "body.head";
+	private static final String BODY_CONTENT_TAG = "body.content";
+	private static final String HEDLINE_TAG = "hedline";
+	private static final String HL1_TAG = "hl1";
+	private static final String HL2_TAG = "hl2";
+	private static final String DATELINE_TAG = "dateline";
+	private static final String ABSTRACT_TAG = "abstract";
+	private static final String BLOCK_TAG = "block";
+	private static final String P_TAG = "p";
+	private static final String CLASS_ATTRIBUTE = "class";
+	private static final String ONLINE_HEADLINE_ATTRIBUTE = "online_headline";
+	private static final String FULL_TEXT_ATTRIBUTE = "full_text";
+	private static final String LEAD_PARAGRAPH_ATTRIBUTE = "lead_paragraph";
+	private static final String ONLINE_LEAD_PARAGRAPH_ATTRIBUTE = "online_lead_paragraph";
+	
+	private static final int MAX_DEPTH = 64;
+	//the JDK reader reports CDATA sections as characters unless this is set
+	private static final String REPORT_CDATA_PROPERTY = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+	
+	private EnumSet<Field> fields;
+	private XMLInputFactory factory;
+	private String[] path; //names of the open elements from the root
+	private int depth;
+	private StringBuilder run; //consecutive characters, a text node of the DOM tree
+	private StringBuilder text; //text of the element being read
+	private StringBuilder block; //paragraphs of the block being read
+	
+	
+	
+	
+	//------------------------------------------------------------------------------------------------------------------------------
+	//			constructors 
+	//------------------------------------------------------------------------------------------------------------------------------
+	/**creates a parser that only extracts the headline and the body of the articles
+	 * 
+	 * @author erhan sezerer
+	 */
+	public NYTCorpusStreamParser()
+	{
+		this(EnumSet.of(Field.HEADLINE, Field.BODY));
+	}
+	public NYTCorpusStreamParser(final EnumSet<Field> fields)
+	{
+		if(fields == null)
+		{
+			throw new IllegalArgumentException("fields cannot be null");
+		}
+		
+		this.fields = EnumSet.copyOf(fields);
+		path = new String[MAX_DEPTH];
+		run = new StringBuilder();
+		text = new StringBuilder();
+		block = new StringBuilder();
+		
+		//the DTD is not read, same as removing the doctype in NYTCorpusDocumentParser
+		factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+		if(factory.isPropertySupported(REPORT_CDATA_PROPERTY))
+		{
+			factory.setProperty(REPORT_CDATA_PROPERTY, Boolean.TRUE);
+		}
+	}
+	
+	
+	
+	
+	
+	
+	/*------------------------------------------------------------------------------------------------------------------------------
+	*			FUNCTIONS
+	*------------------------------------------------------------------------------------------------------------------------------*/
+	/**parses the requested fields of an article. Validation is not supported while streaming, 
+	 * so the file is parsed with NYTCorpusDocumentParser if it is requested.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param file - NITF file of the article
+	 * @param validating - true if the file is to be validated against the NITF DTD
+	 * 
+	 * @return ArticleAbstract - a NYTCorpusDocument with the requested fields, null if there is an error
+	 */
+	@Override
+	public ArticleAbstract parseArticleDocument(final File file, final boolean validating)
+	{
+		NYTCorpusDocument retVal = null;
+		XMLStreamReader reader = null;
+		
+		if(validating)
+		{
+			return new NYTCorpusDocumentParser().parseArticleDocument(file, true);
+		}
+		
+		try(InputStream in = new BufferedInputStream(new FileInputStream(file)))
+		{
+			retVal = new NYTCorpusDocument();
+			retVal.setSourceFile(file);
+			
+			reader = factory.createXMLStreamReader(in);
+			parse(reader, retVal);
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			retVal = null;
+		}
+		catch(XMLStreamException e)
+		{
+			e.printStackTrace();
+			System.out.println("Exception processing file " + file + ".");
+			retVal = null;
+		}
+		finally
+		{
+			close(reader);
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**reads the events of the document and extracts the requested fields. 
+	 * The elements are matched with their paths, as NYTCorpusDocumentParser walks the DOM tree.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param reader - reader at the start of the document
+	 * @param document - document to fill
+	 * 
+	 * @throws XMLStreamException - if the document is not well formed
+	 */
+	private void parse(final XMLStreamReader reader, final NYTCorpusDocument document) throws XMLStreamException
+	{
+		depth = 0;
+		
+		while(reader.hasNext())
+		{
+			int event = reader.next();
+			
+			if(event == XMLStreamConstants.START_ELEMENT)
+			{
+				String name = reader.getLocalName();
+				
+				if(depth == 4 && isHedline() && name.equals(HL1_TAG) && fields.contains(Field.HEADLINE))
+				{
+					document.setHeadline(readText(reader));
+				}
+				else if(depth == 4 && isHedline() && name.equals(HL2_TAG) && fields.contains(Field.ONLINE_HEADLINE)
+						&& ONLINE_HEADLINE_ATTRIBUTE.equals(reader.getAttributeValue(null, CLASS_ATTRIBUTE)))
+				{
+					document.setOnlineHeadline(readText(reader));
+				}
+				else if(depth == 3 && isBodyChild(BODY_HEAD_TAG) && name.equals(DATELINE_TAG) && fields.contains(Field.DATELINE))
+				{
+					document.setDateline(readText(reader));
+				}
+				else if(depth == 4 && isBodyChild(BODY_HEAD_TAG) && path[3].equals(ABSTRACT_TAG) && name.equals(P_TAG) 
+						&& fields.contains(Field.ARTICLE_ABSTRACT))
+				{
+					document.setArticleAbstract(readText(reader));
+				}
+				else if(depth == 3 && isBodyChild(BODY_CONTENT_TAG) && name.equals(BLOCK_TAG))
+				{
+					readBlock(reader, document);
+				}
+				else
+				{
+					push(name);
+				}
+			}
+			else if(event == XMLStreamConstants.END_ELEMENT)
+			{
+				depth--;
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/**reads the block under the current element if its class is one of the requested fields
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param reader - reader at the start of the block
+	 * @param document - document to fill
+	 * 
+	 * @throws XMLStreamException - if the document is not well formed
+	 */
+	private void readBlock(final XMLStreamReader reader, final NYTCorpusDocument document) throws XMLStreamException
+	{
+		String classAttribute = reader.getAttributeValue(null, CLASS_ATTRIBUTE);
+		
+		if(FULL_TEXT_ATTRIBUTE.equals(classAttribute) && fields.contains(Field.BODY))
+		{
+			document.setBody(readParagraphs(reader));
+		}
+		else if(LEAD_PARAGRAPH_ATTRIBUTE.equals(classAttribute) && fields.contains(Field.LEAD_PARAGRAPH))
+		{
+			document.setLeadParagraph(readParagraphs(reader));
+		}
+		else if(ONLINE_LEAD_PARAGRAPH_ATTRIBUTE.equals(classAttribute) && fields.contains(Field.ONLINE_LEAD_PARAGRAPH))
+		{
+			document.setOnlineLeadParagraph(readParagraphs(reader));
+		}
+		else
+		{
+			skipElement(reader);
+		}
+	}
+	
+	
+	
+	
+	
+	/**reads the paragraphs directly under the current element, one paragraph per line
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param reader - reader at the start of the element
+	 * 
+	 * @return String - the paragraphs, null if there are none
+	 * 
+	 * @throws XMLStreamException - if the document is not well formed
+	 */
+	private String readParagraphs(final XMLStreamReader reader) throws XMLStreamException
+	{
+		String retVal = null;
+		int level = 1;
+		
+		block.setLength(0);
+		
+		while(level > 0)
+		{
+			int event = reader.next();
+			
+			if(event == XMLStreamConstants.START_ELEMENT)
+			{
+				if(level == 1 && reader.getLocalName().equals(P_TAG))
+				{
+					block.append(readText(reader)).append('\n');
+				}
+				else
+				{
+					level++;
+				}
+			}
+			else if(event == XMLStreamConstants.END_ELEMENT)
+			{
+				level--;
+			}
+		}
+		
+		if(block.length() > 1)
+		{
+			block.setLength(block.length() - 1);
+			retVal = block.toString();
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**reads all the text under the current element. Each text node is trimmed and separated by a space, 
+	 * same as getAllText() of NYTCorpusDocumentParser
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param reader - reader at the start of the element
+	 * 
+	 * @return String - trimmed text of the element
+	 * 
+	 * @throws XMLStreamException - if the document is not well formed
+	 */
+	private String readText(final XMLStreamReader reader) throws XMLStreamException
+	{
+		int level = 1;
+		
+		text.setLength(0);
+		run.setLength(0);
+		
+		while(level > 0)
+		{
+			int event = reader.next();
+			
+			//CDATA sections are not text nodes in the DOM tree, so they are skipped as well
+			if(event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE)
+			{
+				run.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+			}
+			else
+			{
+				appendRun();
+				
+				if(event == XMLStreamConstants.START_ELEMENT)
+				{
+					level++;
+				}
+				else if(event == XMLStreamConstants.END_ELEMENT)
+				{
+					level--;
+				}
+			}
+		}
+		
+		return trim(text);
+	}
+	
+	
+	
+	
+	
+	/**appends the trimmed text node to the text followed by a space, if there is one
+	 * 
+	 * @author erhan sezerer
+	 */
+	private void appendRun()
+	{
+		if(run.length() > 0)
+		{
+			text.append(trim(run)).append(' ');
+			run.setLength(0);
+		}
+	}
+	
+	
+	
+	
+	
+	/**trims the given characters the same way as String.trim()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param chars - characters to trim
+	 * 
+	 * @return String - trimmed characters
+	 */
+	private static String trim(final CharSequence chars)
+	{
+		int start = 0;
+		int end = chars.length();
+		
+		while(start < end && chars.charAt(start) <= ' ')
+		{
+			start++;
+		}
+		while(end > start && chars.charAt(end - 1) <= ' ')
+		{
+			end--;
+		}
+		
+		return chars.subSequence(start, end).toString();
+	}
+	
+	
+	
+	
+	
+	/**skips the current element with all of its children
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param reader - reader at the start of the element
+	 * 
+	 * @throws XMLStreamException - if the document is not well formed
+	 */
+	private void skipElement(final XMLStreamReader reader) throws XMLStreamException
+	{
+		int level = 1;
+		
+		while(level > 0)
+		{
+			int event = reader.next();
+			
+			if(event == XMLStreamConstants.START_ELEMENT)
+			{
+				level++;
+			}
+			else if(event == XMLStreamConstants.END_ELEMENT)
+			{
+				level--;
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/**adds an element to the path, elements deeper than the maximum depth are only counted
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param name - name of the element
+	 */
+	private void push(final String name)
+	{
+		if(depth < MAX_DEPTH)
+		{
+			path[depth] = name;
+		}
+		depth++;
+	}
+	
+	
+	
+	
+	
+	//returns true if the path is nitf/body/<name>
+	private boolean isBodyChild(final String name)
+	{
+		return path[0].equals(NITF_TAG) && path[1].equals(BODY_TAG) && path[2].equals(name);
+	}
+	
+	//returns true if the path is nitf/body/body.head/hedline
+	private boolean isHedline()
+	{
+		return isBodyChild(BODY_HEAD_TAG) && path[3].equals(HEDLINE_TAG);
+	}
+	
+	
+	
+	
+	
+	/**closes the reader, does nothing if it is null
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param reader - reader to close
+	 */
+	private static void close(final XMLStreamReader reader)
+	{
+		if(reader != null)
+		{
+			try
+			{
+				reader.close();
+			}
+			catch(XMLStreamException e)
+			{
+				e.printStackTrace();
+			}
+		}
+	}
+	
+	
+	
+	
+	
+	/*------------------------------------------------------------------------------------------------------------------------------
+	*			setters and getters
+	*------------------------------------------------------------------------------------------------------------------------------*/
+	public EnumSet<Field> getFields() 
+	{
+		return EnumSet.copyOf(fields);
+	}
+	
+}
@@ -36,17 +36,33 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+/**parses the articles of reuters corpus. The document builder and the date format are reused 
+ * for every article parsed by an instance, so use one parser per thread.
+ * 
+ * @author erhan sezerer
+ *
+ */
 public class ReutersCorpusDocumentParser implements ParserInterface{
 
+	private DocumentBuilder db; //created on first use
+	private DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+	
+	
 	@Override
 	public ArticleAbstract parseArticleDocument(File file, boolean validating) {
-		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
 		ReutersCorpusDocument tempArticle = new ReutersCorpusDocument();
-		DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
 		try {
 
 			//Using factory get an instance of document builder
-			DocumentBuilder db = dbf.newDocumentBuilder();
+			if(db == null)
+			{
+				DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+				db = dbf.newDocumentBuilder();
+			}
+			else
+			{
+				db.reset();
+			}
 
 			//parse using builder to get DOM representation of the XML file
 			Document dom = db.parse(file);
@@ -0,0 +1,163 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.documentParser.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumSet;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.darg.documentParser.NYTCorpusDocumentParser;
+import com.darg.documentParser.NYTCorpusStreamParser;
+import com.darg.documentParser.NYTCorpusStreamParser.Field;
+import com.darg.documentParser.model.NYTCorpusDocument;
+import com.darg.fileOperations.utils.FileUtils;
+
+
+public class NYTCorpusStreamParserTests 
+{
+	private static final String ARTICLE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<!DOCTYPE nitf SYSTEM \"http://www.nitf.org/IPTC/NITF/3.3/specification/dtd/nitf-3-3.dtd\">\n"
+			+ "<nitf>\n"
+			+ " <head><title>Title</title><pubdata date.publication=\"20010101T000000\"/></head>\n"
+			+ " <body>\n"
+			+ "  <body.head>\n"
+			+ "   <hedline>\n"
+			+ "    <hl1>  Markets &amp; <i>Stocks</i>\n fall </hl1>\n"
+			+ "    <hl2 class=\"online_headline\">Online <!-- comment --> headline</hl2>\n"
+			+ "   </hedline>\n"
+			+ "   <dateline> NEW  YORK, Jan 1 </dateline>\n"
+			+ "   <abstract><p>first</p><p>second <b>abstract</b></p></abstract>\n"
+			+ "  </body.head>\n"
+			+ "  <body.content>\n"
+			+ "   <block class=\"lead_paragraph\">\n<p>lead  one</p>\n<p> lead two</p>\n   </block>\n"
+			+ "   <block class=\"full_text\">\n"
+			+ "    <p>First paragraph with a <a href=\"x\">link</a>.</p>\n"
+			+ "    <div><p>not a paragraph of the block</p></div>\n"
+			+ "    <p><![CDATA[skipped]]> second</p>\n"
+			+ "    <p>   </p>\n"
+			+ "   </block>\n"
+			+ "   <block class=\"online_lead_paragraph\"></block>\n"
+			+ "  </body.content>\n"
+			+ " </body>\n"
+			+ "</nitf>\n";
+	
+	private static File file;
+	
+	
+	
+	
+	@BeforeClass
+	public static void createArticle() throws IOException
+	{
+		file = File.createTempFile("nitf", ".xml");
+		FileUtils.writeFile(file, ARTICLE);
+	}
+	
+	@AfterClass
+	public static void deleteArticle()
+	{
+		file.delete();
+	}
+	
+	
+	
+	
+	
+	/*----------------------------------------------------------------------------------*/
+	//			PARSING TESTS
+	/*----------------------------------------------------------------------------------*/
+	/**Tests if the stream parser extracts the same texts as the DOM parser
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void sameAsDOMTest()
+	{
+		NYTCorpusDocument expected = (NYTCorpusDocument) new NYTCorpusDocumentParser().parseArticleDocument(file, false);
+		NYTCorpusDocument actual = (NYTCorpusDocument) new NYTCorpusStreamParser(EnumSet.allOf(Field.class)).parseArticleDocument(file, false);
+		
+		assertNotNull(expected);
+		assertNotNull(actual);
+		
+		assertEquals(expected.getHeadline(), actual.getHeadline());
+		assertEquals(expected.getOnlineHeadline(), actual.getOnlineHeadline());
+		assertEquals(expected.getBody(), actual.getBody());
+		assertEquals(expected.getLeadParagraph(), actual.getLeadParagraph());
+		assertEquals(expected.getOnlineLeadParagraph(), actual.getOnlineLeadParagraph());
+		assertEquals(expected.getArticleAbstract(), actual.getArticleAbstract());
+		assertEquals(expected.getDateline(), actual.getDateline());
+		
+		assertEquals("Markets & Stocks fall", actual.getHeadline());
+		assertEquals("First paragraph with a link .\nsecond\n", actual.getBody());
+	}
+	
+	
+	
+	
+	/**Tests if only the requested fields are extracted and a parser can be used again
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void requestedFieldsTest()
+	{
+		NYTCorpusStreamParser parser = new NYTCorpusStreamParser();
+		
+		for(int i=0; i<2; i++)
+		{
+			NYTCorpusDocument article = (NYTCorpusDocument) parser.parseArticleDocument(file, false);
+			
+			assertNotNull(article);
+			assertEquals("Markets & Stocks fall", article.getHeadline());
+			assertNotNull(article.getBody());
+			assertNull(article.getOnlineHeadline());
+			assertNull(article.getLeadParagraph());
+			assertNull(article.getDateline());
+			assertEquals(file, article.getSourceFile());
+		}
+	}
+	
+	
+	
+	
+	/**Tests if null is returned for a malformed file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 */
+	@Test
+	public void malformedTest() throws IOException
+	{
+		File malformed = File.createTempFile("nitf", ".xml");
+		FileUtils.writeFile(malformed, "<nitf><body><body.head></nitf>");
+		
+		assertNull(new NYTCorpusStreamParser().parseArticleDocument(malformed, false));
+		malformed.delete();
+	}
+	
+}
@@ -21,9 +21,13 @@ package com.darg.fileOperations.tests;
 
 import static org.junit.Assert.*;
 
+import java.io.File;
+import java.io.IOException;
+
 import org.junit.Test;
 
 import com.darg.fileOperations.utils.FileUtils;
+import com.darg.fileOperations.utils.TextFileWriter;
 
 public class FileUtilsTest 
 {
@@ -36,5 +40,35 @@ public class FileUtilsTest
 		String text = FileUtils.readFile(path);
 		assertEquals("asd\n", text);
 	}
+	
+	
+	
+	@Test
+	public void textFileWriterTest() throws IOException
+	{
+		File file = new File("/home/erhan/Desktop/TEST-FOR-THESIS/data/writer/table.txt");
+		StringBuilder expected = new StringBuilder("#\tscore\n");
+		
+		try(TextFileWriter writer = new TextFileWriter(file))
+		{
+			writer.append("#\tscore\n");
+			
+			//more than the buffer, so that it is written in parts
+			for(int i=0; i<20000; i++)
+			{
+				writer.append(i).append('\t').append(i / 7.0).append('\t').appendRounded(i / 7.0).append('\n');
+				expected.append(i + "\t" + i / 7.0 + "\t" + Math.round( i / 7.0 * 100.0 ) / 100.0 + "\n");
+				
+				//characters that are not ascii, a surrogate pair is split between two appends
+				if(i % 1000 == 0)
+				{
+					writer.append("\u015f\uD83D").append('\uDE00').append('\n');
+					expected.append("\u015f\uD83D\uDE00\n");
+				}
+			}
+		}
+		
+		assertEquals(expected.toString(), FileUtils.readFile(file.getAbsolutePath()));
+	}
 
 }
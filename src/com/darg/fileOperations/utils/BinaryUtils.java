@@ -0,0 +1,399 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.fileOperations.utils;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+
+
+/**functions to write primitive arrays into binary files and to read them back from a (mapped) buffer.
+ * Every array is written as its length followed by its items in big endian order, 
+ * which is the default order of both DataOutputStream and ByteBuffer. Arrays are read with bulk copies.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public final class BinaryUtils 
+{
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private BinaryUtils()//prevent users from calling it
+	{
+		
+	}
+	
+	
+	
+	
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////			WRITER FUNCTIONS    		/////////////////////////////////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/**writes the magic number and the version of a file format
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param out - stream to write into
+	 * @param magic - magic number of the format
+	 * @param version - version of the format
+	 * 
+	 * @throws IOException
+	 */
+	public static void writeHeader(final DataOutputStream out, final int magic, final int version) throws IOException
+	{
+		out.writeInt(magic);
+		out.writeInt(version);
+	}
+	
+	
+	
+	
+	
+	/**writes an int array with its length
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param out - stream to write into
+	 * @param array - array to write
+	 * 
+	 * @throws IOException
+	 */
+	public static void writeInts(final DataOutputStream out, final int[] array) throws IOException
+	{
+		out.writeInt(array.length);
+		
+		for(int i=0; i<array.length; i++)
+		{
+			out.writeInt(array[i]);
+		}
+	}
+	
+	
+	
+	
+	
+	/**writes a float array with its length
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param out - stream to write into
+	 * @param array - array to write
+	 * 
+	 * @throws IOException
+	 */
+	public static void writeFloats(final DataOutputStream out, final float[] array) throws IOException
+	{
+		out.writeInt(array.length);
+		
+		for(int i=0; i<array.length; i++)
+		{
+			out.writeFloat(array[i]);
+		}
+	}
+	
+	
+	
+	
+	
+	/**writes a double array with its length
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param out - stream to write into
+	 * @param array - array to write
+	 * 
+	 * @throws IOException
+	 */
+	public static void writeDoubles(final DataOutputStream out, final double[] array) throws IOException
+	{
+		out.writeInt(array.length);
+		
+		for(int i=0; i<array.length; i++)
+		{
+			out.writeDouble(array[i]);
+		}
+	}
+	
+	
+	
+	
+	
+	/**writes a char array with its length
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param out - stream to write into
+	 * @param array - array to write
+	 * 
+	 * @throws IOException
+	 */
+	public static void writeChars(final DataOutputStream out, final char[] array) throws IOException
+	{
+		out.writeInt(array.length);
+		
+		for(int i=0; i<array.length; i++)
+		{
+			out.writeChar(array[i]);
+		}
+	}
+	
+	
+	
+	
+	
+	/**writes an array of strings as an arena of characters and the start of every string in the arena.
+	 * null strings are written as empty strings.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param out - stream to write into
+	 * @param strings - strings to write
+	 * 
+	 * @throws IOException
+	 */
+	public static void writeStrings(final DataOutputStream out, final String[] strings) throws IOException
+	{
+		int[] starts = new int[strings.length+1];
+		char[] arena;
+		
+		for(int i=0; i<strings.length; i++)
+		{
+			starts[i+1] = starts[i] + ((strings[i] == null) ? 0 : strings[i].length());
+		}
+		
+		arena = new char[starts[strings.length]];
+		for(int i=0; i<strings.length; i++)
+		{
+			if(strings[i] != null)
+			{
+				strings[i].getChars(0, strings[i].length(), arena, starts[i]);
+			}
+		}
+		
+		writeInts(out, starts);
+		writeChars(out, arena);
+	}
+	
+	
+	
+	
+	
+	/**writes an int with a variable number of bytes, 7 bits in each byte starting from the lowest ones. 
+	 * The highest bit of a byte is set if more bytes follow, so small numbers take a single byte.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param out - stream to write into
+	 * @param value - a non negative int
+	 * 
+	 * @throws IOException
+	 */
+	public static void writeVarInt(final DataOutputStream out, final int value) throws IOException
+	{
+		int rest = value;
+		
+		if(value < 0)
+		{
+			throw new IllegalArgumentException("value cannot be negative");
+		}
+		
+		while(rest >= 0x80)
+		{
+			out.writeByte((rest & 0x7F) | 0x80);
+			rest >>>= 7;
+		}
+		out.writeByte(rest);
+	}
+	
+	
+	
+	
+	
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////			READER FUNCTIONS    		/////////////////////////////////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+	/**reads and checks the magic number and the version of a file format
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param buffer - buffer to read from
+	 * @param magic - expected magic number
+	 * @param version - expected version
+	 * 
+	 * @throws IOException - if the buffer is not of the expected format or version
+	 */
+	public static void readHeader(final ByteBuffer buffer, final int magic, final int version) throws IOException
+	{
+		if(buffer.remaining() < 8 || buffer.getInt() != magic)
+		{
+			throw new IOException("unknown file format");
+		}
+		if(buffer.getInt() != version)
+		{
+			throw new IOException("unsupported version of the file format");
+		}
+	}
+	
+	
+	
+	
+	
+	/**reads an int array written by writeInts()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param buffer - buffer to read from, its position is moved to the end of the array
+	 * 
+	 * @return int[] - the array
+	 */
+	public static int[] readInts(final ByteBuffer buffer)
+	{
+		int[] retVal = new int[buffer.getInt()];
+		
+		buffer.asIntBuffer().get(retVal);
+		buffer.position(buffer.position() + retVal.length*4);
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**reads a float array written by writeFloats()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param buffer - buffer to read from, its position is moved to the end of the array
+	 * 
+	 * @return float[] - the array
+	 */
+	public static float[] readFloats(final ByteBuffer buffer)
+	{
+		float[] retVal = new float[buffer.getInt()];
+		
+		buffer.asFloatBuffer().get(retVal);
+		buffer.position(buffer.position() + retVal.length*4);
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**reads a double array written by writeDoubles()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param buffer - buffer to read from, its position is moved to the end of the array
+	 * 
+	 * @return double[] - the array
+	 */
+	public static double[] readDoubles(final ByteBuffer buffer)
+	{
+		double[] retVal = new double[buffer.getInt()];
+		
+		buffer.asDoubleBuffer().get(retVal);
+		buffer.position(buffer.position() + retVal.length*8);
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**reads a char array written by writeChars()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param buffer - buffer to read from, its position is moved to the end of the array
+	 * 
+	 * @return char[] - the array
+	 */
+	public static char[] readChars(final ByteBuffer buffer)
+	{
+		char[] retVal = new char[buffer.getInt()];
+		
+		buffer.asCharBuffer().get(retVal);
+		buffer.position(buffer.position() + retVal.length*2);
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**reads an int written by writeVarInt()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param buffer - buffer to read from, its position is moved after the int
+	 * 
+	 * @return int - the value
+	 */
+	public static int readVarInt(final ByteBuffer buffer)
+	{
+		int retVal = 0;
+		int shift = 0;
+		byte b;
+		
+		do
+		{
+			b = buffer.get();
+			retVal |= (b & 0x7F) << shift;
+			shift += 7;
+		}
+		while(b < 0);
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**reads an array of strings written by writeStrings()
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param buffer - buffer to read from, its position is moved to the end of the strings
+	 * 
+	 * @return String[] - the strings
+	 */
+	public static String[] readStrings(final ByteBuffer buffer)
+	{
+		int[] starts = readInts(buffer);
+		char[] arena = readChars(buffer);
+		String[] retVal = new String[starts.length-1];
+		
+		for(int i=0; i<retVal.length; i++)
+		{
+			retVal[i] = new String(arena, starts[i], starts[i+1]-starts[i]);
+		}
+		
+		return retVal;
+	}
+	
+}
@@ -228,7 +228,8 @@ public final class FileSystemUtils
 
 			if(!dir.getParentFile().exists())
 			{
-				retVal = dir.getParentFile().mkdirs();
+				//another thread may create it in the meantime
+				retVal = dir.getParentFile().mkdirs() || dir.getParentFile().isDirectory();
 			}
 		}
 		catch(SecurityException se)
@@ -267,7 +268,8 @@ public final class FileSystemUtils
 			
 			if(!file.getParentFile().exists())
 			{
-				retVal = file.getParentFile().mkdirs();
+				//another thread may create it in the meantime
+				retVal = file.getParentFile().mkdirs() || file.getParentFile().isDirectory();
 			}
 		}
 		catch(SecurityException se)
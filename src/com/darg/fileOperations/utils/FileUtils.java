@@ -26,6 +26,9 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 
 public final class FileUtils 
 {
@@ -184,4 +187,44 @@ public final class FileUtils
 		return retVal;
 	}
 	
-}
+	
+	
+	
+	
+	
+	
+	/**maps the whole content of a file into the memory as read only. The pages of the file are shared with
+	 * the operating system cache, so reading a big binary file this way does not copy it into the heap.
+	 *  
+	 * @author erhan sezerer
+	 *
+	 * @param path - an absolute path to the file
+	 * 
+	 * @return MappedByteBuffer - content of the file, or null if there is any error.
+	 */
+	public static MappedByteBuffer mapFile(final String path)
+	{
+		MappedByteBuffer retVal = null;
+		
+		try(RandomAccessFile file = new RandomAccessFile(path, "r");
+			FileChannel channel = file.getChannel();)
+		{
+			//the mapping stays valid after the channel is closed
+			retVal = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		catch (FileNotFoundException e) 
+		{
+			e.printStackTrace();
+			retVal = null;
+		} 
+		catch (IOException e1) 
+		{
+			e1.printStackTrace();
+			retVal = null;
+		}
+		
+		
+		return retVal;
+	}
+	
+}
\ No newline at end of file
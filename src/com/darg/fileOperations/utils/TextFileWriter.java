@@ -0,0 +1,239 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.fileOperations.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+
+import com.darg.utils.StringUtils;
+
+
+
+/**writes a text file piece by piece instead of building the whole text as a string first. 
+ * Text is collected in a single buffer, which is encoded straight into the bytes written to the channel of the file 
+ * whenever it is full, and the numbers are appended without creating strings for them.
+ * 
+ * The file is encoded with the default charset of the platform, same as FileUtils.writeFile().
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class TextFileWriter implements Closeable
+{
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	private FileChannel channel;
+	private CharsetEncoder encoder;
+	private StringBuilder buffer;
+	private ByteBuffer bytes;
+	
+	
+	
+	
+	//constructors
+	@SuppressWarnings("unused")
+	private TextFileWriter()
+	{
+		
+	}
+	/**opens the file for writing, creating its parent folders if necessary. An existing file is overwritten.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param file - file to write
+	 * 
+	 * @throws IOException - if the file cannot be opened
+	 */
+	public TextFileWriter(final File file) throws IOException
+	{
+		if(!FileSystemUtils.mkdirs(file.getAbsolutePath()))
+		{
+			throw new IOException("Cannot create the folders of: " + file.getAbsolutePath());
+		}
+		
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		encoder = Charset.defaultCharset().newEncoder()
+						.onMalformedInput(CodingErrorAction.REPLACE)
+						.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		buffer = new StringBuilder(BUFFER_SIZE + 1024);
+		bytes = ByteBuffer.allocate(BUFFER_SIZE);
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//				FUNCTIONS
+	/*-----------------------------------------------------------------------------------------------*/
+	public TextFileWriter append(final CharSequence text) throws IOException
+	{
+		buffer.append(text);
+		flushIfFull();
+		
+		return this;
+	}
+	
+	public TextFileWriter append(final char c) throws IOException
+	{
+		buffer.append(c);
+		flushIfFull();
+		
+		return this;
+	}
+	
+	public TextFileWriter append(final int number) throws IOException
+	{
+		buffer.append(number);
+		flushIfFull();
+		
+		return this;
+	}
+	
+	/**appends the value in the same form as String.valueOf(value)
+	 */
+	public TextFileWriter append(final double value) throws IOException
+	{
+		buffer.append(value);
+		flushIfFull();
+		
+		return this;
+	}
+	
+	/**appends the value rounded to two decimals, see StringUtils.appendRounded()
+	 */
+	public TextFileWriter appendRounded(final double value) throws IOException
+	{
+		StringUtils.appendRounded(buffer, value);
+		flushIfFull();
+		
+		return this;
+	}
+	
+	
+	
+	
+	
+	/**writes the buffer to the channel if it is full
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @throws IOException
+	 */
+	private void flushIfFull() throws IOException
+	{
+		if(buffer.length() >= BUFFER_SIZE)
+		{
+			writeBuffer(false);
+		}
+	}
+	
+	
+	
+	
+	
+	/**encodes the buffer into the file. A high surrogate at the end of the buffer is kept until its pair is appended, 
+	 * unless it is the end of the input.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param endOfInput - true if nothing will be appended anymore
+	 * 
+	 * @throws IOException
+	 */
+	private void writeBuffer(final boolean endOfInput) throws IOException
+	{
+		CharBuffer chars = CharBuffer.wrap(buffer);
+		
+		while(encoder.encode(chars, bytes, endOfInput) == CoderResult.OVERFLOW)
+		{
+			writeBytes();
+		}
+		if(endOfInput)
+		{
+			while(encoder.flush(bytes) == CoderResult.OVERFLOW)
+			{
+				writeBytes();
+			}
+		}
+		writeBytes();
+		
+		buffer.delete(0, chars.position());
+	}
+	
+	
+	
+	
+	
+	private void writeBytes() throws IOException
+	{
+		bytes.flip();
+		while(bytes.hasRemaining())
+		{
+			channel.write(bytes);
+		}
+		bytes.clear();
+	}
+	
+	
+	
+	
+	
+	/**writes everything that is appended so far to the file
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @throws IOException
+	 */
+	public void flush() throws IOException
+	{
+		writeBuffer(false);
+	}
+	
+	
+	
+	
+	
+	@Override
+	public void close() throws IOException
+	{
+		if(channel.isOpen())
+		{
+			try
+			{
+				writeBuffer(true);
+			}
+			finally
+			{
+				channel.close();
+			}
+		}
+	}
+	
+}
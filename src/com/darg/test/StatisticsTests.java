@@ -26,6 +26,8 @@ import java.util.ArrayList;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import com.darg.NLPOperations.sentimentalAnalysis.model.ScoreDistribution;
+import com.darg.NLPOperations.sentimentalAnalysis.model.SentimentScoreType;
 import com.darg.utils.Statistics;
 
 public class StatisticsTests 
@@ -77,5 +79,72 @@ public class StatisticsTests
 	{
 		assertEquals(0.25280, Statistics.getStdDev(data), 0.0001);
 	}
+	
+	
+	
+	@Test
+	public void bandwidthTest() 
+	{
+		double[] array = new double[data.size()];
+		
+		for(int i=0; i<array.length; i++)
+		{
+			array[i] = data.get(i);
+		}
+		
+		assertEquals(0.16048, Statistics.getBandwidth(array), 0.0001);
+	}
+	
+	
+	
+	@Test
+	public void densityCDFTest() 
+	{
+		double[] array = new double[data.size()];
+		double[] cdf;
+		
+		for(int i=0; i<array.length; i++)
+		{
+			array[i] = data.get(i);
+		}
+		
+		cdf = Statistics.getDensityCDF(array, 512);
+		
+		assertEquals(512, cdf.length);
+		assertEquals(1.0, cdf[511], 0.00001);
+		assertEquals(0.0, cdf[0], 0.01);
+		for(int i=1; i<cdf.length; i++)
+		{
+			assertTrue(cdf[i] >= cdf[i-1]);
+		}
+		
+		//the data is not far from symmetric, so the middle should be around half
+		assertEquals(0.5, cdf[255], 0.1);
+	}
+	
+	
+	
+	@Test
+	public void scoreDistributionTest() 
+	{
+		double[] array = new double[data.size()];
+		double[] cdf;
+		ScoreDistribution distribution;
+		
+		for(int i=0; i<array.length; i++)
+		{
+			array[i] = data.get(i);
+		}
+		
+		cdf = Statistics.getDensityCDF(array, 512);
+		distribution = ScoreDistribution.build(array, array, array);
+		
+		//same as cdf[512*score] in R
+		assertEquals(cdf[255], distribution.evaluateScore(0.5, SentimentScoreType.POS), 0);
+		assertEquals(cdf[101], distribution.evaluateScore(0.2, SentimentScoreType.NEG), 0);
+		assertEquals(0.0, distribution.evaluateScore(0.0, SentimentScoreType.OBJ), 0);
+		assertEquals(1.0, distribution.evaluateScore(2.0, SentimentScoreType.OBJ), 0.00001);
+		assertNull(ScoreDistribution.build(array, new double[0], array));
+	}
 
 }
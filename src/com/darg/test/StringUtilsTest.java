@@ -0,0 +1,57 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.test;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.darg.utils.StringUtils;
+
+public class StringUtilsTest 
+{
+	
+	
+
+	@Test
+	public void appendRoundedTest() 
+	{
+		double values[] = {0, 0.125, 0.1, 1, 0.05, -0.05, -0.004, 12.345, 0.995, 1e7, 123456789.123, Double.NaN};
+		StringBuilder builder = new StringBuilder();
+		
+		for(int i=0; i<values.length; i++)
+		{
+			builder.setLength(0);
+			assertEquals("" + Math.round(values[i] * 100.0) / 100.0, StringUtils.appendRounded(builder, values[i]).toString());
+		}
+		
+		builder.setLength(0);
+		assertEquals("0.13", StringUtils.appendRounded(builder, 0.125).toString());
+	}
+	
+	
+	
+	@Test
+	public void toHexStringTest() 
+	{
+		assertEquals("00ff10", StringUtils.toHexString(new byte[]{0, (byte) 0xff, 0x10}));
+	}
+
+}
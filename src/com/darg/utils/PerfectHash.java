@@ -0,0 +1,260 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.darg.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+
+
+/**a perfect hash over a fixed set of int keys (hash and displace). Every key is placed in its own slot,
+ * so a lookup costs two hashes and a single comparison, whatever the number of keys is.
+ * Keys that are not in the set are detected by comparing the key in the slot.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public final class PerfectHash 
+{
+	private static final int MAX_SEED = 1 << 24;
+	
+	private int[] seeds; //displacement seed of each bucket
+	private int[] slotKeys; //key placed in each slot
+	private int[] slotIndexes; //index of the key placed in each slot, -1 if the slot is empty
+	
+	
+	
+	
+	//constructors
+	private PerfectHash(final int[] seeds, final int[] slotKeys, final int[] slotIndexes)
+	{
+		this.seeds = seeds;
+		this.slotKeys = slotKeys;
+		this.slotIndexes = slotIndexes;
+	}
+	
+	
+	
+	
+	/**builds the perfect hash of the given keys.
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param keys - distinct keys
+	 * 
+	 * @return PerfectHash - hash that maps each key to its index in the array
+	 * @throws IllegalArgumentException - if the keys are not distinct
+	 */
+	public static PerfectHash build(final int[] keys)
+	{
+		int size = keys.length;
+		int bucketCount = Math.max(1, size/2);
+		int slotCount = Math.max(1, size + size/4);
+		int[] seeds = new int[bucketCount];
+		int[] slotKeys = new int[slotCount];
+		int[] slotIndexes = new int[slotCount];
+		int[] bucketSizes = new int[bucketCount + 1];
+		int[] bucketKeys = new int[size];
+		Integer[] bucketOrder = new Integer[bucketCount];
+		int[] tried = new int[size];
+		int[] sorted = keys.clone();
+		
+		Arrays.sort(sorted);
+		for(int i=1; i<size; i++)
+		{
+			if(sorted[i] == sorted[i-1])
+			{
+				throw new IllegalArgumentException("duplicate key: " + sorted[i]);
+			}
+		}
+		
+		//group the keys into buckets
+		for(int i=0; i<size; i++)
+		{
+			bucketSizes[bucketOf(keys[i], bucketCount) + 1]++;
+		}
+		for(int i=0; i<bucketCount; i++)
+		{
+			bucketSizes[i+1] += bucketSizes[i];
+		}
+		int[] filled = Arrays.copyOf(bucketSizes, bucketCount);
+		for(int i=0; i<size; i++)
+		{
+			bucketKeys[filled[bucketOf(keys[i], bucketCount)]++] = i;
+		}
+		
+		//place the largest buckets first, while there are still many empty slots
+		for(int i=0; i<bucketCount; i++)
+		{
+			bucketOrder[i] = i;
+		}
+		final int[] starts = bucketSizes;
+		Arrays.sort(bucketOrder, new Comparator<Integer>()
+		{
+			@Override
+			public int compare(final Integer first, final Integer second)
+			{
+				return (starts[second+1] - starts[second]) - (starts[first+1] - starts[first]);
+			}
+		});
+		
+		Arrays.fill(slotIndexes, -1);
+		for(int b : bucketOrder)
+		{
+			int start = bucketSizes[b];
+			int end = bucketSizes[b+1];
+			boolean placed = (start == end);
+			
+			for(int seed=1; !placed; seed++)
+			{
+				if(seed == MAX_SEED)
+				{
+					throw new IllegalArgumentException("cannot build the perfect hash");
+				}
+				
+				placed = true;
+				for(int i=start; i<end && placed; i++)
+				{
+					tried[i] = slotOf(keys[bucketKeys[i]], seed, slotCount);
+					placed = slotIndexes[tried[i]] == -1;
+					
+					//two keys of the same bucket cannot share a slot either
+					for(int j=start; j<i && placed; j++)
+					{
+						placed = tried[j] != tried[i];
+					}
+				}
+				
+				if(placed)
+				{
+					seeds[b] = seed;
+					for(int i=start; i<end; i++)
+					{
+						slotKeys[tried[i]] = keys[bucketKeys[i]];
+						slotIndexes[tried[i]] = bucketKeys[i];
+					}
+				}
+			}
+		}
+		
+		return new PerfectHash(seeds, slotKeys, slotIndexes);
+	}
+	
+	
+	
+	
+	
+	/**finds the index of the key in the array the hash is built from
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param key - key to search
+	 * 
+	 * @return int - index of the key, -1 if it is not one of the keys
+	 */
+	public int indexOf(final int key)
+	{
+		int slot = slotOf(key, seeds[bucketOf(key, seeds.length)], slotKeys.length);
+		int retVal = slotIndexes[slot];
+		
+		if(retVal != -1 && slotKeys[slot] != key)
+		{
+			retVal = -1;
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**mixes the bits of the key with the seed (finalizer of murmur3)
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param key
+	 * @param seed
+	 * 
+	 * @return int - mixed value
+	 */
+	private static int mix(final int key, final int seed)
+	{
+		int h = key ^ (seed * 0x9E3779B9);
+		
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		h *= 0xC2B2AE35;
+		h ^= h >>> 16;
+		
+		return h;
+	}
+	
+	
+	
+	private static int bucketOf(final int key, final int bucketCount)
+	{
+		return (mix(key, 0) & 0x7FFFFFFF) % bucketCount;
+	}
+	
+	
+	
+	private static int slotOf(final int key, final int seed, final int slotCount)
+	{
+		return (mix(key, seed) & 0x7FFFFFFF) % slotCount;
+	}
+	
+	
+	
+	
+	
+	/*---------------------------------------------------------------------------------------*/
+	//				setters and getters
+	/*---------------------------------------------------------------------------------------*/
+	public int[] getSeeds()
+	{
+		return seeds;
+	}
+	
+	public int[] getSlotKeys()
+	{
+		return slotKeys;
+	}
+	
+	public int[] getSlotIndexes()
+	{
+		return slotIndexes;
+	}
+	
+	
+	
+	/**recreates a perfect hash from the arrays of an already built one (e.g. one that is saved to a file)
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return PerfectHash - the same hash
+	 */
+	public static PerfectHash fromArrays(final int[] seeds, final int[] slotKeys, final int[] slotIndexes)
+	{
+		return new PerfectHash(seeds, slotKeys, slotIndexes);
+	}
+	
+}
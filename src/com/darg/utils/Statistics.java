@@ -20,6 +20,7 @@
 package com.darg.utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 
 public class Statistics 
@@ -117,5 +118,158 @@ public class Statistics
     {
         return Math.sqrt(getVariance(data));
     }
+    
+    
+    
+    
+    
+    /** returns the bandwidth of a gaussian kernel for the given data, using the rule of thumb
+     * of Silverman (the same as bw.nrd0 in R).
+     * 
+     * @author erhan sezerer
+     *
+     * @param data
+     * @return double - bandwidth of the kernel
+     */
+    public static double getBandwidth(final double[] data)
+    {
+    	double retVal;
+    	double[] sorted = data.clone();
+    	int size = sorted.length;
+    	double mean = 0;
+    	double variance = 0;
+    	double deviation;
+    	double iqr;
+    	double low;
+    	
+    	Arrays.sort(sorted);
+    	
+    	for(double a : sorted)
+    	{
+    		mean += a;
+    	}
+    	mean = mean/size;
+    	
+    	for(double a : sorted)
+    	{
+    		variance += (mean-a)*(mean-a);
+    	}
+    	deviation = (size > 1) ? Math.sqrt(variance/(size-1)) : 0;
+    	
+    	iqr = getQuantile(sorted, 0.75) - getQuantile(sorted, 0.25);
+    	low = Math.min(deviation, iqr/1.34);
+    	
+    	//degenerate data, fall back the same way R does
+    	if(low == 0)
+    	{
+    		low = deviation;
+    		if(low == 0)
+    		{
+    			low = Math.abs(sorted[0]);
+    			if(low == 0)
+    			{
+    				low = 1;
+    			}
+    		}
+    	}
+    	
+    	retVal = 0.9 * low * Math.pow(size, -0.2);
+    	
+    	return retVal;
+    }
+    
+    
+    
+    
+    
+    /** returns the cumulative distribution of the gaussian kernel density estimate of the given data,
+     * evaluated at "points" equally spaced positions between min-3*bandwidth and max+3*bandwidth
+     * and normalized so that the last value is 1. It is the java counterpart of:
+     * 
+     * 		Y <- density(X, n=points); cdf <- cumsum(Y$y * diff(Y$x[1:2])); cdf <- cdf / max(cdf)
+     * 
+     * @author erhan sezerer
+     *
+     * @param data
+     * @param points - number of points in the resulting table, R uses 512 by default
+     * 
+     * @return double[] - the cdf table, null if data is empty
+     */
+    public static double[] getDensityCDF(final double[] data, final int points)
+    {
+    	double[] retVal = null;
+    	
+    	if(data != null && data.length != 0 && points > 1)
+    	{
+    		double[] sorted = data.clone();
+    		double[] values = new double[sorted.length];
+    		int[] counts = new int[sorted.length];
+    		int uniqueCount = 0;
+    		double bandwidth = getBandwidth(data);
+    		double from, step, sum, z, max = 0;
+    		
+    		//scores repeat a lot, so collapse them into weighted points before summing the kernels
+    		Arrays.sort(sorted);
+    		for(int i=0; i<sorted.length; i++)
+    		{
+    			if(uniqueCount == 0 || values[uniqueCount-1] != sorted[i])
+    			{
+    				values[uniqueCount] = sorted[i];
+    				uniqueCount++;
+    			}
+    			counts[uniqueCount-1]++;
+    		}
+    		
+    		from = sorted[0] - 3*bandwidth;
+    		step = ((sorted[sorted.length-1] + 3*bandwidth) - from) / (points-1);
+    		retVal = new double[points];
+    		
+    		for(int i=0; i<points; i++)
+    		{
+    			sum = 0;
+    			for(int j=0; j<uniqueCount; j++)
+    			{
+    				z = (from + i*step - values[j]) / bandwidth;
+    				if(z < 40 && z > -40)
+    				{
+    					sum += counts[j] * Math.exp(-0.5*z*z);
+    				}
+    			}
+    			
+    			//density times the step, accumulated
+    			sum = sum / (sorted.length * bandwidth * Math.sqrt(2*Math.PI)) * step;
+    			retVal[i] = (i == 0) ? sum : retVal[i-1] + sum;
+    			max = Math.max(max, retVal[i]);
+    		}
+    		
+    		for(int i=0; i<points; i++)
+    		{
+    			retVal[i] = retVal[i] / max;
+    		}
+    	}
+    	
+    	return retVal;
+    }
+    
+    
+    
+    
+    
+    /** returns the quantile of an already sorted data, interpolated in the same way as the default of R (type 7)
+     * 
+     * @author erhan sezerer
+     *
+     * @param sorted - data sorted in ascending order
+     * @param probability - between 0 and 1
+     * @return double - quantile
+     */
+    public static double getQuantile(final double[] sorted, final double probability)
+    {
+    	double position = (sorted.length - 1) * probability;
+    	int lower = (int) Math.floor(position);
+    	int upper = Math.min(lower + 1, sorted.length - 1);
+    	
+    	return sorted[lower] + (position - lower) * (sorted[upper] - sorted[lower]);
+    }
   
 }
@@ -34,6 +34,9 @@ import java.util.Date;
  */
 public final class StringUtils 
 {
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+	private static final long MAX_PLAIN_HUNDREDTHS = 1000000000L; //Double.toString() switches to the scientific notation at 10^7
+	
 
 	//constructor - private to prevent users from calling it
 	private StringUtils()
@@ -88,6 +91,90 @@ public final class StringUtils
 
 		return retVal;
 	}
+	
+	
+	
+	
+	
+	
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	//other functions																				  //
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	/**writes the bytes as a lowercase hexadecimal string, i.e. for the hashes
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param bytes - bytes to write
+	 * 
+	 * @return String - two characters for each byte
+	 */
+	public static String toHexString(final byte[] bytes)
+	{
+		char[] retVal = new char[bytes.length*2];
+		
+		for(int i=0; i<bytes.length; i++)
+		{
+			retVal[i*2] = HEX[(bytes[i] >> 4) & 0xF];
+			retVal[i*2 + 1] = HEX[bytes[i] & 0xF];
+		}
+		
+		return new String(retVal);
+	}
+	
+	
+	
+	
+	
+	/**appends the value rounded to two decimals, exactly as the string of Math.round(value * 100.0) / 100.0 
+	 * would be appended, but without creating any strings. i.e. 0.125 -> "0.13", 0.1 -> "0.1", 1 -> "1.0"
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param builder - builder to append into
+	 * @param value - value to round
+	 * 
+	 * @return StringBuilder - the same builder
+	 */
+	public static StringBuilder appendRounded(final StringBuilder builder, final double value)
+	{
+		long hundredths = Math.round(value * 100.0);
+		long absolute;
+		int fraction;
+		
+		if(hundredths > -MAX_PLAIN_HUNDREDTHS && hundredths < MAX_PLAIN_HUNDREDTHS)
+		{
+			if(hundredths < 0)
+			{
+				builder.append('-');
+			}
+			
+			absolute = Math.abs(hundredths);
+			fraction = (int) (absolute % 100);
+			builder.append(absolute / 100).append('.');
+			
+			//trailing zeros are dropped, but there is always at least one digit
+			if(fraction % 10 == 0)
+			{
+				builder.append(fraction / 10);
+			}
+			else
+			{
+				if(fraction < 10)
+				{
+					builder.append('0');
+				}
+				builder.append(fraction);
+			}
+		}
+		else
+		{
+			builder.append(hundredths / 100.0);
+		}
+		
+		
+		return builder;
+	}
 
 
 }
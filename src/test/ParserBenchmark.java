@@ -0,0 +1,210 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+
+import com.darg.documentParser.NYTCorpusDocumentParser;
+import com.darg.documentParser.NYTCorpusStreamParser;
+import com.darg.documentParser.ParserInterface;
+import com.darg.documentParser.model.ArticleAbstract;
+import com.darg.fileOperations.FileRetriever;
+
+
+
+/**compares the DOM and the StAX parsers of the NYT corpus on the same files. 
+ * Both of them parse every file a few times after a warm up round, and the time and the bytes allocated
+ * by the parsing thread are printed for each of them.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class ParserBenchmark {
+
+	private static final int WARMUP_ROUNDS = 1;
+	private static final int ROUNDS = 3;
+	
+	
+	
+	public static void main(String[] args) 
+	{
+		String pathToFiles = "/home/erhan/Desktop/asd/NYT";
+		ArrayList<File> files = new ArrayList<File>();
+		
+		if(args.length > 0)
+		{
+			pathToFiles = args[0];
+		}
+		
+		
+		//retrieve the files once, so that both parsers read the same files
+		FileRetriever fileRetriever = new FileRetriever();
+		ArrayList<String> extensions = new ArrayList<String>();
+		extensions.add("xml");
+		
+		if(!fileRetriever.retrieveFiles(pathToFiles, extensions, true, true))
+		{
+			System.err.println("Error: cannot fetch files!");
+			return;
+		}
+		while(fileRetriever.hasNext())
+		{
+			File file = fileRetriever.next();
+			if(file != null)
+			{
+				files.add(file);
+			}
+		}
+		
+		
+		
+		int mismatches = 0;
+		NYTCorpusDocumentParser domParser = new NYTCorpusDocumentParser();
+		NYTCorpusStreamParser streamParser = new NYTCorpusStreamParser();
+		
+		for(File file : files)
+		{
+			ArticleAbstract domArticle = domParser.parseArticleDocument(file, false);
+			ArticleAbstract streamArticle = streamParser.parseArticleDocument(file, false);
+			
+			if(domArticle == null || streamArticle == null 
+					|| !equals(domArticle.getHeadline(), streamArticle.getHeadline()) 
+					|| !equals(domArticle.getBody(), streamArticle.getBody()))
+			{
+				mismatches++;
+				System.err.println("different results -> " + file.getName());
+			}
+		}
+		
+		
+		System.out.println(files.size() + " files, " + mismatches + " mismatches\n");
+		run("DOM", domParser, files);
+		run("StAX", streamParser, files);
+	}
+	
+	
+	
+	
+	
+	/**parses all the files with the given parser and prints the time and the allocation per round
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param name - name of the parser to print
+	 * @param parser - parser to run
+	 * @param files - files to parse
+	 */
+	private static void run(final String name, final ParserInterface parser, final ArrayList<File> files)
+	{
+		NumberFormat formatter = new DecimalFormat("#0.00");
+		long characters = 0;
+		
+		for(int i=0; i<WARMUP_ROUNDS; i++)
+		{
+			parseAll(parser, files);
+		}
+		
+		
+		long allocated = allocatedBytes();
+		long start = System.nanoTime();
+		
+		for(int i=0; i<ROUNDS; i++)
+		{
+			characters += parseAll(parser, files);
+		}
+		
+		double seconds = (System.nanoTime() - start) / 1e9d;
+		allocated = (allocated < 0) ? -1 : allocatedBytes() - allocated;
+		
+		
+		System.out.println(name + ":\t" + formatter.format(ROUNDS * files.size() / seconds) + " files/s\t" 
+				+ formatter.format(characters / seconds / 1e6d) + " Mchars/s\t" 
+				+ (allocated < 0 ? "unknown" : formatter.format(allocated / (double)(ROUNDS * files.size()) / 1024d)) + " KB allocated per file");
+	}
+	
+	
+	
+	
+	
+	/**parses the files and returns the length of the texts, so that the results are used
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param parser - parser to run
+	 * @param files - files to parse
+	 * 
+	 * @return long - total length of the headlines and the bodies
+	 */
+	private static long parseAll(final ParserInterface parser, final ArrayList<File> files)
+	{
+		long retVal = 0;
+		
+		for(File file : files)
+		{
+			ArticleAbstract article = parser.parseArticleDocument(file, false);
+			
+			if(article != null)
+			{
+				retVal += (article.getHeadline() == null ? 0 : article.getHeadline().length()) 
+						+ (article.getBody() == null ? 0 : article.getBody().length());
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	/**returns the number of bytes allocated by the current thread, -1 if the JVM does not support it
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @return long - allocated bytes
+	 */
+	private static long allocatedBytes()
+	{
+		long retVal = -1;
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		
+		if(bean instanceof com.sun.management.ThreadMXBean)
+		{
+			retVal = ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	private static boolean equals(final String first, final String second)
+	{
+		return first == null ? second == null : first.equals(second);
+	}
+
+}
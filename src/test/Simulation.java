@@ -24,7 +24,7 @@ import java.text.NumberFormat;
 
 
 import com.darg.NLPOperations.NLPOperations;
-import com.darg.RConnector.REngineConnector;
+import com.darg.NLPOperations.sentimentalAnalysis.model.ScoreDistribution;
 
 
 
@@ -48,7 +48,7 @@ public class Simulation {
 		boolean fromReuters = true;
 		boolean debug = true;
 		
-		//for r connection
+		//for the score distributions
 		String posScorePath = "/home/erhan/Desktop/TEST-FINAL/dictionaries/pos.txt";
 		String negScorePath = "/home/erhan/Desktop/TEST-FINAL/dictionaries/neg.txt";
 		String objScorePath = "/home/erhan/Desktop/TEST-FINAL/dictionaries/obj.txt";
@@ -62,9 +62,7 @@ public class Simulation {
 		
 		
 		
-		REngineConnector rEngine = REngineConnector.getInstance();
-		rEngine.createConnection(args);
-		rEngine.setEnvForSental(posScorePath, negScorePath, objScorePath);
+		ScoreDistribution distribution = ScoreDistribution.load(posScorePath, negScorePath, objScorePath);
 		
 		
 		
@@ -76,7 +74,7 @@ public class Simulation {
 															 		 posModelPath, 
 															 		 wordNetDictinaryPath, 
 															 		 sentiWordNetDictionaryPath,
-															 		 rEngine,
+															 		 distribution,
 															 		 fromReuters, 
 															 		 debug);	
 		/*
@@ -105,8 +103,6 @@ public class Simulation {
 		NumberFormat formatter = new DecimalFormat("#0.00000");
 		System.out.print("\n\nExecution time is " + formatter.format((end - start) / 1000d) + " seconds");
 
-		
-		rEngine.closeConnection();
 	}
 
 }
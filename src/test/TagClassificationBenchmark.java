@@ -0,0 +1,251 @@
+/*
+ * Written by Erhan Sezerer
+ * Contact <erhansezerer@iyte.edu.tr> for comments and bug reports
+ *
+ * Copyright (C) 2014 Erhan Sezerer
+ *
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package test;
+
+import java.io.File;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+
+import com.darg.NLPOperations.pos.model.TaggedWord;
+import com.darg.NLPOperations.pos.util.POSTagConverter;
+import com.darg.NLPOperations.pos.util.POSTagEnglish;
+import com.darg.NLPOperations.pos.util.POSTagTokenizer;
+import com.darg.NLPOperations.pos.util.POSTagWordNet;
+import com.darg.fileOperations.FileRetriever;
+
+
+
+/**measures the classification of the POS tags on the tokens of the _POS files in a directory. 
+ * The string comparisons that were used before the lookup tables are copied here as the reference, 
+ * and compared with POSTagEnglish.findTag() and POSTagConverter.getPOSType() on the same tokens.
+ * 
+ * @author erhan sezerer
+ *
+ */
+public class TagClassificationBenchmark {
+
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int ROUNDS = 10;
+	
+	
+	
+	public static void main(String[] args) 
+	{
+		String pathToFiles = "/home/erhan/Desktop/asd/POS";
+		ArrayList<String> tagStrings = new ArrayList<String>();
+		ArrayList<POSTagEnglish> tags = new ArrayList<POSTagEnglish>();
+		
+		if(args.length > 0)
+		{
+			pathToFiles = args[0];
+		}
+		
+		
+		//tokenize the files once, only the classification is measured
+		FileRetriever fileRetriever = new FileRetriever();
+		
+		if(!fileRetriever.retrieveFiles(pathToFiles, null, true, true))
+		{
+			System.err.println("Error: cannot fetch files!");
+			return;
+		}
+		while(fileRetriever.hasNext())
+		{
+			File file = fileRetriever.next();
+			
+			if(file != null)
+			{
+				ArrayList<TaggedWord> words = POSTagTokenizer.tokenizeTaggedText(file.getAbsolutePath(), "_");
+				
+				if(words != null)
+				{
+					for(TaggedWord word : words)
+					{
+						tagStrings.add(word.getTagString());
+						tags.add(word.getTag());
+					}
+				}
+			}
+		}
+		
+		
+		int mismatches = 0;
+		for(int i=0; i<tagStrings.size(); i++)
+		{
+			if(legacyFindTag(tagStrings.get(i)) != POSTagEnglish.findTag(tagStrings.get(i))
+					|| legacyPOSType(tagStrings.get(i)) != POSTagConverter.getPOSType(tagStrings.get(i))
+					|| legacyPOSType(tagStrings.get(i)) != POSTagConverter.getPOSType(tags.get(i)))
+			{
+				mismatches++;
+			}
+		}
+		System.out.println(tagStrings.size() + " tokens, " + mismatches + " mismatches\n");
+		
+		
+		
+		for(int mode=0; mode<5; mode++)
+		{
+			long checksum = 0;
+			
+			for(int i=0; i<WARMUP_ROUNDS; i++)
+			{
+				checksum += classifyAll(mode, tagStrings, tags);
+			}
+			
+			long start = System.nanoTime();
+			for(int i=0; i<ROUNDS; i++)
+			{
+				checksum += classifyAll(mode, tagStrings, tags);
+			}
+			double nanos = System.nanoTime() - start;
+			
+			
+			print(mode, nanos / ((double)ROUNDS * Math.max(1, tagStrings.size())), checksum);
+		}
+	}
+	
+	
+	
+	
+	
+	/**classifies all of the tokens in the given mode
+	 * 
+	 * @author erhan sezerer
+	 *
+	 * @param mode - 0: legacy findTag, 1: findTag, 2: legacy getPOSType(String), 3: getPOSType(String), 4: getPOSType(POSTagEnglish)
+	 * @param tagStrings - tag strings of the tokens
+	 * @param tags - tags of the tokens
+	 * 
+	 * @return long - sum of the ordinals of the results, so that the results are used
+	 */
+	private static long classifyAll(final int mode, final ArrayList<String> tagStrings, final ArrayList<POSTagEnglish> tags)
+	{
+		long retVal = 0;
+		int count = tagStrings.size();
+		
+		for(int i=0; i<count; i++)
+		{
+			switch(mode)
+			{
+				case 0: retVal += legacyFindTag(tagStrings.get(i)).ordinal();
+						break;
+				case 1: retVal += POSTagEnglish.findTag(tagStrings.get(i)).ordinal();
+						break;
+				case 2: retVal += legacyPOSType(tagStrings.get(i)).ordinal();
+						break;
+				case 3: retVal += POSTagConverter.getPOSType(tagStrings.get(i)).ordinal();
+						break;
+				default: retVal += POSTagConverter.getPOSType(tags.get(i)).ordinal();
+						break;
+			}
+		}
+		
+		return retVal;
+	}
+	
+	
+	
+	
+	
+	private static void print(final int mode, final double nanosPerToken, final long checksum)
+	{
+		NumberFormat formatter = new DecimalFormat("#0.00");
+		String[] names = {"findTag (valueOf + string chain)", "findTag (perfect hash)", "getPOSType(String) (string chain)", 
+						  "getPOSType(String) (perfect hash)", "getPOSType(POSTagEnglish) (ordinal table)"};
+		
+		System.out.println(names[mode] + ":\t" + formatter.format(nanosPerToken) + " ns/token\t(checksum " + checksum + ")");
+	}
+	
+	
+	
+	
+	
+	/*-----------------------------------------------------------------------------------------------*/
+	//			the implementations before the lookup tables
+	/*-----------------------------------------------------------------------------------------------*/
+	private static POSTagEnglish legacyFindTag(final String tagString)
+	{
+		POSTagEnglish tag = null;
+		String[] symbols = {".", ",", "$", "#", "''", "``", ":", "-LCB-", "-LSB-", "-LRB-", "-RCB-", "-RSB-", "-RRB-"};
+		POSTagEnglish[] symbolTags = {POSTagEnglish.DOT, POSTagEnglish.COMMA, POSTagEnglish.DOLSIGN, POSTagEnglish.NUMSIGN, 
+									  POSTagEnglish.QUOTECLOSE, POSTagEnglish.QUOTEOPEN, POSTagEnglish.SEMICOLON, POSTagEnglish.LCB, 
+									  POSTagEnglish.LSB, POSTagEnglish.LRB, POSTagEnglish.RCB, POSTagEnglish.RSB, POSTagEnglish.RRB};
+		
+		try
+		{
+			tag = POSTagEnglish.valueOf(tagString);
+		}
+		catch(IllegalArgumentException ia)
+		{
+			tag = POSTagEnglish.UNKNOWN;
+			
+			for(int i=0; i<symbols.length && tag == POSTagEnglish.UNKNOWN; i++)
+			{
+				if(tagString.equalsIgnoreCase(symbols[i]))
+				{
+					tag = symbolTags[i];
+				}
+			}
+		}
+		
+		return tag;
+	}
+	
+	private static POSTagWordNet legacyPOSType(final String tag)
+	{
+		POSTagWordNet retVal = POSTagWordNet.OTHER;
+		
+		if(equalsAny(tag, POSTagEnglish.JJ, POSTagEnglish.JJR, POSTagEnglish.JJS))
+		{
+			retVal = POSTagWordNet.ADJECTIVE;
+		}
+		else if(equalsAny(tag, POSTagEnglish.RB, POSTagEnglish.RBR, POSTagEnglish.RBS, POSTagEnglish.WRB))
+		{
+			retVal = POSTagWordNet.ADVERB;
+		}
+		else if(equalsAny(tag, POSTagEnglish.NN, POSTagEnglish.NNP, POSTagEnglish.NNPS, POSTagEnglish.NNS))
+		{
+			retVal = POSTagWordNet.NOUN;
+		}
+		else if(equalsAny(tag, POSTagEnglish.VB, POSTagEnglish.VBD, POSTagEnglish.VBN, POSTagEnglish.VBG, POSTagEnglish.VBP, POSTagEnglish.VBZ))
+		{
+			retVal = POSTagWordNet.VERB;
+		}
+		
+		return retVal;
+	}
+	
+	private static boolean equalsAny(final String tag, final POSTagEnglish... tags)
+	{
+		boolean retVal = false;
+		
+		if(tag != null && !tag.isEmpty())
+		{
+			for(int i=0; i<tags.length && !retVal; i++)
+			{
+				retVal = tag.equalsIgnoreCase(tags[i].name());
+			}
+		}
+		
+		return retVal;
+	}
+
+}